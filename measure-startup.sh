@@ -0,0 +1,48 @@
+#!/bin/bash
+# Measure time-to-first-connection and resident memory of an Arena node.
+#
+# Usage:
+#   ./measure-startup.sh jvm      # build/quarkus-app/quarkus-run.jar
+#   ./measure-startup.sh native   # quarkus/paper-rock-scissors-arena image (Dockerfile.native)
+#
+# The node is started with -Dquarkus.profile=$PROFILE (QUARKUS_PROFILE for the
+# image), default streaming: the build profile is not kept at runtime, and
+# without it the node starts in prod and expects the database.
+#
+# Build the streaming-only node first, for example:
+#   ./gradlew quarkusBuild -Dquarkus.profile=streaming
+#   ./gradlew build -Dquarkus.profile=streaming -Dquarkus.native.enabled=true \
+#     && docker build -f src/main/docker/Dockerfile.native -t quarkus/paper-rock-scissors-arena .
+
+MODE=${1:-jvm}
+PORT=${ARENA_PORT:-9000}
+RUNS=${RUNS:-5}
+IMAGE=${IMAGE:-quarkus/paper-rock-scissors-arena}
+PROFILE=${PROFILE:-streaming}
+
+now_ms() { date +%s%3N; }
+
+wait_for_port() {
+    until (exec 3<>/dev/tcp/127.0.0.1/$PORT) 2>/dev/null; do
+        sleep 0.005
+    done
+}
+
+for run in $(seq 1 "$RUNS"); do
+    START=$(now_ms)
+    if [ "$MODE" = "native" ]; then
+        CID=$(docker run -d --rm -e QUARKUS_PROFILE=$PROFILE -p $PORT:9000 "$IMAGE")
+        wait_for_port
+        READY=$(now_ms)
+        RSS=$(docker stats --no-stream --format '{{.MemUsage}}' "$CID" | cut -d/ -f1)
+        docker stop "$CID" > /dev/null
+    else
+        java -Dquarkus.profile=$PROFILE -jar build/quarkus-app/quarkus-run.jar > /dev/null 2>&1 &
+        PID=$!
+        wait_for_port
+        READY=$(now_ms)
+        RSS="$(awk '/VmRSS/ {printf "%.1fMiB", $2 / 1024}' /proc/$PID/status)"
+        kill $PID && wait $PID 2>/dev/null
+    fi
+    echo "run=$run mode=$MODE time_to_first_connection=$((READY - START))ms rss=$RSS"
+done
@@ -0,0 +1,176 @@
+package ai.pipestream.arena.v1.perf;
+
+import ai.pipestream.client.v1.sdk.ArenaClient;
+import ai.pipestream.client.v1.sdk.ChannelPool;
+import ai.pipestream.client.v1.sdk.LatencyHistogram;
+import ai.pipestream.client.v1.sdk.MatchSummary;
+import ai.pipestream.client.v1.sdk.MoveStrategy;
+import ai.pipestream.client.v1.sdk.RandomMoveStrategy;
+import ai.pipestream.client.v1.sdk.TimedMoveStrategy;
+import ai.pipestream.tourney.unary.v1.MatchFormat;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fixed workloads against an in-process arena backed by Dev Services
+ * PostgreSQL, compared with {@code performance-baseline.properties}.
+ * A metric that regresses beyond its tolerance fails the build. Only the
+ * counters fixed by the protocol are compared by default; throughput,
+ * latency and allocation depend on the host and are compared with
+ * {@code -Darena.perf.timing=true} (see {@link PerformanceBaseline}).
+ */
+@QuarkusTest
+@TestProfile(ArenaPerformanceIT.Unlimited.class)
+public class ArenaPerformanceIT {
+
+    /** Load shedding would turn a slow run into rejected calls instead of a measurable regression. */
+    public static class Unlimited implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("arena.limit.enabled", "false");
+        }
+    }
+
+    private static final Logger LOG = Logger.getLogger(ArenaPerformanceIT.class);
+    private static final int ROUNDS = 1000;
+    private static final MatchFormat FORMAT = MatchFormat.newBuilder()
+        .setKind(MatchFormat.Kind.FIXED).setTarget(ROUNDS).build();
+    private static final String PRNG = "L64X128MixRandom";
+
+    @TestHTTPResource
+    URL url;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Test
+    void testNoPerformanceRegression() throws Exception {
+        PerformanceBaseline baseline = PerformanceBaseline.load();
+        List<WorkloadResult> results = new ArrayList<>();
+
+        try (ChannelPool channels = new ChannelPool(url.getHost(), url.getPort(), 2)) {
+            ArenaClient client = new ArenaClient(channels);
+            for (String workload : new String[] { "streaming", "unary" }) {
+                // Warm up JIT, connection pools and prepared statements first
+                run(client, workload, 2);
+                WorkloadResult result = run(client, workload, baseline.matches(workload));
+                LOG.info(result);
+                results.add(result);
+            }
+        }
+
+        if (Boolean.getBoolean("arena.perf.record")) {
+            Path target = Path.of("build", "performance-baseline.properties");
+            baseline.record(target, results);
+            LOG.infof("Recorded performance baseline to %s", target.toAbsolutePath());
+            return;
+        }
+
+        if (!baseline.recorded()) {
+            LOG.warn("performance-baseline.properties holds placeholder timings; throughput is not gated until it is recorded");
+        }
+        List<String> regressions = new ArrayList<>();
+        for (WorkloadResult result : results) {
+            regressions.addAll(baseline.regressions(result));
+        }
+        assertTrue(regressions.isEmpty(), "Performance regressed:\n" + String.join("\n", regressions));
+    }
+
+    private WorkloadResult run(ArenaClient client, String workload, int matches) throws InterruptedException {
+        int players = matches * 2;
+        LatencyHistogram histogram = new LatencyHistogram();
+        double dbOpsBefore = counter("arena.db.operations", workload);
+        double statementsBefore = counter("arena.db.submit-move.statements", workload);
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        List<MatchSummary> summaries = Multi.createFrom().range(0, players)
+            .onItem().transformToUni(i -> {
+                MoveStrategy strategy = new TimedMoveStrategy(new RandomMoveStrategy(PRNG), histogram);
+                String name = "Perf-" + workload + "-" + i;
+                return "unary".equals(workload)
+                    ? client.playUnary(name, PRNG, strategy, FORMAT)
+                    : client.playStreaming(name, PRNG, strategy);
+            }).merge(players)
+            .collect().asList()
+            .await().atMost(Duration.ofMinutes(5));
+
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        long rounds = summaries.stream().mapToLong(MatchSummary::rounds).sum();
+        assertEquals((long) players * ROUNDS, rounds, workload + " players should each play every round");
+        for (MatchSummary summary : summaries) {
+            assertEquals("unary".equals(workload) ? "GAME_OVER" : "MATCH_COMPLETE", summary.finalStatus());
+        }
+
+        // Streaming statistics are handed to the sink just after MATCH_COMPLETE is sent
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while ("streaming".equals(workload) && counter("arena.db.operations", workload) - dbOpsBefore < matches
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        double dbOps = counter("arena.db.operations", workload) - dbOpsBefore;
+        // Less the move each unary player sends after its last round, which the server answers with GAME_OVER
+        double statements = counter("arena.db.submit-move.statements", workload) - statementsBefore
+            - ("unary".equals(workload) ? players : 0);
+
+        // Each match is counted once per player; rounds per second is per match
+        long matchRounds = rounds / 2;
+        return new WorkloadResult(workload, matches, matchRounds,
+            matchRounds * 1e9 / elapsedNanos,
+            histogram.percentileMicros(99),
+            dbOps / matches,
+            statements / matchRounds,
+            (double) allocated / matchRounds);
+    }
+
+    private double counter(String name, String workload) {
+        Meter meter = registry.find(name).tag("service", workload).meter();
+        if (meter == null) {
+            return 0;
+        }
+        for (Measurement measurement : meter.measure()) {
+            if (measurement.getStatistic() == Statistic.COUNT) {
+                return measurement.getValue();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Bytes allocated so far by all live threads. Threads that exit during a
+     * run are not counted, which the event-loop and worker pools do not do.
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,142 @@
+package ai.pipestream.arena.v1.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Checked-in performance baseline ({@code performance-baseline.properties})
+ * and the comparison of a measured {@link WorkloadResult} against it.
+ * <p>
+ * Database work is compared on every run: statistics writes per streaming
+ * match and SubmitMove statements per unary round are fixed by the protocol,
+ * not by how fast the host is. Throughput is also compared on every run once
+ * the baseline has been recorded ({@code recorded=true}), against the wide
+ * {@code rounds-per-second.floor-tolerance}, so only a collapse fails an
+ * ordinary build. The normal tolerances, p99 latency and allocation (and
+ * unary database operations, which include result polls) move with the
+ * host and its load, so they are only compared with
+ * {@code -Darena.perf.timing=true}, on the host the baseline was recorded on.
+ */
+class PerformanceBaseline {
+
+    private static final String RESOURCE = "/performance-baseline.properties";
+    private static final boolean TIMING = Boolean.getBoolean("arena.perf.timing");
+
+    private final Properties values;
+
+    private PerformanceBaseline(Properties values) {
+        this.values = values;
+    }
+
+    static PerformanceBaseline load() {
+        Properties values = new Properties();
+        try (InputStream in = PerformanceBaseline.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + RESOURCE);
+            }
+            values.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PerformanceBaseline(values);
+    }
+
+    /**
+     * Whether the timing values were measured rather than checked in as placeholders.
+     */
+    boolean recorded() {
+        return Boolean.parseBoolean(values.getProperty("recorded", "false"));
+    }
+
+    int matches(String workload) {
+        return Integer.parseInt(values.getProperty(workload + ".matches"));
+    }
+
+    /**
+     * @return one message per metric that regressed beyond its tolerance
+     */
+    List<String> regressions(WorkloadResult result) {
+        List<String> failures = new ArrayList<>();
+        String workload = result.workload();
+        if ("unary".equals(workload)) {
+            checkAtMost(failures, workload, "submit-move-statements-per-round", result.submitMoveStatementsPerRound());
+        } else {
+            checkAtMost(failures, workload, "db-ops-per-match", result.dbOpsPerMatch());
+        }
+        if (TIMING) {
+            if (!recorded()) {
+                failures.add("The baseline's timing values are placeholders; record them with -Darena.perf.record=true");
+                return failures;
+            }
+            checkAtLeast(failures, workload, "rounds-per-second", result.roundsPerSecond(),
+                tolerance(workload, "rounds-per-second"));
+            checkAtMost(failures, workload, "p99-round-micros", result.p99RoundMicros());
+            checkAtMost(failures, workload, "allocated-bytes-per-round", result.allocatedBytesPerRound());
+        } else if (recorded()) {
+            checkAtLeast(failures, workload, "rounds-per-second", result.roundsPerSecond(),
+                tolerance(workload, "rounds-per-second.floor"));
+        }
+        return failures;
+    }
+
+    /**
+     * Writes the measured results in baseline form, keeping the current tolerances.
+     */
+    void record(Path target, List<WorkloadResult> results) throws IOException {
+        Properties recorded = new Properties();
+        recorded.putAll(values);
+        recorded.setProperty("recorded", "true");
+        for (WorkloadResult result : results) {
+            String workload = result.workload();
+            recorded.setProperty(workload + ".rounds-per-second", format(result.roundsPerSecond()));
+            recorded.setProperty(workload + ".p99-round-micros", format(result.p99RoundMicros()));
+            if ("unary".equals(workload)) {
+                recorded.setProperty(workload + ".submit-move-statements-per-round",
+                    format(result.submitMoveStatementsPerRound()));
+            } else {
+                recorded.setProperty(workload + ".db-ops-per-match", format(result.dbOpsPerMatch()));
+            }
+            recorded.setProperty(workload + ".allocated-bytes-per-round", format(result.allocatedBytesPerRound()));
+        }
+        Files.createDirectories(target.getParent());
+        try (Writer out = Files.newBufferedWriter(target)) {
+            recorded.store(out, "Recorded by ArenaPerformanceIT; copy into src/integrationTest/resources");
+        }
+    }
+
+    private void checkAtLeast(List<String> failures, String workload, String metric, double measured,
+                              double tolerance) {
+        double baseline = baseline(workload, metric);
+        double floor = baseline * (1 - tolerance);
+        if (measured < floor) {
+            failures.add(String.format("%s %s: %.1f < %.1f (baseline %.1f)", workload, metric, measured, floor, baseline));
+        }
+    }
+
+    private void checkAtMost(List<String> failures, String workload, String metric, double measured) {
+        double baseline = baseline(workload, metric);
+        double ceiling = baseline * (1 + tolerance(workload, metric));
+        if (measured > ceiling) {
+            failures.add(String.format("%s %s: %.1f > %.1f (baseline %.1f)", workload, metric, measured, ceiling, baseline));
+        }
+    }
+
+    private double baseline(String workload, String metric) {
+        return Double.parseDouble(values.getProperty(workload + "." + metric));
+    }
+
+    private double tolerance(String workload, String metric) {
+        return Double.parseDouble(values.getProperty(workload + "." + metric + ".tolerance", "0"));
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : String.format("%.1f", value);
+    }
+}
@@ -0,0 +1,23 @@
+package ai.pipestream.arena.v1.perf;
+
+/**
+ * Measurements of one fixed workload run.
+ *
+ * @param dbOpsPerMatch                database operations per match; for unary this
+ *                                     includes result polls, so it varies with timing
+ * @param submitMoveStatementsPerRound statements issued by SubmitMove per round (unary only)
+ * @param allocatedBytesPerRound       heap allocated by the whole JVM (server and
+ *                                     in-process clients) per round played
+ */
+record WorkloadResult(String workload, int matches, long rounds, double roundsPerSecond,
+                      long p99RoundMicros, double dbOpsPerMatch, double submitMoveStatementsPerRound,
+                      double allocatedBytesPerRound) {
+
+    @Override
+    public String toString() {
+        return String.format("%s: matches=%d rounds=%d rounds/s=%.0f p99=%dus db-ops/match=%.1f"
+                + " submit-move-statements/round=%.2f alloc/round=%.0fB",
+            workload, matches, rounds, roundsPerSecond, p99RoundMicros, dbOpsPerMatch,
+            submitMoveStatementsPerRound, allocatedBytesPerRound);
+    }
+}
@@ -14,6 +14,7 @@ import java.net.URL;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -78,4 +79,70 @@ public class StreamingArenaServiceIT {
 
         assertTrue(matchCreated, "Match should be created within 10 seconds");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testResumeAfterDisconnect() {
+        BroadcastProcessor<BattleRequest> p1Request = BroadcastProcessor.create();
+        BroadcastProcessor<BattleRequest> p2Request = BroadcastProcessor.create();
+
+        List<BattleResponse> p1Responses = new CopyOnWriteArrayList<>();
+        List<BattleResponse> p2Responses = new CopyOnWriteArrayList<>();
+
+        client.battle(p1Request).subscribe().with(p1Responses::add);
+        client.battle(p2Request).subscribe().with(p2Responses::add);
+
+        p1Request.onNext(handshake("P1-RESUME", ""));
+        p2Request.onNext(handshake("P2-RESUME", ""));
+
+        assertTrue(awaitResponse(p1Responses, BattleResponse::hasTrigger), "P1 should receive the first trigger");
+        String token = p1Responses.stream()
+                .filter(BattleResponse::hasSession)
+                .findFirst()
+                .orElseThrow()
+                .getSession()
+                .getResumeToken();
+
+        // Drop P1's stream mid-match, then come back on a fresh one
+        p1Request.onComplete();
+        assertTrue(awaitResponse(p2Responses, r -> r.hasStatus() && r.getStatus().equals("OPPONENT_SUSPENDED")),
+                "P2 should be told its opponent is suspended");
+
+        BroadcastProcessor<BattleRequest> resumedRequest = BroadcastProcessor.create();
+        List<BattleResponse> resumedResponses = new CopyOnWriteArrayList<>();
+        client.battle(resumedRequest).subscribe().with(resumedResponses::add);
+        resumedRequest.onNext(handshake("P1-RESUME", token));
+
+        assertTrue(awaitResponse(resumedResponses, r -> r.hasSession() && r.getSession().getResumed()),
+                "Resumed stream should acknowledge the session");
+        assertTrue(awaitResponse(resumedResponses, BattleResponse::hasTrigger),
+                "Resumed stream should be asked for the pending move");
+        assertTrue(awaitResponse(p2Responses, r -> r.hasStatus() && r.getStatus().equals("OPPONENT_RESUMED")),
+                "P2 should be told its opponent is back");
+        assertTrue(p2Responses.stream().noneMatch(r -> r.hasStatus() && r.getStatus().equals("OPPONENT_DISCONNECTED")),
+                "Match should not have been aborted");
+
+        resumedRequest.onComplete();
+        p2Request.onComplete();
+    }
+
+    private static BattleRequest handshake(String languageName, String resumeToken) {
+        return BattleRequest.newBuilder()
+                .setHandshake(Handshake.newBuilder()
+                        .setLanguageName(languageName)
+                        .setPrngAlgorithm("A")
+                        .setResumeToken(resumeToken)
+                        .build())
+                .build();
+    }
+
+    private static boolean awaitResponse(List<BattleResponse> responses, Predicate<BattleResponse> condition) {
+        long start = System.currentTimeMillis();
+        while (System.currentTimeMillis() - start < 10000) {
+            if (responses.stream().anyMatch(condition)) {
+                return true;
+            }
+            try { Thread.sleep(50); } catch (InterruptedException e) {}
+        }
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package ai.pipestream.arena.v1.drain;
+
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/**
+ * {@code POST /admin/drain} starts draining; {@code GET /admin/drain} reports
+ * progress. Both require the {@code X-Arena-Admin-Token} header to match
+ * {@code arena.drain.admin-token}; without that property the routes are not
+ * registered at all.
+ */
+@ApplicationScoped
+public class DrainAdminRoutes {
+
+    private static final Logger LOG = Logger.getLogger(DrainAdminRoutes.class);
+    static final String PATH = "/admin/drain";
+    static final String TOKEN_HEADER = "X-Arena-Admin-Token";
+
+    @Inject
+    DrainController drain;
+
+    @ConfigProperty(name = "arena.drain.admin-token")
+    Optional<String> adminToken;
+
+    void register(@Observes Router router) {
+        if (adminToken.isEmpty() || adminToken.get().isBlank()) {
+            return;
+        }
+        byte[] expected = adminToken.get().getBytes(StandardCharsets.UTF_8);
+        router.post(PATH).handler(context -> {
+            if (authorized(context, expected)) {
+                drain.startDrain("admin endpoint");
+                respond(context, 202);
+            }
+        });
+        router.get(PATH).handler(context -> {
+            if (authorized(context, expected)) {
+                respond(context, 200);
+            }
+        });
+        LOG.infof("Drain admin endpoint enabled at %s", PATH);
+    }
+
+    private static boolean authorized(RoutingContext context, byte[] expected) {
+        String presented = context.request().getHeader(TOKEN_HEADER);
+        if (presented != null && MessageDigest.isEqual(expected, presented.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        context.response().setStatusCode(401).end();
+        return false;
+    }
+
+    private void respond(RoutingContext context, int status) {
+        StringBuilder json = new StringBuilder(128)
+            .append("{\"state\":\"").append(drain.state().name().toLowerCase())
+            .append("\",\"elapsedSeconds\":").append(drain.elapsed().toSeconds())
+            .append(",\"inFlight\":{");
+        boolean first = true;
+        for (DrainController.Progress progress : drain.progress()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(progress.component()).append("\":").append(progress.inFlight());
+        }
+        json.append("}}");
+        context.response()
+            .setStatusCode(status)
+            .putHeader("Content-Type", "application/json")
+            .end(json.toString());
+    }
+}
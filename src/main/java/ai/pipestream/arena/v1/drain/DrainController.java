@@ -0,0 +1,168 @@
+package ai.pipestream.arena.v1.drain;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drain mode for rolling deploys. Draining starts on shutdown (SIGTERM) or
+ * from the admin endpoint; from then on new handshakes and registrations are
+ * turned away, readiness reports {@code draining}, and shutdown waits up to
+ * {@code arena.drain.deadline} for every {@link Drainable} to finish its work.
+ * <p>
+ * Progress is exported as {@code arena.drain.state} (0 serving, 1 draining,
+ * 2 drained), {@code arena.drain.elapsed} and {@code arena.drain.in.flight}
+ * per component, so an orchestrator can tell when the node may be stopped.
+ */
+@ApplicationScoped
+public class DrainController {
+
+    private static final Logger LOG = Logger.getLogger(DrainController.class);
+    private static final long POLL_MILLIS = 250;
+    private static final long PROGRESS_LOG_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    public enum State {
+        SERVING,
+        DRAINING,
+        DRAINED
+    }
+
+    @Inject
+    Instance<Drainable> drainables;
+
+    @Inject
+    MeterRegistry registry;
+
+    /** Longest time shutdown waits for in-flight work, counted from the start of draining. */
+    @ConfigProperty(name = "arena.drain.deadline", defaultValue = "PT2M")
+    Duration deadline;
+
+    @ConfigProperty(name = "arena.drain.on-shutdown", defaultValue = "true")
+    boolean drainOnShutdown;
+
+    private volatile boolean draining;
+    private volatile long drainStartedNanos;
+
+    // Not @PostConstruct: the drainables inject this bean themselves
+    void onStart(@Observes StartupEvent event) {
+        Gauge.builder("arena.drain.state", this, controller -> controller.state().ordinal())
+            .description("0 serving, 1 draining, 2 drained")
+            .register(registry);
+        Gauge.builder("arena.drain.elapsed", this, controller -> controller.elapsed().toMillis() / 1000.0)
+            .baseUnit("seconds")
+            .register(registry);
+        for (Drainable drainable : drainables) {
+            Gauge.builder("arena.drain.in.flight", drainable, Drainable::inFlight)
+                .tag("component", drainable.drainName())
+                .register(registry);
+        }
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * DRAINED once draining has started and nothing is in flight any more.
+     */
+    public State state() {
+        if (!draining) {
+            return State.SERVING;
+        }
+        return inFlight() == 0 ? State.DRAINED : State.DRAINING;
+    }
+
+    /**
+     * @return false if the node was already draining
+     */
+    public boolean startDrain(String reason) {
+        synchronized (this) {
+            if (draining) {
+                return false;
+            }
+            drainStartedNanos = System.nanoTime();
+            draining = true;
+        }
+        LOG.infof("Draining (%s): %d in flight, deadline %s", reason, inFlight(), deadline);
+        for (Drainable drainable : drainables) {
+            drainable.startDrain();
+        }
+        return true;
+    }
+
+    public int inFlight() {
+        int total = 0;
+        for (Drainable drainable : drainables) {
+            total += drainable.inFlight();
+        }
+        return total;
+    }
+
+    public Duration elapsed() {
+        return draining ? Duration.ofNanos(System.nanoTime() - drainStartedNanos) : Duration.ZERO;
+    }
+
+    /**
+     * In-flight work per component, in bean order.
+     */
+    public List<Progress> progress() {
+        List<Progress> progress = new ArrayList<>();
+        for (Drainable drainable : drainables) {
+            progress.add(new Progress(drainable.drainName(), drainable.inFlight()));
+        }
+        return progress;
+    }
+
+    /**
+     * Blocks until nothing is in flight or the deadline, measured from the
+     * start of draining, has passed.
+     *
+     * @return true if everything finished in time
+     */
+    public boolean awaitDrained() throws InterruptedException {
+        long deadlineNanos = drainStartedNanos + deadline.toNanos();
+        long nextLog = System.nanoTime() + PROGRESS_LOG_NANOS;
+        while (inFlight() > 0) {
+            long now = System.nanoTime();
+            if (now - deadlineNanos >= 0) {
+                LOG.warnf("Drain deadline reached with %d still in flight: %s", inFlight(), progress());
+                return false;
+            }
+            if (now - nextLog >= 0) {
+                LOG.infof("Draining for %ds: %s", elapsed().toSeconds(), progress());
+                nextLog = now + PROGRESS_LOG_NANOS;
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        LOG.infof("Drained in %dms", elapsed().toMillis());
+        return true;
+    }
+
+    void onShutdown(@Observes ShutdownEvent event) {
+        if (!drainOnShutdown) {
+            return;
+        }
+        startDrain("shutdown");
+        try {
+            awaitDrained();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Drain interrupted; stopping with work in flight");
+        }
+    }
+
+    public record Progress(String component, int inFlight) {
+    }
+}
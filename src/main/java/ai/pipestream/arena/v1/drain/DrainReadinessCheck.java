@@ -0,0 +1,32 @@
+package ai.pipestream.arena.v1.drain;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Takes the node out of load balancer rotation while it drains.
+ */
+@Readiness
+@ApplicationScoped
+public class DrainReadinessCheck implements HealthCheck {
+
+    @Inject
+    DrainController drain;
+
+    @Override
+    public HealthCheckResponse call() {
+        DrainController.State state = drain.state();
+        HealthCheckResponseBuilder response = HealthCheckResponse.named("arena-drain")
+            .status(state == DrainController.State.SERVING)
+            .withData("state", state.name().toLowerCase());
+        if (state != DrainController.State.SERVING) {
+            response.withData("inFlight", drain.inFlight())
+                .withData("elapsedSeconds", drain.elapsed().toSeconds());
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,24 @@
+package ai.pipestream.arena.v1.drain;
+
+/**
+ * A component with work that must finish before the node stops.
+ * Every {@code Drainable} bean is told when draining starts and polled by
+ * {@link DrainController} until it reports nothing in flight.
+ */
+public interface Drainable {
+
+    /**
+     * Name used in logs, the admin endpoint and the {@code component} metric tag.
+     */
+    String drainName();
+
+    /**
+     * Stops taking new work. Called once, when draining starts.
+     */
+    void startDrain();
+
+    /**
+     * Units of work still running.
+     */
+    int inFlight();
+}
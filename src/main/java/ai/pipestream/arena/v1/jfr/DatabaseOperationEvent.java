@@ -0,0 +1,53 @@
+package ai.pipestream.arena.v1.jfr;
+
+import io.smallrye.mutiny.Uni;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One database (or statistics sink) operation, timed from subscription to
+ * termination of its {@code Uni}. Subject to the standard duration threshold.
+ */
+@Name("ai.pipestream.arena.DatabaseOperation")
+@Label("Database Operation")
+@Category({ "Arena", "Persistence" })
+@Threshold("20 ms")
+@StackTrace(false)
+public class DatabaseOperationEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Failed")
+    public boolean failed;
+
+    /**
+     * Wraps {@code uni} so that each subscription records one event.
+     * While the event is disabled, subscribers get {@code uni} unchanged.
+     */
+    public static <T> Uni<T> timed(String service, String operation, Uni<T> uni) {
+        return Uni.createFrom().deferred(() -> {
+            DatabaseOperationEvent event = new DatabaseOperationEvent();
+            if (!event.isEnabled()) {
+                return uni;
+            }
+            event.service = service;
+            event.operation = operation;
+            event.begin();
+            return uni.onTermination().invoke((item, failure, cancelled) -> {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.failed = failure != null || cancelled;
+                    event.commit();
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package ai.pipestream.arena.v1.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ai.pipestream.arena.Handshake")
+@Label("Handshake")
+@Description("A streaming client identified itself; resumed handshakes rejoin a suspended match")
+@Category({ "Arena", "Streaming" })
+@StackTrace(false)
+public class HandshakeEvent extends Event {
+
+    @Label("Connection Id")
+    public long connectionId;
+
+    @Label("Language")
+    public String languageName;
+
+    @Label("PRNG Algorithm")
+    public String prngAlgorithm;
+
+    @Label("Resumed")
+    public boolean resumed;
+
+    public static void emit(long connectionId, String languageName, String prngAlgorithm, boolean resumed) {
+        HandshakeEvent event = new HandshakeEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.connectionId = connectionId;
+        event.languageName = languageName;
+        event.prngAlgorithm = prngAlgorithm;
+        event.resumed = resumed;
+        event.commit();
+    }
+}
@@ -0,0 +1,46 @@
+package ai.pipestream.arena.v1.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("ai.pipestream.arena.MatchCompleted")
+@Label("Match Completed")
+@Description("A match ended, either after its last round or because a player left")
+@Category({ "Arena", "Match" })
+@StackTrace(false)
+public class MatchCompletedEvent extends Event {
+
+    @Label("Match Id")
+    public long matchId;
+
+    @Label("Match Type")
+    public String matchType;
+
+    @Label("Rounds Played")
+    public int rounds;
+
+    @Label("Aborted")
+    public boolean aborted;
+
+    @Label("Match Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    public long matchDuration;
+
+    public static void emit(long matchId, String matchType, int rounds, boolean aborted, long matchDurationNanos) {
+        MatchCompletedEvent event = new MatchCompletedEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.matchId = matchId;
+        event.matchType = matchType;
+        event.rounds = rounds;
+        event.aborted = aborted;
+        event.matchDuration = matchDurationNanos;
+        event.commit();
+    }
+}
@@ -0,0 +1,38 @@
+package ai.pipestream.arena.v1.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("ai.pipestream.arena.MatchCreated")
+@Label("Match Created")
+@Category({ "Arena", "Match" })
+@StackTrace(false)
+public class MatchCreatedEvent extends Event {
+
+    @Label("Match Id")
+    public long matchId;
+
+    @Label("Match Type")
+    public String matchType;
+
+    @Label("Player One")
+    public String playerOne;
+
+    @Label("Player Two")
+    public String playerTwo;
+
+    public static void emit(long matchId, String matchType, String playerOne, String playerTwo) {
+        MatchCreatedEvent event = new MatchCreatedEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.matchId = matchId;
+        event.matchType = matchType;
+        event.playerOne = playerOne;
+        event.playerTwo = playerTwo;
+        event.commit();
+    }
+}
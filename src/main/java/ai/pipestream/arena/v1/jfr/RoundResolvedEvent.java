@@ -0,0 +1,78 @@
+package ai.pipestream.arena.v1.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One resolved streaming round. Rounds are far too frequent to record them
+ * all, so only rounds at least {@code roundThreshold} long (move requests sent
+ * to round resolved) are committed; the per-player waits show who was slow.
+ */
+@Name("ai.pipestream.arena.RoundResolved")
+@Label("Round Resolved")
+@Description("A streaming round whose duration reached the roundThreshold setting")
+@Category({ "Arena", "Streaming" })
+@StackTrace(false)
+public class RoundResolvedEvent extends Event {
+
+    @Label("Match Id")
+    public long matchId;
+
+    @Label("Round")
+    public int round;
+
+    @Label("Outcome")
+    @Description("0 tie, 1 player one wins, 2 player two wins")
+    public int outcome;
+
+    @Label("Round Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long roundTime;
+
+    @Label("Player One Wait")
+    @Description("Move requests sent until player one's move arrived")
+    @Timespan(Timespan.NANOSECONDS)
+    public long playerOneWait;
+
+    @Label("Player Two Wait")
+    @Description("Move requests sent until player two's move arrived")
+    @Timespan(Timespan.NANOSECONDS)
+    public long playerTwoWait;
+
+    @Label("Scheduling Delay")
+    @Description("Last move arrived until the round was resolved")
+    @Timespan(Timespan.NANOSECONDS)
+    public long schedulingDelay;
+
+    @Label("Round Threshold")
+    @Name("roundThreshold")
+    @SettingDefinition
+    protected boolean roundThreshold(ThresholdSetting threshold) {
+        return threshold.reached(roundTime);
+    }
+
+    /**
+     * All times are {@code System.nanoTime()} readings.
+     */
+    public static void emit(long matchId, int round, int outcome, long roundStartNanos,
+                            long playerOneMoveNanos, long playerTwoMoveNanos, long resolvedNanos) {
+        RoundResolvedEvent event = new RoundResolvedEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.matchId = matchId;
+        event.round = round;
+        event.outcome = outcome;
+        event.roundTime = resolvedNanos - roundStartNanos;
+        event.playerOneWait = playerOneMoveNanos - roundStartNanos;
+        event.playerTwoWait = playerTwoMoveNanos - roundStartNanos;
+        event.schedulingDelay = resolvedNanos - Math.max(playerOneMoveNanos, playerTwoMoveNanos);
+        event.commit();
+    }
+}
@@ -0,0 +1,68 @@
+package ai.pipestream.arena.v1.jfr;
+
+import jdk.jfr.SettingControl;
+
+import java.util.Set;
+
+/**
+ * Event setting holding a duration ("20 ms", "0 ns", "infinity") that events
+ * compare against one of their own timespan fields, for events whose
+ * interesting duration was measured before the event object existed.
+ * When several recordings set it, the lowest threshold wins; recordings that
+ * do not mention it get {@value #DEFAULT}.
+ */
+public final class ThresholdSetting extends SettingControl {
+
+    static final String DEFAULT = "20 ms";
+    private static final String INFINITY = "infinity";
+
+    private String value = DEFAULT;
+    private long nanos = parse(DEFAULT);
+
+    @Override
+    public String combine(Set<String> values) {
+        String lowest = null;
+        long lowestNanos = Long.MAX_VALUE;
+        for (String candidate : values) {
+            long candidateNanos = parse(candidate);
+            if (lowest == null || candidateNanos < lowestNanos) {
+                lowest = candidate;
+                lowestNanos = candidateNanos;
+            }
+        }
+        return lowest == null ? DEFAULT : lowest;
+    }
+
+    @Override
+    public void setValue(String value) {
+        this.nanos = parse(value);
+        this.value = value;
+    }
+
+    @Override
+    public String getValue() {
+        return value;
+    }
+
+    boolean reached(long measuredNanos) {
+        return measuredNanos >= nanos;
+    }
+
+    static long parse(String value) {
+        String trimmed = value.trim();
+        if (INFINITY.equals(trimmed)) {
+            return Long.MAX_VALUE;
+        }
+        String[] parts = trimmed.split("\\s+");
+        long amount = Long.parseLong(parts[0]);
+        String unit = parts.length > 1 ? parts[1] : "ns";
+        return switch (unit) {
+            case "ns" -> amount;
+            case "us" -> amount * 1_000L;
+            case "ms" -> amount * 1_000_000L;
+            case "s" -> amount * 1_000_000_000L;
+            case "m" -> amount * 60_000_000_000L;
+            default -> throw new IllegalArgumentException("Unknown timespan unit: " + value);
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package ai.pipestream.arena.v1.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency (gradient style).
+ * The limit grows by roughly {@code sqrt(limit)} per sample while latency stays
+ * within {@code rttTolerance} of the best latency seen recently, and shrinks
+ * in proportion to how far latency has drifted beyond it. Dropped calls (the
+ * caller decides which failures mean overload) apply a multiplicative
+ * decrease, as in AIMD.
+ */
+public class AdaptiveLimit {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_DECREASE = 0.9;
+    private static final int RTT_WINDOW = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private int windowSamples;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Reserves a slot if fewer than {@code limit} calls are in flight.
+     * Every successful acquire must be paired with exactly one {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        onSample(rttNanos, inFlightAtRelease, dropped);
+    }
+
+    /**
+     * Frees the slot without a sample, for calls whose latency says nothing
+     * about load (client errors, cancellations).
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtRelease, boolean dropped) {
+        if (dropped) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * DROP_DECREASE);
+            limit = (int) estimatedLimit;
+            return;
+        }
+
+        // Best latency over the last window; lets the baseline drift up if the
+        // whole system legitimately gets slower.
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        if (++windowSamples >= RTT_WINDOW) {
+            minRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+
+        // Don't grow the limit while the server isn't using half of it
+        if (inFlightAtRelease * 2 < estimatedLimit) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * minRttNanos / (double) rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+            estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,208 @@
+package ai.pipestream.arena.v1.limit;
+
+import ai.pipestream.tourney.stream.v1.StreamingArenaServiceGrpc;
+import ai.pipestream.tourney.unary.v1.UnaryArenaServiceGrpc;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.grpc.GlobalInterceptor;
+import io.vertx.core.impl.NoStackTraceTimeoutException;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load shedding for the arena.
+ * <ul>
+ *   <li>Each database-bound unary method gets its own {@link AdaptiveLimit}.
+ *   Calls over the limit are rejected with {@code RESOURCE_EXHAUSTED} before
+ *   they reach the reactive pool. Only overload (rejections, deadlines,
+ *   timeouts) shrinks a limit; client errors and cancellations release their
+ *   slot without a sample.</li>
+ *   <li>{@code CheckRoundResult} polls are also shed while {@code SubmitMove} is
+ *   near its limit, so moves keep flowing when the database is the bottleneck.</li>
+ *   <li>{@code Battle} streams are capped at two per configured match.</li>
+ * </ul>
+ */
+@ApplicationScoped
+@GlobalInterceptor
+public class ConcurrencyLimitInterceptor implements ServerInterceptor {
+
+    private static final String SUBMIT_MOVE = UnaryArenaServiceGrpc.getSubmitMoveMethod().getFullMethodName();
+    private static final String CHECK_ROUND_RESULT = UnaryArenaServiceGrpc.getCheckRoundResultMethod().getFullMethodName();
+    private static final String REGISTER = UnaryArenaServiceGrpc.getRegisterMethod().getFullMethodName();
+    private static final String BATTLE = StreamingArenaServiceGrpc.getBattleMethod().getFullMethodName();
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "arena.limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "arena.limit.initial", defaultValue = "20")
+    int initialLimit;
+
+    @ConfigProperty(name = "arena.limit.min", defaultValue = "4")
+    int minLimit;
+
+    @ConfigProperty(name = "arena.limit.max", defaultValue = "1000")
+    int maxLimit;
+
+    @ConfigProperty(name = "arena.limit.rtt-tolerance", defaultValue = "2.0")
+    double rttTolerance;
+
+    @ConfigProperty(name = "arena.limit.poll-shed-threshold", defaultValue = "0.8")
+    double pollShedThreshold;
+
+    @ConfigProperty(name = "arena.streaming.max-matches", defaultValue = "10000")
+    int maxMatches;
+
+    private final Map<String, AdaptiveLimit> limits = new HashMap<>();
+    private final Map<String, Counter> rejections = new HashMap<>();
+    private final AtomicInteger openBattles = new AtomicInteger();
+    private Counter battleRejections;
+
+    @PostConstruct
+    void init() {
+        for (String method : new String[] { REGISTER, SUBMIT_MOVE, CHECK_ROUND_RESULT }) {
+            AdaptiveLimit limit = new AdaptiveLimit(initialLimit, minLimit, maxLimit, rttTolerance);
+            limits.put(method, limit);
+            registry.gauge("arena.grpc.limit", Tags.of("method", method),
+                limit, AdaptiveLimit::getLimit);
+            registry.gauge("arena.grpc.inflight", Tags.of("method", method),
+                limit, AdaptiveLimit::getInFlight);
+            rejections.put(method, registry.counter("arena.grpc.rejected", "method", method));
+        }
+        registry.gauge("arena.grpc.inflight", Tags.of("method", BATTLE), openBattles);
+        registry.gauge("arena.grpc.limit", Tags.of("method", BATTLE), this,
+            interceptor -> interceptor.maxMatches * 2);
+        battleRejections = registry.counter("arena.grpc.rejected", "method", BATTLE);
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        if (!enabled) {
+            return next.startCall(call, headers);
+        }
+
+        String method = call.getMethodDescriptor().getFullMethodName();
+        if (BATTLE.equals(method)) {
+            return interceptBattle(call, headers, next);
+        }
+
+        AdaptiveLimit limit = limits.get(method);
+        if (limit == null) {
+            return next.startCall(call, headers);
+        }
+
+        if (CHECK_ROUND_RESULT.equals(method) && isSubmitMoveCongested()) {
+            return reject(call, rejections.get(method), "Shedding polls while moves are congested");
+        }
+        if (!limit.tryAcquire()) {
+            return reject(call, rejections.get(method), "Concurrency limit reached for " + method);
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        ServerCall<ReqT, RespT> tracked = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (released.compareAndSet(false, true)) {
+                    if (status.isOk()) {
+                        limit.release(System.nanoTime() - start, false);
+                    } else if (isOverload(status)) {
+                        limit.release(System.nanoTime() - start, true);
+                    } else {
+                        limit.releaseWithoutSample();
+                    }
+                }
+                super.close(status, trailers);
+            }
+        };
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(tracked, headers)) {
+            @Override
+            public void onCancel() {
+                // The client gave up; that says nothing about our load
+                if (released.compareAndSet(false, true)) {
+                    limit.releaseWithoutSample();
+                }
+                super.onCancel();
+            }
+        };
+    }
+
+    /**
+     * Whether a failed call signals overload and should cut the limit:
+     * rejections, deadlines, and timeouts waiting on the pool or the database.
+     * Client errors (bad arguments, unknown matches, draining) do not, or a
+     * misbehaving client could shrink the limit for everyone.
+     */
+    static boolean isOverload(Status status) {
+        if (status.getCode() == Status.Code.RESOURCE_EXHAUSTED || status.getCode() == Status.Code.DEADLINE_EXCEEDED) {
+            return true;
+        }
+        for (Throwable cause = status.getCause(); cause != null; cause = cause.getCause()) {
+            // java.util.concurrent and Mutiny timeouts, and Vert.x pool/connection timeouts
+            if (cause instanceof TimeoutException || cause instanceof NoStackTraceTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSubmitMoveCongested() {
+        AdaptiveLimit submitMove = limits.get(SUBMIT_MOVE);
+        return submitMove.getInFlight() >= submitMove.getLimit() * pollShedThreshold;
+    }
+
+    private <ReqT, RespT> ServerCall.Listener<ReqT> interceptBattle(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                    ServerCallHandler<ReqT, RespT> next) {
+        if (openBattles.incrementAndGet() > maxMatches * 2) {
+            openBattles.decrementAndGet();
+            return reject(call, battleRejections, "Arena is at match capacity");
+        }
+
+        AtomicBoolean closed = new AtomicBoolean();
+        ServerCall<ReqT, RespT> tracked = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                if (closed.compareAndSet(false, true)) {
+                    openBattles.decrementAndGet();
+                }
+                super.close(status, trailers);
+            }
+        };
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(next.startCall(tracked, headers)) {
+            @Override
+            public void onCancel() {
+                if (closed.compareAndSet(false, true)) {
+                    openBattles.decrementAndGet();
+                }
+                super.onCancel();
+            }
+        };
+    }
+
+    private static <ReqT, RespT> ServerCall.Listener<ReqT> reject(ServerCall<ReqT, RespT> call, Counter counter,
+                                                                  String description) {
+        counter.increment();
+        call.close(Status.RESOURCE_EXHAUSTED.withDescription(description), new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+}
@@ -0,0 +1,227 @@
+package ai.pipestream.arena.v1.match;
+
+import ai.pipestream.arena.v1.util.GameLogic;
+
+import java.util.Arrays;
+
+/**
+ * Slot-indexed table holding the hot per-match counters of active streaming
+ * matches as primitive columns (struct-of-arrays) instead of per-match objects.
+ * <p>
+ * Slots are grouped in fixed-size chunks so the table grows without copying
+ * existing columns, and freed slots are recycled through a free list. A match
+ * costs {@value #BYTES_PER_SLOT} bytes here regardless of how many rounds it plays.
+ * <p>
+ * Allocation and release are synchronized; reads and updates of a slot are not,
+ * and must be confined to the owner of that slot (the streaming service only
+ * touches a slot while holding its match's monitor).
+ */
+public final class ActiveMatchTable {
+
+    public static final int NO_MOVE = -1;
+
+    // Int columns, stored field-major within each chunk
+    private static final int ROUND = 0;
+    private static final int P1_MOVE = 1;
+    private static final int P2_MOVE = 2;
+    private static final int P1_ROCKS = 3;
+    private static final int P1_PAPERS = 4;
+    private static final int P1_SCISSORS = 5;
+    private static final int P1_WINS = 6;
+    private static final int P2_ROCKS = 7;
+    private static final int P2_PAPERS = 8;
+    private static final int P2_SCISSORS = 9;
+    private static final int P2_WINS = 10;
+    private static final int TIES = 11;
+    private static final int INT_FIELDS = 12;
+
+    // Long columns
+    private static final int START_NANOS = 0;
+    private static final int ROUND_NANOS = 1;
+    private static final int P1_MOVE_NANOS = 2;
+    private static final int P2_MOVE_NANOS = 3;
+    private static final int LONG_FIELDS = 4;
+
+    static final int BYTES_PER_SLOT = INT_FIELDS * Integer.BYTES + LONG_FIELDS * Long.BYTES;
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    // Published by reference swap when a chunk is added; existing chunks never move
+    private volatile int[][] intChunks = new int[0][];
+    private volatile long[][] longChunks = new long[0][];
+
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int highWater;
+    private int active;
+
+    /**
+     * Claims a slot for a new match starting at round 1.
+     */
+    public synchronized int allocate(long startNanos) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            slot = highWater++;
+            if ((slot >>> CHUNK_SHIFT) == intChunks.length) {
+                addChunk();
+            }
+        }
+        active++;
+
+        int[] ints = intChunks[slot >>> CHUNK_SHIFT];
+        int offset = slot & CHUNK_MASK;
+        for (int field = 0; field < INT_FIELDS; field++) {
+            ints[field * CHUNK_SIZE + offset] = 0;
+        }
+        ints[ROUND * CHUNK_SIZE + offset] = 1;
+        ints[P1_MOVE * CHUNK_SIZE + offset] = NO_MOVE;
+        ints[P2_MOVE * CHUNK_SIZE + offset] = NO_MOVE;
+        long[] longs = longChunks[slot >>> CHUNK_SHIFT];
+        longs[START_NANOS * CHUNK_SIZE + offset] = startNanos;
+        longs[ROUND_NANOS * CHUNK_SIZE + offset] = startNanos;
+        return slot;
+    }
+
+    /**
+     * Returns a slot to the free list. The caller must not touch it afterwards.
+     */
+    public synchronized void release(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        active--;
+    }
+
+    public synchronized int activeCount() {
+        return active;
+    }
+
+    /**
+     * Number of slots backed by allocated chunks.
+     */
+    public int capacity() {
+        return intChunks.length * CHUNK_SIZE;
+    }
+
+    public int round(int slot) {
+        return get(slot, ROUND);
+    }
+
+    public long startNanos(int slot) {
+        return longChunks[slot >>> CHUNK_SHIFT][START_NANOS * CHUNK_SIZE + (slot & CHUNK_MASK)];
+    }
+
+    /**
+     * When the current round was opened (its move requests sent).
+     */
+    public long roundStartNanos(int slot) {
+        return longChunks[slot >>> CHUNK_SHIFT][ROUND_NANOS * CHUNK_SIZE + (slot & CHUNK_MASK)];
+    }
+
+    public void markRoundStart(int slot, long nanos) {
+        longChunks[slot >>> CHUNK_SHIFT][ROUND_NANOS * CHUNK_SIZE + (slot & CHUNK_MASK)] = nanos;
+    }
+
+    /**
+     * When the player's move for the current round arrived.
+     */
+    public long moveNanos(int slot, boolean playerOne) {
+        return longChunks[slot >>> CHUNK_SHIFT][(playerOne ? P1_MOVE_NANOS : P2_MOVE_NANOS) * CHUNK_SIZE + (slot & CHUNK_MASK)];
+    }
+
+    public int move(int slot, boolean playerOne) {
+        return get(slot, playerOne ? P1_MOVE : P2_MOVE);
+    }
+
+    public boolean hasMoved(int slot, boolean playerOne) {
+        return move(slot, playerOne) != NO_MOVE;
+    }
+
+    /**
+     * Records a player's move for the current round, with its arrival time, and
+     * counts it towards that player's R/P/S totals. A repeated move in the same
+     * round is ignored.
+     *
+     * @param nanos arrival time of the move
+     * @return true once both players have moved this round
+     */
+    public boolean recordMove(int slot, boolean playerOne, int move, long nanos) {
+        int moveField = playerOne ? P1_MOVE : P2_MOVE;
+        if (get(slot, moveField) != NO_MOVE) {
+            return false;
+        }
+        set(slot, moveField, move);
+        longChunks[slot >>> CHUNK_SHIFT][(playerOne ? P1_MOVE_NANOS : P2_MOVE_NANOS) * CHUNK_SIZE + (slot & CHUNK_MASK)]
+            = nanos;
+        int base = playerOne ? P1_ROCKS : P2_ROCKS;
+        increment(slot, base + move); // ROCK, PAPER, SCISSORS are 0, 1, 2
+        return get(slot, playerOne ? P2_MOVE : P1_MOVE) != NO_MOVE;
+    }
+
+    /**
+     * Scores the current round, clears the pending moves and advances to the
+     * next round. Both players must have moved.
+     *
+     * @return one of the {@code GameLogic.OUTCOME_*} codes
+     */
+    public int resolveRound(int slot) {
+        int outcome = GameLogic.resolve(get(slot, P1_MOVE), get(slot, P2_MOVE));
+        switch (outcome) {
+            case GameLogic.OUTCOME_PLAYER_ONE_WIN -> increment(slot, P1_WINS);
+            case GameLogic.OUTCOME_PLAYER_TWO_WIN -> increment(slot, P2_WINS);
+            default -> increment(slot, TIES);
+        }
+        set(slot, P1_MOVE, NO_MOVE);
+        set(slot, P2_MOVE, NO_MOVE);
+        increment(slot, ROUND);
+        return outcome;
+    }
+
+    public int rocks(int slot, boolean playerOne) {
+        return get(slot, playerOne ? P1_ROCKS : P2_ROCKS);
+    }
+
+    public int papers(int slot, boolean playerOne) {
+        return get(slot, playerOne ? P1_PAPERS : P2_PAPERS);
+    }
+
+    public int scissors(int slot, boolean playerOne) {
+        return get(slot, playerOne ? P1_SCISSORS : P2_SCISSORS);
+    }
+
+    public int wins(int slot, boolean playerOne) {
+        return get(slot, playerOne ? P1_WINS : P2_WINS);
+    }
+
+    public int ties(int slot) {
+        return get(slot, TIES);
+    }
+
+    private int get(int slot, int field) {
+        return intChunks[slot >>> CHUNK_SHIFT][field * CHUNK_SIZE + (slot & CHUNK_MASK)];
+    }
+
+    private void set(int slot, int field, int value) {
+        intChunks[slot >>> CHUNK_SHIFT][field * CHUNK_SIZE + (slot & CHUNK_MASK)] = value;
+    }
+
+    private void increment(int slot, int field) {
+        intChunks[slot >>> CHUNK_SHIFT][field * CHUNK_SIZE + (slot & CHUNK_MASK)]++;
+    }
+
+    private void addChunk() {
+        int chunks = intChunks.length;
+        int[][] ints = Arrays.copyOf(intChunks, chunks + 1);
+        long[][] longs = Arrays.copyOf(longChunks, chunks + 1);
+        ints[chunks] = new int[INT_FIELDS * CHUNK_SIZE];
+        longs[chunks] = new long[LONG_FIELDS * CHUNK_SIZE];
+        // Longs first: readers index into longChunks only for slots they already hold
+        longChunks = longs;
+        intChunks = ints;
+    }
+}
@@ -0,0 +1,116 @@
+package ai.pipestream.arena.v1.match;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How a match ends, chosen by each player at handshake (streaming) or
+ * registration (unary). Players are only paired with players that chose an
+ * equal format.
+ * <ul>
+ *   <li>{@code FIXED}: exactly {@code target} rounds.</li>
+ *   <li>{@code FIRST_TO}: the first player to {@code target} wins takes the
+ *   match. It ends as soon as the result is certain: someone has reached the
+ *   target, or the leader is ahead by more than the rounds left before the
+ *   round limit, so the trailing player can neither reach the target first
+ *   nor catch up.</li>
+ *   <li>{@code TIME_BOX}: as many rounds as the players manage in
+ *   {@code target} milliseconds from the start of the match. The round
+ *   resolved when the box closes ends the match.</li>
+ * </ul>
+ * Every format is capped at {@link #roundLimit()} rounds, at most
+ * {@value #MAX_ROUNDS}. The unary service evaluates the same rules in SQL
+ * (see {@code SubmitMoveStatement}); keep the two in step.
+ */
+public record MatchFormat(Kind kind, int target, int roundLimit) {
+
+    public static final int DEFAULT_ROUNDS = 1000;
+    public static final int MAX_ROUNDS = 100_000;
+    public static final int MAX_TIME_BOX_MILLIS = 3_600_000;
+
+    public static final MatchFormat DEFAULT = new MatchFormat(Kind.FIXED, DEFAULT_ROUNDS, DEFAULT_ROUNDS);
+
+    /**
+     * Ordinals match the {@code MatchFormat.Kind} numbers in the protos and the
+     * {@code format} column of {@code unary_match}.
+     */
+    public enum Kind {
+        FIXED,
+        FIRST_TO,
+        TIME_BOX
+    }
+
+    /**
+     * Validates a format as sent by a client. A zero target for {@code FIXED}
+     * means {@value #DEFAULT_ROUNDS} rounds; a zero {@code maxRounds} means
+     * {@value #MAX_ROUNDS}. {@code maxRounds} is ignored for {@code FIXED}.
+     *
+     * @throws IllegalArgumentException for unknown kinds and out-of-range values
+     */
+    public static MatchFormat of(int kind, int target, int maxRounds) {
+        if (kind < 0 || kind >= Kind.values().length) {
+            throw new IllegalArgumentException("Unknown match format " + kind);
+        }
+        if (target < 0 || maxRounds < 0 || maxRounds > MAX_ROUNDS) {
+            throw new IllegalArgumentException("Match format values must be between 0 and " + MAX_ROUNDS + " rounds");
+        }
+        int limit = maxRounds == 0 ? MAX_ROUNDS : maxRounds;
+        return switch (Kind.values()[kind]) {
+            case FIXED -> {
+                int rounds = target == 0 ? DEFAULT_ROUNDS : target;
+                if (rounds > MAX_ROUNDS) {
+                    throw new IllegalArgumentException("At most " + MAX_ROUNDS + " rounds per match");
+                }
+                yield rounds == DEFAULT_ROUNDS ? DEFAULT : new MatchFormat(Kind.FIXED, rounds, rounds);
+            }
+            case FIRST_TO -> {
+                if (target == 0 || target > limit) {
+                    throw new IllegalArgumentException("First-to target must be between 1 and the round limit");
+                }
+                yield new MatchFormat(Kind.FIRST_TO, target, limit);
+            }
+            case TIME_BOX -> {
+                if (target == 0 || target > MAX_TIME_BOX_MILLIS) {
+                    throw new IllegalArgumentException("Time box must be between 1 and " + MAX_TIME_BOX_MILLIS + " ms");
+                }
+                yield new MatchFormat(Kind.TIME_BOX, target, limit);
+            }
+        };
+    }
+
+    /**
+     * Whether the match is over after {@code roundsPlayed} resolved rounds.
+     *
+     * @param elapsedNanos time since the match started
+     */
+    public boolean isComplete(int roundsPlayed, int playerOneWins, int playerTwoWins, long elapsedNanos) {
+        if (roundsPlayed >= roundLimit) {
+            return true;
+        }
+        if (roundsPlayed == 0) {
+            return false;
+        }
+        return switch (kind) {
+            case FIXED -> false;
+            case FIRST_TO -> Math.max(playerOneWins, playerTwoWins) >= target
+                || Math.abs(playerOneWins - playerTwoWins) > roundLimit - roundsPlayed;
+            case TIME_BOX -> elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(target);
+        };
+    }
+
+    /**
+     * For {@code TIME_BOX}: rounds resolved before the box closed. The round
+     * that closed it, if any, resolved after the deadline and is not counted.
+     */
+    public int roundsWithinTimeBox(int roundsPlayed, long durationMillis) {
+        return durationMillis >= target ? Math.max(0, roundsPlayed - 1) : roundsPlayed;
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case FIXED -> "FIXED(" + target + ")";
+            case FIRST_TO -> "FIRST_TO(" + target + " of " + roundLimit + ")";
+            case TIME_BOX -> "TIME_BOX(" + target + "ms, " + roundLimit + ")";
+        };
+    }
+}
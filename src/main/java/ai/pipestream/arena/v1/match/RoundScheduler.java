@@ -0,0 +1,123 @@
+package ai.pipestream.arena.v1.match;
+
+import ai.pipestream.arena.v1.util.ArenaClock;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Runs ready rounds of many matches fairly on a shared executor.
+ * <p>
+ * A match has at most one ready round at a time, so a FIFO ready queue is
+ * round-robin across matches: a match whose bots answer instantly goes to the
+ * back of the queue after each round instead of looping on the thread that
+ * delivered its moves. Rounds are drained in bounded slices; a drainer that
+ * used up its slice resubmits itself so other work on the executor gets a turn.
+ * A round may also be held back until a given time, which is how per-match
+ * round rate caps are applied.
+ */
+public final class RoundScheduler {
+
+    private static final Logger LOG = Logger.getLogger(RoundScheduler.class);
+
+    private record ReadyRound(Runnable round, long readyNanos) {
+    }
+
+    private final ScheduledExecutorService executor;
+    private final ArenaClock clock;
+    private final int sliceSize;
+    private final int maxDrainers;
+    private final LongConsumer schedulingDelay;
+
+    private final ConcurrentLinkedQueue<ReadyRound> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readyCount = new AtomicInteger();
+    private final AtomicInteger drainers = new AtomicInteger();
+
+    /**
+     * @param sliceSize       rounds a drainer runs before yielding the thread
+     * @param maxDrainers     drainers allowed to run concurrently
+     * @param schedulingDelay receives, per round, the nanoseconds it waited between becoming ready and running
+     */
+    public RoundScheduler(ScheduledExecutorService executor, int sliceSize, int maxDrainers, LongConsumer schedulingDelay) {
+        this(executor, ArenaClock.SYSTEM, sliceSize, maxDrainers, schedulingDelay);
+    }
+
+    /**
+     * @param clock time source for hold-backs and scheduling delays; {@code executor}'s delays must follow it
+     */
+    public RoundScheduler(ScheduledExecutorService executor, ArenaClock clock, int sliceSize, int maxDrainers,
+                          LongConsumer schedulingDelay) {
+        if (sliceSize < 1 || maxDrainers < 1) {
+            throw new IllegalArgumentException("sliceSize and maxDrainers must be positive");
+        }
+        this.executor = executor;
+        this.clock = clock;
+        this.sliceSize = sliceSize;
+        this.maxDrainers = maxDrainers;
+        this.schedulingDelay = schedulingDelay;
+    }
+
+    /**
+     * Queues a round to run once the clock's {@code nanoTime()} reaches {@code notBeforeNanos}.
+     * Pass the current time (or any past time) for no delay.
+     */
+    public void schedule(Runnable round, long notBeforeNanos) {
+        long wait = notBeforeNanos - clock.nanoTime();
+        if (wait > 0) {
+            executor.schedule(() -> enqueue(round, notBeforeNanos), wait, TimeUnit.NANOSECONDS);
+        } else {
+            enqueue(round, clock.nanoTime());
+        }
+    }
+
+    /**
+     * Rounds waiting for a drainer.
+     */
+    public int readyCount() {
+        return readyCount.get();
+    }
+
+    private void enqueue(Runnable round, long readyNanos) {
+        ready.add(new ReadyRound(round, readyNanos));
+        readyCount.incrementAndGet();
+        startDrainerIfIdle();
+    }
+
+    private void startDrainerIfIdle() {
+        int running;
+        while ((running = drainers.get()) < maxDrainers) {
+            if (drainers.compareAndSet(running, running + 1)) {
+                executor.execute(this::drain);
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        ReadyRound next;
+        for (int processed = 0; processed < sliceSize && (next = ready.poll()) != null; processed++) {
+            readyCount.decrementAndGet();
+            schedulingDelay.accept(clock.nanoTime() - next.readyNanos());
+            try {
+                next.round().run();
+            } catch (RuntimeException e) {
+                LOG.errorf(e, "Round processing failed");
+            }
+        }
+
+        if (!ready.isEmpty()) {
+            // Slice used up: go to the back of the executor's queue
+            executor.execute(this::drain);
+            return;
+        }
+        drainers.decrementAndGet();
+        // A round queued while this drainer still counted as running would otherwise wait
+        if (!ready.isEmpty()) {
+            startDrainerIfIdle();
+        }
+    }
+}
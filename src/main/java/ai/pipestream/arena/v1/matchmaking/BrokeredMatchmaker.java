@@ -0,0 +1,185 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import ai.pipestream.arena.v1.matchmaking.MatchBroker.Claim;
+import ai.pipestream.arena.v1.matchmaking.MatchBroker.Seat;
+import ai.pipestream.arena.v1.util.ConcurrentLongMap;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pairs players across arena nodes. A player with no local opponent either
+ * claims a seat another node parked in the {@link MatchBroker} and is
+ * redirected to that node, or parks its own seat and waits here. The node
+ * owning the parked player always hosts the match, so both players' streams
+ * end up on one node and the match itself stays in memory.
+ * <p>
+ * Local opponents are preferred, which avoids a redirect whenever this node
+ * already has someone waiting. A claimed player is held for the claimer for
+ * {@code reservationTimeout}; if the claimer never arrives it goes back to
+ * waiting, so a lost redirect only delays its opponent.
+ */
+public class BrokeredMatchmaker implements Matchmaker {
+
+    private static final Logger LOG = Logger.getLogger(BrokeredMatchmaker.class);
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final MatchBroker broker;
+    private final String nodeId;
+    private final String address;
+    private final Duration reservationTimeout;
+    private final ScheduledExecutorService timers;
+
+    // Players of this node with a seat parked in the broker
+    private final ConcurrentLongMap<Ticket> parked = new ConcurrentLongMap<>();
+    // Claimed players waiting for their redirected opponent, by reservation
+    private final ConcurrentHashMap<String, Ticket> held = new ConcurrentHashMap<>();
+    private Pairings pairings;
+
+    /**
+     * @param address host:port other nodes redirect players to
+     */
+    public BrokeredMatchmaker(MatchBroker broker, String nodeId, String address,
+                              Duration reservationTimeout, ScheduledExecutorService timers) {
+        this.broker = broker;
+        this.nodeId = nodeId;
+        this.address = address;
+        this.reservationTimeout = reservationTimeout;
+        this.timers = timers;
+    }
+
+    @Override
+    public void start(Pairings pairings) {
+        this.pairings = pairings;
+        broker.register(nodeId, this::onClaimed);
+    }
+
+    @Override
+    public void offer(Ticket ticket) {
+        if (!ticket.reservation().isEmpty()) {
+            Ticket host = held.get(ticket.reservation());
+            if (host != null && ticket.canPlay(host) && held.remove(ticket.reservation(), host)) {
+                pairings.paired(ticket, host);
+                return;
+            }
+            LOG.debugf("Reservation of %s is unknown, expired or for another format; matching it as a new player",
+                ticket.id());
+        }
+        matchLocally(ticket, parked.values().iterator());
+    }
+
+    @Override
+    public void withdraw(Ticket ticket) {
+        if (parked.remove(ticket.id(), ticket)) {
+            withdrawSeat(ticket);
+        }
+        // A redirected opponent arriving for it is matched as a new player
+        held.values().remove(ticket);
+    }
+
+    @Override
+    public List<Ticket> withdrawAll() {
+        List<Ticket> withdrawn = new ArrayList<>();
+        for (Ticket ticket : parked.values()) {
+            if (parked.remove(ticket.id(), ticket)) {
+                withdrawn.add(ticket);
+                withdrawSeat(ticket);
+            }
+        }
+        for (String reservation : held.keySet()) {
+            Ticket ticket = held.remove(reservation);
+            if (ticket != null) {
+                withdrawn.add(ticket);
+            }
+        }
+        return withdrawn;
+    }
+
+    public int parkedCount() {
+        return parked.size();
+    }
+
+    public int heldCount() {
+        return held.size();
+    }
+
+    /**
+     * Takes a parked local player out of the broker and pairs with it, trying
+     * candidates in turn; parks the ticket when none can be taken.
+     */
+    private void matchLocally(Ticket ticket, Iterator<Ticket> candidates) {
+        while (candidates.hasNext()) {
+            Ticket candidate = candidates.next();
+            if (!ticket.canPlay(candidate)) {
+                continue;
+            }
+            // Withdrawing wins the seat against remote claimers
+            broker.withdraw(candidate.id()).subscribe().with(
+                withdrawn -> {
+                    if (withdrawn && parked.remove(candidate.id(), candidate)) {
+                        pairings.paired(ticket, candidate);
+                    } else {
+                        matchLocally(ticket, candidates);
+                    }
+                },
+                failure -> retryLater(ticket, failure));
+            return;
+        }
+        park(ticket);
+    }
+
+    private void park(Ticket ticket) {
+        // Visible locally before the seat is, so a claim can always find it
+        parked.put(ticket.id(), ticket);
+        broker.claimOrPark(new Seat(ticket.id(), nodeId, address, ticket.languageName(), ticket.format())).subscribe().with(
+            claim -> {
+                if (claim == null) {
+                    return; // Parked; wait for a local opponent or a claim
+                }
+                if (parked.remove(ticket.id(), ticket)) {
+                    pairings.redirect(ticket, claim.seat().address(), claim.reservation());
+                }
+                // Otherwise the player left meanwhile; the claimed player times out back into waiting
+            },
+            failure -> retryLater(ticket, failure));
+    }
+
+    private void withdrawSeat(Ticket ticket) {
+        broker.withdraw(ticket.id()).subscribe().with(
+            withdrawn -> { },
+            failure -> LOG.warnf("Could not withdraw seat %s: %s", ticket.id(), failure.getMessage()));
+    }
+
+    private void onClaimed(Claim claim) {
+        Ticket ticket = parked.remove(claim.seat().id());
+        if (ticket == null) {
+            return; // Left before the claim; the claimer will be matched as a new player
+        }
+        String reservation = claim.reservation();
+        held.put(reservation, ticket);
+        timers.schedule(() -> {
+            Ticket expired = held.remove(reservation);
+            if (expired != null) {
+                LOG.infof("Opponent for %s did not arrive; waiting again", expired.id());
+                offer(expired);
+            }
+        }, reservationTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void retryLater(Ticket ticket, Throwable failure) {
+        LOG.errorf("Match broker unavailable for %s: %s", ticket.id(), failure.getMessage());
+        parked.put(ticket.id(), ticket);
+        timers.schedule(() -> {
+            // Skipped if the player left meanwhile
+            if (parked.remove(ticket.id(), ticket)) {
+                offer(ticket);
+            }
+        }, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,75 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import ai.pipestream.arena.v1.util.IdGenerator;
+import io.smallrye.mutiny.Uni;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * {@link MatchBroker} held in memory. Nodes sharing an instance behave like
+ * nodes sharing a networked broker, which makes this the stand-in for
+ * multi-node tests. Claim notifications are delivered on {@code notifier},
+ * never while holding the broker's lock.
+ */
+public class InMemoryMatchBroker implements MatchBroker {
+
+    private final LinkedHashMap<Long, Seat> parked = new LinkedHashMap<>();
+    private final Map<String, Consumer<Claim>> nodes = new ConcurrentHashMap<>();
+    private final Executor notifier;
+
+    public InMemoryMatchBroker(Executor notifier) {
+        this.notifier = notifier;
+    }
+
+    @Override
+    public void register(String nodeId, Consumer<Claim> onClaimed) {
+        nodes.put(nodeId, onClaimed);
+    }
+
+    @Override
+    public Uni<Claim> claimOrPark(Seat seat) {
+        return Uni.createFrom().item(() -> {
+            Seat claimed = null;
+            synchronized (parked) {
+                for (Iterator<Seat> oldest = parked.values().iterator(); oldest.hasNext(); ) {
+                    Seat candidate = oldest.next();
+                    if (candidate.format().equals(seat.format())) {
+                        oldest.remove();
+                        claimed = candidate;
+                        break;
+                    }
+                }
+                if (claimed == null) {
+                    parked.put(seat.id(), seat);
+                    return null;
+                }
+            }
+            Claim claim = new Claim(claimed, IdGenerator.newToken());
+            Consumer<Claim> owner = nodes.get(claimed.nodeId());
+            if (owner != null) {
+                notifier.execute(() -> owner.accept(claim));
+            }
+            return claim;
+        });
+    }
+
+    @Override
+    public Uni<Boolean> withdraw(long seatId) {
+        return Uni.createFrom().item(() -> {
+            synchronized (parked) {
+                return parked.remove(seatId) != null;
+            }
+        });
+    }
+
+    public int parkedCount() {
+        synchronized (parked) {
+            return parked.size();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Pairs players connected to this node, first come first served among players
+ * asking for the same match format.
+ * Players on other nodes are never seen; use {@link BrokeredMatchmaker} when
+ * several arena nodes sit behind one load balancer.
+ */
+public class LocalMatchmaker implements Matchmaker {
+
+    // Longest-waiting first; rarely holds more than one player per format
+    private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+    private Pairings pairings;
+
+    @Override
+    public void start(Pairings pairings) {
+        this.pairings = pairings;
+    }
+
+    @Override
+    public void offer(Ticket ticket) {
+        Ticket opponent = null;
+        synchronized (waiting) {
+            for (Iterator<Ticket> candidates = waiting.iterator(); candidates.hasNext(); ) {
+                Ticket candidate = candidates.next();
+                if (ticket.canPlay(candidate)) {
+                    candidates.remove();
+                    opponent = candidate;
+                    break;
+                }
+            }
+            if (opponent == null) {
+                waiting.addLast(ticket);
+                return;
+            }
+        }
+        pairings.paired(ticket, opponent);
+    }
+
+    @Override
+    public void withdraw(Ticket ticket) {
+        synchronized (waiting) {
+            waiting.remove(ticket);
+        }
+    }
+
+    @Override
+    public List<Ticket> withdrawAll() {
+        synchronized (waiting) {
+            List<Ticket> withdrawn = new ArrayList<>(waiting);
+            waiting.clear();
+            return withdrawn;
+        }
+    }
+
+    public int waitingCount() {
+        synchronized (waiting) {
+            return waiting.size();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+import io.smallrye.mutiny.Uni;
+
+import java.util.function.Consumer;
+
+/**
+ * Shared waiting room for {@link BrokeredMatchmaker}s on different nodes.
+ * A node that has a player but no local opponent either claims a seat parked
+ * by some node, or parks its own player's seat. Claims are atomic: a parked
+ * seat is claimed at most once, and a withdrawn seat is never claimed.
+ * <p>
+ * {@link InMemoryMatchBroker} is the in-process implementation, for several
+ * arena instances in one JVM and for tests. {@link PostgresMatchBroker}
+ * shares seats through the arena database.
+ */
+public interface MatchBroker {
+
+    /**
+     * Subscribes a node to claims on the seats it parks.
+     */
+    void register(String nodeId, Consumer<Claim> onClaimed);
+
+    /**
+     * Atomically claims the oldest parked seat with the same format as
+     * {@code seat}, or parks {@code seat} when none is waiting.
+     *
+     * @return the claim, or null when {@code seat} was parked
+     */
+    Uni<Claim> claimOrPark(Seat seat);
+
+    /**
+     * Removes a parked seat.
+     *
+     * @return false when the seat was already claimed (or never parked)
+     */
+    Uni<Boolean> withdraw(long seatId);
+
+    /**
+     * A waiting player as published to other nodes.
+     */
+    record Seat(long id, String nodeId, String address, String languageName, MatchFormat format) {
+    }
+
+    /**
+     * A claimed seat and the one-time reservation the claiming player
+     * presents to the seat's node.
+     */
+    record Claim(Seat seat, String reservation) {
+    }
+}
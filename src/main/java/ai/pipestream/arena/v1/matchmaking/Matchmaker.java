@@ -0,0 +1,55 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import java.util.List;
+
+/**
+ * Pairs streaming players. The streaming service offers every player after
+ * its handshake and withdraws it when its stream ends; the matchmaker answers
+ * through {@link Pairings}, possibly on another thread and later.
+ * <p>
+ * {@link LocalMatchmaker} only pairs players connected to this node.
+ * {@link BrokeredMatchmaker} pairs across nodes through a {@link MatchBroker}.
+ * {@link MatchmakerProducer} picks one from {@code arena.matchmaking.mode}.
+ */
+public interface Matchmaker {
+
+    /**
+     * Called once by the streaming service before the first offer.
+     */
+    void start(Pairings pairings);
+
+    /**
+     * Finds an opponent for the ticket, or keeps it waiting until one arrives.
+     */
+    void offer(Ticket ticket);
+
+    /**
+     * Removes a ticket that has not been paired yet; a no-op otherwise.
+     */
+    void withdraw(Ticket ticket);
+
+    /**
+     * Removes every ticket still waiting on this node, e.g. when it drains.
+     *
+     * @return the removed tickets; none of them will be paired or redirected
+     */
+    List<Ticket> withdrawAll();
+
+    /**
+     * Decisions reported back to the streaming service.
+     */
+    interface Pairings {
+
+        /**
+         * Both tickets are connected to this node; start their match.
+         * {@code playerOne} is the ticket whose offer completed the pairing.
+         */
+        void paired(Ticket playerOne, Ticket playerTwo);
+
+        /**
+         * The opponent waits on another node. The player should reconnect to
+         * {@code address} and handshake with {@code reservation}.
+         */
+        void redirect(Ticket ticket, String address, String reservation);
+    }
+}
@@ -0,0 +1,63 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Selects the {@link Matchmaker} from {@code arena.matchmaking.mode}:
+ * {@code local} (default) or {@code brokered}. Brokered mode uses the
+ * {@link MatchBroker} bean: {@link PostgresMatchBroker} unless the
+ * application provides another. It fails startup without one, as in a
+ * {@code streaming} build, which has no database: a broker private to this
+ * process would quietly pair players on this node only.
+ * {@link InMemoryMatchBroker} is for tests that wire nodes up by hand.
+ */
+@ApplicationScoped
+public class MatchmakerProducer {
+
+    private static final Logger LOG = Logger.getLogger(MatchmakerProducer.class);
+
+    @ConfigProperty(name = "arena.matchmaking.mode", defaultValue = "local")
+    String mode;
+
+    /** host:port other nodes redirect players to; required in brokered mode. */
+    @ConfigProperty(name = "arena.matchmaking.advertised-address")
+    Optional<String> advertisedAddress;
+
+    @ConfigProperty(name = "arena.matchmaking.reservation-timeout", defaultValue = "PT10S")
+    Duration reservationTimeout;
+
+    @Inject
+    Instance<MatchBroker> brokers;
+
+    @Produces
+    @Singleton
+    Matchmaker matchmaker() {
+        LOG.infof("Streaming matchmaker: %s", mode);
+        switch (mode) {
+            case "local":
+                return new LocalMatchmaker();
+            case "brokered":
+                String address = advertisedAddress.orElseThrow(() -> new IllegalArgumentException(
+                    "arena.matchmaking.advertised-address is required when arena.matchmaking.mode=brokered"));
+                if (!brokers.isResolvable()) {
+                    throw new IllegalStateException("arena.matchmaking.mode=brokered needs exactly one MatchBroker bean, found "
+                        + (brokers.isUnsatisfied() ? "none" : "several"));
+                }
+                return new BrokeredMatchmaker(brokers.get(), UUID.randomUUID().toString(), address,
+                    reservationTimeout, Infrastructure.getDefaultWorkerPool());
+            default:
+                throw new IllegalArgumentException("Unknown arena.matchmaking.mode: " + mode);
+        }
+    }
+}
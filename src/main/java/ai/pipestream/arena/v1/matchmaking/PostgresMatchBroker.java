@@ -0,0 +1,205 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import io.quarkus.arc.DefaultBean;
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.pgclient.PgConnection;
+import io.vertx.mutiny.pgclient.PgNotification;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link MatchBroker} on the arena's PostgreSQL database, so that every node
+ * pointed at the same database shares one waiting room. Seats live in
+ * {@code match_broker_seat}.
+ * <p>
+ * {@link #claimOrPark} takes a transaction-scoped advisory lock on the seat's
+ * format, then claims and deletes the oldest seat of that format
+ * ({@code FOR UPDATE SKIP LOCKED}, so a seat being withdrawn is passed over
+ * rather than waited on) or parks the new seat, in one statement. The lock
+ * keeps two nodes from both finding nothing and both parking. The same
+ * statement sends {@code NOTIFY arena_match_claims} with the claimed seat and
+ * reservation; the notification is delivered on commit, only if the claim
+ * committed. Every node keeps one pooled connection listening on the channel
+ * and passes claims for its own node ID to the registered callback.
+ * <p>
+ * Notifications are not queued for a node that is not listening. A claim
+ * made while a node's listening connection is down (it reconnects with
+ * back-off) is lost: the claimer's reservation is then unknown and it is
+ * matched as a new player, and the claimed player waits for a local opponent
+ * only. Seats of a node that dies without draining stay parked until deleted
+ * by hand ({@code DELETE FROM match_broker_seat WHERE node_id = ...}).
+ */
+@ApplicationScoped
+@DefaultBean
+@UnlessBuildProfile("streaming")
+public class PostgresMatchBroker implements MatchBroker {
+
+    private static final Logger LOG = Logger.getLogger(PostgresMatchBroker.class);
+
+    static final String CHANNEL = "arena_match_claims";
+
+    // First key of the advisory lock; the second is the format's hash
+    private static final int FORMAT_LOCK_SPACE = 0x41524e41;
+
+    static final String LOCK_FORMAT = "SELECT pg_advisory_xact_lock($1, $2)";
+
+    static final String CLAIM_OR_PARK =
+        "WITH c AS ("
+            + " SELECT seat_id FROM match_broker_seat"
+            + " WHERE format_kind = $5 AND format_target = $6 AND round_limit = $7"
+            + " ORDER BY parked_at, seat_id LIMIT 1 FOR UPDATE SKIP LOCKED"
+        + "), d AS ("
+            + " DELETE FROM match_broker_seat USING c WHERE match_broker_seat.seat_id = c.seat_id"
+            + " RETURNING match_broker_seat.*"
+        + "), p AS ("
+            + " INSERT INTO match_broker_seat (seat_id, node_id, address, language_name, format_kind, format_target, round_limit)"
+            + " SELECT $1, $2, $3, $4, $5, $6, $7 WHERE NOT EXISTS (SELECT 1 FROM d)"
+        + ")"
+        + " SELECT d.seat_id, d.node_id, d.address, d.language_name, d.format_kind, d.format_target, d.round_limit,"
+            + " pg_notify('" + CHANNEL + "', json_build_object("
+            + "  'seatId', d.seat_id, 'nodeId', d.node_id, 'address', d.address, 'languageName', d.language_name,"
+            + "  'formatKind', d.format_kind, 'formatTarget', d.format_target, 'roundLimit', d.round_limit,"
+            + "  'reservation', $8::text)::text)"
+        + " FROM d";
+
+    static final String WITHDRAW = "DELETE FROM match_broker_seat WHERE seat_id = $1";
+
+    @Inject
+    Pool client;
+
+    private final Map<String, Consumer<Claim>> nodes = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private Uni<Void> listening;
+    private PgConnection listener;
+    private boolean closed;
+
+    @Override
+    public void register(String nodeId, Consumer<Claim> onClaimed) {
+        nodes.put(nodeId, onClaimed);
+        listening().subscribe().with(
+            listening -> { },
+            failure -> LOG.errorf("Could not listen for match claims: %s", failure.getMessage()));
+    }
+
+    @Override
+    public Uni<Claim> claimOrPark(Seat seat) {
+        String reservation = IdGenerator.newToken();
+        MatchFormat format = seat.format();
+        // Parked only once this node can hear claims on the seat
+        return listening().chain(() -> client.withTransaction(connection -> connection.preparedQuery(LOCK_FORMAT)
+            .execute(Tuple.of(FORMAT_LOCK_SPACE, format.hashCode()))
+            .chain(() -> connection.preparedQuery(CLAIM_OR_PARK).execute(Tuple.of(seat.id(), seat.nodeId(),
+                seat.address(), seat.languageName(), format.kind().ordinal(), format.target(), format.roundLimit(),
+                reservation)))
+            .map(rows -> {
+                RowIterator<Row> iterator = rows.iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                Row row = iterator.next();
+                return new Claim(new Seat(
+                    row.getLong("seat_id"),
+                    row.getString("node_id"),
+                    row.getString("address"),
+                    row.getString("language_name"),
+                    new MatchFormat(MatchFormat.Kind.values()[row.getInteger("format_kind")],
+                        row.getInteger("format_target"), row.getInteger("round_limit"))),
+                    reservation);
+            })));
+    }
+
+    @Override
+    public Uni<Boolean> withdraw(long seatId) {
+        return client.preparedQuery(WITHDRAW)
+            .execute(Tuple.of(seatId))
+            .map(rows -> rows.rowCount() > 0);
+    }
+
+    /**
+     * Completes once the listening connection is up, connecting (and retrying
+     * with back-off) if it is not.
+     */
+    private synchronized Uni<Void> listening() {
+        if (listening == null) {
+            listening = listen()
+                .onFailure().retry().withBackOff(Duration.ofSeconds(1), Duration.ofSeconds(30)).indefinitely()
+                .memoize().indefinitely();
+        }
+        return listening;
+    }
+
+    private Uni<Void> listen() {
+        return client.getConnection().chain(connection -> {
+            PgConnection pg = PgConnection.cast(connection);
+            pg.notificationHandler(this::onNotification);
+            pg.closeHandler(() -> lost(pg));
+            return pg.query("LISTEN " + CHANNEL).execute()
+                .onFailure().call(pg::close)
+                .invoke(() -> listening(pg))
+                .replaceWithVoid();
+        });
+    }
+
+    private synchronized void listening(PgConnection pg) {
+        if (closed) {
+            pg.closeAndForget();
+            return;
+        }
+        listener = pg;
+    }
+
+    private void lost(PgConnection pg) {
+        synchronized (this) {
+            if (closed || listener != pg) {
+                return;
+            }
+            LOG.warn("Match claim listener disconnected; reconnecting");
+            listener = null;
+            listening = null;
+        }
+        listening().subscribe().with(
+            listening -> LOG.info("Match claim listener reconnected"),
+            failure -> LOG.errorf("Could not listen for match claims: %s", failure.getMessage()));
+    }
+
+    private void onNotification(PgNotification notification) {
+        JsonObject claim = new JsonObject(notification.getPayload());
+        Consumer<Claim> owner = nodes.get(claim.getString("nodeId"));
+        if (owner == null) {
+            return; // Another node's seat
+        }
+        owner.accept(new Claim(new Seat(
+            claim.getLong("seatId"),
+            claim.getString("nodeId"),
+            claim.getString("address"),
+            claim.getString("languageName"),
+            new MatchFormat(MatchFormat.Kind.values()[claim.getInteger("formatKind")],
+                claim.getInteger("formatTarget"), claim.getInteger("roundLimit"))),
+            claim.getString("reservation")));
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        closed = true;
+        if (listener != null) {
+            listener.closeAndForget();
+            listener = null;
+        }
+    }
+}
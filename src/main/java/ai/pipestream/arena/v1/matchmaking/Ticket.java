@@ -0,0 +1,54 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+
+/**
+ * A player looking for an opponent, as seen by a {@link Matchmaker}.
+ * The streaming service hands its own player objects in as tickets and gets
+ * the same instances back when they are paired or redirected. Tickets are
+ * only paired with tickets of an equal {@link MatchFormat}.
+ */
+public class Ticket {
+
+    private final long id;
+    private final String languageName;
+    private final String reservation;
+    private final MatchFormat format;
+
+    public Ticket(long id, String languageName, String reservation) {
+        this(id, languageName, reservation, MatchFormat.DEFAULT);
+    }
+
+    /**
+     * @param reservation reservation from a {@code Redirect}, or empty for a fresh player
+     */
+    public Ticket(long id, String languageName, String reservation, MatchFormat format) {
+        this.id = id;
+        this.languageName = languageName;
+        this.reservation = reservation == null ? "" : reservation;
+        this.format = format;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public String languageName() {
+        return languageName;
+    }
+
+    public String reservation() {
+        return reservation;
+    }
+
+    public MatchFormat format() {
+        return format;
+    }
+
+    /**
+     * Whether the two tickets may play each other.
+     */
+    public boolean canPlay(Ticket other) {
+        return other != this && format.equals(other.format);
+    }
+}
@@ -1,12 +1,17 @@
 package ai.pipestream.arena.v1.model;
 
+import ai.pipestream.arena.v1.match.MatchFormat;
 import io.quarkus.hibernate.reactive.panache.PanacheEntity;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import io.smallrye.mutiny.Uni;
 import jakarta.persistence.Entity;
 import java.time.Instant;
+import java.util.List;
 
 @Entity
 public class MatchStatistics extends PanacheEntity {
-    public String matchId;
+    public long matchId;
     public String matchType; // "STREAMING" or "UNARY"
     public String playerOneName;
     public String playerTwoName;
@@ -22,7 +27,14 @@ public class MatchStatistics extends PanacheEntity {
     public int playerTwoWins;
     
     public int ties;
-    public int totalRounds;
+    public int totalRounds; // Rounds actually played
+    
+    // Match format (see MatchFormat) and how the match ended under it
+    public String format; // "FIXED", "FIRST_TO" or "TIME_BOX"
+    public int formatTarget; // Rounds, wins or milliseconds, by format
+    public int roundLimit;
+    public boolean decidedEarly; // FIRST_TO: ended before the round limit
+    public int roundsInTimeBox; // TIME_BOX: rounds resolved before the box closed
     
     public long durationMillis;
     public double roundsPerSecond;
@@ -37,10 +49,82 @@ public class MatchStatistics extends PanacheEntity {
     public void calculateDistributions() {
         if (totalRounds == 0) return;
         
-        int p1Max = Math.max(playerOneRocks, Math.max(playerOnePapers, playerOneScissors));
-        this.playerOneBias = (p1Max * 100.0) / totalRounds;
+        this.playerOneBias = bias(playerOneRocks, playerOnePapers, playerOneScissors, totalRounds);
+        this.playerTwoBias = bias(playerTwoRocks, playerTwoPapers, playerTwoScissors, totalRounds);
+    }
+
+    /**
+     * Percentage of rounds in which a player chose its most frequent move.
+     * Static so the simulator can compute it without building an entity.
+     */
+    public static double bias(int rocks, int papers, int scissors, int totalRounds) {
+        int max = Math.max(rocks, Math.max(papers, scissors));
+        return (max * 100.0) / totalRounds;
+    }
+
+    /**
+     * Fills in the format columns. Call after {@link #totalRounds} and
+     * {@link #durationMillis} are set.
+     */
+    public void recordFormat(MatchFormat matchFormat) {
+        this.format = matchFormat.kind().name();
+        this.formatTarget = matchFormat.target();
+        this.roundLimit = matchFormat.roundLimit();
+        this.decidedEarly = matchFormat.kind() == MatchFormat.Kind.FIRST_TO && totalRounds < roundLimit;
+        this.roundsInTimeBox = matchFormat.kind() == MatchFormat.Kind.TIME_BOX
+            ? matchFormat.roundsWithinTimeBox(totalRounds, durationMillis)
+            : 0;
+    }
+
+    /**
+     * One keyset page for exports: rows with {@code id > afterId} in id order.
+     * Null filters are left out of the query. Seeks on the primary key (or the
+     * matchType/id index) so every page costs the same however deep the export is.
+     * A player filter goes through the per-seat (name, id) indexes instead, so a
+     * page reads only that player's rows past the cursor, whoever else has played.
+     */
+    public static Uni<List<MatchStatistics>> findPageAfter(long afterId, String matchType, String playerName,
+                                                           Instant createdAfter, Instant createdBefore, int limit) {
+        StringBuilder query = new StringBuilder("id > :afterId");
+        Parameters params = Parameters.with("afterId", afterId);
+        if (matchType != null) {
+            query.append(" and matchType = :matchType");
+            params.and("matchType", matchType);
+        }
+        if (playerName != null) {
+            query.append(" and (playerOneName = :playerName or playerTwoName = :playerName)");
+            params.and("playerName", playerName);
+        }
+        if (createdAfter != null) {
+            query.append(" and createdAt >= :createdAfter");
+            params.and("createdAfter", createdAfter);
+        }
+        if (createdBefore != null) {
+            query.append(" and createdAt < :createdBefore");
+            params.and("createdBefore", createdBefore);
+        }
+        return find(query.toString(), Sort.by("id"), params).page(0, limit).list();
+    }
+
+    /**
+     * Simple heuristic: if both players' move distributions are nearly identical,
+     * their generators may share a seed.
+     */
+    public boolean detectSeedCollision() {
+        return seedCollision(playerOneRocks, playerOnePapers, playerOneScissors,
+            playerTwoRocks, playerTwoPapers, playerTwoScissors);
+    }
+
+    /**
+     * {@link #detectSeedCollision} on raw move counts.
+     */
+    public static boolean seedCollision(int p1Rocks, int p1Papers, int p1Scissors,
+                                        int p2Rocks, int p2Papers, int p2Scissors) {
+        int rockDiff = Math.abs(p1Rocks - p2Rocks);
+        int paperDiff = Math.abs(p1Papers - p2Papers);
+        int scissorsDiff = Math.abs(p1Scissors - p2Scissors);
         
-        int p2Max = Math.max(playerTwoRocks, Math.max(playerTwoPapers, playerTwoScissors));
-        this.playerTwoBias = (p2Max * 100.0) / totalRounds;
+        // If all differences are very small (< 5), possible collision
+        return rockDiff < 5 && paperDiff < 5 && scissorsDiff < 5;
     }
-}
\ No newline at end of file
+}
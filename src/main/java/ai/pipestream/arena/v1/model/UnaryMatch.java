@@ -1,14 +1,22 @@
 package ai.pipestream.arena.v1.model;
 
+import ai.pipestream.arena.v1.match.MatchFormat;
 import io.quarkus.hibernate.reactive.panache.PanacheEntity;
+import io.quarkus.panache.common.Sort;
 import io.smallrye.mutiny.Uni;
 import jakarta.persistence.Entity;
+import jakarta.persistence.LockModeType;
 import java.time.Instant;
-import java.util.List;
 
 @Entity
 public class UnaryMatch extends PanacheEntity {
-    public String matchId;
+    /**
+     * Lock timeout understood by Hibernate as "SKIP LOCKED": rows already
+     * claimed by a concurrent transaction are passed over instead of waited on.
+     */
+    private static final int LOCK_TIMEOUT_SKIP_LOCKED = -2;
+
+    public long matchId;
     public String playerOneName;
     public String playerOnePrng;
     public String playerTwoName;
@@ -19,7 +27,11 @@ public class UnaryMatch extends PanacheEntity {
     public int ties = 0;
     
     public int currentRound = 1;
-    public int totalRounds = 1000;
+    /** Round limit of the match format; the match may end earlier. */
+    public int totalRounds = MatchFormat.DEFAULT_ROUNDS;
+    
+    public MatchFormat.Kind formatKind = MatchFormat.Kind.FIXED;
+    public int formatTarget = MatchFormat.DEFAULT_ROUNDS;
     
     public MatchStatus status;
     public Instant createdAt;
@@ -32,11 +44,43 @@ public class UnaryMatch extends PanacheEntity {
         COMPLETED
     }
 
-    public static Uni<List<UnaryMatch>> findWaitingMatches() {
-        return list("status", MatchStatus.WAITING_FOR_OPPONENT);
+    public MatchFormat format() {
+        return new MatchFormat(formatKind, formatTarget, totalRounds);
+    }
+
+    public void applyFormat(MatchFormat format) {
+        this.formatKind = format.kind();
+        this.formatTarget = format.target();
+        this.totalRounds = format.roundLimit();
     }
 
-    public static Uni<UnaryMatch> findByMatchId(String matchId) {
+    /**
+     * Atomically claims the oldest waiting match with the given format for the
+     * current transaction.
+     * Issues {@code SELECT ... ORDER BY createdAt LIMIT 1 FOR UPDATE SKIP LOCKED},
+     * so concurrent registrations each lock a different row (or none) and the
+     * lookup is a single index probe regardless of how many matches are waiting.
+     * Must be called inside a transaction; the lock is held until it commits.
+     */
+    public static Uni<UnaryMatch> claimWaitingMatch(MatchFormat format) {
+        return find("status = ?1 and formatKind = ?2 and formatTarget = ?3 and totalRounds = ?4", Sort.by("createdAt"),
+                MatchStatus.WAITING_FOR_OPPONENT, format.kind(), format.target(), format.roundLimit())
+            .withLock(LockModeType.PESSIMISTIC_WRITE)
+            .withHint("jakarta.persistence.lock.timeout", LOCK_TIMEOUT_SKIP_LOCKED)
+            .firstResult();
+    }
+
+    public static Uni<UnaryMatch> findByMatchId(long matchId) {
         return find("matchId", matchId).firstResult();
     }
-}
\ No newline at end of file
+
+    /**
+     * Like {@link #findByMatchId} but {@code FOR UPDATE}: moves on the same
+     * match are applied one transaction at a time, so the two players of a
+     * round cannot both see it unplayed and insert it twice.
+     * Must be called inside a transaction; the lock is held until it commits.
+     */
+    public static Uni<UnaryMatch> lockByMatchId(long matchId) {
+        return find("matchId", matchId).withLock(LockModeType.PESSIMISTIC_WRITE).firstResult();
+    }
+}
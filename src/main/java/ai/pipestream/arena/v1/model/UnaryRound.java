@@ -5,11 +5,18 @@ import io.smallrye.mutiny.Uni;
 import jakarta.persistence.Entity;
 import java.time.Instant;
 
+/**
+ * Stored in a table range-partitioned by {@link #matchCreatedAt} (see the Flyway
+ * migrations); queries should constrain it so PostgreSQL reads one partition.
+ */
 @Entity
 public class UnaryRound extends PanacheEntity {
-    public String matchId;
+    public long matchId;
     public int roundNumber;
     
+    /** Creation time of the owning match; the partition key. */
+    public Instant matchCreatedAt;
+    
     public Integer playerOneMove;
     public Integer playerTwoMove;
     
@@ -24,7 +31,18 @@ public class UnaryRound extends PanacheEntity {
         COMPLETE
     }
 
-    public static Uni<UnaryRound> findByMatchAndRound(String matchId, int roundNumber) {
-        return find("matchId = ?1 and roundNumber = ?2", matchId, roundNumber).firstResult();
+    public static Uni<UnaryRound> findByMatchAndRound(long matchId, Instant matchCreatedAt, int roundNumber) {
+        return find("matchId = ?1 and matchCreatedAt = ?2 and roundNumber = ?3", matchId, matchCreatedAt, roundNumber)
+            .firstResult();
+    }
+
+    /**
+     * For callers that only know the match ID: the partition key is looked up
+     * from the match in the same query.
+     */
+    public static Uni<UnaryRound> findByMatchAndRound(long matchId, int roundNumber) {
+        return find("matchId = ?1 and roundNumber = ?2"
+                + " and matchCreatedAt = (select m.createdAt from UnaryMatch m where m.matchId = ?1)",
+            matchId, roundNumber).firstResult();
     }
 }
\ No newline at end of file
@@ -0,0 +1,250 @@
+package ai.pipestream.arena.v1.persistence;
+
+import ai.pipestream.arena.v1.drain.Drainable;
+import ai.pipestream.arena.v1.persistence.SubmitMoveStatement.Move;
+import ai.pipestream.arena.v1.persistence.SubmitMoveStatement.MoveResult;
+import io.grpc.Status;
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit for the SQL write path. Moves submitted within
+ * {@code arena.unary.group-commit.window} of each other are applied together
+ * by {@link SubmitMoveStatement#applyAll}: one statement, one transaction and
+ * one commit (and fsync) for the whole batch instead of one per move. Each
+ * caller's {@code Uni} completes once the batch has committed, so an accepted
+ * move is as durable as before.
+ * <p>
+ * A batch holds at most one move per match, since one statement cannot insert
+ * and then update the same round; a second move for a match already in the
+ * batch waits for the next one. Up to {@code max-in-flight} batches run at
+ * once. While they are all busy, moves queue up, and the next batch leaves as
+ * soon as one finishes, so under load batches grow instead of waiting on the
+ * window. If a batch fails, every move in it fails.
+ * <p>
+ * Queued moves and running batches count as in-flight work for
+ * {@link ai.pipestream.arena.v1.drain.DrainController}. Once draining starts
+ * the window is skipped and moves leave as soon as a batch slot is free; any
+ * still queued when the bean is destroyed fail with {@code UNAVAILABLE}.
+ */
+@ApplicationScoped
+@UnlessBuildProfile("streaming")
+public class MoveGroupCommit implements Drainable {
+
+    @Inject
+    SubmitMoveStatement statement;
+
+    /** How long the first move of a batch waits for others to join it. */
+    @ConfigProperty(name = "arena.unary.group-commit.window", defaultValue = "PT0.002S")
+    Duration window;
+
+    @ConfigProperty(name = "arena.unary.group-commit.max-batch", defaultValue = "256")
+    int maxBatch;
+
+    @ConfigProperty(name = "arena.unary.group-commit.max-in-flight", defaultValue = "4")
+    int maxInFlight;
+
+    // Replaced by the tests with a virtual clock
+    ScheduledExecutorService timer = createTimer();
+
+    // Guarded by this
+    private final ArrayDeque<PendingMove> queue = new ArrayDeque<>();
+    private boolean flushScheduled;
+    private int batchesInFlight;
+    private boolean draining;
+    private boolean closed;
+
+    private record PendingMove(Move move, long databaseIops, Context context, UniEmitter<? super MoveResult> emitter) {
+    }
+
+    /**
+     * Queues a move for the next batch.
+     *
+     * @param databaseIops recorded in the statistics if the move completes the match
+     * @return the outcome once the batch has committed, or {@code null} if the match does not exist
+     */
+    public Uni<MoveResult> apply(long matchId, int roundNumber, int move, long databaseIops) {
+        return Uni.createFrom().emitter(emitter -> {
+            // Completed on the caller's context, which is where it continues (e.g. into a Hibernate session)
+            PendingMove pending = new PendingMove(new Move(matchId, roundNumber, move), databaseIops,
+                Vertx.currentContext(), emitter);
+            boolean flushNow;
+            synchronized (this) {
+                if (closed) {
+                    emitter.fail(shuttingDown());
+                    return;
+                }
+                queue.add(pending);
+                flushNow = (draining || queue.size() >= maxBatch) && batchesInFlight < maxInFlight;
+                if (!flushNow && !flushScheduled && batchesInFlight < maxInFlight) {
+                    flushScheduled = true;
+                    timer.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            if (flushNow) {
+                flush();
+            }
+        });
+    }
+
+    /**
+     * Moves waiting for a batch.
+     */
+    public synchronized int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public String drainName() {
+        return "unary-group-commit";
+    }
+
+    /**
+     * Sends whatever is queued without waiting for the window.
+     */
+    @Override
+    public void startDrain() {
+        synchronized (this) {
+            draining = true;
+        }
+        // flush() returns early once every batch slot is taken; the rest leave as batches finish
+        for (int i = 0; i < maxInFlight; i++) {
+            flush();
+        }
+    }
+
+    /**
+     * Queued moves plus running batches.
+     */
+    @Override
+    public synchronized int inFlight() {
+        return queue.size() + batchesInFlight;
+    }
+
+    private void flush() {
+        List<PendingMove> batch;
+        synchronized (this) {
+            flushScheduled = false;
+            if (queue.isEmpty() || batchesInFlight >= maxInFlight) {
+                return; // Picked up when a running batch finishes
+            }
+            batch = takeBatch();
+            batchesInFlight++;
+        }
+        List<Move> moves = new ArrayList<>(batch.size());
+        // The latest count any of the batch's callers saw
+        long databaseIops = 0;
+        for (PendingMove pending : batch) {
+            moves.add(pending.move());
+            databaseIops = Math.max(databaseIops, pending.databaseIops());
+        }
+        statement.applyAll(moves, databaseIops).subscribe().with(
+            results -> {
+                finished();
+                for (int i = 0; i < batch.size(); i++) {
+                    complete(batch.get(i), results.get(i));
+                }
+            },
+            failure -> {
+                finished();
+                for (PendingMove pending : batch) {
+                    fail(pending, failure);
+                }
+            });
+    }
+
+    // In arrival order, skipping moves for matches already in the batch
+    private List<PendingMove> takeBatch() {
+        List<PendingMove> batch = new ArrayList<>(Math.min(queue.size(), maxBatch));
+        Set<Long> matches = new HashSet<>();
+        Iterator<PendingMove> iterator = queue.iterator();
+        while (iterator.hasNext() && batch.size() < maxBatch) {
+            PendingMove pending = iterator.next();
+            if (matches.add(pending.move().matchId())) {
+                batch.add(pending);
+                iterator.remove();
+            }
+        }
+        return batch;
+    }
+
+    private void finished() {
+        boolean flushNow;
+        synchronized (this) {
+            batchesInFlight--;
+            // Whatever queued up meanwhile has waited long enough
+            flushNow = !queue.isEmpty();
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    private static void complete(PendingMove pending, MoveResult result) {
+        if (pending.context() == null) {
+            pending.emitter().complete(result);
+        } else {
+            pending.context().runOnContext(v -> pending.emitter().complete(result));
+        }
+    }
+
+    private static void fail(PendingMove pending, Throwable failure) {
+        if (pending.context() == null) {
+            pending.emitter().fail(failure);
+        } else {
+            pending.context().runOnContext(v -> pending.emitter().fail(failure));
+        }
+    }
+
+    /**
+     * Fails moves that never made it into a batch, which happens only if the
+     * drain deadline passed first; running batches complete or fail on their own.
+     */
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        List<PendingMove> abandoned;
+        synchronized (this) {
+            closed = true;
+            abandoned = new ArrayList<>(queue);
+            queue.clear();
+        }
+        for (PendingMove pending : abandoned) {
+            fail(pending, shuttingDown());
+        }
+    }
+
+    private static RuntimeException shuttingDown() {
+        return Status.UNAVAILABLE
+            .withDescription("Arena node is shutting down; the move was not applied")
+            .asRuntimeException();
+    }
+
+    private static ScheduledThreadPoolExecutor createTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "arena-group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
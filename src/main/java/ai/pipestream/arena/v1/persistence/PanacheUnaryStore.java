@@ -0,0 +1,51 @@
+package ai.pipestream.arena.v1.persistence;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+import ai.pipestream.arena.v1.model.UnaryMatch;
+import ai.pipestream.arena.v1.model.UnaryRound;
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * {@link UnaryStore} on Hibernate Reactive with Panache.
+ */
+@ApplicationScoped
+@UnlessBuildProfile("streaming")
+public class PanacheUnaryStore implements UnaryStore {
+
+    @Override
+    public <T> Uni<T> withTransaction(Supplier<Uni<T>> work) {
+        return Panache.withTransaction(work);
+    }
+
+    @Override
+    public Uni<UnaryMatch> claimWaitingMatch(MatchFormat format) {
+        return UnaryMatch.claimWaitingMatch(format);
+    }
+
+    @Override
+    public Uni<UnaryMatch> lockMatch(long matchId) {
+        return UnaryMatch.lockByMatchId(matchId);
+    }
+
+    @Override
+    public Uni<UnaryRound> findRound(long matchId, Instant matchCreatedAt, int roundNumber) {
+        return UnaryRound.findByMatchAndRound(matchId, matchCreatedAt, roundNumber);
+    }
+
+    @Override
+    public Uni<UnaryRound> findRound(long matchId, int roundNumber) {
+        return UnaryRound.findByMatchAndRound(matchId, roundNumber);
+    }
+
+    @Override
+    public Uni<Void> persist(PanacheEntityBase entity) {
+        return entity.persist().replaceWithVoid();
+    }
+}
@@ -0,0 +1,190 @@
+package ai.pipestream.arena.v1.persistence;
+
+import ai.pipestream.arena.v1.model.UnaryMatch;
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the range partitions of {@code unary_round} in shape:
+ * <ul>
+ *   <li>creates the partition for the current interval and
+ *   {@code arena.rounds.partition.premake} intervals ahead, so inserts never
+ *   fall through to the default partition;</li>
+ *   <li>retires (drops or detaches) partitions that ended more than
+ *   {@code retention} ago once none of their matches is still running, and
+ *   after {@code max-age} regardless, so abandoned matches cannot pin history.</li>
+ * </ul>
+ * Runs at startup and on a schedule. Each run takes a transaction-scoped
+ * advisory lock, so only one node maintains partitions at a time.
+ */
+@ApplicationScoped
+@UnlessBuildProfile("streaming")
+public class PartitionMaintenance {
+
+    private static final Logger LOG = Logger.getLogger(PartitionMaintenance.class);
+
+    private static final String PARENT = "unary_round";
+    private static final DateTimeFormatter PARTITION_SUFFIX =
+        DateTimeFormatter.ofPattern("yyyyMMdd'_'HHmm").withZone(ZoneOffset.UTC);
+    // Arbitrary, but shared by every arena node
+    private static final long ADVISORY_LOCK_KEY = 0x61726e5f726e64L;
+
+    static final String LIST_PARTITIONS =
+        "SELECT c.relname,"
+            + " substring(pg_get_expr(c.relpartbound, c.oid) from 'FROM \\(''([^'']+)''\\)')::timestamptz AS lower_bound,"
+            + " substring(pg_get_expr(c.relpartbound, c.oid) from 'TO \\(''([^'']+)''\\)')::timestamptz AS upper_bound"
+            + " FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+            + " WHERE i.inhparent = '" + PARENT + "'::regclass";
+
+    static final String HAS_UNFINISHED_MATCHES = String.format(
+        "SELECT EXISTS (SELECT 1 FROM unary_match"
+            + " WHERE status IN (%d, %d) AND created_at >= $1 AND created_at < $2)",
+        UnaryMatch.MatchStatus.WAITING_FOR_OPPONENT.ordinal(),
+        UnaryMatch.MatchStatus.READY.ordinal());
+
+    @Inject
+    Pool client;
+
+    @ConfigProperty(name = "arena.rounds.partition.interval", defaultValue = "P1D")
+    Duration interval;
+
+    @ConfigProperty(name = "arena.rounds.partition.premake", defaultValue = "3")
+    int premake;
+
+    @ConfigProperty(name = "arena.rounds.partition.retention", defaultValue = "P7D")
+    Duration retention;
+
+    @ConfigProperty(name = "arena.rounds.partition.max-age", defaultValue = "P30D")
+    Duration maxAge;
+
+    /** {@code drop} deletes retired partitions; {@code detach} keeps them as standalone tables for archiving. */
+    @ConfigProperty(name = "arena.rounds.partition.retention-mode", defaultValue = "drop")
+    String retentionMode;
+
+    private record Partition(String name, Instant lower, Instant upper) {
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        // Partitions must exist before the first round is written
+        maintain(Instant.now()).await().atMost(Duration.ofSeconds(30));
+    }
+
+    @Scheduled(every = "{arena.rounds.partition.maintenance-every}", delayed = "{arena.rounds.partition.maintenance-every}",
+        concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    Uni<Void> scheduledMaintenance() {
+        return maintain(Instant.now())
+            .onFailure().invoke(e -> LOG.errorf(e, "Round partition maintenance failed"))
+            .onFailure().recoverWithNull();
+    }
+
+    public Uni<Void> maintain(Instant now) {
+        return client.withTransaction(connection -> connection
+            .preparedQuery("SELECT pg_try_advisory_xact_lock($1)")
+            .execute(Tuple.of(ADVISORY_LOCK_KEY))
+            .chain(locked -> {
+                if (!locked.iterator().next().getBoolean(0)) {
+                    LOG.debug("Round partition maintenance is running on another node");
+                    return Uni.createFrom().voidItem();
+                }
+                return connection.query(LIST_PARTITIONS).execute()
+                    .chain(rows -> {
+                        List<Partition> partitions = new ArrayList<>();
+                        for (Row row : rows) {
+                            partitions.add(new Partition(row.getString("relname"),
+                                toInstant(row.getOffsetDateTime("lower_bound")),
+                                toInstant(row.getOffsetDateTime("upper_bound"))));
+                        }
+                        return createAhead(connection, partitions, now)
+                            .chain(() -> retire(connection, partitions, now));
+                    });
+            }));
+    }
+
+    private Uni<Void> createAhead(SqlConnection connection, List<Partition> partitions, Instant now) {
+        long step = interval.toMillis();
+        Instant current = Instant.ofEpochMilli(Math.floorDiv(now.toEpochMilli(), step) * step);
+
+        Uni<Void> chain = Uni.createFrom().voidItem();
+        for (int i = 0; i <= premake; i++) {
+            Instant lower = current.plusMillis(step * i);
+            Instant upper = lower.plusMillis(step);
+            if (overlapsExisting(partitions, lower, upper)) {
+                continue;
+            }
+            String name = PARENT + "_p" + PARTITION_SUFFIX.format(lower);
+            String ddl = String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                name, PARENT, lower, upper);
+            chain = chain.chain(() -> connection.query(ddl).execute()
+                .invoke(() -> LOG.infof("Created round partition %s [%s, %s)", name, lower, upper))
+                .replaceWithVoid());
+        }
+        return chain;
+    }
+
+    private Uni<Void> retire(SqlConnection connection, List<Partition> partitions, Instant now) {
+        Instant retiredBefore = now.minus(retention);
+        Instant forcedBefore = now.minus(maxAge);
+
+        Uni<Void> chain = Uni.createFrom().voidItem();
+        for (Partition partition : partitions) {
+            if (partition.upper() == null || partition.upper().isAfter(retiredBefore)) {
+                continue; // Default partition, or still within retention
+            }
+            Uni<Boolean> pinned = partition.upper().isAfter(forcedBefore)
+                ? connection.preparedQuery(HAS_UNFINISHED_MATCHES)
+                    .execute(Tuple.of(toOffset(partition.lower()), toOffset(partition.upper())))
+                    .map(rows -> rows.iterator().next().getBoolean(0))
+                : Uni.createFrom().item(false);
+            chain = chain.chain(() -> pinned.chain(unfinished -> {
+                if (unfinished) {
+                    LOG.debugf("Keeping round partition %s: it still has running matches", partition.name());
+                    return Uni.createFrom().voidItem();
+                }
+                String ddl = "detach".equals(retentionMode)
+                    ? "ALTER TABLE " + PARENT + " DETACH PARTITION \"" + partition.name() + "\""
+                    : "DROP TABLE \"" + partition.name() + "\"";
+                return connection.query(ddl).execute()
+                    .invoke(() -> LOG.infof("Retired round partition %s (%s)", partition.name(), retentionMode))
+                    .replaceWithVoid();
+            }));
+        }
+        return chain;
+    }
+
+    private static boolean overlapsExisting(List<Partition> partitions, Instant lower, Instant upper) {
+        for (Partition partition : partitions) {
+            if (partition.lower() != null && partition.upper() != null
+                    && partition.lower().isBefore(upper) && partition.upper().isAfter(lower)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Instant toInstant(OffsetDateTime value) {
+        return value == null ? null : value.toInstant();
+    }
+
+    private static OffsetDateTime toOffset(Instant value) {
+        return value.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,55 @@
+package ai.pipestream.arena.v1.persistence;
+
+import ai.pipestream.arena.v1.model.UnaryRound;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Read-only fast path for {@code CheckRoundResult}.
+ * Runs one cached prepared statement on the reactive PG pool, outside any
+ * transaction and without a Hibernate session, projecting only the columns
+ * the response needs. The match's creation time is looked up in the same
+ * statement so that only the round partition holding the match is probed,
+ * via its (match_id, round_number, match_created_at) index.
+ */
+@ApplicationScoped
+public class RoundResultReader {
+
+    static final String SELECT_ROUND =
+        "SELECT status, player_one_move, player_two_move, outcome FROM unary_round"
+            + " WHERE match_id = $1 AND round_number = $2"
+            + " AND match_created_at = (SELECT created_at FROM unary_match WHERE match_id = $1) LIMIT 1";
+
+    private static final int COMPLETE = UnaryRound.RoundStatus.COMPLETE.ordinal();
+
+    @Inject
+    Pool client;
+
+    /**
+     * @return the round, or {@code null} if neither player has moved yet
+     */
+    public Uni<RoundSnapshot> find(long matchId, int roundNumber) {
+        return client.preparedQuery(SELECT_ROUND)
+            .execute(Tuple.of(matchId, roundNumber))
+            .map(rows -> {
+                RowIterator<Row> iterator = rows.iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                Row row = iterator.next();
+                return new RoundSnapshot(
+                    row.getInteger("status") == COMPLETE,
+                    row.getInteger("player_one_move"),
+                    row.getInteger("player_two_move"),
+                    row.getString("outcome"));
+            });
+    }
+
+    public record RoundSnapshot(boolean complete, Integer playerOneMove, Integer playerTwoMove, String outcome) {
+    }
+}
@@ -0,0 +1,277 @@
+package ai.pipestream.arena.v1.persistence;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.model.UnaryMatch;
+import ai.pipestream.arena.v1.model.UnaryRound;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies one {@code SubmitMove} in a single SQL statement (one round-trip).
+ * <ol>
+ *   <li>{@code m} reads the match status, current round and creation time.</li>
+ *   <li>{@code r} inserts the round with the first move, provided the match is
+ *   still running and the round number is current. If the round already exists
+ *   with one move, the unique (match_id, round_number, match_created_at) index
+ *   turns the insert into an update that records the second move and resolves
+ *   the outcome. When both moves race, the second insert waits on the index
+ *   and lands in the update branch. The match's created_at is the partition
+ *   key, so the insert goes straight to the match's round partition.</li>
+ *   <li>{@code u} runs only when {@code r} resolved a round. It adds the
+ *   outcome to the match and either advances {@code current_round} or
+ *   completes the match, by the rules of its {@link MatchFormat}: the round
+ *   limit, a first-to target reached or out of the trailing player's reach,
+ *   or a time box that has closed.</li>
+ *   <li>{@code s} runs only when {@code u} completed the match, and inserts
+ *   its {@link MatchStatistics} row. Being part of the statement, it commits
+ *   or rolls back with the move: a match is never COMPLETED without its
+ *   statistics. The columns are those the ORM path fills in.</li>
+ * </ol>
+ * The pre-move status and round from {@code m} let the caller answer
+ * GAME_OVER or INVALID_TURN exactly as the ORM path would.
+ * {@link #applyAll} does the same for a batch of moves on different matches
+ * (see {@link MoveGroupCommit}).
+ */
+@ApplicationScoped
+public class SubmitMoveStatement {
+
+    private static final int MATCH_COMPLETED = UnaryMatch.MatchStatus.COMPLETED.ordinal();
+
+    // Wins including the round r resolved
+    private static final String PLAYER_ONE_WINS = "(unary_match.player_one_wins + (r.outcome = 'PLAYER_ONE_WIN')::int)";
+    private static final String PLAYER_TWO_WINS = "(unary_match.player_two_wins + (r.outcome = 'PLAYER_TWO_WIN')::int)";
+
+    // MatchFormat.isComplete for the match row before u updates it; current_round is the round just resolved
+    static final String MATCH_DONE = "(unary_match.current_round >= unary_match.total_rounds"
+        + " OR (unary_match.format_kind = " + MatchFormat.Kind.FIRST_TO.ordinal()
+        + " AND (greatest(" + PLAYER_ONE_WINS + ", " + PLAYER_TWO_WINS + ") >= unary_match.format_target"
+        + " OR abs(" + PLAYER_ONE_WINS + " - " + PLAYER_TWO_WINS + ")"
+        + " > unary_match.total_rounds - unary_match.current_round))"
+        + " OR (unary_match.format_kind = " + MatchFormat.Kind.TIME_BOX.ordinal()
+        + " AND now() >= coalesce(unary_match.started_at, unary_match.created_at)"
+        + " + unary_match.format_target * interval '1 millisecond'))";
+
+    // Records a second move in an existing round and resolves it; a format string fragment
+    private static final String RESOLVE_ON_CONFLICT =
+        " ON CONFLICT (match_id, round_number, match_created_at) DO UPDATE SET"
+            + "  player_two_move = EXCLUDED.player_one_move,"
+            + "  status = " + UnaryRound.RoundStatus.COMPLETE.ordinal() + ","
+            + "  completed_at = now(),"
+            + "  outcome = CASE (unary_round.player_one_move - EXCLUDED.player_one_move + 3) %% 3"
+            + "   WHEN 0 THEN 'TIE' WHEN 1 THEN 'PLAYER_ONE_WIN' ELSE 'PLAYER_TWO_WIN' END"
+            + " WHERE unary_round.player_two_move IS NULL";
+
+    // Adds r's outcome to the match and advances or completes it
+    private static final String ADVANCE_MATCH = String.format(
+        " UPDATE unary_match SET"
+            + "  player_one_wins = unary_match.player_one_wins + (r.outcome = 'PLAYER_ONE_WIN')::int,"
+            + "  player_two_wins = unary_match.player_two_wins + (r.outcome = 'PLAYER_TWO_WIN')::int,"
+            + "  ties = unary_match.ties + (r.outcome = 'TIE')::int,"
+            + "  status = CASE WHEN %2$s THEN %1$d ELSE unary_match.status END,"
+            + "  completed_at = CASE WHEN %2$s THEN now() ELSE unary_match.completed_at END,"
+            + "  current_round = CASE WHEN %2$s"
+            + "   THEN unary_match.current_round ELSE unary_match.current_round + 1 END",
+        MATCH_COMPLETED,
+        MATCH_DONE);
+
+    private static final String FORMAT_NAME = "CASE d.format_kind"
+        + " WHEN " + MatchFormat.Kind.FIXED.ordinal() + " THEN '" + MatchFormat.Kind.FIXED.name() + "'"
+        + " WHEN " + MatchFormat.Kind.FIRST_TO.ordinal() + " THEN '" + MatchFormat.Kind.FIRST_TO.name() + "'"
+        + " ELSE '" + MatchFormat.Kind.TIME_BOX.name() + "' END";
+
+    // MatchStatistics.recordFormat and calculateDistributions for the row u returned;
+    // unary matches do not count moves, so the move columns and biases are zero.
+    // $4 is the node's database operation count, as MatchStatistics.databaseIops.
+    private static final String INSERT_STATISTICS = String.format(
+        " INSERT INTO match_statistics (id, match_id, match_type, player_one_name, player_two_name,"
+            + "  player_one_rocks, player_one_papers, player_one_scissors, player_one_wins,"
+            + "  player_two_rocks, player_two_papers, player_two_scissors, player_two_wins,"
+            + "  ties, total_rounds, format, format_target, round_limit, decided_early, rounds_in_time_box,"
+            + "  duration_millis, rounds_per_second, database_iops, player_one_bias, player_two_bias,"
+            + "  seed_collision_detected, created_at)"
+        + " SELECT nextval('match_statistics_seq'), d.match_id, 'UNARY', d.player_one_name, d.player_two_name,"
+            + "  0, 0, 0, d.player_one_wins, 0, 0, 0, d.player_two_wins,"
+            + "  d.ties, d.rounds_played, %3$s, d.format_target, d.total_rounds,"
+            + "  d.format_kind = %1$d AND d.rounds_played < d.total_rounds,"
+            + "  CASE WHEN d.format_kind <> %2$d THEN 0"
+            + "   WHEN d.duration_millis >= d.format_target THEN greatest(0, d.rounds_played - 1)"
+            + "   ELSE d.rounds_played END,"
+            + "  d.duration_millis,"
+            // Java's double division: an instant match is infinitely fast
+            + "  CASE WHEN d.duration_millis = 0 THEN 'Infinity'::float8"
+            + "   ELSE d.rounds_played * 1000.0::float8 / d.duration_millis END,"
+            + "  $4, 0, 0, false, now()"
+        + " FROM (SELECT u.*, floor(extract(epoch FROM u.completed_at - u.started_at) * 1000)::bigint AS duration_millis"
+            + "  FROM u WHERE u.status = %4$d) d",
+        MatchFormat.Kind.FIRST_TO.ordinal(),
+        MatchFormat.Kind.TIME_BOX.ordinal(),
+        FORMAT_NAME,
+        UnaryMatch.MatchStatus.COMPLETED.ordinal());
+
+    private static final String MATCH_COLUMNS =
+        " RETURNING unary_match.match_id, unary_match.status, unary_match.player_one_name, unary_match.player_two_name,"
+            + "  unary_match.player_one_wins, unary_match.player_two_wins, unary_match.ties,"
+            + "  unary_match.current_round AS rounds_played, unary_match.total_rounds,"
+            + "  unary_match.format_kind, unary_match.format_target,"
+            + "  coalesce(unary_match.started_at, unary_match.created_at) AS started_at,"
+            + "  unary_match.completed_at";
+
+    static final String APPLY_MOVE = String.format(
+        "WITH m AS ("
+            + " SELECT status, current_round, created_at FROM unary_match WHERE match_id = $1"
+        + "), r AS ("
+            + " INSERT INTO unary_round (id, match_id, round_number, match_created_at, player_one_move, status, created_at)"
+            + " SELECT nextval('unary_round_seq'), $1, $2, m.created_at, $3, %1$d, now()"
+            + " FROM m WHERE m.status <> %2$d AND m.current_round = $2"
+            + RESOLVE_ON_CONFLICT
+            + " RETURNING outcome"
+        + "), u AS ("
+            + ADVANCE_MATCH
+            + " FROM r WHERE unary_match.match_id = $1 AND r.outcome IS NOT NULL"
+            + MATCH_COLUMNS
+        + "), s AS ("
+            + INSERT_STATISTICS
+        + ")"
+        + " SELECT m.status AS match_status, m.current_round, u.* FROM m LEFT JOIN u ON true",
+        UnaryRound.RoundStatus.WAITING_PLAYER_TWO.ordinal(),
+        MATCH_COMPLETED);
+
+    /**
+     * {@link #APPLY_MOVE} for many matches at once: {@code $1}, {@code $2} and
+     * {@code $3} are parallel arrays of match IDs, round numbers and moves, at
+     * most one move per match; {@code $4} is as for a single move. Rounds are inserted in match order, so
+     * concurrent batches wait on each other's round index entries in the same
+     * order and cannot deadlock. One row per move, in argument order; a missing
+     * match has a null {@code match_status}.
+     */
+    static final String APPLY_MOVES = String.format(
+        "WITH mv AS ("
+            + " SELECT * FROM unnest($1::bigint[], $2::int[], $3::int[]) WITH ORDINALITY AS mv(match_id, round_number, move, ord)"
+        + "), m AS ("
+            + " SELECT mv.ord, unary_match.status, unary_match.current_round, unary_match.created_at"
+            + " FROM mv JOIN unary_match ON unary_match.match_id = mv.match_id"
+        + "), r AS ("
+            + " INSERT INTO unary_round (id, match_id, round_number, match_created_at, player_one_move, status, created_at)"
+            + " SELECT nextval('unary_round_seq'), mv.match_id, mv.round_number, m.created_at, mv.move, %1$d, now()"
+            + " FROM mv JOIN m ON m.ord = mv.ord WHERE m.status <> %2$d AND m.current_round = mv.round_number"
+            + " ORDER BY mv.match_id"
+            + RESOLVE_ON_CONFLICT
+            + " RETURNING match_id, outcome"
+        + "), u AS ("
+            + ADVANCE_MATCH
+            + " FROM r WHERE unary_match.match_id = r.match_id AND r.outcome IS NOT NULL"
+            + MATCH_COLUMNS
+        + "), s AS ("
+            + INSERT_STATISTICS
+        + ")"
+        + " SELECT m.status AS match_status, m.current_round, u.*"
+        + " FROM mv LEFT JOIN m ON m.ord = mv.ord LEFT JOIN u ON u.match_id = mv.match_id ORDER BY mv.ord",
+        UnaryRound.RoundStatus.WAITING_PLAYER_TWO.ordinal(),
+        MATCH_COMPLETED);
+
+    @Inject
+    Pool client;
+
+    /**
+     * @param databaseIops recorded in the statistics if the move completes the match
+     * @return the outcome, or {@code null} if the match does not exist
+     */
+    public Uni<MoveResult> apply(long matchId, int roundNumber, int move, long databaseIops) {
+        return client.preparedQuery(APPLY_MOVE)
+            .execute(Tuple.of(matchId, roundNumber, move, databaseIops))
+            .map(rows -> {
+                RowIterator<Row> iterator = rows.iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                return toResult(matchId, iterator.next());
+            });
+    }
+
+    /**
+     * Applies moves for different matches in one statement, and so in one
+     * transaction and one commit.
+     *
+     * @param moves        at most one per match
+     * @param databaseIops recorded in the statistics of every match the batch completes
+     * @return one result per move, in order; {@code null} where the match does not exist
+     */
+    public Uni<List<MoveResult>> applyAll(List<Move> moves, long databaseIops) {
+        Long[] matchIds = new Long[moves.size()];
+        Integer[] rounds = new Integer[moves.size()];
+        Integer[] choices = new Integer[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            Move move = moves.get(i);
+            matchIds[i] = move.matchId();
+            rounds[i] = move.roundNumber();
+            choices[i] = move.move();
+        }
+        return client.preparedQuery(APPLY_MOVES)
+            .execute(Tuple.of(matchIds, rounds, choices, databaseIops))
+            .map(rows -> {
+                List<MoveResult> results = new ArrayList<>(moves.size());
+                int i = 0;
+                for (Row row : rows) {
+                    results.add(toResult(moves.get(i++).matchId(), row));
+                }
+                return results;
+            });
+    }
+
+    private static MoveResult toResult(long matchId, Row row) {
+        Integer matchStatus = row.getInteger("match_status");
+        if (matchStatus == null) {
+            return null;
+        }
+        Integer newStatus = row.getInteger("status");
+        return new MoveResult(
+            UnaryMatch.MatchStatus.values()[matchStatus],
+            row.getInteger("current_round"),
+            newStatus != null && newStatus == MATCH_COMPLETED ? completedMatch(matchId, row) : null);
+    }
+
+    private static UnaryMatch completedMatch(long matchId, Row row) {
+        UnaryMatch match = new UnaryMatch();
+        match.matchId = matchId;
+        match.status = UnaryMatch.MatchStatus.COMPLETED;
+        match.playerOneName = row.getString("player_one_name");
+        match.playerTwoName = row.getString("player_two_name");
+        match.playerOneWins = row.getInteger("player_one_wins");
+        match.playerTwoWins = row.getInteger("player_two_wins");
+        match.ties = row.getInteger("ties");
+        match.currentRound = row.getInteger("rounds_played");
+        match.totalRounds = row.getInteger("total_rounds");
+        match.formatKind = MatchFormat.Kind.values()[row.getInteger("format_kind")];
+        match.formatTarget = row.getInteger("format_target");
+        match.startedAt = toInstant(row.getOffsetDateTime("started_at"));
+        match.completedAt = toInstant(row.getOffsetDateTime("completed_at"));
+        return match;
+    }
+
+    private static Instant toInstant(OffsetDateTime value) {
+        return value == null ? null : value.toInstant();
+    }
+
+    /**
+     * @param matchStatus    status before this move was applied
+     * @param currentRound   round the match expected before this move
+     * @param completedMatch detached snapshot of the match if this move completed it (its
+     *                       statistics are already written), else {@code null}
+     */
+    public record MoveResult(UnaryMatch.MatchStatus matchStatus, int currentRound, UnaryMatch completedMatch) {
+    }
+
+    public record Move(long matchId, int roundNumber, int move) {
+    }
+}
@@ -0,0 +1,45 @@
+package ai.pipestream.arena.v1.persistence;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+import ai.pipestream.arena.v1.model.UnaryMatch;
+import ai.pipestream.arena.v1.model.UnaryRound;
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Entity access of the unary service's Hibernate path. {@link PanacheUnaryStore}
+ * delegates to Panache; the unary simulation test runs the service against an
+ * in-memory store with the same locking rules. Everything except
+ * {@link #withTransaction} must be called inside a transaction.
+ */
+public interface UnaryStore {
+
+    /**
+     * Runs {@code work} in a transaction, or in the caller's if there is one.
+     */
+    <T> Uni<T> withTransaction(Supplier<Uni<T>> work);
+
+    /**
+     * The oldest waiting match with this format that no other transaction has
+     * claimed, locked until the transaction ends; null if there is none.
+     */
+    Uni<UnaryMatch> claimWaitingMatch(MatchFormat format);
+
+    /**
+     * The match, locked until the transaction ends (waiting for a concurrent
+     * holder); null if there is no such match.
+     */
+    Uni<UnaryMatch> lockMatch(long matchId);
+
+    Uni<UnaryRound> findRound(long matchId, Instant matchCreatedAt, int roundNumber);
+
+    Uni<UnaryRound> findRound(long matchId, int roundNumber);
+
+    /**
+     * Inserts a new entity or saves changes to a loaded one.
+     */
+    Uni<Void> persist(PanacheEntityBase entity);
+}
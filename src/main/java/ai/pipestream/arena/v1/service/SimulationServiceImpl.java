@@ -0,0 +1,153 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.arena.v1.sim.MatchSimulator;
+import ai.pipestream.arena.v1.sim.SimulationAggregate;
+import ai.pipestream.arena.v1.sim.SimulationSpec;
+import ai.pipestream.tourney.sim.v1.*;
+import io.grpc.Status;
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Simulation gRPC Service implementation.
+ * Off unless {@code arena.simulation.enabled}, since it shares the node's
+ * cores with the arena, and left out of the {@code streaming} build profile.
+ * Jobs run in chunks on one shared pool of {@code arena.simulation.threads}
+ * threads, streaming cumulative results after each chunk; at most
+ * {@code max-concurrent-jobs} run at once and each is capped at
+ * {@code max-rounds-per-job} rounds. Cancelling the call stops the job at the
+ * next chunk.
+ */
+@GrpcService
+@Singleton
+@UnlessBuildProfile("streaming")
+public class SimulationServiceImpl implements SimulationService {
+    
+    private static final Logger LOG = Logger.getLogger(SimulationServiceImpl.class);
+    
+    @ConfigProperty(name = "arena.simulation.enabled", defaultValue = "false")
+    boolean enabled;
+    
+    /** Threads shared by all jobs; 0 means half the cores. */
+    @ConfigProperty(name = "arena.simulation.threads", defaultValue = "0")
+    int threads;
+    
+    @ConfigProperty(name = "arena.simulation.max-concurrent-jobs", defaultValue = "1")
+    int maxConcurrentJobs;
+    
+    @ConfigProperty(name = "arena.simulation.max-rounds-per-job", defaultValue = "10000000000")
+    long maxRoundsPerJob;
+    
+    private ExecutorService pool;
+    private Semaphore jobs;
+    
+    @PostConstruct
+    void init() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "arena-simulation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        jobs = new Semaphore(maxConcurrentJobs);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    @Override
+    public Multi<SimulationProgress> runSimulation(SimulationRequest request) {
+        if (!enabled) {
+            return Multi.createFrom().failure(Status.UNIMPLEMENTED
+                .withDescription("Simulations are disabled on this node (arena.simulation.enabled)")
+                .asRuntimeException());
+        }
+        
+        SimulationSpec spec;
+        try {
+            spec = new SimulationSpec(
+                request.getPlayerOneAlgorithm(),
+                request.getPlayerTwoAlgorithm(),
+                request.getMatches(),
+                request.getRoundsPerMatch() > 0 ? request.getRoundsPerMatch() : 1000,
+                request.getSeed(),
+                request.getParallelism());
+        } catch (IllegalArgumentException e) {
+            return Multi.createFrom().failure(Status.INVALID_ARGUMENT
+                .withDescription(e.getMessage())
+                .asRuntimeException());
+        }
+        if (spec.matches() * spec.roundsPerMatch() > maxRoundsPerJob) {
+            return Multi.createFrom().failure(Status.INVALID_ARGUMENT
+                .withDescription("A job may simulate at most " + maxRoundsPerJob + " rounds")
+                .asRuntimeException());
+        }
+        
+        long chunk = Math.max(
+            request.getMatchesPerUpdate() > 0 ? request.getMatchesPerUpdate() : spec.matches() / 100,
+            spec.matches() / Integer.MAX_VALUE + 1);
+        long chunks = (spec.matches() + chunk - 1) / chunk;
+        
+        return Multi.createFrom().deferred(() -> {
+            if (!jobs.tryAcquire()) {
+                return Multi.createFrom().failure(Status.RESOURCE_EXHAUSTED
+                    .withDescription("At most " + maxConcurrentJobs + " simulation jobs may run at once")
+                    .asRuntimeException());
+            }
+            
+            LOG.infof("Simulation job: %d matches of %d rounds, %s vs %s, %d slices",
+                spec.matches(), spec.roundsPerMatch(), spec.playerOneAlgorithm(), spec.playerTwoAlgorithm(),
+                spec.parallelism());
+            
+            long start = System.nanoTime();
+            SimulationAggregate total = new SimulationAggregate();
+            return Multi.createFrom().range(0, (int) chunks)
+                .onItem().transformToUniAndConcatenate(i -> Uni.createFrom().completionStage(() ->
+                    MatchSimulator.runAsync(spec, i * chunk, Math.min(spec.matches(), (i + 1) * chunk), pool)))
+                .map(result -> toProgress(total.merge(result), start, total.matches == spec.matches()))
+                .onTermination().invoke(jobs::release);
+        });
+    }
+    
+    /**
+     * Jobs running now.
+     */
+    int runningJobs() {
+        return maxConcurrentJobs - jobs.availablePermits();
+    }
+    
+    private static SimulationProgress toProgress(SimulationAggregate aggregate, long startNanos, boolean done) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        SimulationProgress.Builder progress = SimulationProgress.newBuilder()
+            .setMatchesCompleted(aggregate.matches)
+            .setRoundsCompleted(aggregate.rounds)
+            .setPlayerOneWins(aggregate.playerOneWins)
+            .setPlayerTwoWins(aggregate.playerTwoWins)
+            .setTies(aggregate.ties)
+            .setSeedCollisions(aggregate.seedCollisions)
+            .setMeanPlayerOneBias(aggregate.meanPlayerOneBias())
+            .setMeanPlayerTwoBias(aggregate.meanPlayerTwoBias())
+            .setRoundsPerSecond(seconds > 0 ? aggregate.rounds / seconds : 0)
+            .setDone(done);
+        for (int move = 0; move < 3; move++) {
+            progress.addPlayerOneMoves(aggregate.playerOneMoves[move]);
+            progress.addPlayerTwoMoves(aggregate.playerTwoMoves[move]);
+        }
+        return progress.build();
+    }
+}
@@ -0,0 +1,63 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.arena.v1.spectate.PreEncodedMarshaller;
+import ai.pipestream.arena.v1.spectate.SpectatorHub;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import ai.pipestream.tourney.stream.v1.SpectateRequest;
+import ai.pipestream.tourney.stream.v1.SpectatorServiceGrpc;
+import io.grpc.BindableService;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
+import io.grpc.protobuf.ProtoUtils;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import io.quarkus.grpc.GrpcService;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Spectator gRPC Service implementation.
+ * Bound by hand rather than through the generated base class so that the
+ * response side of Spectate takes events already serialized by the
+ * {@link SpectatorHub}; on the wire they are plain {@code SpectatorEvent}s.
+ */
+@GrpcService
+@Singleton
+public class SpectatorServiceImpl implements BindableService {
+
+    private static final MethodDescriptor<SpectateRequest, byte[]> SPECTATE = SpectatorServiceGrpc.getSpectateMethod()
+        .toBuilder(ProtoUtils.marshaller(SpectateRequest.getDefaultInstance()), PreEncodedMarshaller.INSTANCE)
+        .build();
+
+    @Inject
+    SpectatorHub hub;
+
+    @Inject
+    StreamingArenaServiceImpl arena;
+
+    @Override
+    public ServerServiceDefinition bindService() {
+        // Keep the generated schema descriptor so server reflection still describes the service
+        ServiceDescriptor descriptor = ServiceDescriptor.newBuilder(SpectatorServiceGrpc.SERVICE_NAME)
+            .setSchemaDescriptor(SpectatorServiceGrpc.getServiceDescriptor().getSchemaDescriptor())
+            .addMethod(SPECTATE)
+            .build();
+        return ServerServiceDefinition.builder(descriptor)
+            .addMethod(SPECTATE, ServerCalls.asyncServerStreamingCall(this::spectate))
+            .build();
+    }
+
+    private void spectate(SpectateRequest request, StreamObserver<byte[]> responseObserver) {
+        long matchId = IdGenerator.parse(request.getMatchId());
+        if (matchId < 0) {
+            responseObserver.onError(Status.NOT_FOUND
+                .withDescription("No live match " + request.getMatchId())
+                .asRuntimeException());
+            return;
+        }
+        hub.watch(matchId, (ServerCallStreamObserver<byte[]>) responseObserver, () -> arena.spectatorSnapshot(matchId));
+    }
+}
@@ -0,0 +1,142 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import ai.pipestream.tourney.stats.v1.*;
+import io.quarkus.arc.profile.UnlessBuildProfile;
+import io.quarkus.grpc.GrpcService;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Multi;
+import jakarta.inject.Singleton;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics export gRPC Service implementation.
+ * Pages through MatchStatistics by keyset on {@code id}. A page is only read
+ * when the client has demand for it, and each page gets its own short
+ * read-only session, so memory stays at one chunk and no transaction outlives it.
+ */
+@GrpcService
+@Singleton
+@UnlessBuildProfile("streaming")
+public class StatisticsServiceImpl implements StatisticsService {
+    
+    private static final Logger LOG = Logger.getLogger(StatisticsServiceImpl.class);
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final int MAX_CHUNK_SIZE = 5000;
+    
+    @Override
+    public Multi<ExportChunk> exportMatchStatistics(ExportRequest request) {
+        int chunkSize = request.getChunkSize() > 0
+            ? Math.min(request.getChunkSize(), MAX_CHUNK_SIZE)
+            : DEFAULT_CHUNK_SIZE;
+        String matchType = request.getMatchType().isEmpty() ? null : request.getMatchType();
+        String playerName = request.getPlayerName().isEmpty() ? null : request.getPlayerName();
+        Instant createdAfter = request.getCreatedAfterEpochMillis() > 0
+            ? Instant.ofEpochMilli(request.getCreatedAfterEpochMillis()) : null;
+        Instant createdBefore = request.getCreatedBeforeEpochMillis() > 0
+            ? Instant.ofEpochMilli(request.getCreatedBeforeEpochMillis()) : null;
+        
+        LOG.infof("Statistics export: type=%s, player=%s, after=%d, chunk=%d, columnar=%s",
+            matchType, playerName, request.getAfterId(), chunkSize, request.getColumnar());
+        
+        AtomicLong cursor = new AtomicLong(request.getAfterId());
+        return Multi.createBy().repeating()
+            .uni(() -> Panache.withSession(() -> MatchStatistics.findPageAfter(
+                    cursor.get(), matchType, playerName, createdAfter, createdBefore, chunkSize))
+                .invoke(page -> {
+                    if (!page.isEmpty()) {
+                        cursor.set(page.get(page.size() - 1).id);
+                    }
+                }))
+            .whilst(page -> page.size() == chunkSize)
+            .filter(page -> !page.isEmpty())
+            .map(page -> {
+                ExportChunk.Builder chunk = ExportChunk.newBuilder().setLastId(page.get(page.size() - 1).id);
+                return request.getColumnar()
+                    ? chunk.setColumns(toColumns(page)).build()
+                    : chunk.setRows(toRows(page)).build();
+            });
+    }
+    
+    private static RowBatch toRows(List<MatchStatistics> page) {
+        RowBatch.Builder batch = RowBatch.newBuilder();
+        for (MatchStatistics stats : page) {
+            batch.addRows(MatchStatisticsRow.newBuilder()
+                .setId(stats.id)
+                .setMatchId(IdGenerator.format(stats.matchId))
+                .setMatchType(nullToEmpty(stats.matchType))
+                .setPlayerOneName(nullToEmpty(stats.playerOneName))
+                .setPlayerTwoName(nullToEmpty(stats.playerTwoName))
+                .setPlayerOneRocks(stats.playerOneRocks)
+                .setPlayerOnePapers(stats.playerOnePapers)
+                .setPlayerOneScissors(stats.playerOneScissors)
+                .setPlayerOneWins(stats.playerOneWins)
+                .setPlayerTwoRocks(stats.playerTwoRocks)
+                .setPlayerTwoPapers(stats.playerTwoPapers)
+                .setPlayerTwoScissors(stats.playerTwoScissors)
+                .setPlayerTwoWins(stats.playerTwoWins)
+                .setTies(stats.ties)
+                .setTotalRounds(stats.totalRounds)
+                .setDurationMillis(stats.durationMillis)
+                .setRoundsPerSecond(stats.roundsPerSecond)
+                .setDatabaseIops(stats.databaseIops)
+                .setPlayerOneBias(stats.playerOneBias)
+                .setPlayerTwoBias(stats.playerTwoBias)
+                .setSeedCollisionDetected(stats.seedCollisionDetected)
+                .setCreatedAtEpochMillis(epochMillis(stats.createdAt))
+                .setFormat(nullToEmpty(stats.format))
+                .setFormatTarget(stats.formatTarget)
+                .setRoundLimit(stats.roundLimit)
+                .setDecidedEarly(stats.decidedEarly)
+                .setRoundsInTimeBox(stats.roundsInTimeBox));
+        }
+        return batch.build();
+    }
+    
+    private static ColumnarBatch toColumns(List<MatchStatistics> page) {
+        ColumnarBatch.Builder batch = ColumnarBatch.newBuilder();
+        for (MatchStatistics stats : page) {
+            batch.addId(stats.id)
+                .addMatchId(IdGenerator.format(stats.matchId))
+                .addMatchType(nullToEmpty(stats.matchType))
+                .addPlayerOneName(nullToEmpty(stats.playerOneName))
+                .addPlayerTwoName(nullToEmpty(stats.playerTwoName))
+                .addPlayerOneRocks(stats.playerOneRocks)
+                .addPlayerOnePapers(stats.playerOnePapers)
+                .addPlayerOneScissors(stats.playerOneScissors)
+                .addPlayerOneWins(stats.playerOneWins)
+                .addPlayerTwoRocks(stats.playerTwoRocks)
+                .addPlayerTwoPapers(stats.playerTwoPapers)
+                .addPlayerTwoScissors(stats.playerTwoScissors)
+                .addPlayerTwoWins(stats.playerTwoWins)
+                .addTies(stats.ties)
+                .addTotalRounds(stats.totalRounds)
+                .addDurationMillis(stats.durationMillis)
+                .addRoundsPerSecond(stats.roundsPerSecond)
+                .addDatabaseIops(stats.databaseIops)
+                .addPlayerOneBias(stats.playerOneBias)
+                .addPlayerTwoBias(stats.playerTwoBias)
+                .addSeedCollisionDetected(stats.seedCollisionDetected)
+                .addCreatedAtEpochMillis(epochMillis(stats.createdAt))
+                .addFormat(nullToEmpty(stats.format))
+                .addFormatTarget(stats.formatTarget)
+                .addRoundLimit(stats.roundLimit)
+                .addDecidedEarly(stats.decidedEarly)
+                .addRoundsInTimeBox(stats.roundsInTimeBox);
+        }
+        return batch.build();
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+    
+    private static long epochMillis(Instant instant) {
+        return instant == null ? 0 : instant.toEpochMilli();
+    }
+}
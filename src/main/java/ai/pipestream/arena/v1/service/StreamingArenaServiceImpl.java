@@ -1,122 +1,296 @@
 package ai.pipestream.arena.v1.service;
 
+import ai.pipestream.arena.v1.drain.DrainController;
+import ai.pipestream.arena.v1.drain.Drainable;
+import ai.pipestream.arena.v1.jfr.DatabaseOperationEvent;
+import ai.pipestream.arena.v1.jfr.HandshakeEvent;
+import ai.pipestream.arena.v1.jfr.MatchCompletedEvent;
+import ai.pipestream.arena.v1.jfr.MatchCreatedEvent;
+import ai.pipestream.arena.v1.jfr.RoundResolvedEvent;
+import ai.pipestream.arena.v1.match.ActiveMatchTable;
+import ai.pipestream.arena.v1.match.MatchFormat;
+import ai.pipestream.arena.v1.match.RoundScheduler;
+import ai.pipestream.arena.v1.matchmaking.Matchmaker;
+import ai.pipestream.arena.v1.matchmaking.Ticket;
 import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.spectate.SpectatorHub;
+import ai.pipestream.arena.v1.stats.StatisticsSink;
+import ai.pipestream.arena.v1.util.ArenaClock;
+import ai.pipestream.arena.v1.util.ConcurrentLongMap;
+import ai.pipestream.arena.v1.util.IdGenerator;
 import ai.pipestream.arena.v1.util.GameLogic;
+import ai.pipestream.arena.v1.wire.BattleMarshallers;
+import ai.pipestream.arena.v1.wire.BattleMessages;
 import ai.pipestream.tourney.stream.v1.*;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.grpc.GrpcService;
-import io.quarkus.hibernate.reactive.panache.Panache;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.smallrye.mutiny.operators.multi.processors.SerializedProcessor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
-import java.time.Instant;
-import java.util.UUID;
+import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Streaming gRPC Service implementation.
- * Fully reactive using Mutiny and Hibernate Reactive.
+ * Fully reactive using Mutiny; match state lives in memory and completed
+ * statistics are handed to the configured {@link StatisticsSink}.
+ * A player whose stream drops mid-match is suspended for a grace period and
+ * can continue the match from a new stream by presenting its resume token.
+ * Per-round counters live in an {@link ActiveMatchTable} slot rather than in
+ * per-match objects, so a node can hold very many concurrent matches.
+ * Once both moves of a round are in, the round is handed to a
+ * {@link RoundScheduler} rather than processed inline, so fast matches cannot
+ * monopolize the thread that delivered their moves.
+ * Pairing is delegated to a {@link Matchmaker}; with a brokered matchmaker a
+ * player whose opponent waits on another node is redirected there.
+ * While the node drains, running matches play to completion but new players
+ * are turned away with UNAVAILABLE so they reconnect to another node.
+ * Each match ends by the rules of the {@link MatchFormat} both players asked
+ * for in their handshake, checked after every round.
+ * Battle is bound with {@link BattleMarshallers}: per-round messages are
+ * interned {@link BattleMessages} rather than built per match.
  */
 @GrpcService
 @Singleton
-public class StreamingArenaServiceImpl implements StreamingArenaService {
+public class StreamingArenaServiceImpl extends MutinyStreamingArenaServiceGrpc.StreamingArenaServiceImplBase implements Drainable {
     
     private static final Logger LOG = Logger.getLogger(StreamingArenaServiceImpl.class);
-    private static final int TOTAL_ROUNDS = 1000;
+    // Indexed by GameLogic.OUTCOME_*
+    private static final String[] OUTCOME_NAMES = { "TIE", "PLAYER_ONE_WIN", "PLAYER_TWO_WIN" };
+    // IDs are positive, so 0 never names a match
+    private static final long NO_MATCH = 0;
     
     // In-memory state: The connection IS the context
-    private final ConcurrentHashMap<String, StreamMatch> activeMatches = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, StreamPlayer> waitingPlayers = new ConcurrentHashMap<>();
+    private final ConcurrentLongMap<StreamMatch> activeMatches = new ConcurrentLongMap<>();
+    private final ActiveMatchTable matchTable = new ActiveMatchTable();
+    
+    // Players in a match, by resume token; a token is valid until its match ends
+    private final ConcurrentHashMap<String, StreamPlayer> resumablePlayers = new ConcurrentHashMap<>();
+    private final AtomicInteger suspendedPlayers = new AtomicInteger();
+    // Statistics handed to the sink but not yet written
+    private final AtomicInteger pendingStatistics = new AtomicInteger();
+    
+    // Time and executors; the simulation tests replace them with a virtual clock before init()
+    ArenaClock clock = ArenaClock.SYSTEM;
+    ScheduledExecutorService graceTimers = createGraceTimers();
+    ScheduledExecutorService roundExecutor = Infrastructure.getDefaultWorkerPool();
+    
+    @Inject
+    StatisticsSink statisticsSink;
+    
+    @Inject
+    MeterRegistry registry;
+    
+    @Inject
+    SpectatorHub spectators;
+    
+    @Inject
+    Matchmaker matchmaker;
+    
+    @Inject
+    IdGenerator ids;
+    
+    @Inject
+    DrainController drain;
+    
+    // One statistics write per completed match, whichever sink is configured
+    private Counter statisticsWrites;
+    
+    @ConfigProperty(name = "arena.streaming.resume.grace-period", defaultValue = "PT10S")
+    Duration resumeGracePeriod;
+    
+    @ConfigProperty(name = "arena.streaming.resume.max-suspended", defaultValue = "10000")
+    int maxSuspendedPlayers;
+    
+    @ConfigProperty(name = "arena.streaming.scheduler.slice-size", defaultValue = "64")
+    int schedulerSliceSize;
+    
+    /** Concurrent drainers; defaults to the number of cores. */
+    @ConfigProperty(name = "arena.streaming.scheduler.drainers", defaultValue = "0")
+    int schedulerDrainers;
+    
+    /** Per-match cap on rounds per second; 0 means uncapped. */
+    @ConfigProperty(name = "arena.streaming.max-rounds-per-second", defaultValue = "0")
+    double maxRoundsPerSecond;
+    
+    private RoundScheduler roundScheduler;
+    private long minRoundIntervalNanos;
+    
+    @Override
+    public ServerServiceDefinition bindService() {
+        return BattleMarshallers.bind(super.bindService());
+    }
     
     @Override
     public Multi<BattleResponse> battle(Multi<BattleRequest> request) {
-        String connectionId = UUID.randomUUID().toString();
-        LOG.infof("New streaming connection: %s", connectionId);
+        long connectionId = ids.nextId();
+        LOG.infof("New streaming connection: %d", connectionId);
         
-        BroadcastProcessor<BattleResponse> processor = BroadcastProcessor.create();
-        StreamPlayer player = new StreamPlayer(connectionId, processor);
+        // Serialized: round drains, grace timers and the request stream all send on it from their own threads
+        SerializedProcessor<BattleResponse, BattleResponse> processor = BroadcastProcessor.<BattleResponse>create().serialized();
+        StreamConnection connection = new StreamConnection(connectionId, processor);
         
         // Process incoming messages
         request.subscribe().with(
-            message -> handleClientMessage(player, message),
+            message -> handleClientMessage(connection, message),
             failure -> {
-                LOG.errorf("Stream error for %s: %s", connectionId, failure.getMessage());
-                cleanupPlayer(player);
+                LOG.errorf("Stream error for %d: %s", connectionId, failure.getMessage());
+                cleanupPlayer(connection);
             },
             () -> {
-                LOG.infof("Stream completed for %s", connectionId);
-                cleanupPlayer(player);
+                LOG.infof("Stream completed for %d", connectionId);
+                cleanupPlayer(connection);
             }
         );
         
         return processor;
     }
     
-    private void handleClientMessage(StreamPlayer player, BattleRequest message) {
+    @PostConstruct
+    void init() {
+        statisticsWrites = registry.counter("arena.db.operations", "service", "streaming");
+        
+        Timer schedulingDelay = Timer.builder("arena.round.scheduling.delay")
+            .description("Time a streaming round waits between becoming ready and being processed")
+            .publishPercentiles(0.5, 0.99)
+            .register(registry);
+        int drainers = schedulerDrainers > 0 ? schedulerDrainers : Runtime.getRuntime().availableProcessors();
+        roundScheduler = new RoundScheduler(roundExecutor, clock, schedulerSliceSize, drainers,
+            nanos -> schedulingDelay.record(nanos, TimeUnit.NANOSECONDS));
+        registry.gauge("arena.round.ready", roundScheduler, RoundScheduler::readyCount);
+        minRoundIntervalNanos = maxRoundsPerSecond > 0 ? (long) (1_000_000_000L / maxRoundsPerSecond) : 0;
+        
+        matchmaker.start(new Matchmaker.Pairings() {
+            @Override
+            public void paired(Ticket playerOne, Ticket playerTwo) {
+                createMatch((StreamPlayer) playerOne, (StreamPlayer) playerTwo);
+            }
+            
+            @Override
+            public void redirect(Ticket ticket, String address, String reservation) {
+                redirectPlayer((StreamPlayer) ticket, address, reservation);
+            }
+        });
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        graceTimers.shutdownNow();
+    }
+    
+    private void handleClientMessage(StreamConnection connection, BattleRequest message) {
         if (message.hasHandshake()) {
-            handleHandshake(player, message.getHandshake());
-        } else if (message.hasMove()) {
-            handleMove(player, message.getMove());
+            handleHandshake(connection, message.getHandshake());
+        } else if (message.hasMove() && connection.player != null) {
+            handleMove(connection.player, message.getMove());
         }
     }
     
-    private void handleHandshake(StreamPlayer player, Handshake handshake) {
-        player.languageName = handshake.getLanguageName();
-        player.prngAlgorithm = handshake.getPrngAlgorithm();
+    private void handleHandshake(StreamConnection connection, Handshake handshake) {
+        if (connection.player != null) {
+            LOG.warnf("Duplicate handshake on %s ignored", connection.connectionId);
+            return;
+        }
+        
+        if (!handshake.getResumeToken().isEmpty()) {
+            StreamPlayer suspended = resumablePlayers.get(handshake.getResumeToken());
+            if (suspended != null && resumePlayer(connection, suspended)) {
+                return;
+            }
+            LOG.infof("Resume token from %s is unknown or expired; starting fresh", connection.connectionId);
+        }
+        
+        if (drain.isDraining()) {
+            LOG.infof("Rejecting handshake on %s: draining", connection.connectionId);
+            connection.processor.onError(draining());
+            return;
+        }
+        
+        MatchFormat format;
+        try {
+            format = MatchFormat.of(handshake.getFormat().getKindValue(),
+                handshake.getFormat().getTarget(), handshake.getFormat().getMaxRounds());
+        } catch (IllegalArgumentException e) {
+            LOG.infof("Rejecting handshake on %s: %s", connection.connectionId, e.getMessage());
+            connection.processor.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
         
-        LOG.infof("Handshake from %s: %s (%s)", 
-            player.connectionId, player.languageName, player.prngAlgorithm);
+        StreamPlayer player = new StreamPlayer(connection.connectionId, connection.processor,
+            handshake.getLanguageName(), handshake.getPrngAlgorithm(), handshake.getReservation(), format);
+        connection.player = player;
+        
+        LOG.infof("Handshake from %s: %s (%s), format %s", 
+            player.id(), player.languageName(), player.prngAlgorithm, format);
+        HandshakeEvent.emit(player.id(), player.languageName(), player.prngAlgorithm, false);
         
         // Send connection confirmation
         player.processor.onNext(BattleResponse.newBuilder()
             .setStatus("CONNECTED")
             .build());
+        player.processor.onNext(BattleResponse.newBuilder()
+            .setSession(Session.newBuilder()
+                .setResumeToken(player.resumeToken)
+                .build())
+            .build());
         
         // Try to find an opponent
-        tryMatchPlayers(player);
-    }
-    
-    private void tryMatchPlayers(StreamPlayer player) {
-        // Look for a waiting player
-        StreamPlayer opponent = null;
-        synchronized (waitingPlayers) {
-            if (!waitingPlayers.isEmpty()) {
-                // Get first waiting player
-                String waitingId = waitingPlayers.keySet().iterator().next();
-                opponent = waitingPlayers.remove(waitingId);
-            } else {
-                // No opponent available, add to waiting
-                waitingPlayers.put(player.connectionId, player);
-                return;
-            }
-        }
-        
-        // Create match
-        if (opponent != null) {
-            createMatch(player, opponent);
-        }
+        matchmaker.offer(player);
+    }
+    
+    /**
+     * Sends the player to the node where its opponent waits and ends this stream.
+     */
+    private void redirectPlayer(StreamPlayer player, String address, String reservation) {
+        LOG.infof("Redirecting %s to %s", player.id(), address);
+        player.processor.onNext(BattleResponse.newBuilder()
+            .setRedirect(Redirect.newBuilder()
+                .setAddress(address)
+                .setReservation(reservation)
+                .build())
+            .build());
+        player.processor.onComplete();
     }
     
     private void createMatch(StreamPlayer playerOne, StreamPlayer playerTwo) {
-        String matchId = UUID.randomUUID().toString();
-        StreamMatch match = new StreamMatch(matchId, playerOne, playerTwo);
+        long matchId = ids.nextId();
+        StreamMatch match = new StreamMatch(matchId, playerOne, playerTwo, matchTable.allocate(clock.nanoTime()));
         
         activeMatches.put(matchId, match);
         playerOne.matchId = matchId;
         playerTwo.matchId = matchId;
+        resumablePlayers.put(playerOne.resumeToken, playerOne);
+        resumablePlayers.put(playerTwo.resumeToken, playerTwo);
         
-        LOG.infof("Match created: %s - %s vs %s", 
-            matchId, playerOne.languageName, playerTwo.languageName);
+        LOG.infof("Match created: %d - %s vs %s, format %s", 
+            matchId, playerOne.languageName(), playerTwo.languageName(), match.format);
+        MatchCreatedEvent.emit(matchId, "STREAMING", playerOne.languageName(), playerTwo.languageName());
         
         // Notify both players
         playerOne.processor.onNext(BattleResponse.newBuilder()
-            .setStatus("OPPONENT_FOUND: " + playerTwo.languageName)
+            .setStatus("OPPONENT_FOUND: " + playerTwo.languageName())
             .build());
         
         playerTwo.processor.onNext(BattleResponse.newBuilder()
-            .setStatus("OPPONENT_FOUND: " + playerOne.languageName)
+            .setStatus("OPPONENT_FOUND: " + playerOne.languageName())
             .build());
         
         // Start the first round
@@ -124,122 +298,112 @@ public class StreamingArenaServiceImpl implements StreamingArenaService {
     }
     
     private void startNextRound(StreamMatch match) {
-        if (match.currentRound > TOTAL_ROUNDS) {
+        int round = matchTable.round(match.slot);
+        if (match.format.isComplete(round - 1, matchTable.wins(match.slot, true), matchTable.wins(match.slot, false),
+                clock.nanoTime() - matchTable.startNanos(match.slot))) {
             completeMatch(match);
             return;
         }
         
-        match.playerOneMoveReceived = false;
-        match.playerTwoMoveReceived = false;
-        match.playerOneMove = -1;
-        match.playerTwoMove = -1;
-        
         // Send "Pulse" to both players requesting a move
-        RequestMove trigger = RequestMove.newBuilder()
-            .setRoundId(match.currentRound)
-            .build();
-        
-        match.playerOne.processor.onNext(BattleResponse.newBuilder()
-            .setTrigger(trigger)
-            .build());
-        
-        match.playerTwo.processor.onNext(BattleResponse.newBuilder()
-            .setTrigger(trigger)
-            .build());
+        matchTable.markRoundStart(match.slot, clock.nanoTime());
+        sendTrigger(match.playerOne, round);
+        sendTrigger(match.playerTwo, round);
+    }
+    
+    private void sendTrigger(StreamPlayer player, int round) {
+        player.processor.onNext(BattleMessages.trigger(round));
     }
     
     private void handleMove(StreamPlayer player, Move move) {
-        if (player.matchId == null) {
-            LOG.warnf("Move received before match assignment from %s", player.connectionId);
+        if (player.matchId == NO_MATCH) {
+            LOG.warnf("Move received before match assignment from %s", player.id());
             return;
         }
         
         StreamMatch match = activeMatches.get(player.matchId);
         if (match == null) {
-            LOG.warnf("Match not found: %s", player.matchId);
+            LOG.warnf("Match not found: %d", player.matchId);
             return;
         }
         
         if (!GameLogic.isValidMove(move.getMove())) {
-            LOG.warnf("Invalid move from %s: %d", player.connectionId, move.getMove());
+            LOG.warnf("Invalid move from %s: %d", player.id(), move.getMove());
             return;
         }
         
         // Record the move
         synchronized (match) {
-            if (player == match.playerOne) {
-                match.playerOneMove = move.getMove();
-                match.playerOneMoveReceived = true;
-                updateMoveStats(match.stats.playerOneStats, move.getMove());
-            } else {
-                match.playerTwoMove = move.getMove();
-                match.playerTwoMoveReceived = true;
-                updateMoveStats(match.stats.playerTwoStats, move.getMove());
+            if (player.suspended || match.slot < 0) {
+                return;
             }
-            
             // Check if both moves received
-            if (match.playerOneMoveReceived && match.playerTwoMoveReceived) {
-                processRound(match);
+            if (matchTable.recordMove(match.slot, player == match.playerOne, move.getMove(), clock.nanoTime())) {
+                scheduleRound(match);
             }
         }
     }
     
-    private void updateMoveStats(PlayerStats stats, int move) {
-        switch (move) {
-            case GameLogic.ROCK: stats.rocks++; break;
-            case GameLogic.PAPER: stats.papers++; break;
-            case GameLogic.SCISSORS: stats.scissors++; break;
-        }
+    private void scheduleRound(StreamMatch match) {
+        long notBefore = minRoundIntervalNanos > 0
+            ? matchTable.roundStartNanos(match.slot) + minRoundIntervalNanos
+            : clock.nanoTime();
+        roundScheduler.schedule(() -> {
+            synchronized (match) {
+                if (match.slot >= 0) {
+                    processRound(match);
+                }
+            }
+        }, notBefore);
     }
     
     private void processRound(StreamMatch match) {
-        // Determine winner
-        String outcome = GameLogic.determineWinner(match.playerOneMove, match.playerTwoMove);
-        
-        // Update statistics
-        if ("PLAYER_ONE_WIN".equals(outcome)) {
-            match.stats.playerOneStats.wins++;
-        } else if ("PLAYER_TWO_WIN".equals(outcome)) {
-            match.stats.playerTwoStats.wins++;
-        } else {
-            match.stats.ties++;
+        int round = matchTable.round(match.slot);
+        int playerOneMove = matchTable.move(match.slot, true);
+        int playerTwoMove = matchTable.move(match.slot, false);
+        
+        long roundStartNanos = matchTable.roundStartNanos(match.slot);
+        long playerOneMoveNanos = matchTable.moveNanos(match.slot, true);
+        long playerTwoMoveNanos = matchTable.moveNanos(match.slot, false);
+        
+        // Determine winner and update statistics
+        int outcome = matchTable.resolveRound(match.slot);
+        RoundResolvedEvent.emit(match.matchId, round, outcome, roundStartNanos,
+            playerOneMoveNanos, playerTwoMoveNanos, clock.nanoTime());
+        if (spectators.isWatched(match.matchId)) {
+            spectators.publishRound(match.matchId, SpectatorEvent.newBuilder()
+                .setRound(RoundSummary.newBuilder()
+                    .setRoundId(round)
+                    .setPlayerOneMove(playerOneMove)
+                    .setPlayerTwoMove(playerTwoMove)
+                    .setOutcome(OUTCOME_NAMES[outcome])
+                    .setPlayerOneWins(matchTable.wins(match.slot, true))
+                    .setPlayerTwoWins(matchTable.wins(match.slot, false))
+                    .setTies(matchTable.ties(match.slot)))
+                .build());
         }
         
         // Send results to both players
-        RoundResult resultP1 = RoundResult.newBuilder()
-            .setRoundId(match.currentRound)
-            .setOpponentMove(match.playerTwoMove)
-            .setOutcome(GameLogic.outcomeForPlayer(outcome, true))
-            .build();
-        
-        RoundResult resultP2 = RoundResult.newBuilder()
-            .setRoundId(match.currentRound)
-            .setOpponentMove(match.playerOneMove)
-            .setOutcome(GameLogic.outcomeForPlayer(outcome, false))
-            .build();
-        
-        match.playerOne.processor.onNext(BattleResponse.newBuilder()
-            .setResult(resultP1)
-            .build());
-        
-        match.playerTwo.processor.onNext(BattleResponse.newBuilder()
-            .setResult(resultP2)
-            .build());
+        match.playerOne.processor.onNext(BattleMessages.result(round, playerTwoMove,
+            GameLogic.outcomeForPlayer(outcome, true)));
+        match.playerTwo.processor.onNext(BattleMessages.result(round, playerOneMove,
+            GameLogic.outcomeForPlayer(outcome, false)));
         
         // Move to next round
-        match.currentRound++;
         startNextRound(match);
     }
     
     private void completeMatch(StreamMatch match) {
-        match.completedAt = Instant.now();
-        long durationMillis = java.time.Duration.between(match.startedAt, match.completedAt).toMillis();
+        long durationNanos = clock.nanoTime() - matchTable.startNanos(match.slot);
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        int roundsPlayed = matchTable.round(match.slot) - 1;
+        MatchCompletedEvent.emit(match.matchId, "STREAMING", roundsPlayed, false, durationNanos);
         
-        LOG.infof("Match %s completed: %s=%d, %s=%d, Ties=%d, Duration=%dms",
+        LOG.infof("Match %d completed: %s=%d, %s=%d, Ties=%d, Duration=%dms",
             match.matchId,
-            match.playerOne.languageName, match.stats.playerOneStats.wins,
-            match.playerTwo.languageName, match.stats.playerTwoStats.wins,
-            match.stats.ties, durationMillis);
+            match.playerOne.languageName(), matchTable.wins(match.slot, true),
+            match.playerTwo.languageName(), matchTable.wins(match.slot, false),
+            matchTable.ties(match.slot), durationMillis);
         
         // Send completion message
         match.playerOne.processor.onNext(BattleResponse.newBuilder()
@@ -250,135 +414,338 @@ public class StreamingArenaServiceImpl implements StreamingArenaService {
             .setStatus("MATCH_COMPLETE")
             .build());
         
-        // Save statistics to database (Reactive)
-        saveStreamingStatistics(match, durationMillis).subscribe().with(
-            v -> LOG.info("Streaming match stats saved successfully"),
-            e -> LOG.errorf("Failed to save statistics: %s", e.getMessage())
+        // Hand statistics to the configured sink (Reactive)
+        pendingStatistics.incrementAndGet();
+        saveStreamingStatistics(match, roundsPlayed, durationMillis).subscribe().with(
+            v -> {
+                pendingStatistics.decrementAndGet();
+                LOG.info("Streaming match stats saved successfully");
+            },
+            e -> {
+                pendingStatistics.decrementAndGet();
+                LOG.errorf("Failed to save statistics: %s", e.getMessage());
+            }
         );
         
         // Cleanup
         activeMatches.remove(match.matchId);
+        spectators.close(match.matchId, SpectatorEvent.newBuilder().setStatus("MATCH_COMPLETE").build());
+        releaseSlot(match);
+        releaseResume(match.playerOne);
+        releaseResume(match.playerTwo);
         match.playerOne.processor.onComplete();
         match.playerTwo.processor.onComplete();
     }
     
-    private Uni<Void> saveStreamingStatistics(StreamMatch match, long durationMillis) {
+    private Uni<Void> saveStreamingStatistics(StreamMatch match, int roundsPlayed, long durationMillis) {
         MatchStatistics stats = new MatchStatistics();
         stats.matchId = match.matchId;
         stats.matchType = "STREAMING";
-        stats.playerOneName = match.playerOne.languageName + " (" + match.playerOne.prngAlgorithm + ")";
-        stats.playerTwoName = match.playerTwo.languageName + " (" + match.playerTwo.prngAlgorithm + ")";
+        stats.playerOneName = match.playerOne.languageName() + " (" + match.playerOne.prngAlgorithm + ")";
+        stats.playerTwoName = match.playerTwo.languageName() + " (" + match.playerTwo.prngAlgorithm + ")";
         
-        stats.playerOneRocks = match.stats.playerOneStats.rocks;
-        stats.playerOnePapers = match.stats.playerOneStats.papers;
-        stats.playerOneScissors = match.stats.playerOneStats.scissors;
-        stats.playerOneWins = match.stats.playerOneStats.wins;
+        stats.playerOneRocks = matchTable.rocks(match.slot, true);
+        stats.playerOnePapers = matchTable.papers(match.slot, true);
+        stats.playerOneScissors = matchTable.scissors(match.slot, true);
+        stats.playerOneWins = matchTable.wins(match.slot, true);
         
-        stats.playerTwoRocks = match.stats.playerTwoStats.rocks;
-        stats.playerTwoPapers = match.stats.playerTwoStats.papers;
-        stats.playerTwoScissors = match.stats.playerTwoStats.scissors;
-        stats.playerTwoWins = match.stats.playerTwoStats.wins;
+        stats.playerTwoRocks = matchTable.rocks(match.slot, false);
+        stats.playerTwoPapers = matchTable.papers(match.slot, false);
+        stats.playerTwoScissors = matchTable.scissors(match.slot, false);
+        stats.playerTwoWins = matchTable.wins(match.slot, false);
         
-        stats.ties = match.stats.ties;
-        stats.totalRounds = TOTAL_ROUNDS;
+        stats.ties = matchTable.ties(match.slot);
+        stats.totalRounds = roundsPlayed;
         stats.durationMillis = durationMillis;
-        stats.roundsPerSecond = (TOTAL_ROUNDS * 1000.0) / durationMillis;
+        stats.roundsPerSecond = (roundsPlayed * 1000.0) / durationMillis;
         stats.databaseIops = 1L; // Only one write for the entire match
-        stats.createdAt = Instant.now();
+        stats.createdAt = clock.now();
         
         stats.calculateDistributions();
+        stats.recordFormat(match.format);
         
         // Detect seed collision (identical sequences)
-        stats.seedCollisionDetected = detectSeedCollision(match);
+        stats.seedCollisionDetected = stats.detectSeedCollision();
         
         LOG.infof("Streaming match stats saving: RPS=%.2f, P1 Bias=%.2f%%, P2 Bias=%.2f%%",
             stats.roundsPerSecond, stats.playerOneBias, stats.playerTwoBias);
         
-        return Panache.withTransaction(stats::persist).replaceWithVoid();
+        statisticsWrites.increment();
+        return DatabaseOperationEvent.timed("streaming", "save-statistics", statisticsSink.save(stats));
+    }
+    
+    @Override
+    public String drainName() {
+        return "streaming";
+    }
+    
+    /**
+     * Players still waiting for an opponent will not get one here; they are
+     * disconnected so they can find one on another node.
+     */
+    @Override
+    public void startDrain() {
+        for (Ticket ticket : matchmaker.withdrawAll()) {
+            ((StreamPlayer) ticket).processor.onError(draining());
+        }
+    }
+    
+    /**
+     * Active matches (suspended ones included) plus unwritten statistics.
+     */
+    @Override
+    public int inFlight() {
+        return matchTable.activeCount() + pendingStatistics.get();
+    }
+    
+    // Leak checks for the simulation tests; all three are zero once every match has ended
+    int activeMatchCount() {
+        return activeMatches.size();
+    }
+    
+    int resumableCount() {
+        return resumablePlayers.size();
+    }
+    
+    int suspendedCount() {
+        return suspendedPlayers.get();
+    }
+    
+    private static RuntimeException draining() {
+        return Status.UNAVAILABLE.withDescription("Arena node is draining; reconnect").asRuntimeException();
+    }
+    
+    /**
+     * Current state of a live match for a new spectator, or null if there is no such match.
+     */
+    public SpectatorEvent spectatorSnapshot(long matchId) {
+        StreamMatch match = activeMatches.get(matchId);
+        if (match == null) {
+            return null;
+        }
+        synchronized (match) {
+            if (match.slot < 0) {
+                return null;
+            }
+            return SpectatorEvent.newBuilder()
+                .setMatch(MatchInfo.newBuilder()
+                    .setMatchId(IdGenerator.format(match.matchId))
+                    .setPlayerOne(match.playerOne.languageName())
+                    .setPlayerTwo(match.playerTwo.languageName())
+                    .setRoundId(matchTable.round(match.slot))
+                    .setPlayerOneWins(matchTable.wins(match.slot, true))
+                    .setPlayerTwoWins(matchTable.wins(match.slot, false))
+                    .setTies(matchTable.ties(match.slot)))
+                .build();
+        }
+    }
+    
+    private void cleanupPlayer(StreamConnection connection) {
+        StreamPlayer player = connection.player;
+        if (player == null || player.processor != connection.processor) {
+            // Never handshaked, or the player has already resumed on a newer stream
+            return;
+        }
+        
+        matchmaker.withdraw(player);
+        
+        if (player.matchId != NO_MATCH) {
+            StreamMatch match = activeMatches.get(player.matchId);
+            if (match != null && !suspendPlayer(match, player)) {
+                abortMatch(match, player);
+            }
+        }
     }
     
-    private boolean detectSeedCollision(StreamMatch match) {
-        // Simple heuristic: if move distributions are too similar, might indicate collision
-        PlayerStats p1 = match.stats.playerOneStats;
-        PlayerStats p2 = match.stats.playerTwoStats;
+    /**
+     * Keeps the match alive for the grace period after a disconnect.
+     * Returns false when resuming is disabled or the suspension budget is used up.
+     */
+    private boolean suspendPlayer(StreamMatch match, StreamPlayer player) {
+        if (resumeGracePeriod.isZero() || suspendedPlayers.incrementAndGet() > maxSuspendedPlayers) {
+            suspendedPlayers.decrementAndGet();
+            return false;
+        }
         
-        int rockDiff = Math.abs(p1.rocks - p2.rocks);
-        int paperDiff = Math.abs(p1.papers - p2.papers);
-        int scissorsDiff = Math.abs(p1.scissors - p2.scissors);
+        synchronized (match) {
+            if (activeMatches.get(match.matchId) != match) {
+                suspendedPlayers.decrementAndGet();
+                return true; // Already finished or aborted; nothing to hold on to
+            }
+            player.suspended = true;
+            player.graceTimer = graceTimers.schedule(() -> expireSuspension(match, player),
+                resumeGracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+            // Under the monitor, so it cannot overtake a result the round drain is sending
+            opponentOf(match, player).processor.onNext(BattleResponse.newBuilder()
+                .setStatus("OPPONENT_SUSPENDED")
+                .build());
+        }
         
-        // If all differences are very small (< 5), possible collision
-        return rockDiff < 5 && paperDiff < 5 && scissorsDiff < 5;
+        LOG.warnf("Player %s disconnected from match %s; holding match for %s",
+            player.id(), player.matchId, resumeGracePeriod);
+        return true;
     }
     
-    private void cleanupPlayer(StreamPlayer player) {
-        waitingPlayers.remove(player.connectionId);
+    private boolean resumePlayer(StreamConnection connection, StreamPlayer player) {
+        StreamMatch match = player.matchId == NO_MATCH ? null : activeMatches.get(player.matchId);
+        if (match == null) {
+            return false;
+        }
         
-        if (player.matchId != null) {
-            StreamMatch match = activeMatches.get(player.matchId);
-            if (match != null) {
-                // Player disconnected mid-match
-                LOG.warnf("Player %s disconnected from match %s", 
-                    player.connectionId, player.matchId);
-                activeMatches.remove(player.matchId);
-                
-                // Notify opponent
-                StreamPlayer opponent = (player == match.playerOne) ? 
-                    match.playerTwo : match.playerOne;
-                opponent.processor.onNext(BattleResponse.newBuilder()
-                    .setStatus("OPPONENT_DISCONNECTED")
-                    .build());
-                opponent.processor.onComplete();
+        synchronized (match) {
+            if (!player.suspended || activeMatches.get(match.matchId) != match) {
+                return false;
+            }
+            player.graceTimer.cancel(false);
+            player.graceTimer = null;
+            player.suspended = false;
+            suspendedPlayers.decrementAndGet();
+            
+            player.processor = connection.processor;
+            connection.player = player;
+            
+            int round = matchTable.round(match.slot);
+            LOG.infof("Player %s resumed match %s at round %d on %s",
+                player.id(), match.matchId, round, connection.connectionId);
+            HandshakeEvent.emit(connection.connectionId, player.languageName(), player.prngAlgorithm, true);
+            
+            player.processor.onNext(BattleResponse.newBuilder()
+                .setSession(Session.newBuilder()
+                    .setResumeToken(player.resumeToken)
+                    .setRoundId(round)
+                    .setResumed(true)
+                    .build())
+                .build());
+            opponentOf(match, player).processor.onNext(BattleResponse.newBuilder()
+                .setStatus("OPPONENT_RESUMED")
+                .build());
+            
+            // The trigger for the current round may have been lost with the old stream
+            if (!matchTable.hasMoved(match.slot, player == match.playerOne)) {
+                sendTrigger(player, round);
             }
         }
+        return true;
+    }
+    
+    private void expireSuspension(StreamMatch match, StreamPlayer player) {
+        synchronized (match) {
+            if (!player.suspended) {
+                return;
+            }
+            player.suspended = false;
+            player.graceTimer = null;
+            suspendedPlayers.decrementAndGet();
+        }
+        LOG.warnf("Player %s did not resume match %s in time", player.id(), match.matchId);
+        abortMatch(match, player);
+    }
+    
+    private void abortMatch(StreamMatch match, StreamPlayer disconnected) {
+        if (!activeMatches.remove(match.matchId, match)) {
+            return;
+        }
+        LOG.warnf("Player %s disconnected from match %s", 
+            disconnected.id(), match.matchId);
+        synchronized (match) {
+            if (match.slot >= 0) {
+                MatchCompletedEvent.emit(match.matchId, "STREAMING", matchTable.round(match.slot) - 1, true,
+                    clock.nanoTime() - matchTable.startNanos(match.slot));
+            }
+            releaseSlot(match);
+            
+            // Notify opponent; a round drain holding the monitor has finished sending by now
+            StreamPlayer opponent = opponentOf(match, disconnected);
+            opponent.processor.onNext(BattleResponse.newBuilder()
+                .setStatus("OPPONENT_DISCONNECTED")
+                .build());
+            opponent.processor.onComplete();
+        }
+        spectators.close(match.matchId, SpectatorEvent.newBuilder().setStatus("MATCH_ABORTED").build());
+        releaseResume(match.playerOne);
+        releaseResume(match.playerTwo);
+    }
+    
+    /**
+     * Returns the match's table slot for reuse; callers hold the match monitor.
+     */
+    private void releaseSlot(StreamMatch match) {
+        if (match.slot >= 0) {
+            matchTable.release(match.slot);
+            match.slot = -1;
+        }
+    }
+    
+    private void releaseResume(StreamPlayer player) {
+        resumablePlayers.remove(player.resumeToken);
+        ScheduledFuture<?> timer = player.graceTimer;
+        if (timer != null && timer.cancel(false)) {
+            player.graceTimer = null;
+            player.suspended = false;
+            suspendedPlayers.decrementAndGet();
+        }
+    }
+    
+    private static StreamPlayer opponentOf(StreamMatch match, StreamPlayer player) {
+        return player == match.playerOne ? match.playerTwo : match.playerOne;
+    }
+    
+    private static ScheduledThreadPoolExecutor createGraceTimers() {
+        ScheduledThreadPoolExecutor timers = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "arena-resume-grace");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Cancelled timers are dropped from the queue at once instead of at their deadline
+        timers.setRemoveOnCancelPolicy(true);
+        return timers;
     }
     
     // Inner classes for match state
     private static class StreamMatch {
-        final String matchId;
+        final long matchId;
         final StreamPlayer playerOne;
         final StreamPlayer playerTwo;
-        final Instant startedAt;
-        Instant completedAt;
-        
-        int currentRound = 1;
-        boolean playerOneMoveReceived = false;
-        boolean playerTwoMoveReceived = false;
-        int playerOneMove = -1;
-        int playerTwoMove = -1;
+        // Both players asked for it; the matchmaker only pairs equal formats
+        final MatchFormat format;
+        // Row in matchTable holding round, moves and counters; -1 once released
+        int slot;
         
-        final MatchStats stats = new MatchStats();
-        
-        StreamMatch(String matchId, StreamPlayer playerOne, StreamPlayer playerTwo) {
+        StreamMatch(long matchId, StreamPlayer playerOne, StreamPlayer playerTwo, int slot) {
             this.matchId = matchId;
             this.playerOne = playerOne;
             this.playerTwo = playerTwo;
-            this.startedAt = Instant.now();
+            this.format = playerOne.format();
+            this.slot = slot;
         }
     }
     
-    private static class StreamPlayer {
-        final String connectionId;
-        final BroadcastProcessor<BattleResponse> processor;
-        String matchId;
-        String languageName;
-        String prngAlgorithm;
+    private static class StreamConnection {
+        final long connectionId;
+        final SerializedProcessor<BattleResponse, BattleResponse> processor;
+        volatile StreamPlayer player;
         
-        StreamPlayer(String connectionId, BroadcastProcessor<BattleResponse> processor) {
+        StreamConnection(long connectionId, SerializedProcessor<BattleResponse, BattleResponse> processor) {
             this.connectionId = connectionId;
             this.processor = processor;
         }
     }
     
-    private static class MatchStats {
-        final PlayerStats playerOneStats = new PlayerStats();
-        final PlayerStats playerTwoStats = new PlayerStats();
-        int ties = 0;
-    }
-    
-    private static class PlayerStats {
-        int rocks = 0;
-        int papers = 0;
-        int scissors = 0;
-        int wins = 0;
+    private static class StreamPlayer extends Ticket {
+        final String resumeToken = IdGenerator.newToken();
+        // Replaced when the player resumes on a new stream
+        volatile SerializedProcessor<BattleResponse, BattleResponse> processor;
+        final String prngAlgorithm;
+        long matchId = NO_MATCH;
+        boolean suspended;
+        ScheduledFuture<?> graceTimer;
+        
+        StreamPlayer(long connectionId, SerializedProcessor<BattleResponse, BattleResponse> processor,
+                String languageName, String prngAlgorithm, String reservation, MatchFormat format) {
+            super(connectionId, languageName, reservation, format);
+            this.processor = processor;
+            this.prngAlgorithm = prngAlgorithm;
+        }
     }
+
 }
\ No newline at end of file
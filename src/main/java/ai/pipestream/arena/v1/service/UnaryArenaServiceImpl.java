@@ -1,53 +1,146 @@
 package ai.pipestream.arena.v1.service;
 
+import ai.pipestream.arena.v1.drain.DrainController;
+import ai.pipestream.arena.v1.jfr.DatabaseOperationEvent;
+import ai.pipestream.arena.v1.jfr.MatchCompletedEvent;
+import ai.pipestream.arena.v1.jfr.MatchCreatedEvent;
+import ai.pipestream.arena.v1.match.MatchFormat;
 import ai.pipestream.arena.v1.model.UnaryMatch;
 import ai.pipestream.arena.v1.model.UnaryRound;
 import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.persistence.MoveGroupCommit;
+import ai.pipestream.arena.v1.persistence.RoundResultReader;
+import ai.pipestream.arena.v1.persistence.SubmitMoveStatement;
+import ai.pipestream.arena.v1.persistence.UnaryStore;
+import ai.pipestream.arena.v1.util.ArenaClock;
 import ai.pipestream.arena.v1.util.GameLogic;
+import ai.pipestream.arena.v1.util.IdGenerator;
 import ai.pipestream.tourney.unary.v1.*;
+import io.grpc.Status;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.profile.UnlessBuildProfile;
 import io.quarkus.grpc.GrpcService;
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
 import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.time.Instant;
-import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Unary gRPC Service implementation.
  * Fully reactive using Mutiny and Hibernate Reactive.
+ * Left out of the {@code streaming} build profile, which runs without an ORM.
+ * Every database operation is timed by a {@link DatabaseOperationEvent}.
+ * While the node drains, registrations are refused with UNAVAILABLE; moves
+ * and result checks are still served, and since match state lives in the
+ * database any other node can pick a running match up.
+ * Each match plays under the {@link MatchFormat} requested at registration,
+ * and players are only paired with players that requested the same one.
+ * The Hibernate path goes through a {@link UnaryStore} and reads the time
+ * from an {@link ArenaClock}, so the simulation tests can run it in memory.
  */
 @GrpcService
 @Singleton
+@UnlessBuildProfile("streaming")
 public class UnaryArenaServiceImpl implements UnaryArenaService {
     
     private static final Logger LOG = Logger.getLogger(UnaryArenaServiceImpl.class);
     private final AtomicLong dbIopsCounter = new AtomicLong(0);
+    // The SubmitMove share of dbIopsCounter; unlike polls, a fixed number per round
+    private final AtomicLong submitMoveStatements = new AtomicLong(0);
+    
+    @Inject
+    RoundResultReader roundResultReader;
+    
+    @Inject
+    SubmitMoveStatement submitMoveStatement;
+    
+    @Inject
+    MoveGroupCommit moveGroupCommit;
+    
+    @Inject
+    UnaryStore store;
+    
+    @Inject
+    MeterRegistry registry;
+    
+    @Inject
+    IdGenerator ids;
+    
+    @Inject
+    DrainController drain;
+    
+    // Replaced by the simulation tests
+    ArenaClock clock = ArenaClock.SYSTEM;
+    
+    /** Read CheckRoundResult through Hibernate instead of the prepared-statement fast path. */
+    @ConfigProperty(name = "arena.unary.orm-read-path", defaultValue = "false")
+    boolean ormReadPath;
+    
+    /** Apply SubmitMove with one SQL statement instead of Hibernate load/modify/persist. */
+    @ConfigProperty(name = "arena.unary.sql-write-path", defaultValue = "false")
+    boolean sqlWritePath;
+    
+    /** On the SQL write path, commit moves of different matches together in batches. */
+    @ConfigProperty(name = "arena.unary.group-commit.enabled", defaultValue = "false")
+    boolean groupCommit;
+    
+    @PostConstruct
+    void init() {
+        // Exported so performance tests can track database operations per match
+        FunctionCounter.builder("arena.db.operations", dbIopsCounter, AtomicLong::get)
+            .tag("service", "unary")
+            .register(registry);
+        FunctionCounter.builder("arena.db.submit-move.statements", submitMoveStatements, AtomicLong::get)
+            .tag("service", "unary")
+            .register(registry);
+    }
     
     @Override
-    @WithTransaction
     public Uni<RegisterResponse> register(RegisterRequest request) {
-        LOG.infof("Registration request from: %s (%s)", 
-            request.getLanguageName(), request.getPrngAlgorithm());
+        if (drain.isDraining()) {
+            return Uni.createFrom().failure(Status.UNAVAILABLE
+                .withDescription("Arena node is draining; register with another node")
+                .asRuntimeException());
+        }
+        
+        MatchFormat format;
+        try {
+            format = MatchFormat.of(request.getFormat().getKindValue(),
+                request.getFormat().getTarget(), request.getFormat().getMaxRounds());
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(Status.INVALID_ARGUMENT
+                .withDescription(e.getMessage())
+                .asRuntimeException());
+        }
         
-        dbIopsCounter.incrementAndGet(); // SELECT for waiting matches
-        return UnaryMatch.findWaitingMatches()
-            .chain(waitingMatches -> {
-                LOG.infof("Found %d waiting matches", waitingMatches.size());
-                if (!waitingMatches.isEmpty()) {
-                    // Join an existing match
-                    UnaryMatch match = waitingMatches.get(0);
+        LOG.infof("Registration request from: %s (%s), format %s", 
+            request.getLanguageName(), request.getPrngAlgorithm(), format);
+        
+        return store.withTransaction(() -> claimOrCreateMatch(request, format));
+    }
+    
+    private Uni<RegisterResponse> claimOrCreateMatch(RegisterRequest request, MatchFormat format) {
+        dbIopsCounter.incrementAndGet(); // SELECT ... FOR UPDATE SKIP LOCKED
+        return DatabaseOperationEvent.timed("unary", "claim-waiting-match", store.claimWaitingMatch(format))
+            .chain(match -> {
+                if (match != null) {
+                    // Join the match this transaction holds the row lock on
                     match.playerTwoName = request.getLanguageName();
                     match.playerTwoPrng = request.getPrngAlgorithm();
                     match.status = UnaryMatch.MatchStatus.READY;
-                    match.startedAt = Instant.now();
+                    match.startedAt = clock.now();
                     
                     dbIopsCounter.incrementAndGet(); // UPDATE match
-                    return match.persist().replaceWith(
+                    MatchCreatedEvent.emit(match.matchId, "UNARY", match.playerOneName, match.playerTwoName);
+                    return DatabaseOperationEvent.timed("unary", "join-match", store.persist(match)).replaceWith(
                         RegisterResponse.newBuilder()
-                            .setMatchId(match.matchId)
+                            .setMatchId(IdGenerator.format(match.matchId))
                             .setOpponentName(match.playerOneName)
                             .setStatus("READY")
                             .build()
@@ -55,17 +148,18 @@ public class UnaryArenaServiceImpl implements UnaryArenaService {
                 } else {
                     // Create a new match
                     UnaryMatch newMatch = new UnaryMatch();
-                    newMatch.matchId = UUID.randomUUID().toString();
+                    newMatch.matchId = ids.nextId();
                     newMatch.playerOneName = request.getLanguageName();
                     newMatch.playerOnePrng = request.getPrngAlgorithm();
                     newMatch.status = UnaryMatch.MatchStatus.WAITING_FOR_OPPONENT;
-                    newMatch.createdAt = Instant.now();
+                    newMatch.createdAt = clock.now();
                     newMatch.currentRound = 1;
+                    newMatch.applyFormat(format);
                     
                     dbIopsCounter.incrementAndGet(); // INSERT match
-                    return newMatch.persist().replaceWith(
+                    return DatabaseOperationEvent.timed("unary", "create-match", store.persist(newMatch)).replaceWith(
                         RegisterResponse.newBuilder()
-                            .setMatchId(newMatch.matchId)
+                            .setMatchId(IdGenerator.format(newMatch.matchId))
                             .setOpponentName("")
                             .setStatus("WAITING_FOR_OPPONENT")
                             .build()
@@ -75,10 +169,65 @@ public class UnaryArenaServiceImpl implements UnaryArenaService {
     }
     
     @Override
-    @WithTransaction
     public Uni<SubmitMoveResponse> submitMove(SubmitMoveRequest request) {
-        dbIopsCounter.incrementAndGet(); // SELECT match
-        return UnaryMatch.findByMatchId(request.getMatchId())
+        if (sqlWritePath) {
+            return submitMoveSql(request);
+        }
+        return store.withTransaction(() -> submitMoveOrm(request));
+    }
+    
+    /**
+     * One round-trip per move: {@link SubmitMoveStatement} validates the turn,
+     * records the move, resolves the round, advances the match and, if that
+     * completes it, writes its statistics, all in one statement.
+     * With group commit, the statement covers a batch of moves from different
+     * matches (see {@link MoveGroupCommit}).
+     */
+    private Uni<SubmitMoveResponse> submitMoveSql(SubmitMoveRequest request) {
+        if (!GameLogic.isValidMove(request.getMove())) {
+            return Uni.createFrom().item(SubmitMoveResponse.newBuilder()
+                .setStatus("INVALID_TURN")
+                .build());
+        }
+        
+        long matchId = IdGenerator.parse(request.getMatchId());
+        countSubmitMoveStatement(); // WITH ... INSERT ... ON CONFLICT ... UPDATE, alone or as one row of a batch
+        Uni<SubmitMoveStatement.MoveResult> applied = groupCommit
+            ? DatabaseOperationEvent.timed("unary", "submit-move-group",
+                moveGroupCommit.apply(matchId, request.getRoundNumber(), request.getMove(), dbIopsCounter.get()))
+            : DatabaseOperationEvent.timed("unary", "submit-move-sql",
+                submitMoveStatement.apply(matchId, request.getRoundNumber(), request.getMove(), dbIopsCounter.get()));
+        return applied
+            .chain(result -> {
+                if (result == null) {
+                    return Uni.createFrom().failure(new IllegalArgumentException("Match not found"));
+                }
+                
+                if (result.matchStatus() == UnaryMatch.MatchStatus.COMPLETED) {
+                    return Uni.createFrom().item(SubmitMoveResponse.newBuilder()
+                        .setStatus("GAME_OVER")
+                        .build());
+                }
+                
+                if (request.getRoundNumber() != result.currentRound()) {
+                    return Uni.createFrom().item(SubmitMoveResponse.newBuilder()
+                        .setStatus("INVALID_TURN")
+                        .build());
+                }
+                
+                if (result.completedMatch() != null) {
+                    // The statement already wrote the statistics row; this copy is only logged
+                    matchCompleted(result.completedMatch(), matchStatistics(result.completedMatch()));
+                }
+                return Uni.createFrom().item(SubmitMoveResponse.newBuilder()
+                    .setStatus("ACCEPTED")
+                    .build());
+            });
+    }
+    
+    private Uni<SubmitMoveResponse> submitMoveOrm(SubmitMoveRequest request) {
+        countSubmitMoveStatement(); // SELECT match ... FOR UPDATE
+        return DatabaseOperationEvent.timed("unary", "find-match", store.lockMatch(IdGenerator.parse(request.getMatchId())))
             .chain(match -> {
                 if (match == null) {
                     return Uni.createFrom().failure(new IllegalArgumentException("Match not found"));
@@ -102,20 +251,22 @@ public class UnaryArenaServiceImpl implements UnaryArenaService {
                         .build());
                 }
                 
-                dbIopsCounter.incrementAndGet(); // SELECT round
-                return UnaryRound.findByMatchAndRound(request.getMatchId(), request.getRoundNumber())
+                countSubmitMoveStatement(); // SELECT round
+                return DatabaseOperationEvent.timed("unary", "find-round",
+                        store.findRound(match.matchId, match.createdAt, request.getRoundNumber()))
                     .chain(round -> {
                         if (round == null) {
                             // Create new round
                             UnaryRound newRound = new UnaryRound();
-                            newRound.matchId = request.getMatchId();
+                            newRound.matchId = match.matchId;
                             newRound.roundNumber = request.getRoundNumber();
-                            newRound.createdAt = Instant.now();
+                            newRound.matchCreatedAt = match.createdAt;
+                            newRound.createdAt = clock.now();
                             newRound.status = UnaryRound.RoundStatus.WAITING_PLAYER_TWO;
                             newRound.playerOneMove = request.getMove();
                             
-                            dbIopsCounter.incrementAndGet(); // INSERT round
-                            return newRound.persist().replaceWith(
+                            countSubmitMoveStatement(); // INSERT round
+                            return DatabaseOperationEvent.timed("unary", "insert-round", store.persist(newRound)).replaceWith(
                                 SubmitMoveResponse.newBuilder()
                                     .setStatus("ACCEPTED")
                                     .build()
@@ -124,7 +275,7 @@ public class UnaryArenaServiceImpl implements UnaryArenaService {
                             // Second player's move
                             round.playerTwoMove = request.getMove();
                             round.status = UnaryRound.RoundStatus.COMPLETE;
-                            round.completedAt = Instant.now();
+                            round.completedAt = clock.now();
                             
                             // Calculate outcome
                             round.outcome = GameLogic.determineWinner(round.playerOneMove, round.playerTwoMove);
@@ -146,25 +297,44 @@ public class UnaryArenaServiceImpl implements UnaryArenaService {
     }
     
     @Override
-    @WithTransaction
     public Uni<CheckRoundResultResponse> checkRoundResult(CheckRoundResultRequest request) {
         dbIopsCounter.incrementAndGet(); // SELECT round
-        return UnaryRound.findByMatchAndRound(request.getMatchId(), request.getRoundNumber())
-            .map(round -> {
-                if (round == null || round.status != UnaryRound.RoundStatus.COMPLETE) {
-                    return CheckRoundResultResponse.newBuilder()
-                        .setStatus("PENDING")
-                        .setOpponentMove(-1)
-                        .setOutcome("")
-                        .build();
-                }
-                
-                return CheckRoundResultResponse.newBuilder()
-                    .setStatus("COMPLETE")
-                    .setOpponentMove(round.playerTwoMove != null ? round.playerTwoMove : round.playerOneMove)
-                    .setOutcome(round.outcome)
-                    .build();
-            });
+        if (!ormReadPath) {
+            // Hot path: one prepared statement, no session, no transaction
+            return DatabaseOperationEvent.timed("unary", "check-round-sql",
+                    roundResultReader.find(IdGenerator.parse(request.getMatchId()), request.getRoundNumber()))
+                .map(round -> round == null
+                    ? pendingResult()
+                    : roundResult(round.complete(), round.playerOneMove(), round.playerTwoMove(), round.outcome()));
+        }
+        
+        return DatabaseOperationEvent.timed("unary", "check-round-orm",
+                store.withTransaction(() -> store.findRound(IdGenerator.parse(request.getMatchId()), request.getRoundNumber())))
+            .map(round -> round == null
+                ? pendingResult()
+                : roundResult(round.status == UnaryRound.RoundStatus.COMPLETE,
+                    round.playerOneMove, round.playerTwoMove, round.outcome));
+    }
+    
+    private static CheckRoundResultResponse roundResult(boolean complete, Integer playerOneMove,
+                                                        Integer playerTwoMove, String outcome) {
+        if (!complete) {
+            return pendingResult();
+        }
+        
+        return CheckRoundResultResponse.newBuilder()
+            .setStatus("COMPLETE")
+            .setOpponentMove(playerTwoMove != null ? playerTwoMove : playerOneMove)
+            .setOutcome(outcome)
+            .build();
+    }
+    
+    private static CheckRoundResultResponse pendingResult() {
+        return CheckRoundResultResponse.newBuilder()
+            .setStatus("PENDING")
+            .setOpponentMove(-1)
+            .setOutcome("")
+            .build();
     }
     
     private Uni<Void> updateMatchStats(UnaryMatch match, UnaryRound round) {
@@ -179,10 +349,12 @@ public class UnaryArenaServiceImpl implements UnaryArenaService {
         
         Uni<Void> persistAction;
         
-        // Check if match is complete
-        if (match.currentRound >= match.totalRounds) {
+        // Check if match is complete under its format
+        Instant startedAt = match.startedAt != null ? match.startedAt : match.createdAt;
+        long elapsedNanos = java.time.Duration.between(startedAt, clock.now()).toNanos();
+        if (match.format().isComplete(match.currentRound, match.playerOneWins, match.playerTwoWins, elapsedNanos)) {
             match.status = UnaryMatch.MatchStatus.COMPLETED;
-            match.completedAt = Instant.now();
+            match.completedAt = clock.now();
             
             // Create statistics record
             persistAction = saveMatchStatistics(match);
@@ -191,12 +363,26 @@ public class UnaryArenaServiceImpl implements UnaryArenaService {
             persistAction = Uni.createFrom().voidItem();
         }
         
-        dbIopsCounter.incrementAndGet(); // UPDATE match
-        dbIopsCounter.incrementAndGet(); // UPDATE round
-        return Uni.combine().all().unis(match.persist(), round.persist(), persistAction).discardItems();
+        countSubmitMoveStatement(); // UPDATE match
+        countSubmitMoveStatement(); // UPDATE round
+        return DatabaseOperationEvent.timed("unary", "update-match-round",
+                Uni.combine().all().unis(store.persist(match), store.persist(round), persistAction).discardItems());
+    }
+    
+    private void countSubmitMoveStatement() {
+        dbIopsCounter.incrementAndGet();
+        submitMoveStatements.incrementAndGet();
     }
     
     private Uni<Void> saveMatchStatistics(UnaryMatch match) {
+        MatchStatistics stats = matchStatistics(match);
+        matchCompleted(match, stats);
+        
+        dbIopsCounter.incrementAndGet(); // INSERT stats
+        return DatabaseOperationEvent.timed("unary", "save-statistics", store.persist(stats));
+    }
+    
+    private MatchStatistics matchStatistics(UnaryMatch match) {
         MatchStatistics stats = new MatchStatistics();
         stats.matchId = match.matchId;
         stats.matchType = "UNARY";
@@ -205,20 +391,25 @@ public class UnaryArenaServiceImpl implements UnaryArenaService {
         stats.playerOneWins = match.playerOneWins;
         stats.playerTwoWins = match.playerTwoWins;
         stats.ties = match.ties;
-        stats.totalRounds = match.totalRounds;
+        // The match ends on the round it completed, without advancing
+        stats.totalRounds = match.currentRound;
         stats.durationMillis = java.time.Duration.between(
             match.startedAt, match.completedAt).toMillis();
-        stats.roundsPerSecond = (match.totalRounds * 1000.0) / stats.durationMillis;
+        stats.roundsPerSecond = (stats.totalRounds * 1000.0) / stats.durationMillis;
+        stats.recordFormat(match.format());
         stats.databaseIops = dbIopsCounter.get();
-        stats.createdAt = Instant.now();
+        stats.createdAt = clock.now();
         
         stats.calculateDistributions();
-        
+        return stats;
+    }
+    
+    private void matchCompleted(UnaryMatch match, MatchStatistics stats) {
         LOG.infof("Match %s completed: P1=%d, P2=%d, Ties=%d, Duration=%dms, RPS=%.2f, IOPS=%d",
             match.matchId, match.playerOneWins, match.playerTwoWins, match.ties,
             stats.durationMillis, stats.roundsPerSecond, stats.databaseIops);
         
-        dbIopsCounter.incrementAndGet(); // INSERT stats
-        return stats.persist().replaceWithVoid();
+        MatchCompletedEvent.emit(match.matchId, "UNARY", stats.totalRounds, false,
+            java.time.Duration.between(match.startedAt, match.completedAt).toNanos());
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package ai.pipestream.arena.v1.sim;
+
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.util.GameLogic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * In-process bot-vs-bot simulation, no gRPC and no database.
+ * Rounds are resolved with {@link GameLogic#resolve} into primitive counters,
+ * and each match is folded into the slice's {@link SimulationAggregate} with
+ * the same bias and seed-collision rules as {@link MatchStatistics}, so the
+ * only per-match allocations are the two seeded generators.
+ */
+public final class MatchSimulator {
+
+    private MatchSimulator() {
+    }
+
+    /**
+     * Simulates matches {@code [from, to)} of the spec on the given executor
+     * and waits for the result.
+     */
+    public static SimulationAggregate run(SimulationSpec spec, long from, long to, Executor executor) {
+        return runAsync(spec, from, to, executor).join();
+    }
+
+    /**
+     * Simulates matches {@code [from, to)} of the spec in at most
+     * {@code spec.parallelism()} contiguous slices, each a task on the
+     * executor, so a job never takes more threads than it asked for.
+     */
+    public static CompletableFuture<SimulationAggregate> runAsync(SimulationSpec spec, long from, long to,
+                                                                  Executor executor) {
+        LongFunction<RandomGenerator> playerOne = seeded(spec.playerOneAlgorithm());
+        LongFunction<RandomGenerator> playerTwo = seeded(spec.playerTwoAlgorithm());
+
+        long count = to - from;
+        int slices = (int) Math.max(1, Math.min(spec.parallelism(), count));
+        List<CompletableFuture<SimulationAggregate>> parts = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            long sliceFrom = from + count * slice / slices;
+            long sliceTo = from + count * (slice + 1) / slices;
+            parts.add(CompletableFuture.supplyAsync(() -> {
+                SimulationAggregate aggregate = new SimulationAggregate();
+                for (long match = sliceFrom; match < sliceTo; match++) {
+                    playMatch(
+                        playerOne.apply(spec.seed() + 2 * match),
+                        playerTwo.apply(spec.seed() + 2 * match + 1),
+                        spec.roundsPerMatch(),
+                        aggregate);
+                }
+                return aggregate;
+            }, executor));
+        }
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+            .thenApply(done -> {
+                SimulationAggregate total = new SimulationAggregate();
+                for (CompletableFuture<SimulationAggregate> part : parts) {
+                    total.merge(part.join());
+                }
+                return total;
+            });
+    }
+
+    /**
+     * Seeded constructor for an algorithm. {@link RandomGeneratorFactory#create(long)}
+     * goes through reflection, about 15 ns more per generator than {@code new},
+     * so the java.util generators are constructed directly; the {@code jdk.random}
+     * ones are not exported and still go through the factory. Either way a
+     * seed gives the same generator.
+     */
+    static LongFunction<RandomGenerator> seeded(String algorithm) {
+        switch (algorithm) {
+            case "SplittableRandom":
+                return SplittableRandom::new;
+            case "Random":
+                return Random::new;
+            default:
+                RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(algorithm);
+                return factory::create;
+        }
+    }
+
+    /**
+     * Plays one match and adds it to {@code into}.
+     */
+    public static void playMatch(RandomGenerator playerOne, RandomGenerator playerTwo, int rounds,
+                                 SimulationAggregate into) {
+        int p1Rocks = 0, p1Papers = 0, p1Scissors = 0;
+        int p2Rocks = 0, p2Papers = 0, p2Scissors = 0;
+        int p1Wins = 0, p2Wins = 0, ties = 0;
+
+        for (int round = 0; round < rounds; round++) {
+            int p1Move = playerOne.nextInt(3);
+            int p2Move = playerTwo.nextInt(3);
+
+            switch (p1Move) {
+                case GameLogic.ROCK: p1Rocks++; break;
+                case GameLogic.PAPER: p1Papers++; break;
+                default: p1Scissors++;
+            }
+            switch (p2Move) {
+                case GameLogic.ROCK: p2Rocks++; break;
+                case GameLogic.PAPER: p2Papers++; break;
+                default: p2Scissors++;
+            }
+            switch (GameLogic.resolve(p1Move, p2Move)) {
+                case GameLogic.OUTCOME_PLAYER_ONE_WIN: p1Wins++; break;
+                case GameLogic.OUTCOME_PLAYER_TWO_WIN: p2Wins++; break;
+                default: ties++;
+            }
+        }
+
+        into.matches++;
+        into.rounds += rounds;
+        into.playerOneWins += p1Wins;
+        into.playerTwoWins += p2Wins;
+        into.ties += ties;
+        into.playerOneMoves[GameLogic.ROCK] += p1Rocks;
+        into.playerOneMoves[GameLogic.PAPER] += p1Papers;
+        into.playerOneMoves[GameLogic.SCISSORS] += p1Scissors;
+        into.playerTwoMoves[GameLogic.ROCK] += p2Rocks;
+        into.playerTwoMoves[GameLogic.PAPER] += p2Papers;
+        into.playerTwoMoves[GameLogic.SCISSORS] += p2Scissors;
+        if (MatchStatistics.seedCollision(p1Rocks, p1Papers, p1Scissors, p2Rocks, p2Papers, p2Scissors)) {
+            into.seedCollisions++;
+        }
+        into.playerOneBiasSum += MatchStatistics.bias(p1Rocks, p1Papers, p1Scissors, rounds);
+        into.playerTwoBiasSum += MatchStatistics.bias(p2Rocks, p2Papers, p2Scissors, rounds);
+    }
+}
@@ -0,0 +1,44 @@
+package ai.pipestream.arena.v1.sim;
+
+/**
+ * Running totals over many simulated matches, filled in by
+ * {@link MatchSimulator#playMatch}. Mutable and not thread-safe: each worker
+ * accumulates its own instance and they are merged at the end.
+ */
+public class SimulationAggregate {
+
+    public long matches;
+    public long rounds;
+    public long playerOneWins;
+    public long playerTwoWins;
+    public long ties;
+    public final long[] playerOneMoves = new long[3];
+    public final long[] playerTwoMoves = new long[3];
+    public long seedCollisions;
+    public double playerOneBiasSum;
+    public double playerTwoBiasSum;
+
+    public SimulationAggregate merge(SimulationAggregate other) {
+        matches += other.matches;
+        rounds += other.rounds;
+        playerOneWins += other.playerOneWins;
+        playerTwoWins += other.playerTwoWins;
+        ties += other.ties;
+        for (int i = 0; i < 3; i++) {
+            playerOneMoves[i] += other.playerOneMoves[i];
+            playerTwoMoves[i] += other.playerTwoMoves[i];
+        }
+        seedCollisions += other.seedCollisions;
+        playerOneBiasSum += other.playerOneBiasSum;
+        playerTwoBiasSum += other.playerTwoBiasSum;
+        return this;
+    }
+
+    public double meanPlayerOneBias() {
+        return matches == 0 ? 0 : playerOneBiasSum / matches;
+    }
+
+    public double meanPlayerTwoBias() {
+        return matches == 0 ? 0 : playerTwoBiasSum / matches;
+    }
+}
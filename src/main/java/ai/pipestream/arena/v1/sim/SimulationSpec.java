@@ -0,0 +1,43 @@
+package ai.pipestream.arena.v1.sim;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * What to simulate: {@code matches} bot-vs-bot matches of {@code roundsPerMatch}
+ * rounds. Match {@code i} seeds player one with {@code seed + 2i} and player
+ * two with {@code seed + 2i + 1}, so every run is reproducible. The job is
+ * split into at most {@code parallelism} concurrent slices.
+ */
+public record SimulationSpec(String playerOneAlgorithm, String playerTwoAlgorithm,
+                             long matches, int roundsPerMatch, long seed, int parallelism) {
+
+    public static final long MAX_MATCHES = 1_000_000_000L;
+    public static final int MAX_ROUNDS_PER_MATCH = MatchFormat.MAX_ROUNDS;
+    public static final int MAX_PARALLELISM = 256;
+
+    /**
+     * @throws IllegalArgumentException for unknown algorithms and out-of-range values
+     */
+    public SimulationSpec {
+        // Fail fast on unknown algorithm names instead of inside the worker pool
+        RandomGeneratorFactory.of(playerOneAlgorithm);
+        RandomGeneratorFactory.of(playerTwoAlgorithm);
+        if (matches < 1 || roundsPerMatch < 1) {
+            throw new IllegalArgumentException("matches and roundsPerMatch must be positive");
+        }
+        if (matches > MAX_MATCHES) {
+            throw new IllegalArgumentException("matches must be at most " + MAX_MATCHES);
+        }
+        if (roundsPerMatch > MAX_ROUNDS_PER_MATCH) {
+            throw new IllegalArgumentException("roundsPerMatch must be at most " + MAX_ROUNDS_PER_MATCH);
+        }
+        if (parallelism > MAX_PARALLELISM) {
+            throw new IllegalArgumentException("parallelism must be at most " + MAX_PARALLELISM);
+        }
+        if (parallelism < 1) {
+            parallelism = Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        }
+    }
+}
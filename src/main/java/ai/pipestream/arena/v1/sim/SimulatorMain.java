@@ -0,0 +1,42 @@
+package ai.pipestream.arena.v1.sim;
+
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command-line entry point for the headless simulator.
+ * <pre>
+ * java -cp ... ai.pipestream.arena.v1.sim.SimulatorMain \
+ *   -Dsim.matches=1000000 -Dsim.p1.algorithm=L64X128MixRandom -Dsim.p2.algorithm=Xoshiro256PlusPlus
+ * </pre>
+ */
+public class SimulatorMain {
+
+    private static final Logger LOG = Logger.getLogger(SimulatorMain.class);
+
+    public static void main(String[] args) {
+        SimulationSpec spec = new SimulationSpec(
+            System.getProperty("sim.p1.algorithm", "L64X128MixRandom"),
+            System.getProperty("sim.p2.algorithm", "L64X128MixRandom"),
+            Long.parseLong(System.getProperty("sim.matches", "100000")),
+            Integer.parseInt(System.getProperty("sim.rounds", "1000")),
+            Long.parseLong(System.getProperty("sim.seed", "42")),
+            Integer.parseInt(System.getProperty("sim.parallelism", "0")));
+
+        ForkJoinPool pool = new ForkJoinPool(spec.parallelism());
+        try {
+            long start = System.nanoTime();
+            SimulationAggregate result = MatchSimulator.run(spec, 0, spec.matches(), pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            LOG.infof("Simulated %d matches (%d rounds) on %d threads in %.2fs: %.0f rounds/s",
+                result.matches, result.rounds, spec.parallelism(), seconds, result.rounds / seconds);
+            LOG.infof("%s wins=%d, %s wins=%d, ties=%d, P1 bias=%.2f%%, P2 bias=%.2f%%, seed collisions=%d",
+                spec.playerOneAlgorithm(), result.playerOneWins, spec.playerTwoAlgorithm(), result.playerTwoWins,
+                result.ties, result.meanPlayerOneBias(), result.meanPlayerTwoBias(), result.seedCollisions);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ai.pipestream.arena.v1.spectate;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Marshaller for messages that were serialized up front. The same byte array
+ * can be handed to any number of calls; each call only wraps it in a stream
+ * that gRPC drains straight into its frame, without copying or re-encoding.
+ * The wire format is whatever the bytes hold, so clients see ordinary messages.
+ */
+public final class PreEncodedMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+
+    public static final PreEncodedMarshaller INSTANCE = new PreEncodedMarshaller();
+
+    private PreEncodedMarshaller() {
+    }
+
+    @Override
+    public InputStream stream(byte[] value) {
+        return new EncodedStream(value);
+    }
+
+    @Override
+    public byte[] parse(InputStream stream) {
+        try {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class EncodedStream extends ByteArrayInputStream implements KnownLength, Drainable {
+
+        EncodedStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            int length = count - pos;
+            target.write(buf, pos, length);
+            pos = count;
+            return length;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ai.pipestream.arena.v1.spectate;
+
+import ai.pipestream.tourney.stream.v1.SpectatorEvent;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import ai.pipestream.arena.v1.util.ConcurrentLongMap;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Fans live match events out to spectators. Each event is serialized once and
+ * the same bytes are queued for every watcher of the match; see {@link Watcher}
+ * for how slow watchers are conflated or dropped. While nobody watches any
+ * match, events cost one counter read; otherwise one primitive-keyed lookup.
+ */
+@Singleton
+public class SpectatorHub {
+
+    private static final Logger LOG = Logger.getLogger(SpectatorHub.class);
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "arena.spectator.queue-capacity", defaultValue = "32")
+    int queueCapacity;
+
+    /** {@code conflate} skips rounds for slow watchers; {@code drop} disconnects them. */
+    @ConfigProperty(name = "arena.spectator.slow-policy", defaultValue = "conflate")
+    String slowPolicy;
+
+    private final ConcurrentLongMap<CopyOnWriteArrayList<Watcher>> channels = new ConcurrentLongMap<>();
+    // Raised before a watcher is added and lowered after it is removed, so zero means no channels
+    private final AtomicInteger watcherCount = new AtomicInteger();
+    private final Executor executor = Infrastructure.getDefaultWorkerPool();
+    private Counter dropped;
+    private Counter conflated;
+
+    @PostConstruct
+    void init() {
+        if (!"conflate".equals(slowPolicy) && !"drop".equals(slowPolicy)) {
+            throw new IllegalArgumentException("Unknown arena.spectator.slow-policy: " + slowPolicy);
+        }
+        registry.gauge("arena.spectator.watchers", watcherCount);
+        dropped = registry.counter("arena.spectator.dropped");
+        conflated = registry.counter("arena.spectator.conflated");
+    }
+
+    public boolean isWatched(long matchId) {
+        return watcherCount.get() != 0 && channels.get(matchId) != null;
+    }
+
+    /**
+     * Queues a round event for the match's watchers. Round events are
+     * conflatable: a slow watcher may skip them.
+     */
+    public void publishRound(long matchId, SpectatorEvent event) {
+        if (watcherCount.get() == 0) {
+            return;
+        }
+        CopyOnWriteArrayList<Watcher> watchers = channels.get(matchId);
+        if (watchers == null) {
+            return;
+        }
+        byte[] encoded = event.toByteArray();
+        for (Watcher watcher : watchers) {
+            watcher.offer(encoded, true);
+        }
+    }
+
+    /**
+     * Sends a final event to the match's watchers and completes their calls.
+     * The match must already be gone from the snapshot source.
+     */
+    public void close(long matchId, SpectatorEvent finalEvent) {
+        if (watcherCount.get() == 0) {
+            return;
+        }
+        CopyOnWriteArrayList<Watcher> watchers = channels.remove(matchId);
+        if (watchers == null) {
+            return;
+        }
+        byte[] encoded = finalEvent.toByteArray();
+        for (Watcher watcher : watchers) {
+            watcher.close(encoded);
+            watcherCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Attaches a spectator call to a match. The snapshot is taken after the
+     * watcher is registered, so no round published in between is missed; a
+     * null snapshot means the match does not exist (or just ended).
+     */
+    public void watch(long matchId, ServerCallStreamObserver<byte[]> observer, Supplier<SpectatorEvent> snapshot) {
+        Watcher watcher = new Watcher(observer, queueCapacity, "conflate".equals(slowPolicy), executor,
+            slow -> {
+                dropped.increment();
+                unwatch(matchId, slow);
+            },
+            conflated::increment);
+        observer.setOnReadyHandler(watcher::schedule);
+        observer.setOnCancelHandler(() -> {
+            watcher.cancelled();
+            unwatch(matchId, watcher);
+        });
+
+        watcherCount.incrementAndGet();
+        channels.compute(matchId, (id, watchers) -> {
+            CopyOnWriteArrayList<Watcher> list = watchers != null ? watchers : new CopyOnWriteArrayList<>();
+            list.add(watcher);
+            return list;
+        });
+
+        SpectatorEvent initial = snapshot.get();
+        if (initial == null) {
+            unwatch(matchId, watcher);
+            watcher.fail(Status.NOT_FOUND.withDescription("No live match " + matchId));
+            return;
+        }
+        LOG.debugf("Spectator attached to match %s", matchId);
+        watcher.offerFirst(initial.toByteArray());
+    }
+
+    private void unwatch(long matchId, Watcher watcher) {
+        boolean[] removed = new boolean[1];
+        channels.compute(matchId, (id, watchers) -> {
+            if (watchers == null) {
+                return null;
+            }
+            removed[0] = watchers.remove(watcher);
+            return watchers.isEmpty() ? null : watchers;
+        });
+        if (removed[0]) {
+            watcherCount.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package ai.pipestream.arena.v1.spectate;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One spectator's bounded outbound queue. Publishers only enqueue; delivery
+ * runs on the executor, one drain at a time, and only while the call is ready
+ * for more data, so a slow spectator backs up its own queue and nothing else.
+ */
+final class Watcher {
+
+    /**
+     * Called when a watcher falls too far behind and is dropped.
+     */
+    interface DropListener {
+        void dropped(Watcher watcher);
+    }
+
+    private record Pending(byte[] bytes, boolean conflatable) {
+    }
+
+    private final ServerCallStreamObserver<byte[]> observer;
+    private final int capacity;
+    private final boolean conflate;
+    private final Executor executor;
+    private final DropListener dropListener;
+    private final Runnable conflationListener;
+
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private boolean closing;
+    private Status failure;
+    private long conflations;
+    private volatile boolean cancelled;
+    private boolean terminated;
+
+    Watcher(ServerCallStreamObserver<byte[]> observer, int capacity, boolean conflate,
+            Executor executor, DropListener dropListener, Runnable conflationListener) {
+        this.observer = observer;
+        this.capacity = capacity;
+        this.conflate = conflate;
+        this.executor = executor;
+        this.dropListener = dropListener;
+        this.conflationListener = conflationListener;
+    }
+
+    /**
+     * Queues an event at the head, ahead of anything already published.
+     */
+    void offerFirst(byte[] event) {
+        synchronized (this) {
+            queue.addFirst(new Pending(event, false));
+        }
+        schedule();
+    }
+
+    /**
+     * Queues an event. When the queue is full, conflatable events already
+     * queued are discarded (their successors carry the same cumulative state);
+     * if that is not allowed or frees nothing, the watcher is dropped.
+     */
+    void offer(byte[] event, boolean conflatable) {
+        boolean drop = false;
+        boolean conflated = false;
+        synchronized (this) {
+            if (closing || failure != null) {
+                return;
+            }
+            if (queue.size() >= capacity) {
+                if (conflate && queue.removeIf(Pending::conflatable)) {
+                    conflations++;
+                    conflated = true;
+                } else {
+                    failure = Status.RESOURCE_EXHAUSTED.withDescription("Spectator fell too far behind");
+                    queue.clear();
+                    drop = true;
+                }
+            }
+            if (!drop) {
+                queue.add(new Pending(event, conflatable));
+            }
+        }
+        if (drop) {
+            dropListener.dropped(this);
+        } else if (conflated) {
+            conflationListener.run();
+        }
+        schedule();
+    }
+
+    /**
+     * Queues a last event and completes the call once it is delivered.
+     */
+    void close(byte[] finalEvent) {
+        synchronized (this) {
+            if (closing || failure != null) {
+                return;
+            }
+            queue.add(new Pending(finalEvent, false));
+            closing = true;
+        }
+        schedule();
+    }
+
+    void fail(Status status) {
+        synchronized (this) {
+            if (failure == null) {
+                failure = status;
+            }
+        }
+        schedule();
+    }
+
+    void cancelled() {
+        cancelled = true;
+    }
+
+    synchronized long conflations() {
+        return conflations;
+    }
+
+    synchronized int queued() {
+        return queue.size();
+    }
+
+    void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int missed = 1;
+        while (true) {
+            if (!terminated && !cancelled) {
+                deliver();
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                return;
+            }
+        }
+    }
+
+    private void deliver() {
+        Status error;
+        synchronized (this) {
+            error = failure;
+        }
+        if (error != null) {
+            terminated = true;
+            observer.onError(error.asRuntimeException());
+            return;
+        }
+        while (observer.isReady()) {
+            Pending next;
+            boolean complete;
+            synchronized (this) {
+                next = queue.poll();
+                complete = next == null && closing;
+            }
+            if (next == null) {
+                if (complete) {
+                    terminated = true;
+                    observer.onCompleted();
+                }
+                return;
+            }
+            observer.onNext(next.bytes());
+        }
+    }
+}
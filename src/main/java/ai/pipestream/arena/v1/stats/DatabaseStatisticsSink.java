@@ -0,0 +1,18 @@
+package ai.pipestream.arena.v1.stats;
+
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Persists statistics through Hibernate Reactive.
+ * Panache is only touched on the first write, so the session factory is not
+ * part of the streaming startup path even when this sink is selected.
+ */
+public class DatabaseStatisticsSink implements StatisticsSink {
+
+    @Override
+    public Uni<Void> save(MatchStatistics stats) {
+        return Panache.withTransaction(stats::persist).replaceWithVoid();
+    }
+}
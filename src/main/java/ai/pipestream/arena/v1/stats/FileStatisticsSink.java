@@ -0,0 +1,131 @@
+package ai.pipestream.arena.v1.stats;
+
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends one JSON object per match to a local file (JSON Lines).
+ * Writes run on the Mutiny worker pool so the event loop never blocks on disk.
+ * The file is opened by the first write and stays open until {@link #close()}.
+ */
+public class FileStatisticsSink implements StatisticsSink {
+
+    private final Path path;
+    private BufferedWriter writer;
+    private boolean closed;
+
+    public FileStatisticsSink(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Uni<Void> save(MatchStatistics stats) {
+        String line = toJson(stats);
+        return Uni.createFrom().<Void>item(() -> {
+                append(line);
+                return null;
+            })
+            .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+
+    private synchronized void append(String line) {
+        if (closed) {
+            throw new IllegalStateException("Statistics file " + path + " is closed");
+        }
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write statistics to " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close statistics file " + path, e);
+        } finally {
+            writer = null;
+        }
+    }
+
+    static String toJson(MatchStatistics stats) {
+        return new StringBuilder(512)
+            .append("{\"matchId\":").append(quote(IdGenerator.format(stats.matchId)))
+            .append(",\"matchType\":").append(quote(stats.matchType))
+            .append(",\"playerOneName\":").append(quote(stats.playerOneName))
+            .append(",\"playerTwoName\":").append(quote(stats.playerTwoName))
+            .append(",\"playerOneRocks\":").append(stats.playerOneRocks)
+            .append(",\"playerOnePapers\":").append(stats.playerOnePapers)
+            .append(",\"playerOneScissors\":").append(stats.playerOneScissors)
+            .append(",\"playerOneWins\":").append(stats.playerOneWins)
+            .append(",\"playerTwoRocks\":").append(stats.playerTwoRocks)
+            .append(",\"playerTwoPapers\":").append(stats.playerTwoPapers)
+            .append(",\"playerTwoScissors\":").append(stats.playerTwoScissors)
+            .append(",\"playerTwoWins\":").append(stats.playerTwoWins)
+            .append(",\"ties\":").append(stats.ties)
+            .append(",\"totalRounds\":").append(stats.totalRounds)
+            .append(",\"durationMillis\":").append(stats.durationMillis)
+            .append(",\"roundsPerSecond\":").append(stats.roundsPerSecond)
+            .append(",\"databaseIops\":").append(stats.databaseIops)
+            .append(",\"playerOneBias\":").append(stats.playerOneBias)
+            .append(",\"playerTwoBias\":").append(stats.playerTwoBias)
+            .append(",\"seedCollisionDetected\":").append(stats.seedCollisionDetected)
+            .append(",\"format\":").append(quote(stats.format))
+            .append(",\"formatTarget\":").append(stats.formatTarget)
+            .append(",\"roundLimit\":").append(stats.roundLimit)
+            .append(",\"decidedEarly\":").append(stats.decidedEarly)
+            .append(",\"roundsInTimeBox\":").append(stats.roundsInTimeBox)
+            .append(",\"createdAt\":").append(quote(stats.createdAt == null ? null : stats.createdAt.toString()))
+            .append('}')
+            .toString();
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
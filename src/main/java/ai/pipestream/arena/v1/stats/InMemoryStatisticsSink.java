@@ -0,0 +1,41 @@
+package ai.pipestream.arena.v1.stats;
+
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import io.smallrye.mutiny.Uni;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the most recent statistics in a bounded buffer.
+ * Intended for benchmarks and short-lived streaming nodes where nothing
+ * should be written outside the process.
+ */
+public class InMemoryStatisticsSink implements StatisticsSink {
+
+    private final int capacity;
+    private final ArrayDeque<MatchStatistics> recent;
+
+    public InMemoryStatisticsSink(int capacity) {
+        this.capacity = capacity;
+        this.recent = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public Uni<Void> save(MatchStatistics stats) {
+        synchronized (recent) {
+            if (recent.size() == capacity) {
+                recent.pollFirst();
+            }
+            recent.addLast(stats);
+        }
+        return Uni.createFrom().voidItem();
+    }
+
+    public List<MatchStatistics> snapshot() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+}
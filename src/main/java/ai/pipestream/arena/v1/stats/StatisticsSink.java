@@ -0,0 +1,21 @@
+package ai.pipestream.arena.v1.stats;
+
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Destination for completed streaming match statistics.
+ * The streaming service never touches the ORM directly; it hands each finished
+ * match to whichever sink {@link StatisticsSinkProducer} selected at startup.
+ */
+public interface StatisticsSink {
+
+    Uni<Void> save(MatchStatistics stats);
+
+    /**
+     * Releases whatever the sink holds open. Called once at shutdown, after
+     * draining has waited for pending saves; nothing is saved afterwards.
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,51 @@
+package ai.pipestream.arena.v1.stats;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.file.Path;
+
+/**
+ * Selects the {@link StatisticsSink} from {@code arena.statistics.sink}:
+ * {@code database} (default), {@code file} or {@code memory}.
+ */
+@ApplicationScoped
+public class StatisticsSinkProducer {
+
+    private static final Logger LOG = Logger.getLogger(StatisticsSinkProducer.class);
+
+    @ConfigProperty(name = "arena.statistics.sink", defaultValue = "database")
+    String sink;
+
+    @ConfigProperty(name = "arena.statistics.file", defaultValue = "arena-statistics.jsonl")
+    String file;
+
+    @ConfigProperty(name = "arena.statistics.memory-capacity", defaultValue = "10000")
+    int memoryCapacity;
+
+    @Produces
+    @Singleton
+    StatisticsSink statisticsSink() {
+        LOG.infof("Streaming statistics sink: %s", sink);
+        switch (sink) {
+            case "database":
+                return new DatabaseStatisticsSink();
+            case "file":
+                return new FileStatisticsSink(Path.of(file));
+            case "memory":
+                return new InMemoryStatisticsSink(memoryCapacity);
+            default:
+                throw new IllegalArgumentException("Unknown arena.statistics.sink: " + sink);
+        }
+    }
+
+    // Singletons are destroyed after the ShutdownEvent observers return, so
+    // DrainController has already waited for the streaming service's pending saves
+    void close(@Disposes StatisticsSink statisticsSink) {
+        statisticsSink.close();
+    }
+}
@@ -0,0 +1,34 @@
+package ai.pipestream.arena.v1.util;
+
+import java.time.Instant;
+
+/**
+ * Where the match engines read the time. Services run on {@link #SYSTEM};
+ * the simulation tests substitute a virtual clock that only moves when its
+ * next scheduled task runs, together with an executor driven by that clock,
+ * so that timeouts and round pacing play out without waiting.
+ */
+public interface ArenaClock {
+
+    ArenaClock SYSTEM = new ArenaClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public Instant now() {
+            return Instant.now();
+        }
+    };
+
+    /**
+     * Monotonic time for measuring intervals, like {@link System#nanoTime()}.
+     */
+    long nanoTime();
+
+    /**
+     * Wall-clock time for timestamps that are stored or exported.
+     */
+    Instant now();
+}
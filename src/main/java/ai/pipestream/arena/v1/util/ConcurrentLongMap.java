@@ -0,0 +1,127 @@
+package ai.pipestream.arena.v1.util;
+
+import io.netty.util.collection.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread-safe map from primitive {@code long} keys to values: a fixed set of
+ * Netty {@link LongObjectHashMap}s, each guarded by its own monitor. Keys are
+ * never boxed and there are no per-entry node objects, unlike a
+ * {@code ConcurrentHashMap<Long, V>}.
+ * <p>
+ * Only the operations the arena needs are provided; there are no compound
+ * operations spanning stripes.
+ */
+public final class ConcurrentLongMap<V> {
+
+    private final LongObjectHashMap<V>[] stripes;
+    private final int mask;
+
+    public ConcurrentLongMap() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentLongMap(int concurrency) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, concurrency - 1)) << 1;
+        stripes = new LongObjectHashMap[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new LongObjectHashMap<>();
+        }
+        mask = stripeCount - 1;
+    }
+
+    public V get(long key) {
+        LongObjectHashMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    public V put(long key, V value) {
+        LongObjectHashMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.put(key, value);
+        }
+    }
+
+    public V remove(long key) {
+        LongObjectHashMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    /**
+     * Removes the entry only if it currently maps to {@code value} (by identity).
+     */
+    public boolean remove(long key, V value) {
+        LongObjectHashMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            if (stripe.get(key) != value) {
+                return false;
+            }
+            stripe.remove(key);
+            return true;
+        }
+    }
+
+    /**
+     * Replaces the key's value (null if absent) with the function's result,
+     * removing the entry if that is null. The function runs under the stripe's
+     * monitor, so it must be short and must not touch this map.
+     *
+     * @return the new value
+     */
+    public V compute(long key, Remapping<V> remapping) {
+        LongObjectHashMap<V> stripe = stripe(key);
+        synchronized (stripe) {
+            V value = remapping.apply(key, stripe.get(key));
+            if (value == null) {
+                stripe.remove(key);
+            } else {
+                stripe.put(key, value);
+            }
+            return value;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (LongObjectHashMap<V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * A snapshot of the values, stripe by stripe.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (LongObjectHashMap<V> stripe : stripes) {
+            synchronized (stripe) {
+                values.addAll(stripe.values());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * {@link java.util.function.BiFunction} for {@link #compute} without boxing the key.
+     */
+    @FunctionalInterface
+    public interface Remapping<V> {
+        V apply(long key, V value);
+    }
+
+    private LongObjectHashMap<V> stripe(long key) {
+        // IDs differ mostly in their low (sequence) bits, but mix in the rest too
+        long h = key ^ (key >>> 22) ^ (key >>> 32);
+        return stripes[(int) h & mask];
+    }
+}
@@ -5,6 +5,10 @@ public class GameLogic {
     public static final int PAPER = 1;
     public static final int SCISSORS = 2;
 
+    public static final int OUTCOME_TIE = 0;
+    public static final int OUTCOME_PLAYER_ONE_WIN = 1;
+    public static final int OUTCOME_PLAYER_TWO_WIN = 2;
+
     public static boolean isValidMove(int move) {
         return move >= 0 && move <= 2;
     }
@@ -27,6 +31,16 @@ public class GameLogic {
         return "PLAYER_TWO_WIN";
     }
 
+    /**
+     * Allocation-free variant of {@link #determineWinner} for hot loops.
+     * Each move beats the one just below it (mod 3), so the difference of the
+     * moves alone decides the round.
+     * Returns OUTCOME_TIE, OUTCOME_PLAYER_ONE_WIN or OUTCOME_PLAYER_TWO_WIN.
+     */
+    public static int resolve(int p1Move, int p2Move) {
+        return (p1Move - p2Move + 3) % 3;
+    }
+
     public static String outcomeForPlayer(String matchOutcome, boolean isPlayerOne) {
         if ("TIE".equals(matchOutcome)) return "TIE";
         
@@ -36,4 +50,12 @@ public class GameLogic {
             return "PLAYER_TWO_WIN".equals(matchOutcome) ? "WIN" : "LOSS";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Per-player view of an {@code OUTCOME_*} code: "WIN", "LOSS" or "TIE".
+     */
+    public static String outcomeForPlayer(int outcome, boolean isPlayerOne) {
+        if (outcome == OUTCOME_TIE) return "TIE";
+        return (outcome == OUTCOME_PLAYER_ONE_WIN) == isPlayerOne ? "WIN" : "LOSS";
+    }
+}
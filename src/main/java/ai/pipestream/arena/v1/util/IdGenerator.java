@@ -0,0 +1,142 @@
+package ai.pipestream.arena.v1.util;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered 64-bit IDs for connections and matches, replacing
+ * {@code UUID.randomUUID()} on the hot paths:
+ * <pre>
+ *   41 bits  milliseconds since 2025-01-01T00:00Z   (good until 2094)
+ *   10 bits  node ({@code arena.id.node})
+ *   12 bits  sequence within the millisecond
+ * </pre>
+ * Each thread reserves a block of {@value #BLOCK_SIZE} IDs with one CAS on a
+ * shared counter and then hands them out with no synchronization at all, so
+ * connection storms do not serialize on a shared {@code SecureRandom}. When a
+ * millisecond's sequence is used up the counter borrows from the next
+ * millisecond; IDs stay unique and increasing.
+ * <p>
+ * IDs are kept as {@code long}s inside the server and in the database; the
+ * protos carry them as decimal strings ({@link #format}, {@link #parse}).
+ * Secrets such as resume tokens must stay unguessable and use {@link #newToken()}.
+ */
+@Singleton
+public class IdGenerator {
+
+    private static final Logger LOG = Logger.getLogger(IdGenerator.class);
+
+    static final long EPOCH_MILLIS = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final int BLOCK_SIZE = 64;
+
+    private static final ThreadLocal<SecureRandom> TOKEN_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final long nodeBits;
+    // (millis since epoch << SEQUENCE_BITS) | sequence, of the next unreserved ID
+    private final AtomicLong nextTick = new AtomicLong();
+    // {next tick, end of block} of the calling thread's reserved block
+    private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * @param node this node's number, 0-1023; a negative value derives one from the host name and PID
+     */
+    @Inject
+    public IdGenerator(@ConfigProperty(name = "arena.id.node", defaultValue = "-1") int node) {
+        if (node > MAX_NODE) {
+            throw new IllegalArgumentException("arena.id.node must be at most " + MAX_NODE + ": " + node);
+        }
+        if (node < 0) {
+            node = derivedNode();
+            LOG.infof("arena.id.node not set; using %d derived from host and PID", node);
+        }
+        this.nodeBits = (long) node << SEQUENCE_BITS;
+    }
+
+    public long nextId() {
+        long[] reserved = block.get();
+        if (reserved[0] == reserved[1]) {
+            reserve(reserved);
+        }
+        long tick = reserved[0]++;
+        return ((tick >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (tick & SEQUENCE_MASK);
+    }
+
+    /**
+     * Milliseconds since the Unix epoch at which the ID was issued (or reserved).
+     */
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static String format(long id) {
+        return Long.toString(id);
+    }
+
+    /**
+     * Parses an ID received over the wire.
+     *
+     * @return the ID, or -1 when the string is not one of ours (e.g. a UUID from an older server)
+     */
+    public static long parse(String id) {
+        if (id == null || id.isEmpty() || id.length() > 19) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            int digit = id.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+            if (value < 0) {
+                return -1; // Overflow
+            }
+        }
+        return value;
+    }
+
+    /**
+     * A 128-bit random, URL-safe secret from a per-thread {@code SecureRandom}.
+     */
+    public static String newToken() {
+        byte[] bytes = new byte[16];
+        TOKEN_RANDOM.get().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private void reserve(long[] reserved) {
+        long nowTick = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long current = nextTick.get();
+            long start = Math.max(current, nowTick);
+            if (nextTick.compareAndSet(current, start + BLOCK_SIZE)) {
+                reserved[0] = start;
+                reserved[1] = start + BLOCK_SIZE;
+                return;
+            }
+        }
+    }
+
+    private static int derivedNode() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "localhost";
+        }
+        long pid = ManagementFactory.getRuntimeMXBean().getPid();
+        return ((host.hashCode() * 31) ^ Long.hashCode(pid)) & MAX_NODE;
+    }
+}
@@ -0,0 +1,111 @@
+package ai.pipestream.arena.v1.wire;
+
+import ai.pipestream.arena.v1.spectate.PreEncodedMarshaller;
+import ai.pipestream.tourney.stream.v1.BattleRequest;
+import ai.pipestream.tourney.stream.v1.BattleResponse;
+import ai.pipestream.tourney.stream.v1.StreamingArenaServiceGrpc;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.Status;
+import io.grpc.protobuf.ProtoUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Marshallers for the Battle RPC that skip protobuf for per-round traffic.
+ * <p>
+ * Incoming move requests are a handful of bytes. When gRPC reports the message
+ * length, a message that small is read straight from the transport's buffer
+ * into a per-thread scratch array and, if it is one of the three moves, mapped
+ * onto the shared {@link BattleMessages#move(int) move request} without any
+ * allocation. Outgoing triggers and results interned by {@link BattleMessages}
+ * are handed to gRPC as their cached bytes, which it drains directly into its
+ * pooled frame buffers. Everything else, handshakes included, goes through the
+ * generated protobuf marshallers, so the wire format is unchanged.
+ */
+public final class BattleMarshallers {
+
+    // Move requests are 2 or 4 bytes; larger messages are never moves worth the fast path
+    private static final int SCRATCH_SIZE = 16;
+
+    private static final MethodDescriptor.Marshaller<BattleRequest> DEFAULT_REQUEST =
+        ProtoUtils.marshaller(BattleRequest.getDefaultInstance());
+    private static final MethodDescriptor.Marshaller<BattleResponse> DEFAULT_RESPONSE =
+        ProtoUtils.marshaller(BattleResponse.getDefaultInstance());
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[SCRATCH_SIZE]);
+
+    public static final MethodDescriptor.Marshaller<BattleRequest> REQUEST = new MethodDescriptor.Marshaller<>() {
+        @Override
+        public InputStream stream(BattleRequest value) {
+            return DEFAULT_REQUEST.stream(value);
+        }
+
+        @Override
+        public BattleRequest parse(InputStream stream) {
+            return parseRequest(stream);
+        }
+    };
+
+    public static final MethodDescriptor.Marshaller<BattleResponse> RESPONSE = new MethodDescriptor.Marshaller<>() {
+        @Override
+        public InputStream stream(BattleResponse value) {
+            byte[] encoded = BattleMessages.encoded(value);
+            return encoded != null ? PreEncodedMarshaller.INSTANCE.stream(encoded) : DEFAULT_RESPONSE.stream(value);
+        }
+
+        @Override
+        public BattleResponse parse(InputStream stream) {
+            return DEFAULT_RESPONSE.parse(stream);
+        }
+    };
+
+    public static final MethodDescriptor<BattleRequest, BattleResponse> BATTLE = StreamingArenaServiceGrpc.getBattleMethod()
+        .toBuilder(REQUEST, RESPONSE)
+        .build();
+
+    private BattleMarshallers() {
+    }
+
+    /**
+     * Rebinds a generated StreamingArenaService definition so Battle uses these
+     * marshallers. The call handler is kept as generated.
+     */
+    @SuppressWarnings("unchecked")
+    public static ServerServiceDefinition bind(ServerServiceDefinition generated) {
+        ServerMethodDefinition<BattleRequest, BattleResponse> battle =
+            (ServerMethodDefinition<BattleRequest, BattleResponse>) generated.getMethod(BATTLE.getFullMethodName());
+        // Keep the generated schema descriptor so server reflection still describes the service
+        ServiceDescriptor descriptor = ServiceDescriptor.newBuilder(StreamingArenaServiceGrpc.SERVICE_NAME)
+            .setSchemaDescriptor(generated.getServiceDescriptor().getSchemaDescriptor())
+            .addMethod(BATTLE)
+            .build();
+        return ServerServiceDefinition.builder(descriptor)
+            .addMethod(BATTLE, battle.getServerCallHandler())
+            .build();
+    }
+
+    static BattleRequest parseRequest(InputStream stream) {
+        try {
+            if (stream instanceof KnownLength) {
+                int size = stream.available();
+                if (size <= SCRATCH_SIZE) {
+                    byte[] scratch = SCRATCH.get();
+                    int read = stream.readNBytes(scratch, 0, size);
+                    BattleRequest move = BattleMessages.decodeMove(scratch, read);
+                    return move != null ? move : BattleRequest.parser().parseFrom(scratch, 0, read);
+                }
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw Status.INTERNAL.withDescription("Invalid protobuf byte sequence").withCause(e).asRuntimeException();
+        } catch (IOException e) {
+            throw Status.INTERNAL.withDescription("Failed reading message").withCause(e).asRuntimeException();
+        }
+        return DEFAULT_REQUEST.parse(stream);
+    }
+}
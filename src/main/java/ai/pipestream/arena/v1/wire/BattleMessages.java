@@ -0,0 +1,164 @@
+package ai.pipestream.arena.v1.wire;
+
+import ai.pipestream.tourney.stream.v1.BattleRequest;
+import ai.pipestream.tourney.stream.v1.BattleResponse;
+import ai.pipestream.tourney.stream.v1.Move;
+import ai.pipestream.tourney.stream.v1.RequestMove;
+import ai.pipestream.tourney.stream.v1.RoundResult;
+
+/**
+ * Interned Battle messages for the per-round traffic of a match.
+ * <p>
+ * Moves, move requests and round results come from a small closed set: three
+ * moves, and for each round one trigger plus nine results (opponent move times
+ * outcome). Those messages are built and serialized once, at class load, for
+ * the first {@value #CACHED_ROUNDS} rounds; protobuf messages are immutable, so
+ * every match shares them. {@link BattleMarshallers} hands the cached bytes to
+ * gRPC instead of re-encoding, and maps incoming moves onto the cached requests.
+ * Rounds beyond the cache are built on demand.
+ */
+public final class BattleMessages {
+
+    static final int CACHED_ROUNDS = 1024;
+
+    // Indexed by outcome: the per-player strings of GameLogic.outcomeForPlayer
+    private static final String[] OUTCOMES = { "TIE", "WIN", "LOSS" };
+    private static final int MOVES = 3;
+
+    private static final BattleRequest[] MOVE_REQUESTS = new BattleRequest[MOVES];
+
+    private static final BattleResponse[] TRIGGERS = new BattleResponse[CACHED_ROUNDS + 1];
+    private static final byte[][] TRIGGER_BYTES = new byte[CACHED_ROUNDS + 1][];
+
+    private static final BattleResponse[] RESULTS = new BattleResponse[(CACHED_ROUNDS + 1) * MOVES * OUTCOMES.length];
+    private static final byte[][] RESULT_BYTES = new byte[RESULTS.length][];
+
+    static {
+        for (int move = 0; move < MOVES; move++) {
+            MOVE_REQUESTS[move] = buildMove(move);
+        }
+        for (int round = 1; round <= CACHED_ROUNDS; round++) {
+            TRIGGERS[round] = buildTrigger(round);
+            TRIGGER_BYTES[round] = TRIGGERS[round].toByteArray();
+            for (int move = 0; move < MOVES; move++) {
+                for (int outcome = 0; outcome < OUTCOMES.length; outcome++) {
+                    int index = resultIndex(round, move, outcome);
+                    RESULTS[index] = buildResult(round, move, OUTCOMES[outcome]);
+                    RESULT_BYTES[index] = RESULTS[index].toByteArray();
+                }
+            }
+        }
+    }
+
+    private BattleMessages() {
+    }
+
+    /**
+     * A move request; the shared instance for moves 0-2.
+     */
+    public static BattleRequest move(int move) {
+        return move >= 0 && move < MOVES ? MOVE_REQUESTS[move] : buildMove(move);
+    }
+
+    /**
+     * The request for a player's move in the given round.
+     */
+    public static BattleResponse trigger(int round) {
+        return round > 0 && round <= CACHED_ROUNDS ? TRIGGERS[round] : buildTrigger(round);
+    }
+
+    /**
+     * A player's result for a round.
+     *
+     * @param outcome "WIN", "LOSS" or "TIE" from that player's point of view
+     */
+    public static BattleResponse result(int round, int opponentMove, String outcome) {
+        int index = resultIndex(round, opponentMove, outcomeIndex(outcome));
+        return index >= 0 ? RESULTS[index] : buildResult(round, opponentMove, outcome);
+    }
+
+    /**
+     * The serialized form of a message returned by this class, or null when the
+     * message was not interned here (including equal messages built elsewhere).
+     * The array is shared and must not be modified.
+     */
+    static byte[] encoded(BattleResponse value) {
+        switch (value.getPayloadCase()) {
+            case TRIGGER -> {
+                int round = value.getTrigger().getRoundId();
+                if (round > 0 && round <= CACHED_ROUNDS && TRIGGERS[round] == value) {
+                    return TRIGGER_BYTES[round];
+                }
+            }
+            case RESULT -> {
+                RoundResult result = value.getResult();
+                int index = resultIndex(result.getRoundId(), result.getOpponentMove(), outcomeIndex(result.getOutcome()));
+                if (index >= 0 && RESULTS[index] == value) {
+                    return RESULT_BYTES[index];
+                }
+            }
+            default -> {
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the serialized form of a move request onto its shared instance
+     * without decoding it through protobuf. Only the encodings of moves 0-2
+     * are recognised (field 2, holding either nothing or field 1 as a one-byte
+     * varint); anything else returns null and must be parsed normally.
+     */
+    static BattleRequest decodeMove(byte[] bytes, int length) {
+        if (length < 2 || bytes[0] != 0x12 || bytes[1] != length - 2) {
+            return null;
+        }
+        if (length == 2) {
+            return MOVE_REQUESTS[0];
+        }
+        if (length == 4 && bytes[2] == 0x08 && bytes[3] >= 0 && bytes[3] < MOVES) {
+            return MOVE_REQUESTS[bytes[3]];
+        }
+        return null;
+    }
+
+    private static int resultIndex(int round, int opponentMove, int outcome) {
+        if (round <= 0 || round > CACHED_ROUNDS || opponentMove < 0 || opponentMove >= MOVES || outcome < 0) {
+            return -1;
+        }
+        return (round * MOVES + opponentMove) * OUTCOMES.length + outcome;
+    }
+
+    private static int outcomeIndex(String outcome) {
+        return switch (outcome) {
+            case "TIE" -> 0;
+            case "WIN" -> 1;
+            case "LOSS" -> 2;
+            default -> -1;
+        };
+    }
+
+    private static BattleRequest buildMove(int move) {
+        return BattleRequest.newBuilder()
+            .setMove(Move.newBuilder().setMove(move).build())
+            .build();
+    }
+
+    private static BattleResponse buildTrigger(int round) {
+        return BattleResponse.newBuilder()
+            .setTrigger(RequestMove.newBuilder()
+                .setRoundId(round)
+                .build())
+            .build();
+    }
+
+    private static BattleResponse buildResult(int round, int opponentMove, String outcome) {
+        return BattleResponse.newBuilder()
+            .setResult(RoundResult.newBuilder()
+                .setRoundId(round)
+                .setOpponentMove(opponentMove)
+                .setOutcome(outcome)
+                .build())
+            .build();
+    }
+}
@@ -0,0 +1,51 @@
+package ai.pipestream.client.v1;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.netty.NettyChannelBuilder;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Builds client channels over TCP or, for bots on the same host as the arena,
+ * a Unix domain socket (Linux epoll). Set {@code arena.socket} to the socket
+ * path the server binds ({@code quarkus.http.domain-socket}) to use it.
+ */
+public final class ArenaChannels {
+
+    private static EventLoopGroup domainSocketGroup;
+
+    private ArenaChannels() {
+    }
+
+    public static ManagedChannel create(String host, int port) {
+        String socket = System.getProperty("arena.socket", "");
+        return socket.isBlank() ? forAddress(host, port) : forDomainSocket(socket);
+    }
+
+    public static ManagedChannel forAddress(String host, int port) {
+        return ManagedChannelBuilder.forAddress(host, port)
+            .usePlaintext()
+            .build();
+    }
+
+    public static ManagedChannel forDomainSocket(String path) {
+        return NettyChannelBuilder.forAddress(new DomainSocketAddress(path))
+            .eventLoopGroup(domainSocketGroup())
+            .channelType(EpollDomainSocketChannel.class)
+            // HTTP/2 still needs an authority; the socket path is not one
+            .overrideAuthority("localhost")
+            .usePlaintext()
+            .build();
+    }
+
+    private static synchronized EventLoopGroup domainSocketGroup() {
+        if (domainSocketGroup == null) {
+            domainSocketGroup = new EpollEventLoopGroup(0, new DefaultThreadFactory("arena-uds", true));
+        }
+        return domainSocketGroup;
+    }
+}
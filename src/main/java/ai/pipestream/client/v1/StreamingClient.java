@@ -2,7 +2,6 @@ package ai.pipestream.client.v1;
 
 import ai.pipestream.tourney.stream.v1.*;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
 import org.jboss.logging.Logger;
@@ -25,9 +24,7 @@ public class StreamingClient {
     private final String prngAlgorithm;
     
     public StreamingClient(String host, int port, String languageName, String prngAlgorithm) {
-        this.channel = ManagedChannelBuilder.forAddress(host, port)
-            .usePlaintext()
-            .build();
+        this.channel = ArenaChannels.create(host, port);
         this.mutinyStub = MutinyStreamingArenaServiceGrpc.newMutinyStub(channel);
         this.random = new Random();
         this.languageName = languageName;
@@ -2,7 +2,6 @@ package ai.pipestream.client.v1;
 
 import ai.pipestream.tourney.unary.v1.*;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import org.jboss.logging.Logger;
@@ -24,9 +23,7 @@ public class UnaryClient {
     private final String prngAlgorithm;
     
     public UnaryClient(String host, int port, String languageName, String prngAlgorithm) {
-        this.channel = ManagedChannelBuilder.forAddress(host, port)
-            .usePlaintext()
-            .build();
+        this.channel = ArenaChannels.create(host, port);
         this.mutinyStub = MutinyUnaryArenaServiceGrpc.newMutinyStub(channel);
         this.random = new Random();
         this.languageName = languageName;
@@ -0,0 +1,34 @@
+package ai.pipestream.client.v1.sdk;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Poll delays for {@code CheckRoundResult}.
+ * Tracks an exponentially weighted average of how long rounds take to resolve
+ * and starts polling at half of it, growing exponentially from there. Every
+ * delay gets full jitter so thousands of bots never poll in lockstep.
+ * One instance per match; not thread-safe.
+ */
+public class AdaptiveBackoff {
+
+    private final long minNanos;
+    private final long maxNanos;
+    private double averageResolveNanos;
+
+    public AdaptiveBackoff(Duration min, Duration max) {
+        this.minNanos = min.toNanos();
+        this.maxNanos = max.toNanos();
+        this.averageResolveNanos = minNanos;
+    }
+
+    public Duration nextDelay(int attempt) {
+        double base = Math.max(minNanos, averageResolveNanos / 2) * Math.pow(2, Math.min(attempt, 16));
+        long ceiling = (long) Math.min(maxNanos, base);
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(minNanos, Math.max(minNanos, ceiling) + 1));
+    }
+
+    public void recordResolved(long resolveNanos) {
+        averageResolveNanos = averageResolveNanos * 0.8 + resolveNanos * 0.2;
+    }
+}
@@ -0,0 +1,212 @@
+package ai.pipestream.client.v1.sdk;
+
+import ai.pipestream.tourney.stream.v1.BattleRequest;
+import ai.pipestream.tourney.stream.v1.BattleResponse;
+import ai.pipestream.tourney.stream.v1.Handshake;
+import ai.pipestream.tourney.stream.v1.Move;
+import ai.pipestream.tourney.stream.v1.MutinyStreamingArenaServiceGrpc;
+import ai.pipestream.tourney.stream.v1.Redirect;
+import ai.pipestream.tourney.stream.v1.RoundResult;
+import ai.pipestream.tourney.unary.v1.CheckRoundResultRequest;
+import ai.pipestream.tourney.unary.v1.CheckRoundResultResponse;
+import ai.pipestream.tourney.unary.v1.MatchFormat;
+import ai.pipestream.tourney.unary.v1.MutinyUnaryArenaServiceGrpc;
+import ai.pipestream.tourney.unary.v1.RegisterRequest;
+import ai.pipestream.tourney.unary.v1.SubmitMoveRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import io.smallrye.mutiny.subscription.Cancellable;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking client for both arena services.
+ * Every match is a chain of continuations on the gRPC callback threads: no
+ * thread is parked per match, so one process can play thousands of matches
+ * concurrently over the few connections held by a {@link ChannelPool}.
+ */
+public class ArenaClient {
+
+    static final int MAX_REDIRECTS = 3;
+
+    private final ChannelPool channels;
+    private final Supplier<AdaptiveBackoff> backoffs;
+    private final Duration roundTimeout;
+
+    public ArenaClient(ChannelPool channels) {
+        this(channels, () -> new AdaptiveBackoff(Duration.ofMillis(1), Duration.ofMillis(200)), Duration.ofSeconds(30));
+    }
+
+    public ArenaClient(ChannelPool channels, Supplier<AdaptiveBackoff> backoffs, Duration roundTimeout) {
+        this.channels = channels;
+        this.backoffs = backoffs;
+        this.roundTimeout = roundTimeout;
+    }
+
+    /**
+     * Plays a streaming match. The returned {@code Uni} completes when the server
+     * ends the stream: after the match completes, the opponent disconnects, or
+     * for any other reason. A Redirect to another node is followed with its
+     * reservation, at most {@value #MAX_REDIRECTS} times. Cancelling the
+     * {@code Uni} (or a timeout) cancels the call.
+     */
+    public Uni<MatchSummary> playStreaming(String languageName, String prngAlgorithm, MoveStrategy strategy) {
+        return Uni.createFrom().deferred(() -> battle(channels.next(), languageName, prngAlgorithm, strategy,
+            new MatchTally(), "", 0));
+    }
+
+    private Uni<MatchSummary> battle(ManagedChannel channel, String languageName, String prngAlgorithm,
+                                     MoveStrategy strategy, MatchTally tally, String reservation, int redirects) {
+        return Uni.createFrom().<StreamEnd>emitter(emitter -> {
+            // Unicast buffers the handshake until the call subscribes to the request stream
+            UnicastProcessor<BattleRequest> requests = UnicastProcessor.create();
+            AtomicReference<String> status = new AtomicReference<>("STREAM_COMPLETED");
+            AtomicReference<Redirect> redirect = new AtomicReference<>();
+            AtomicBoolean ended = new AtomicBoolean();
+
+            Cancellable call = MutinyStreamingArenaServiceGrpc.newMutinyStub(channel).battle(requests).subscribe().with(
+                update -> {
+                    if (update.hasTrigger()) {
+                        int move = strategy.chooseMove(update.getTrigger().getRoundId());
+                        requests.onNext(BattleRequest.newBuilder()
+                            .setMove(Move.newBuilder().setMove(move).build())
+                            .build());
+                    } else if (update.hasResult()) {
+                        RoundResult result = update.getResult();
+                        tally.record(result.getOutcome());
+                        strategy.onResult(result.getRoundId(), result.getOpponentMove(), result.getOutcome());
+                    } else if (update.hasRedirect()) {
+                        redirect.set(update.getRedirect());
+                    } else if (update.hasStatus() && isTerminal(update)) {
+                        // The server ends the stream next
+                        status.set(update.getStatus());
+                        requests.onComplete();
+                    }
+                },
+                failure -> {
+                    ended.set(true);
+                    requests.onComplete();
+                    emitter.fail(failure);
+                },
+                () -> {
+                    ended.set(true);
+                    requests.onComplete();
+                    emitter.complete(new StreamEnd(status.get(), redirect.get()));
+                }
+            );
+            // The caller gave up on the match (cancelled or timed out): cancel the call rather than leave it open
+            emitter.onTermination(() -> {
+                if (!ended.get()) {
+                    requests.onError(Status.CANCELLED.withDescription("Match cancelled by the client").asRuntimeException());
+                    call.cancel();
+                }
+            });
+
+            requests.onNext(BattleRequest.newBuilder()
+                .setHandshake(Handshake.newBuilder()
+                    .setLanguageName(languageName)
+                    .setPrngAlgorithm(prngAlgorithm)
+                    .setReservation(reservation)
+                    .build())
+                .build());
+        }).chain(end -> {
+            if (end.redirect() == null) {
+                return Uni.createFrom().item(tally.summary(end.status()));
+            }
+            if (redirects >= MAX_REDIRECTS) {
+                return Uni.createFrom().failure(new IllegalStateException(
+                    "Redirected " + (redirects + 1) + " times without being paired"));
+            }
+            return battle(channels.forAddress(end.redirect().getAddress()), languageName, prngAlgorithm, strategy,
+                tally, end.redirect().getReservation(), redirects + 1);
+        });
+    }
+
+    /**
+     * Plays a unary match of the given format, polling each round's result
+     * with an {@link AdaptiveBackoff} instead of blocking. The server decides
+     * when the match is over: rounds are played until a move is not accepted,
+     * and that status ends the summary. It is {@code GAME_OVER} for a match
+     * that ran its course; {@code INVALID_TURN} means the client and server
+     * disagree on the round and the match is abandoned.
+     */
+    public Uni<MatchSummary> playUnary(String languageName, String prngAlgorithm, MoveStrategy strategy,
+                                       MatchFormat format) {
+        var stub = MutinyUnaryArenaServiceGrpc.newMutinyStub(channels.next());
+        MatchTally tally = new MatchTally();
+        AdaptiveBackoff backoff = backoffs.get();
+
+        return stub.register(RegisterRequest.newBuilder()
+                .setLanguageName(languageName)
+                .setPrngAlgorithm(prngAlgorithm)
+                .setFormat(format)
+                .build())
+            .chain(registration -> {
+                tally.matchId = registration.getMatchId();
+                // One round at a time until the server stops accepting moves
+                return Multi.createFrom().range(1, Integer.MAX_VALUE)
+                    .onItem().transformToUniAndConcatenate(round ->
+                        playUnaryRound(stub, tally, strategy, backoff, round))
+                    .select().where(status -> !"ACCEPTED".equals(status))
+                    .toUni()
+                    .map(tally::summary);
+            });
+    }
+
+    /**
+     * @return {@code ACCEPTED} once the round has been resolved and tallied,
+     * otherwise the status the server rejected the move with
+     */
+    private Uni<String> playUnaryRound(MutinyUnaryArenaServiceGrpc.MutinyUnaryArenaServiceStub stub,
+                                       MatchTally tally, MoveStrategy strategy, AdaptiveBackoff backoff, int round) {
+        long submittedAt = System.nanoTime();
+        return stub.submitMove(SubmitMoveRequest.newBuilder()
+                .setMatchId(tally.matchId)
+                .setRoundNumber(round)
+                .setMove(strategy.chooseMove(round))
+                .build())
+            .chain(response -> {
+                if (!"ACCEPTED".equals(response.getStatus())) {
+                    return Uni.createFrom().item(response.getStatus());
+                }
+                return pollForResult(stub, tally.matchId, round, backoff, 0)
+                    .ifNoItem().after(roundTimeout).fail()
+                    .map(result -> {
+                        backoff.recordResolved(System.nanoTime() - submittedAt);
+                        tally.record(result.getOutcome());
+                        strategy.onResult(round, result.getOpponentMove(), result.getOutcome());
+                        return response.getStatus();
+                    });
+            });
+    }
+
+    private Uni<CheckRoundResultResponse> pollForResult(MutinyUnaryArenaServiceGrpc.MutinyUnaryArenaServiceStub stub,
+                                                        String matchId, int round, AdaptiveBackoff backoff, int attempt) {
+        return stub.checkRoundResult(CheckRoundResultRequest.newBuilder()
+                .setMatchId(matchId)
+                .setRoundNumber(round)
+                .build())
+            .chain(result -> {
+                if ("COMPLETE".equals(result.getStatus())) {
+                    return Uni.createFrom().item(result);
+                }
+                return Uni.createFrom().voidItem()
+                    .onItem().delayIt().by(backoff.nextDelay(attempt))
+                    .chain(() -> pollForResult(stub, matchId, round, backoff, attempt + 1));
+            });
+    }
+
+    private record StreamEnd(String status, Redirect redirect) {
+    }
+
+    private static boolean isTerminal(BattleResponse update) {
+        String status = update.getStatus();
+        return status.equals("MATCH_COMPLETE") || status.equals("OPPONENT_DISCONNECTED");
+    }
+}
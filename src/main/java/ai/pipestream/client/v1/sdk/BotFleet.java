@@ -0,0 +1,52 @@
+package ai.pipestream.client.v1.sdk;
+
+import ai.pipestream.tourney.unary.v1.MatchFormat;
+import io.smallrye.mutiny.Multi;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs a whole fleet of bots from one process on top of {@link ArenaClient}.
+ * Every bot is an independent player; the arena pairs them into matches.
+ */
+public class BotFleet {
+
+    private static final Logger LOG = Logger.getLogger(BotFleet.class);
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = System.getProperty("arena.host", "localhost");
+        int port = Integer.parseInt(System.getProperty("arena.port", "9000"));
+        String mode = System.getProperty("arena.fleet.mode", "streaming");
+        int players = Integer.parseInt(System.getProperty("arena.fleet.players", "2000"));
+        int concurrency = Integer.parseInt(System.getProperty("arena.fleet.concurrency", String.valueOf(players)));
+        int channelCount = Integer.parseInt(System.getProperty("arena.fleet.channels", "4"));
+        int rounds = Integer.parseInt(System.getProperty("arena.fleet.rounds", "1000"));
+        MatchFormat format = MatchFormat.newBuilder().setKind(MatchFormat.Kind.FIXED).setTarget(rounds).build();
+        String languageName = System.getProperty("language.name", "Java-Fleet");
+        String prngAlgorithm = System.getProperty("prng.algorithm", "L64X128MixRandom");
+
+        LOG.infof("Fleet starting: %d %s players over %d channels", players, mode, channelCount);
+        long start = System.nanoTime();
+
+        try (ChannelPool channels = new ChannelPool(host, port, channelCount)) {
+            ArenaClient client = new ArenaClient(channels);
+            List<MatchSummary> summaries = Multi.createFrom().range(0, players)
+                .onItem().transformToUni(i -> {
+                    String name = languageName + "-" + i;
+                    MoveStrategy strategy = new RandomMoveStrategy(prngAlgorithm);
+                    return "unary".equals(mode)
+                        ? client.playUnary(name, prngAlgorithm, strategy, format)
+                        : client.playStreaming(name, prngAlgorithm, strategy);
+                }).merge(concurrency)
+                .collect().asList()
+                .await().indefinitely();
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            long totalRounds = summaries.stream().mapToLong(MatchSummary::rounds).sum();
+            LOG.infof("Fleet finished: %d players, %d rounds in %dms (%.0f rounds/s)",
+                summaries.size(), totalRounds, elapsed.toMillis(), totalRounds * 1000.0 / Math.max(1, elapsed.toMillis()));
+        }
+    }
+}
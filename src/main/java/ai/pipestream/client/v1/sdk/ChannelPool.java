@@ -0,0 +1,90 @@
+package ai.pipestream.client.v1.sdk;
+
+import ai.pipestream.client.v1.ArenaChannels;
+import io.grpc.ManagedChannel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A small fixed set of channels shared by every match a process plays.
+ * Each channel is one HTTP/2 connection carrying many concurrent calls;
+ * matches are spread over the channels round-robin. Matches redirected to
+ * another arena node share one channel per node address.
+ */
+public class ChannelPool implements AutoCloseable {
+
+    private final ManagedChannel[] channels;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Function<String, ManagedChannel> redirectFactory;
+    private final ConcurrentHashMap<String, ManagedChannel> redirected = new ConcurrentHashMap<>();
+
+    /**
+     * Connects over TCP, or over the Unix domain socket named by {@code arena.socket}.
+     */
+    public ChannelPool(String host, int port, int size) {
+        this(() -> ArenaChannels.create(host, port), size);
+    }
+
+    public ChannelPool(Supplier<ManagedChannel> factory, int size) {
+        this(factory, size, ChannelPool::connect);
+    }
+
+    /**
+     * @param redirectFactory opens a channel to the {@code host:port} named by a Redirect
+     */
+    public ChannelPool(Supplier<ManagedChannel> factory, int size, Function<String, ManagedChannel> redirectFactory) {
+        this.redirectFactory = redirectFactory;
+        this.channels = new ManagedChannel[size];
+        for (int i = 0; i < size; i++) {
+            channels[i] = factory.get();
+        }
+    }
+
+    public ManagedChannel next() {
+        return channels[Math.floorMod(next.getAndIncrement(), channels.length)];
+    }
+
+    public int size() {
+        return channels.length;
+    }
+
+    /**
+     * The channel to another arena node, opened on first use and closed with the pool.
+     *
+     * @param address {@code host:port}, as sent in a Redirect
+     */
+    public ManagedChannel forAddress(String address) {
+        return redirected.computeIfAbsent(address, redirectFactory);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        List<ManagedChannel> all = new ArrayList<>(List.of(channels));
+        all.addAll(redirected.values());
+        for (ManagedChannel channel : all) {
+            channel.shutdown();
+        }
+        for (ManagedChannel channel : all) {
+            channel.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // Redirects always name a TCP address, even when this pool uses a domain socket
+    private static ManagedChannel connect(String address) {
+        int colon = address.lastIndexOf(':');
+        if (colon <= 0) {
+            throw new IllegalArgumentException("Expected host:port, got " + address);
+        }
+        String host = address.substring(0, colon);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1); // IPv6 literal
+        }
+        return ArenaChannels.forAddress(host, Integer.parseInt(address.substring(colon + 1)));
+    }
+}
@@ -0,0 +1,47 @@
+package ai.pipestream.client.v1.sdk;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with 10µs buckets up to 100ms plus an overflow
+ * bucket. Good enough for round-latency percentiles without retaining samples.
+ */
+public class LatencyHistogram {
+
+    private static final long BUCKET_NANOS = 10_000L;
+    private static final int BUCKETS = 10_000;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 1);
+
+    public void record(long nanos) {
+        int bucket = (int) Math.min(BUCKETS, Math.max(0, nanos / BUCKET_NANOS));
+        counts.incrementAndGet(bucket);
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return upper bound of the bucket holding the given percentile, in microseconds
+     */
+    public long percentileMicros(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return (i + 1) * BUCKET_NANOS / 1_000;
+            }
+        }
+        return (BUCKETS + 1) * BUCKET_NANOS / 1_000;
+    }
+}
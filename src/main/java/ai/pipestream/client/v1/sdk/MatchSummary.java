@@ -0,0 +1,14 @@
+package ai.pipestream.client.v1.sdk;
+
+import java.time.Duration;
+
+/**
+ * Result of one match from this client's point of view.
+ */
+public record MatchSummary(String matchId, int rounds, int wins, int losses, int ties,
+                           String finalStatus, Duration duration) {
+
+    public double roundsPerSecond() {
+        return duration.isZero() ? 0 : rounds * 1_000_000_000.0 / duration.toNanos();
+    }
+}
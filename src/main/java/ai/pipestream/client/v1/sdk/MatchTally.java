@@ -0,0 +1,33 @@
+package ai.pipestream.client.v1.sdk;
+
+import java.time.Duration;
+
+/**
+ * Mutable per-match counters, turned into a {@link MatchSummary} at the end.
+ * Outcomes other than WIN/LOSS/TIE (the unary service reports PLAYER_ONE_WIN
+ * and PLAYER_TWO_WIN without saying which side the caller is) only count as rounds.
+ */
+class MatchTally {
+
+    private final long startNanos = System.nanoTime();
+    String matchId = "";
+    int rounds;
+    int wins;
+    int losses;
+    int ties;
+
+    void record(String outcome) {
+        rounds++;
+        switch (outcome) {
+            case "WIN": wins++; break;
+            case "LOSS": losses++; break;
+            case "TIE": ties++; break;
+            default: break;
+        }
+    }
+
+    MatchSummary summary(String finalStatus) {
+        return new MatchSummary(matchId, rounds, wins, losses, ties, finalStatus,
+            Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+}
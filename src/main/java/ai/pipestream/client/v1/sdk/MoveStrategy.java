@@ -0,0 +1,21 @@
+package ai.pipestream.client.v1.sdk;
+
+/**
+ * Chooses moves for one side of one match.
+ * A fresh instance is created per match, and calls for a match never overlap,
+ * so implementations may keep unsynchronized per-match state.
+ */
+public interface MoveStrategy {
+
+    /**
+     * @param roundNumber the round being played, starting at 1
+     * @return 0=Rock, 1=Paper, 2=Scissors
+     */
+    int chooseMove(int roundNumber);
+
+    /**
+     * Called once a round is resolved. The default ignores the result.
+     */
+    default void onResult(int roundNumber, int opponentMove, String outcome) {
+    }
+}
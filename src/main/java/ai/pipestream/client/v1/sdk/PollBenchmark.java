@@ -0,0 +1,84 @@
+package ai.pipestream.client.v1.sdk;
+
+import ai.pipestream.tourney.unary.v1.CheckRoundResultRequest;
+import ai.pipestream.tourney.unary.v1.MutinyUnaryArenaServiceGrpc;
+import ai.pipestream.tourney.unary.v1.RegisterRequest;
+import ai.pipestream.tourney.unary.v1.SubmitMoveRequest;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hammers {@code CheckRoundResult} for one completed round at a fixed concurrency
+ * and reports calls/sec and latency percentiles. Run it once against a server
+ * started with {@code -Darena.unary.orm-read-path=true} and once without to
+ * compare the Hibernate path with the prepared-statement fast path
+ * (disable shedding with {@code -Darena.limit.enabled=false} for both runs).
+ */
+public class PollBenchmark {
+
+    private static final Logger LOG = Logger.getLogger(PollBenchmark.class);
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = System.getProperty("arena.host", "localhost");
+        int port = Integer.parseInt(System.getProperty("arena.port", "9000"));
+        int concurrency = Integer.parseInt(System.getProperty("arena.bench.concurrency", "256"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(System.getProperty("arena.bench.seconds", "30")));
+        int channelCount = Integer.parseInt(System.getProperty("arena.bench.channels", "4"));
+
+        try (ChannelPool channels = new ChannelPool(host, port, channelCount)) {
+            var stub = MutinyUnaryArenaServiceGrpc.newMutinyStub(channels.next());
+
+            // Two registrations and two moves leave round 1 complete
+            String matchId = stub.register(RegisterRequest.newBuilder().setLanguageName("Poll-A").build())
+                .await().atMost(Duration.ofSeconds(10)).getMatchId();
+            stub.register(RegisterRequest.newBuilder().setLanguageName("Poll-B").build())
+                .await().atMost(Duration.ofSeconds(10));
+            for (int move = 0; move < 2; move++) {
+                stub.submitMove(SubmitMoveRequest.newBuilder()
+                        .setMatchId(matchId).setRoundNumber(1).setMove(move).build())
+                    .await().atMost(Duration.ofSeconds(10));
+            }
+
+            CheckRoundResultRequest poll = CheckRoundResultRequest.newBuilder()
+                .setMatchId(matchId).setRoundNumber(1).build();
+            LatencyHistogram histogram = new LatencyHistogram();
+            AtomicLong failures = new AtomicLong();
+            long deadline = System.nanoTime() + duration.toNanos();
+
+            long start = System.nanoTime();
+            Multi.createFrom().range(0, concurrency)
+                .onItem().transformToUni(worker -> pollUntil(
+                    MutinyUnaryArenaServiceGrpc.newMutinyStub(channels.next()), poll, deadline, histogram, failures))
+                .merge(concurrency)
+                .collect().last()
+                .await().indefinitely();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            LOG.infof("CheckRoundResult: concurrency=%d calls/s=%.0f p50=%dus p99=%dus p99.9=%dus failures=%d",
+                concurrency, histogram.count() / seconds, histogram.percentileMicros(50),
+                histogram.percentileMicros(99), histogram.percentileMicros(99.9), failures.get());
+        }
+    }
+
+    private static Uni<Void> pollUntil(MutinyUnaryArenaServiceGrpc.MutinyUnaryArenaServiceStub stub,
+                                       CheckRoundResultRequest poll, long deadline,
+                                       LatencyHistogram histogram, AtomicLong failures) {
+        if (System.nanoTime() >= deadline) {
+            return Uni.createFrom().voidItem();
+        }
+        long start = System.nanoTime();
+        return stub.checkRoundResult(poll)
+            .onItemOrFailure().transformToUni((result, failure) -> {
+                if (failure != null) {
+                    failures.incrementAndGet();
+                } else {
+                    histogram.record(System.nanoTime() - start);
+                }
+                return pollUntil(stub, poll, deadline, histogram, failures);
+            });
+    }
+}
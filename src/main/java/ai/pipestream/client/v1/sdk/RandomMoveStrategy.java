@@ -0,0 +1,30 @@
+package ai.pipestream.client.v1.sdk;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Plays uniformly random moves from a named {@link RandomGenerator} algorithm,
+ * e.g. {@code L64X128MixRandom}. Unknown names fall back to the JDK default.
+ */
+public class RandomMoveStrategy implements MoveStrategy {
+
+    private final RandomGenerator random;
+
+    public RandomMoveStrategy(String algorithm) {
+        this.random = create(algorithm);
+    }
+
+    @Override
+    public int chooseMove(int roundNumber) {
+        return random.nextInt(3);
+    }
+
+    private static RandomGenerator create(String algorithm) {
+        try {
+            return RandomGeneratorFactory.of(algorithm).create();
+        } catch (IllegalArgumentException e) {
+            return RandomGenerator.getDefault();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ai.pipestream.client.v1.sdk;
+
+/**
+ * Wraps a strategy and records the time from choosing a move to receiving
+ * that round's result, i.e. the round latency this bot observed.
+ */
+public class TimedMoveStrategy implements MoveStrategy {
+
+    private final MoveStrategy delegate;
+    private final LatencyHistogram histogram;
+    private long moveChosenAt;
+
+    public TimedMoveStrategy(MoveStrategy delegate, LatencyHistogram histogram) {
+        this.delegate = delegate;
+        this.histogram = histogram;
+    }
+
+    @Override
+    public int chooseMove(int roundNumber) {
+        moveChosenAt = System.nanoTime();
+        return delegate.chooseMove(roundNumber);
+    }
+
+    @Override
+    public void onResult(int roundNumber, int opponentMove, String outcome) {
+        histogram.record(System.nanoTime() - moveChosenAt);
+        delegate.onResult(roundNumber, opponentMove, outcome);
+    }
+}
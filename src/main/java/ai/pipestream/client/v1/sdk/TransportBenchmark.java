@@ -0,0 +1,61 @@
+package ai.pipestream.client.v1.sdk;
+
+import ai.pipestream.client.v1.ArenaChannels;
+import ai.pipestream.tourney.unary.v1.MatchFormat;
+import io.smallrye.mutiny.Multi;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+/**
+ * Compares loopback TCP against a Unix domain socket for both services.
+ * The arena must be running with both listeners enabled, e.g.
+ * {@code -Dquarkus.http.domain-socket-enabled=true -Dquarkus.vertx.prefer-native-transport=true}.
+ * Prints rounds/sec and p50/p99 round latency per transport and service.
+ */
+public class TransportBenchmark {
+
+    private static final Logger LOG = Logger.getLogger(TransportBenchmark.class);
+
+    public static void main(String[] args) throws InterruptedException {
+        String host = System.getProperty("arena.host", "localhost");
+        int port = Integer.parseInt(System.getProperty("arena.port", "9000"));
+        String socket = System.getProperty("arena.bench.socket", "/var/run/io.quarkus.app.socket");
+        int players = Integer.parseInt(System.getProperty("arena.bench.players", "20"));
+        int rounds = Integer.parseInt(System.getProperty("arena.bench.rounds", "1000"));
+        int channelCount = Integer.parseInt(System.getProperty("arena.bench.channels", "2"));
+
+        for (String transport : new String[] { "tcp", "uds" }) {
+            for (String mode : new String[] { "streaming", "unary" }) {
+                try (ChannelPool channels = "uds".equals(transport)
+                        ? new ChannelPool(() -> ArenaChannels.forDomainSocket(socket), channelCount)
+                        : new ChannelPool(() -> ArenaChannels.forAddress(host, port), channelCount)) {
+                    run(new ArenaClient(channels), transport, mode, players, rounds);
+                }
+            }
+        }
+    }
+
+    private static void run(ArenaClient client, String transport, String mode, int players, int rounds) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        MatchFormat format = MatchFormat.newBuilder().setKind(MatchFormat.Kind.FIXED).setTarget(rounds).build();
+        long start = System.nanoTime();
+
+        List<MatchSummary> summaries = Multi.createFrom().range(0, players)
+            .onItem().transformToUni(i -> {
+                MoveStrategy strategy = new TimedMoveStrategy(new RandomMoveStrategy("L64X128MixRandom"), histogram);
+                String name = "Bench-" + transport + "-" + mode + "-" + i;
+                return "unary".equals(mode)
+                    ? client.playUnary(name, "L64X128MixRandom", strategy, format)
+                    : client.playStreaming(name, "L64X128MixRandom", strategy);
+            }).merge(players)
+            .collect().asList()
+            .await().indefinitely();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long totalRounds = summaries.stream().mapToLong(MatchSummary::rounds).sum();
+        LOG.infof("%-4s %-9s players=%d rounds/s=%.0f p50=%dus p99=%dus",
+            transport, mode, players, totalRounds / seconds,
+            histogram.percentileMicros(50), histogram.percentileMicros(99));
+    }
+}
@@ -0,0 +1,80 @@
+-- Baseline schema, matching the Hibernate mappings in ai.pipestream.arena.v1.model.
+-- Enums are stored by ordinal; sequences allocate in blocks of 50 like Hibernate's defaults.
+
+CREATE SEQUENCE unary_match_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE unary_round_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE match_statistics_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE unary_match (
+    id               bigint       NOT NULL PRIMARY KEY,
+    match_id         varchar(255),
+    player_one_name  varchar(255),
+    player_one_prng  varchar(255),
+    player_two_name  varchar(255),
+    player_two_prng  varchar(255),
+    player_one_wins  integer      NOT NULL,
+    player_two_wins  integer      NOT NULL,
+    ties             integer      NOT NULL,
+    current_round    integer      NOT NULL,
+    total_rounds     integer      NOT NULL,
+    status           smallint     CHECK (status BETWEEN 0 AND 2),
+    created_at       timestamp(6) with time zone,
+    started_at       timestamp(6) with time zone,
+    completed_at     timestamp(6) with time zone
+);
+
+-- Matchmaking claims the oldest waiting match; partition retention looks for
+-- unfinished matches by creation time
+CREATE INDEX idx_unary_match_status_created ON unary_match (status, created_at);
+CREATE UNIQUE INDEX idx_unary_match_match_id ON unary_match (match_id);
+
+-- Rounds are range-partitioned by their match's creation time, so every round
+-- of a match lives in one partition and whole partitions of finished matches
+-- can be detached or dropped (see PartitionMaintenance). Partition keys must be
+-- part of every unique index, hence match_created_at in both keys below.
+CREATE TABLE unary_round (
+    id                bigint       NOT NULL,
+    match_id          varchar(255) NOT NULL,
+    round_number      integer      NOT NULL,
+    match_created_at  timestamp(6) with time zone NOT NULL,
+    player_one_move   integer,
+    player_two_move   integer,
+    outcome           varchar(255),
+    status            smallint     CHECK (status BETWEEN 0 AND 1),
+    created_at        timestamp(6) with time zone,
+    completed_at      timestamp(6) with time zone,
+    PRIMARY KEY (id, match_created_at)
+) PARTITION BY RANGE (match_created_at);
+
+CREATE UNIQUE INDEX idx_unary_round_match_round ON unary_round (match_id, round_number, match_created_at);
+
+-- Catches rows outside every range partition; maintenance creates partitions
+-- ahead of time so this stays empty
+CREATE TABLE unary_round_default PARTITION OF unary_round DEFAULT;
+
+CREATE TABLE match_statistics (
+    id                       bigint       NOT NULL PRIMARY KEY,
+    match_id                 varchar(255),
+    match_type               varchar(255),
+    player_one_name          varchar(255),
+    player_two_name          varchar(255),
+    player_one_rocks         integer      NOT NULL,
+    player_one_papers        integer      NOT NULL,
+    player_one_scissors      integer      NOT NULL,
+    player_one_wins          integer      NOT NULL,
+    player_two_rocks         integer      NOT NULL,
+    player_two_papers        integer      NOT NULL,
+    player_two_scissors      integer      NOT NULL,
+    player_two_wins          integer      NOT NULL,
+    ties                     integer      NOT NULL,
+    total_rounds             integer      NOT NULL,
+    duration_millis          bigint       NOT NULL,
+    rounds_per_second        float(53)    NOT NULL,
+    database_iops            bigint       NOT NULL,
+    player_one_bias          float(53)    NOT NULL,
+    player_two_bias          float(53)    NOT NULL,
+    seed_collision_detected  boolean      NOT NULL,
+    created_at               timestamp(6) with time zone
+);
+
+CREATE INDEX idx_match_statistics_type_id ON match_statistics (match_type, id);
@@ -0,0 +1,19 @@
+-- Match IDs become time-ordered 64-bit integers (IdGenerator) instead of UUID
+-- strings. Existing UUIDs are mapped to the first 63 bits of their MD5, the
+-- same way in every table, so rounds and statistics still join to their match.
+-- A converted ID colliding with a new one is as unlikely as two random 63-bit
+-- values colliding.
+
+ALTER TABLE unary_match
+    ALTER COLUMN match_id TYPE bigint
+        USING coalesce(('x' || substr(md5(match_id), 1, 16))::bit(64)::bigint & x'7fffffffffffffff'::bigint, 0),
+    ALTER COLUMN match_id SET NOT NULL;
+
+ALTER TABLE unary_round
+    ALTER COLUMN match_id TYPE bigint
+        USING ('x' || substr(md5(match_id), 1, 16))::bit(64)::bigint & x'7fffffffffffffff'::bigint;
+
+ALTER TABLE match_statistics
+    ALTER COLUMN match_id TYPE bigint
+        USING coalesce(('x' || substr(md5(match_id), 1, 16))::bit(64)::bigint & x'7fffffffffffffff'::bigint, 0),
+    ALTER COLUMN match_id SET NOT NULL;
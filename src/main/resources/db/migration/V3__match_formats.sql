@@ -0,0 +1,24 @@
+-- Match formats (see MatchFormat): FIXED rounds, FIRST_TO wins or a TIME_BOX in
+-- milliseconds. total_rounds stays the round limit; matches may now end before
+-- it, so match_statistics.total_rounds is the number of rounds played.
+-- Existing matches were all fixed-length.
+
+ALTER TABLE unary_match
+    ADD COLUMN format_kind   smallint NOT NULL DEFAULT 0 CHECK (format_kind BETWEEN 0 AND 2),
+    ADD COLUMN format_target integer  NOT NULL DEFAULT 0;
+
+UPDATE unary_match SET format_target = total_rounds;
+
+-- Registration claims the oldest waiting match with the same format
+CREATE INDEX idx_unary_match_waiting_format
+    ON unary_match (format_kind, format_target, total_rounds, created_at)
+    WHERE status = 0;
+
+ALTER TABLE match_statistics
+    ADD COLUMN format             varchar(255),
+    ADD COLUMN format_target      integer NOT NULL DEFAULT 0,
+    ADD COLUMN round_limit        integer NOT NULL DEFAULT 0,
+    ADD COLUMN decided_early      boolean NOT NULL DEFAULT false,
+    ADD COLUMN rounds_in_time_box integer NOT NULL DEFAULT 0;
+
+UPDATE match_statistics SET format = 'FIXED', format_target = total_rounds, round_limit = total_rounds;
@@ -0,0 +1,7 @@
+-- Statistics exports filtered by player page with
+--   (player_one_name = ? OR player_two_name = ?) AND id > ? ORDER BY id
+-- One (name, id) index per seat lets each page read only that player's rows
+-- past the cursor instead of walking the primary key through everyone else's.
+
+CREATE INDEX idx_match_statistics_player_one_id ON match_statistics (player_one_name, id);
+CREATE INDEX idx_match_statistics_player_two_id ON match_statistics (player_two_name, id);
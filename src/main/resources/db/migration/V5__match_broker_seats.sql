@@ -0,0 +1,17 @@
+-- Streaming players parked by brokered-matchmaking nodes for an opponent on
+-- another node (see PostgresMatchBroker). A claim takes the oldest seat of
+-- the same format with FOR UPDATE SKIP LOCKED and deletes it; the owning node
+-- hears about it through NOTIFY on the arena_match_claims channel.
+
+CREATE TABLE match_broker_seat (
+    seat_id        bigint       NOT NULL PRIMARY KEY,
+    node_id        varchar(255) NOT NULL,
+    address        varchar(255) NOT NULL,
+    language_name  varchar(255),
+    format_kind    smallint     NOT NULL,
+    format_target  integer      NOT NULL,
+    round_limit    integer      NOT NULL,
+    parked_at      timestamp(6) with time zone NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_match_broker_seat_format ON match_broker_seat (format_kind, format_target, round_limit, parked_at);
@@ -0,0 +1,79 @@
+package ai.pipestream.arena.v1.drain;
+
+import ai.pipestream.tourney.unary.v1.RegisterRequest;
+import ai.pipestream.tourney.unary.v1.UnaryArenaService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+@TestProfile(DrainModeTest.AdminDrain.class)
+public class DrainModeTest {
+
+    public static class AdminDrain implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "arena.drain.admin-token", "test-token",
+                "arena.drain.deadline", "PT1S");
+        }
+    }
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @GrpcClient
+    UnaryArenaService client;
+
+    @TestHTTPResource("/admin/drain")
+    URL drainUrl;
+
+    @TestHTTPResource("/q/health/ready")
+    URL readyUrl;
+
+    @Test
+    void testAdminDrainTurnsAwayNewPlayers() throws Exception {
+        register("before-drain");
+        assertEquals(200, send(HttpRequest.newBuilder(readyUrl.toURI())).statusCode());
+
+        assertEquals(401, send(HttpRequest.newBuilder(drainUrl.toURI())
+            .POST(HttpRequest.BodyPublishers.noBody())).statusCode());
+
+        HttpResponse<String> started = send(HttpRequest.newBuilder(drainUrl.toURI())
+            .header(DrainAdminRoutes.TOKEN_HEADER, "test-token")
+            .POST(HttpRequest.BodyPublishers.noBody()));
+        assertEquals(202, started.statusCode());
+        assertTrue(started.body().contains("\"streaming\":0"), started.body());
+
+        StatusRuntimeException rejected = assertThrows(StatusRuntimeException.class, () -> register("after-drain"));
+        assertEquals(Status.Code.UNAVAILABLE, rejected.getStatus().getCode());
+
+        HttpResponse<String> readiness = send(HttpRequest.newBuilder(readyUrl.toURI()));
+        assertEquals(503, readiness.statusCode());
+        assertTrue(readiness.body().contains("drained"), readiness.body());
+    }
+
+    private void register(String name) {
+        client.register(RegisterRequest.newBuilder().setLanguageName(name).build())
+            .await().atMost(Duration.ofSeconds(10));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.timeout(Duration.ofSeconds(10)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
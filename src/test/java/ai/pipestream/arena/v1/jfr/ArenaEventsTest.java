@@ -0,0 +1,57 @@
+package ai.pipestream.arena.v1.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ArenaEventsTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void testRoundThresholdFiltersFastRounds() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(RoundResolvedEvent.class).with("roundThreshold", "10 ms");
+            recording.start();
+
+            // Fast round: 2ms overall
+            RoundResolvedEvent.emit(1L, 1, 0, 0, MILLI, 2 * MILLI, 2 * MILLI);
+            // Slow round: player two took 40ms, resolved 1ms later
+            RoundResolvedEvent.emit(2L, 2, 1, 0, MILLI, 40 * MILLI, 41 * MILLI);
+
+            recording.stop();
+            Path file = Files.createTempFile("arena", ".jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+            Files.delete(file);
+        }
+
+        List<RecordedEvent> rounds = events.stream()
+            .filter(e -> e.getEventType().getName().equals("ai.pipestream.arena.RoundResolved"))
+            .toList();
+        assertEquals(1, rounds.size());
+        RecordedEvent slow = rounds.get(0);
+        assertEquals(2L, slow.getLong("matchId"));
+        assertEquals(Duration.ofMillis(40), slow.getDuration("playerTwoWait"));
+        assertEquals(Duration.ofMillis(1), slow.getDuration("playerOneWait"));
+        assertEquals(Duration.ofMillis(1), slow.getDuration("schedulingDelay"));
+    }
+
+    @Test
+    void testThresholdParsingAndCombine() {
+        ThresholdSetting setting = new ThresholdSetting();
+        assertEquals("5 ms", setting.combine(java.util.Set.of("20 ms", "5 ms", "infinity")));
+        assertEquals(ThresholdSetting.DEFAULT, setting.combine(java.util.Set.of()));
+        assertEquals(1_500_000_000L, ThresholdSetting.parse("1500 ms"));
+        assertEquals(Long.MAX_VALUE, ThresholdSetting.parse("infinity"));
+    }
+}
@@ -0,0 +1,56 @@
+package ai.pipestream.arena.v1.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveLimitTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void testRejectsBeyondLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 1, 10, 2.0);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void testGrowsWhileLatencyIsFlat() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 1, 1000, 2.0);
+
+        for (int i = 0; i < 200; i++) {
+            saturateAndRelease(limit, 5 * MILLI);
+        }
+
+        assertTrue(limit.getLimit() > 10, "Limit should grow, was " + limit.getLimit());
+    }
+
+    @Test
+    void testShrinksWhenLatencyDegrades() {
+        AdaptiveLimit limit = new AdaptiveLimit(100, 1, 1000, 2.0);
+        saturateAndRelease(limit, 5 * MILLI);
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, 100 * MILLI);
+        }
+
+        assertTrue(limit.getLimit() < before, "Limit should shrink, was " + limit.getLimit());
+    }
+
+    private static void saturateAndRelease(AdaptiveLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ai.pipestream.arena.v1.limit;
+
+import ai.pipestream.tourney.unary.v1.SubmitMoveRequest;
+import ai.pipestream.tourney.unary.v1.SubmitMoveResponse;
+import ai.pipestream.tourney.unary.v1.UnaryArenaServiceGrpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.impl.NoStackTraceTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private static final MethodDescriptor<SubmitMoveRequest, SubmitMoveResponse> SUBMIT_MOVE =
+        UnaryArenaServiceGrpc.getSubmitMoveMethod();
+
+    /** A client-side failure that merely has "Timeout" in its name. */
+    private static final class TurnTimeoutException extends RuntimeException {
+        TurnTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor();
+
+    private static final class RecordingCall extends ServerCall<SubmitMoveRequest, SubmitMoveResponse> {
+        Status status;
+
+        @Override
+        public void request(int numMessages) {
+        }
+
+        @Override
+        public void sendHeaders(Metadata headers) {
+        }
+
+        @Override
+        public void sendMessage(SubmitMoveResponse message) {
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            this.status = status;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public MethodDescriptor<SubmitMoveRequest, SubmitMoveResponse> getMethodDescriptor() {
+            return SUBMIT_MOVE;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        interceptor.registry = registry;
+        interceptor.enabled = true;
+        interceptor.initialLimit = 20;
+        interceptor.minLimit = 4;
+        interceptor.maxLimit = 1000;
+        interceptor.rttTolerance = 2.0;
+        interceptor.pollShedThreshold = 0.8;
+        interceptor.maxMatches = 10;
+        interceptor.init();
+    }
+
+    private double limit() {
+        return registry.get("arena.grpc.limit").tag("method", SUBMIT_MOVE.getFullMethodName()).gauge().value();
+    }
+
+    private double inFlight() {
+        return registry.get("arena.grpc.inflight").tag("method", SUBMIT_MOVE.getFullMethodName()).gauge().value();
+    }
+
+    private void callClosingWith(Status status) {
+        ServerCallHandler<SubmitMoveRequest, SubmitMoveResponse> handler = (call, headers) -> {
+            call.close(status, new Metadata());
+            return new ServerCall.Listener<>() {
+            };
+        };
+        interceptor.interceptCall(new RecordingCall(), new Metadata(), handler);
+    }
+
+    @Test
+    void testClientErrorsLeaveTheLimitAlone() {
+        for (int i = 0; i < 200; i++) {
+            callClosingWith(Status.INVALID_ARGUMENT.withDescription("Unknown match format 7"));
+            callClosingWith(Status.UNKNOWN.withCause(new IllegalArgumentException("Match not found")));
+            callClosingWith(Status.UNAVAILABLE.withDescription("Arena node is draining"));
+        }
+
+        assertEquals(20, limit());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void testCancelledCallsLeaveTheLimitAlone() {
+        ServerCallHandler<SubmitMoveRequest, SubmitMoveResponse> handler = (call, headers) -> new ServerCall.Listener<>() {
+        };
+        for (int i = 0; i < 200; i++) {
+            interceptor.interceptCall(new RecordingCall(), new Metadata(), handler).onCancel();
+        }
+
+        assertEquals(20, limit());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void testOverloadShrinksTheLimit() {
+        callClosingWith(Status.DEADLINE_EXCEEDED);
+        callClosingWith(Status.UNKNOWN.withCause(new TimeoutException("Timed out waiting for a pooled connection")));
+
+        assertTrue(limit() < 20, "Limit should shrink, was " + limit());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void testOnlyKnownTimeoutTypesCountAsOverload() {
+        assertTrue(ConcurrencyLimitInterceptor.isOverload(Status.RESOURCE_EXHAUSTED));
+        assertTrue(ConcurrencyLimitInterceptor.isOverload(Status.DEADLINE_EXCEEDED));
+        assertTrue(ConcurrencyLimitInterceptor.isOverload(Status.UNKNOWN.withCause(
+            new RuntimeException(new NoStackTraceTimeoutException("Timeout waiting for a connection")))));
+
+        assertFalse(ConcurrencyLimitInterceptor.isOverload(Status.UNKNOWN.withCause(
+            new TurnTimeoutException("Opponent did not move in time"))));
+        assertFalse(ConcurrencyLimitInterceptor.isOverload(Status.UNAVAILABLE));
+    }
+}
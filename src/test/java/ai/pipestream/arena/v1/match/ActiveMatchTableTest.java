@@ -0,0 +1,70 @@
+package ai.pipestream.arena.v1.match;
+
+import ai.pipestream.arena.v1.util.GameLogic;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ActiveMatchTableTest {
+
+    @Test
+    void testRoundScoringAndCounters() {
+        ActiveMatchTable table = new ActiveMatchTable();
+        int slot = table.allocate(42L);
+
+        assertEquals(1, table.round(slot));
+        assertEquals(42L, table.startNanos(slot));
+
+        assertFalse(table.recordMove(slot, true, GameLogic.ROCK, 0L));
+        assertFalse(table.recordMove(slot, true, GameLogic.PAPER, 0L), "Second move in a round is ignored");
+        assertTrue(table.recordMove(slot, false, GameLogic.SCISSORS, 0L));
+        assertEquals(GameLogic.OUTCOME_PLAYER_ONE_WIN, table.resolveRound(slot));
+
+        assertFalse(table.recordMove(slot, false, GameLogic.PAPER, 0L));
+        assertTrue(table.recordMove(slot, true, GameLogic.PAPER, 0L));
+        assertEquals(GameLogic.OUTCOME_TIE, table.resolveRound(slot));
+
+        assertEquals(3, table.round(slot));
+        assertEquals(1, table.rocks(slot, true));
+        assertEquals(1, table.papers(slot, true));
+        assertEquals(1, table.scissors(slot, false));
+        assertEquals(1, table.papers(slot, false));
+        assertEquals(1, table.wins(slot, true));
+        assertEquals(0, table.wins(slot, false));
+        assertEquals(1, table.ties(slot));
+        assertFalse(table.hasMoved(slot, true));
+    }
+
+    @Test
+    void testSlotsAreRecycledAndReset() {
+        ActiveMatchTable table = new ActiveMatchTable();
+        int first = table.allocate(0L);
+        table.recordMove(first, true, GameLogic.ROCK, 0L);
+        table.recordMove(first, false, GameLogic.ROCK, 0L);
+        table.resolveRound(first);
+        table.release(first);
+
+        int reused = table.allocate(7L);
+        assertEquals(first, reused);
+        assertEquals(1, table.round(reused));
+        assertEquals(0, table.ties(reused));
+        assertEquals(0, table.rocks(reused, true));
+        assertEquals(ActiveMatchTable.NO_MOVE, table.move(reused, false));
+        assertEquals(1, table.activeCount());
+    }
+
+    @Test
+    void testGrowsAcrossChunks() {
+        ActiveMatchTable table = new ActiveMatchTable();
+        int matches = 10_000;
+        for (int i = 0; i < matches; i++) {
+            int slot = table.allocate(i);
+            assertEquals(i, slot);
+        }
+        assertEquals(matches, table.activeCount());
+        assertTrue(table.capacity() >= matches);
+        assertEquals(9_999L, table.startNanos(9_999));
+    }
+}
@@ -0,0 +1,65 @@
+package ai.pipestream.arena.v1.match;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MatchFormatTest {
+
+    private static final int FIXED = MatchFormat.Kind.FIXED.ordinal();
+    private static final int FIRST_TO = MatchFormat.Kind.FIRST_TO.ordinal();
+    private static final int TIME_BOX = MatchFormat.Kind.TIME_BOX.ordinal();
+
+    @Test
+    void testUnsetFormatIsThousandFixedRounds() {
+        assertSame(MatchFormat.DEFAULT, MatchFormat.of(0, 0, 0));
+        assertFalse(MatchFormat.DEFAULT.isComplete(999, 999, 0, 0));
+        assertTrue(MatchFormat.DEFAULT.isComplete(1000, 0, 0, 0));
+    }
+
+    @Test
+    void testFirstToEndsWhenTargetReached() {
+        MatchFormat firstToThree = MatchFormat.of(FIRST_TO, 3, 0);
+        assertFalse(firstToThree.isComplete(10, 2, 2, 0));
+        assertTrue(firstToThree.isComplete(11, 3, 2, 0));
+        assertTrue(firstToThree.isComplete(11, 2, 3, 0));
+    }
+
+    @Test
+    void testFirstToEndsOnceTrailingPlayerCannotCatchUp() {
+        // Best of 9: first to 5 within 9 rounds
+        MatchFormat bestOfNine = MatchFormat.of(FIRST_TO, 5, 9);
+        // 4-1 after 7 rounds: two left, the trailing player can at most reach 3
+        assertTrue(bestOfNine.isComplete(7, 4, 1, 0));
+        // 3-1 after 7 rounds: a lead of two with two left can still be tied
+        assertFalse(bestOfNine.isComplete(7, 3, 1, 0));
+        // Ties run the match into its round limit
+        assertTrue(bestOfNine.isComplete(9, 2, 2, 0));
+    }
+
+    @Test
+    void testTimeBoxEndsAfterDeadline() {
+        MatchFormat tenSeconds = MatchFormat.of(TIME_BOX, 10_000, 0);
+        assertFalse(tenSeconds.isComplete(5000, 0, 0, TimeUnit.SECONDS.toNanos(9)));
+        assertTrue(tenSeconds.isComplete(5001, 0, 0, TimeUnit.SECONDS.toNanos(10)));
+        assertEquals(5000, tenSeconds.roundsWithinTimeBox(5001, 10_003));
+        assertEquals(42, tenSeconds.roundsWithinTimeBox(42, 9_000));
+        assertEquals(MatchFormat.MAX_ROUNDS, tenSeconds.roundLimit());
+    }
+
+    @Test
+    void testRejectsOutOfRangeFormats() {
+        assertThrows(IllegalArgumentException.class, () -> MatchFormat.of(7, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> MatchFormat.of(FIXED, MatchFormat.MAX_ROUNDS + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> MatchFormat.of(FIRST_TO, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> MatchFormat.of(FIRST_TO, 10, 5));
+        assertThrows(IllegalArgumentException.class, () -> MatchFormat.of(TIME_BOX, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> MatchFormat.of(FIXED, 10, -1));
+    }
+}
@@ -0,0 +1,75 @@
+package ai.pipestream.arena.v1.match;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RoundSchedulerTest {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testFastMatchDoesNotStarveOthers() throws InterruptedException {
+        RoundScheduler scheduler = new RoundScheduler(executor, 4, 1, nanos -> { });
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+
+        // A match whose next round is ready the moment the previous one finishes
+        AtomicInteger fastRounds = new AtomicInteger();
+        Runnable fast = new Runnable() {
+            @Override
+            public void run() {
+                order.add("fast");
+                if (fastRounds.incrementAndGet() < 100) {
+                    scheduler.schedule(this, System.nanoTime());
+                } else {
+                    done.countDown();
+                }
+            }
+        };
+        scheduler.schedule(fast, System.nanoTime());
+        scheduler.schedule(() -> {
+            order.add("slow");
+            done.countDown();
+        }, System.nanoTime());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(order.indexOf("slow") <= 1, "Slow match should run after at most one fast round: " + order);
+        assertEquals(101, order.size());
+    }
+
+    @Test
+    void testRoundHeldUntilNotBefore() throws InterruptedException {
+        AtomicLong delay = new AtomicLong();
+        RoundScheduler scheduler = new RoundScheduler(executor, 4, 1, delay::set);
+        CountDownLatch ran = new CountDownLatch(1);
+        AtomicLong ranAt = new AtomicLong();
+
+        long notBefore = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        scheduler.schedule(() -> {
+            ranAt.set(System.nanoTime());
+            ran.countDown();
+        }, notBefore);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+        assertTrue(ranAt.get() >= notBefore, "Round ran before its rate cap allowed");
+        assertTrue(delay.get() >= 0);
+        assertEquals(0, scheduler.readyCount());
+    }
+}
@@ -0,0 +1,136 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two arena nodes sharing one in-memory broker.
+ */
+public class BrokeredMatchmakerTest {
+
+    private final ScheduledExecutorService timers = Executors.newSingleThreadScheduledExecutor();
+    private final InMemoryMatchBroker broker = new InMemoryMatchBroker(Runnable::run);
+    private final Node nodeOne = new Node("node-1:9000", Duration.ofSeconds(10));
+    private final Node nodeTwo = new Node("node-2:9000", Duration.ofSeconds(10));
+
+    @AfterEach
+    void shutdown() {
+        timers.shutdownNow();
+    }
+
+    @Test
+    void testRemotePlayerIsRedirectedToOwningNode() {
+        Ticket waiting = new Ticket(1, "Java", "");
+        nodeOne.matchmaker.offer(waiting);
+        assertEquals(1, broker.parkedCount());
+
+        nodeTwo.matchmaker.offer(new Ticket(2, "Go", ""));
+        assertEquals(1, nodeTwo.redirects.size());
+        String[] redirect = nodeTwo.redirects.get(0);
+        assertEquals("node-1:9000", redirect[0]);
+        assertEquals(1, nodeOne.matchmaker.heldCount());
+
+        // The redirected player reconnects to node 1 with its reservation
+        Ticket arriving = new Ticket(3, "Go", redirect[1]);
+        nodeOne.matchmaker.offer(arriving);
+        assertEquals(1, nodeOne.pairs.size());
+        assertSame(arriving, nodeOne.pairs.get(0)[0]);
+        assertSame(waiting, nodeOne.pairs.get(0)[1]);
+        assertEquals(0, broker.parkedCount());
+        assertTrue(nodeTwo.pairs.isEmpty());
+    }
+
+    @Test
+    void testLocalOpponentPreferredOverBroker() {
+        Ticket first = new Ticket(1, "Java", "");
+        Ticket second = new Ticket(4, "Rust", "");
+        nodeOne.matchmaker.offer(first);
+        nodeOne.matchmaker.offer(second);
+
+        assertEquals(1, nodeOne.pairs.size());
+        assertSame(first, nodeOne.pairs.get(0)[1]);
+        assertTrue(nodeOne.redirects.isEmpty());
+        assertEquals(0, broker.parkedCount());
+    }
+
+    @Test
+    void testWithdrawnPlayerIsNotClaimed() {
+        Ticket leaving = new Ticket(1, "Java", "");
+        nodeOne.matchmaker.offer(leaving);
+        nodeOne.matchmaker.withdraw(leaving);
+
+        nodeTwo.matchmaker.offer(new Ticket(2, "Go", ""));
+        assertTrue(nodeTwo.redirects.isEmpty());
+        assertEquals(1, nodeTwo.matchmaker.parkedCount());
+    }
+
+    @Test
+    void testHeldPlayerWaitsAgainWhenOpponentNeverArrives() throws InterruptedException {
+        Node impatient = new Node("node-3:9000", Duration.ofMillis(50));
+        impatient.matchmaker.offer(new Ticket(1, "Java", ""));
+        nodeTwo.matchmaker.offer(new Ticket(2, "Go", ""));
+        assertEquals(1, impatient.matchmaker.heldCount());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (broker.parkedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, impatient.matchmaker.heldCount());
+        assertEquals(1, impatient.matchmaker.parkedCount());
+
+        // A late reservation is ignored and the player matched afresh
+        impatient.matchmaker.offer(new Ticket(3, "Go", nodeTwo.redirects.get(0)[1]));
+        assertEquals(1, impatient.pairs.size());
+    }
+
+    @Test
+    void testOnlyEqualFormatsArePaired() {
+        MatchFormat firstToFive = MatchFormat.of(MatchFormat.Kind.FIRST_TO.ordinal(), 5, 0);
+        Ticket fixed = new Ticket(1, "Java", "");
+        Ticket firstTo = new Ticket(2, "Go", "", firstToFive);
+        nodeOne.matchmaker.offer(fixed);
+        nodeOne.matchmaker.offer(firstTo);
+        assertTrue(nodeOne.pairs.isEmpty());
+        assertEquals(2, broker.parkedCount());
+
+        // A remote player claims the seat of its own format, not the oldest one
+        nodeTwo.matchmaker.offer(new Ticket(3, "Rust", "", MatchFormat.of(MatchFormat.Kind.FIRST_TO.ordinal(), 5, 0)));
+        assertEquals(1, nodeTwo.redirects.size());
+        assertEquals(1, broker.parkedCount());
+        assertEquals(1, nodeOne.matchmaker.heldCount());
+        assertEquals(1, nodeOne.matchmaker.parkedCount());
+    }
+
+    private class Node implements Matchmaker.Pairings {
+        final BrokeredMatchmaker matchmaker;
+        final List<Ticket[]> pairs = new CopyOnWriteArrayList<>();
+        final List<String[]> redirects = new CopyOnWriteArrayList<>();
+
+        Node(String address, Duration reservationTimeout) {
+            matchmaker = new BrokeredMatchmaker(broker, address, address, reservationTimeout, timers);
+            matchmaker.start(this);
+        }
+
+        @Override
+        public void paired(Ticket playerOne, Ticket playerTwo) {
+            pairs.add(new Ticket[] { playerOne, playerTwo });
+        }
+
+        @Override
+        public void redirect(Ticket ticket, String address, String reservation) {
+            redirects.add(new String[] { address, reservation });
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package ai.pipestream.arena.v1.matchmaking;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+import ai.pipestream.arena.v1.matchmaking.MatchBroker.Claim;
+import ai.pipestream.arena.v1.matchmaking.MatchBroker.Seat;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two nodes, each with its own broker instance and listening connection,
+ * sharing the Dev Services database.
+ */
+@QuarkusTest
+public class PostgresMatchBrokerTest {
+
+    private static final int SEATS = 50;
+
+    @Inject
+    Pool pool;
+
+    private final Node nodeOne = new Node("node-1", "node-1:9000");
+    private final Node nodeTwo = new Node("node-2", "node-2:9000");
+    // A format no other test parks seats with
+    private final MatchFormat format = MatchFormat.of(MatchFormat.Kind.FIXED.ordinal(),
+        ThreadLocalRandom.current().nextInt(2, MatchFormat.MAX_ROUNDS), 0);
+
+    private final class Node {
+        final String nodeId;
+        final String address;
+        final PostgresMatchBroker broker = new PostgresMatchBroker();
+        final BlockingQueue<Claim> claims = new LinkedBlockingQueue<>();
+
+        Node(String nodeId, String address) {
+            this.nodeId = nodeId;
+            this.address = address;
+        }
+
+        Seat seat() {
+            return new Seat(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE), nodeId, address, "Java", format);
+        }
+
+        Claim claimOrPark(Seat seat) {
+            return broker.claimOrPark(seat).await().atMost(Duration.ofSeconds(10));
+        }
+
+        Claim nextClaim() throws InterruptedException {
+            return claims.poll(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @BeforeEach
+    void start() {
+        for (Node node : List.of(nodeOne, nodeTwo)) {
+            node.broker.client = pool;
+            node.broker.register(node.nodeId, node.claims::add);
+        }
+    }
+
+    @AfterEach
+    void stop() {
+        nodeOne.broker.close();
+        nodeTwo.broker.close();
+        pool.preparedQuery("DELETE FROM match_broker_seat WHERE format_target = $1")
+            .execute(Tuple.of(format.target())).await().atMost(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testClaimNotifiesTheParkingNode() throws InterruptedException {
+        Seat parked = nodeOne.seat();
+        assertNull(nodeOne.claimOrPark(parked));
+
+        Claim claim = nodeTwo.claimOrPark(nodeTwo.seat());
+        assertNotNull(claim);
+        assertEquals(parked, claim.seat());
+        assertEquals(0, parkedSeats());
+
+        Claim notified = nodeOne.nextClaim();
+        assertNotNull(notified, "Node one never heard of the claim");
+        assertEquals(claim, notified);
+        assertTrue(nodeTwo.claims.isEmpty());
+
+        // Claimed seats cannot be withdrawn
+        assertFalse(nodeOne.broker.withdraw(parked.id()).await().atMost(Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void testWithdrawnSeatIsNotClaimed() throws InterruptedException {
+        Seat leaving = nodeOne.seat();
+        assertNull(nodeOne.claimOrPark(leaving));
+        assertTrue(nodeOne.broker.withdraw(leaving.id()).await().atMost(Duration.ofSeconds(10)));
+
+        assertNull(nodeTwo.claimOrPark(nodeTwo.seat()), "The withdrawn seat was claimed");
+        assertEquals(1, parkedSeats());
+        assertNull(nodeOne.claims.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testConcurrentClaimsTakeEachSeatOnce() throws InterruptedException {
+        Set<Long> parked = new HashSet<>();
+        for (int i = 0; i < SEATS; i++) {
+            Seat seat = nodeOne.seat();
+            assertNull(nodeOne.claimOrPark(seat));
+            parked.add(seat.id());
+        }
+
+        // Twice as many claimers as seats: the first SEATS claim, the rest park
+        List<Claim> claims = Multi.createFrom().range(0, SEATS * 2)
+            .onItem().transformToUni(i -> nodeTwo.broker.claimOrPark(nodeTwo.seat()))
+            .merge(SEATS * 2)
+            .collect().asList()
+            .await().atMost(Duration.ofSeconds(60));
+
+        Set<Long> claimed = new HashSet<>();
+        for (Claim claim : claims.stream().filter(Objects::nonNull).toList()) {
+            assertTrue(claimed.add(claim.seat().id()), "Seat " + claim.seat().id() + " was claimed twice");
+        }
+        assertEquals(parked, claimed);
+        assertEquals(SEATS, parkedSeats());
+
+        Set<Long> notified = new HashSet<>();
+        for (int i = 0; i < SEATS; i++) {
+            Claim claim = nodeOne.nextClaim();
+            assertNotNull(claim, "Only " + i + " of " + SEATS + " claims were notified");
+            notified.add(claim.seat().id());
+        }
+        assertEquals(parked, notified);
+    }
+
+    private long parkedSeats() {
+        return pool.preparedQuery("SELECT count(*) FROM match_broker_seat WHERE format_target = $1")
+            .execute(Tuple.of(format.target())).await().atMost(Duration.ofSeconds(10))
+            .iterator().next().getLong(0);
+    }
+}
@@ -0,0 +1,333 @@
+package ai.pipestream.arena.v1.persistence;
+
+import ai.pipestream.arena.v1.match.MatchFormat;
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.model.UnaryMatch;
+import ai.pipestream.arena.v1.model.UnaryRound;
+import ai.pipestream.arena.v1.util.VirtualClock;
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import io.smallrye.mutiny.Uni;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link UnaryStore} held in memory, for simulations on a {@link VirtualClock}.
+ * Every call, commits included, takes a random latency of up to
+ * {@code maxLatencyNanos} and takes effect when it completes, so the calls of
+ * concurrent transactions interleave. Transactions follow PostgreSQL where the
+ * service depends on it: writes become visible at commit, match locks are held
+ * until the transaction ends, a claim skips matches locked by another
+ * transaction, and a commit inserting a round that already exists fails like
+ * the unique index would. Entities are copied in and out, as if each
+ * transaction had its own session.
+ * <p>
+ * The current transaction is tracked while its calls are made and while their
+ * results are delivered, which works because the virtual clock runs
+ * everything on one thread.
+ */
+public class InMemoryUnaryStore implements UnaryStore {
+
+    private final VirtualClock clock;
+    private final SplittableRandom random;
+    private final long maxLatencyNanos;
+
+    // Committed rows; matches in creation order, which is the order claims take them in
+    private final Map<Long, UnaryMatch> matches = new LinkedHashMap<>();
+    private final Map<RoundKey, UnaryRound> rounds = new HashMap<>();
+    private final List<MatchStatistics> statistics = new ArrayList<>();
+
+    private final Map<Long, Transaction> locks = new HashMap<>();
+    private final Map<Long, ArrayDeque<Runnable>> lockWaiters = new HashMap<>();
+    private Transaction current;
+    private int openTransactions;
+    private long nextId = 1;
+
+    private record RoundKey(long matchId, int roundNumber) {
+    }
+
+    private static final class Transaction {
+        final List<PanacheEntityBase> writes = new ArrayList<>();
+        final List<Long> locked = new ArrayList<>();
+        boolean finished;
+    }
+
+    public InMemoryUnaryStore(VirtualClock clock, long seed, long maxLatencyNanos) {
+        this.clock = clock;
+        this.random = new SplittableRandom(seed);
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    @Override
+    public <T> Uni<T> withTransaction(Supplier<Uni<T>> work) {
+        if (current != null) {
+            return work.get();
+        }
+        return Uni.createFrom().emitter(emitter -> {
+            Transaction transaction = new Transaction();
+            openTransactions++;
+            inTransaction(transaction, () -> {
+                Uni<T> uni;
+                try {
+                    uni = work.get();
+                } catch (RuntimeException e) {
+                    rollback(transaction);
+                    inTransaction(null, () -> emitter.fail(e));
+                    return;
+                }
+                uni.subscribe().with(
+                    item -> clock.schedule(() -> {
+                        try {
+                            commit(transaction);
+                        } catch (RuntimeException e) {
+                            rollback(transaction);
+                            emitter.fail(e);
+                            return;
+                        }
+                        emitter.complete(item);
+                    }, latency(), TimeUnit.NANOSECONDS),
+                    failure -> {
+                        rollback(transaction);
+                        // The caller carries on outside the transaction
+                        inTransaction(null, () -> emitter.fail(failure));
+                    });
+            });
+        });
+    }
+
+    @Override
+    public Uni<UnaryMatch> claimWaitingMatch(MatchFormat format) {
+        Transaction transaction = requireTransaction();
+        return later(transaction, () -> {
+            for (UnaryMatch match : matches.values()) {
+                if (match.status == UnaryMatch.MatchStatus.WAITING_FOR_OPPONENT
+                        && match.format().equals(format)
+                        && locks.get(match.matchId) == null) {
+                    lock(transaction, match.matchId);
+                    return copy(match);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Uni<UnaryMatch> lockMatch(long matchId) {
+        Transaction transaction = requireTransaction();
+        return Uni.createFrom().emitter(emitter -> clock.schedule(() -> acquire(transaction, matchId, () -> {
+            UnaryMatch match = matches.get(matchId);
+            inTransaction(transaction, () -> emitter.complete(match == null ? null : copy(match)));
+        }), latency(), TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public Uni<UnaryRound> findRound(long matchId, Instant matchCreatedAt, int roundNumber) {
+        Transaction transaction = requireTransaction();
+        return later(transaction, () -> {
+            UnaryRound round = rounds.get(new RoundKey(matchId, roundNumber));
+            return round != null && round.matchCreatedAt.equals(matchCreatedAt) ? copy(round) : null;
+        });
+    }
+
+    @Override
+    public Uni<UnaryRound> findRound(long matchId, int roundNumber) {
+        Transaction transaction = requireTransaction();
+        return later(transaction, () -> {
+            UnaryRound round = rounds.get(new RoundKey(matchId, roundNumber));
+            return round != null ? copy(round) : null;
+        });
+    }
+
+    @Override
+    public Uni<Void> persist(PanacheEntityBase entity) {
+        Transaction transaction = requireTransaction();
+        return later(transaction, () -> {
+            transaction.writes.add(snapshot(entity));
+            return null;
+        });
+    }
+
+    public int openTransactions() {
+        return openTransactions;
+    }
+
+    public int heldLocks() {
+        return locks.size();
+    }
+
+    public List<UnaryMatch> matches() {
+        return matches.values().stream().map(InMemoryUnaryStore::copy).toList();
+    }
+
+    public UnaryRound round(long matchId, int roundNumber) {
+        UnaryRound round = rounds.get(new RoundKey(matchId, roundNumber));
+        return round != null ? copy(round) : null;
+    }
+
+    public List<MatchStatistics> statistics() {
+        return List.copyOf(statistics);
+    }
+
+    private Transaction requireTransaction() {
+        if (current == null) {
+            throw new IllegalStateException("Store called outside a transaction");
+        }
+        return current;
+    }
+
+    private void inTransaction(Transaction transaction, Runnable action) {
+        Transaction outer = current;
+        current = transaction;
+        try {
+            action.run();
+        } finally {
+            current = outer;
+        }
+    }
+
+    /**
+     * Runs {@code operation} after a random latency and delivers its result
+     * within the transaction, so the caller's continuation can make its next call.
+     */
+    private <T> Uni<T> later(Transaction transaction, Supplier<T> operation) {
+        return Uni.createFrom().emitter(emitter -> clock.schedule(() -> {
+            T result;
+            try {
+                result = operation.get();
+            } catch (RuntimeException e) {
+                emitter.fail(e);
+                return;
+            }
+            inTransaction(transaction, () -> emitter.complete(result));
+        }, latency(), TimeUnit.NANOSECONDS));
+    }
+
+    private long latency() {
+        return maxLatencyNanos > 0 ? random.nextLong(maxLatencyNanos + 1) : 0;
+    }
+
+    private void acquire(Transaction transaction, long matchId, Runnable granted) {
+        Transaction holder = locks.get(matchId);
+        if (holder == null || holder == transaction) {
+            lock(transaction, matchId);
+            granted.run();
+        } else {
+            lockWaiters.computeIfAbsent(matchId, id -> new ArrayDeque<>())
+                .add(() -> acquire(transaction, matchId, granted));
+        }
+    }
+
+    private void lock(Transaction transaction, long matchId) {
+        if (locks.put(matchId, transaction) == null) {
+            transaction.locked.add(matchId);
+        }
+    }
+
+    private void commit(Transaction transaction) {
+        for (PanacheEntityBase write : transaction.writes) {
+            if (write instanceof UnaryRound round && round.id == null
+                    && rounds.containsKey(new RoundKey(round.matchId, round.roundNumber))) {
+                throw new IllegalStateException("duplicate key value violates unique constraint"
+                    + " \"idx_unary_round_match_round\": match " + round.matchId + " round " + round.roundNumber);
+            }
+        }
+        for (PanacheEntityBase write : transaction.writes) {
+            if (write instanceof UnaryMatch match) {
+                if (match.id == null) {
+                    match.id = nextId++;
+                }
+                matches.put(match.matchId, match);
+            } else if (write instanceof UnaryRound round) {
+                if (round.id == null) {
+                    round.id = nextId++;
+                }
+                rounds.put(new RoundKey(round.matchId, round.roundNumber), round);
+            } else if (write instanceof MatchStatistics stats) {
+                stats.id = nextId++;
+                statistics.add(stats);
+            }
+        }
+        finish(transaction);
+    }
+
+    private void rollback(Transaction transaction) {
+        if (!transaction.finished) {
+            finish(transaction);
+        }
+    }
+
+    private void finish(Transaction transaction) {
+        transaction.finished = true;
+        openTransactions--;
+        for (long matchId : transaction.locked) {
+            locks.remove(matchId);
+            ArrayDeque<Runnable> waiters = lockWaiters.get(matchId);
+            if (waiters != null) {
+                // The next waiter retries; it may lose to a new locker, as in PostgreSQL
+                Runnable next = waiters.poll();
+                if (waiters.isEmpty()) {
+                    lockWaiters.remove(matchId);
+                }
+                clock.execute(next);
+            }
+        }
+    }
+
+    private static PanacheEntityBase snapshot(PanacheEntityBase entity) {
+        if (entity instanceof UnaryMatch match) {
+            return copy(match);
+        }
+        if (entity instanceof UnaryRound round) {
+            return copy(round);
+        }
+        if (entity instanceof MatchStatistics) {
+            return entity; // Written once, never read back by the service
+        }
+        throw new IllegalArgumentException("Not a unary entity: " + entity.getClass().getName());
+    }
+
+    private static UnaryMatch copy(UnaryMatch source) {
+        UnaryMatch match = new UnaryMatch();
+        match.id = source.id;
+        match.matchId = source.matchId;
+        match.playerOneName = source.playerOneName;
+        match.playerOnePrng = source.playerOnePrng;
+        match.playerTwoName = source.playerTwoName;
+        match.playerTwoPrng = source.playerTwoPrng;
+        match.playerOneWins = source.playerOneWins;
+        match.playerTwoWins = source.playerTwoWins;
+        match.ties = source.ties;
+        match.currentRound = source.currentRound;
+        match.totalRounds = source.totalRounds;
+        match.formatKind = source.formatKind;
+        match.formatTarget = source.formatTarget;
+        match.status = source.status;
+        match.createdAt = source.createdAt;
+        match.startedAt = source.startedAt;
+        match.completedAt = source.completedAt;
+        return match;
+    }
+
+    private static UnaryRound copy(UnaryRound source) {
+        UnaryRound round = new UnaryRound();
+        round.id = source.id;
+        round.matchId = source.matchId;
+        round.roundNumber = source.roundNumber;
+        round.matchCreatedAt = source.matchCreatedAt;
+        round.playerOneMove = source.playerOneMove;
+        round.playerTwoMove = source.playerTwoMove;
+        round.outcome = source.outcome;
+        round.status = source.status;
+        round.createdAt = source.createdAt;
+        round.completedAt = source.completedAt;
+        return round;
+    }
+}
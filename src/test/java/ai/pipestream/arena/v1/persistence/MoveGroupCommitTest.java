@@ -0,0 +1,195 @@
+package ai.pipestream.arena.v1.persistence;
+
+import ai.pipestream.arena.v1.model.UnaryMatch;
+import ai.pipestream.arena.v1.persistence.SubmitMoveStatement.Move;
+import ai.pipestream.arena.v1.persistence.SubmitMoveStatement.MoveResult;
+import ai.pipestream.arena.v1.util.VirtualClock;
+import io.grpc.Status;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveGroupCommitTest {
+
+    private final VirtualClock clock = new VirtualClock(1);
+    private final RecordingStatement statement = new RecordingStatement();
+    private final MoveGroupCommit groupCommit = new MoveGroupCommit();
+
+    /**
+     * Records each batch and leaves it running until the test commits it.
+     */
+    private static final class RecordingStatement extends SubmitMoveStatement {
+        final List<List<Move>> batches = new ArrayList<>();
+        final List<UniEmitter<? super List<MoveResult>>> running = new ArrayList<>();
+
+        @Override
+        public Uni<List<MoveResult>> applyAll(List<Move> moves, long databaseIops) {
+            return Uni.createFrom().emitter(emitter -> {
+                batches.add(List.copyOf(moves));
+                running.add(emitter);
+            });
+        }
+
+        void commit(int batch) {
+            List<MoveResult> results = new ArrayList<>();
+            for (Move move : batches.get(batch)) {
+                results.add(new MoveResult(UnaryMatch.MatchStatus.READY, move.roundNumber(), null));
+            }
+            running.get(batch).complete(results);
+        }
+    }
+
+    private static final class Outcome {
+        MoveResult result;
+        Throwable failure;
+        boolean done;
+    }
+
+    @BeforeEach
+    void setUp() {
+        groupCommit.statement = statement;
+        groupCommit.timer = clock;
+        groupCommit.window = Duration.ofMillis(2);
+        groupCommit.maxBatch = 4;
+        groupCommit.maxInFlight = 1;
+    }
+
+    private Outcome submit(long matchId, int round) {
+        Outcome outcome = new Outcome();
+        groupCommit.apply(matchId, round, 0, 0).subscribe().with(
+            result -> {
+                outcome.result = result;
+                outcome.done = true;
+            },
+            failure -> {
+                outcome.failure = failure;
+                outcome.done = true;
+            });
+        return outcome;
+    }
+
+    @Test
+    void movesWithinTheWindowShareOneCommit() {
+        Outcome first = submit(1, 1);
+        Outcome second = submit(2, 5);
+        assertTrue(statement.batches.isEmpty(), "The first move waits for the window");
+
+        clock.runUntilIdle(100);
+        assertEquals(List.of(List.of(new Move(1, 1, 0), new Move(2, 5, 0))), statement.batches);
+        assertTrue(!first.done && !second.done, "Acknowledged before the commit");
+
+        statement.commit(0);
+        assertEquals(1, first.result.currentRound());
+        assertEquals(5, second.result.currentRound());
+    }
+
+    @Test
+    void secondMoveOfAMatchWaitsForTheNextBatch() {
+        Outcome playerOne = submit(1, 1);
+        Outcome playerTwo = submit(1, 1);
+        Outcome other = submit(2, 1);
+        clock.runUntilIdle(100);
+        assertEquals(List.of(List.of(new Move(1, 1, 0), new Move(2, 1, 0))), statement.batches);
+
+        statement.commit(0);
+        assertTrue(playerOne.done && other.done && !playerTwo.done);
+        assertEquals(List.of(new Move(1, 1, 0)), statement.batches.get(1), "Sent as soon as the first batch committed");
+        statement.commit(1);
+        assertTrue(playerTwo.done);
+    }
+
+    @Test
+    void movesQueueWhileBatchesAreBusyAndLeaveTogether() {
+        submit(1, 1);
+        clock.runUntilIdle(100);
+        for (long match = 2; match <= 7; match++) {
+            submit(match, 1);
+        }
+        clock.runUntilIdle(100);
+        assertEquals(1, statement.batches.size(), "Only one batch may run");
+        assertEquals(6, groupCommit.queued());
+
+        statement.commit(0);
+        assertEquals(4, statement.batches.get(1).size(), "Capped at max-batch");
+        assertEquals(2, groupCommit.queued());
+        statement.commit(1);
+        assertEquals(2, statement.batches.get(2).size());
+        assertEquals(0, groupCommit.queued());
+    }
+
+    @Test
+    void fullBatchLeavesWithoutWaitingForTheWindow() {
+        for (long match = 1; match <= 4; match++) {
+            submit(match, 1);
+        }
+        assertEquals(1, statement.batches.size());
+        assertEquals(0, clock.nanoTime());
+    }
+
+    @Test
+    void failedCommitFailsEveryMoveInTheBatch() {
+        Outcome first = submit(1, 1);
+        Outcome second = submit(2, 1);
+        clock.runUntilIdle(100);
+        statement.running.get(0).fail(new IllegalStateException("could not serialize access"));
+
+        assertInstanceOf(IllegalStateException.class, first.failure);
+        assertInstanceOf(IllegalStateException.class, second.failure);
+        assertNull(first.result);
+
+        // The next move gets a batch of its own
+        Outcome later = submit(3, 1);
+        clock.runUntilIdle(100);
+        statement.commit(1);
+        assertTrue(later.done && later.failure == null);
+    }
+
+    @Test
+    void drainingSendsQueuedMovesWithoutWaitingForTheWindow() {
+        groupCommit.maxInFlight = 2;
+        Outcome first = submit(1, 1);
+        Outcome second = submit(1, 1);
+        assertEquals(2, groupCommit.inFlight());
+
+        groupCommit.startDrain();
+        assertEquals(0, clock.nanoTime());
+        assertEquals(List.of(List.of(new Move(1, 1, 0)), List.of(new Move(1, 1, 0))), statement.batches,
+            "Both batch slots used at once");
+        assertEquals(2, groupCommit.inFlight(), "Running batches still count");
+
+        Outcome late = submit(2, 1);
+        assertEquals(3, groupCommit.inFlight());
+        statement.commit(0);
+        assertEquals(List.of(new Move(2, 1, 0)), statement.batches.get(2), "Sent as soon as a slot is free");
+        statement.commit(1);
+        statement.commit(2);
+        assertTrue(first.done && second.done && late.done);
+        assertEquals(0, groupCommit.inFlight());
+    }
+
+    @Test
+    void shutdownFailsMovesThatNeverLeft() {
+        Outcome running = submit(1, 1);
+        clock.runUntilIdle(100);
+        Outcome queued = submit(2, 1);
+
+        groupCommit.shutdown();
+        assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(queued.failure).getCode());
+        assertFalse(running.done, "A running batch finishes on its own");
+        assertEquals(Status.Code.UNAVAILABLE, Status.fromThrowable(submit(3, 1).failure).getCode());
+
+        statement.commit(0);
+        assertTrue(running.done && running.failure == null);
+    }
+}
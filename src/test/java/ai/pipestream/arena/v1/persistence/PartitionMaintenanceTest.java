@@ -0,0 +1,61 @@
+package ai.pipestream.arena.v1.persistence;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class PartitionMaintenanceTest {
+
+    @Inject
+    PartitionMaintenance maintenance;
+
+    @Inject
+    Pool client;
+
+    @Test
+    void testCreatesCurrentPartitionAndRetiresExpiredOnes() {
+        // A long-expired partition with no running matches
+        client.query("CREATE TABLE IF NOT EXISTS unary_round_p20000101_0000 PARTITION OF unary_round"
+                + " FOR VALUES FROM ('2000-01-01 00:00:00+00') TO ('2000-01-02 00:00:00+00')")
+            .execute().await().atMost(Duration.ofSeconds(5));
+
+        maintenance.maintain(Instant.now()).await().atMost(Duration.ofSeconds(10));
+
+        Set<String> partitions = partitions();
+        assertFalse(partitions.contains("unary_round_p20000101_0000"));
+        assertTrue(partitions.stream().anyMatch(name -> name.startsWith("unary_round_p")),
+            "Expected the current partition to exist: " + partitions);
+    }
+
+    @Test
+    void testCurrentRoundsAreNotRoutedToDefaultPartition() {
+        maintenance.maintain(Instant.now()).await().atMost(Duration.ofSeconds(10));
+
+        boolean covered = client.query("SELECT EXISTS (SELECT 1 FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                + " WHERE i.inhparent = 'unary_round'::regclass AND c.relname <> 'unary_round_default'"
+                + " AND now() >= substring(pg_get_expr(c.relpartbound, c.oid) from 'FROM \\(''([^'']+)''\\)')::timestamptz"
+                + " AND now() < substring(pg_get_expr(c.relpartbound, c.oid) from 'TO \\(''([^'']+)''\\)')::timestamptz)")
+            .execute().await().atMost(Duration.ofSeconds(5))
+            .iterator().next().getBoolean(0);
+        assertTrue(covered);
+    }
+
+    private Set<String> partitions() {
+        Set<String> names = new HashSet<>();
+        for (Row row : client.query(PartitionMaintenance.LIST_PARTITIONS).execute().await().atMost(Duration.ofSeconds(5))) {
+            names.add(row.getString("relname"));
+        }
+        return names;
+    }
+}
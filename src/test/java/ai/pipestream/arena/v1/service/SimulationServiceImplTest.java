@@ -0,0 +1,120 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.arena.v1.sim.MatchSimulator;
+import ai.pipestream.arena.v1.sim.SimulationAggregate;
+import ai.pipestream.arena.v1.sim.SimulationSpec;
+import ai.pipestream.tourney.sim.v1.SimulationProgress;
+import ai.pipestream.tourney.sim.v1.SimulationRequest;
+import io.grpc.Status;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulationServiceImplTest {
+
+    private final SimulationServiceImpl service = new SimulationServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        service.enabled = true;
+        service.threads = 2;
+        service.maxConcurrentJobs = 1;
+        service.maxRoundsPerJob = 1_000_000;
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    private static SimulationRequest.Builder request() {
+        return SimulationRequest.newBuilder()
+            .setPlayerOneAlgorithm("L64X128MixRandom")
+            .setPlayerTwoAlgorithm("Xoshiro256PlusPlus")
+            .setMatches(50)
+            .setRoundsPerMatch(100)
+            .setSeed(7)
+            .setParallelism(4)
+            .setMatchesPerUpdate(10);
+    }
+
+    private static Status.Code failureCode(SimulationServiceImpl service, SimulationRequest request) {
+        Throwable failure = assertThrows(RuntimeException.class,
+            () -> service.runSimulation(request).collect().asList().await().atMost(Duration.ofSeconds(5)));
+        return Status.fromThrowable(failure).getCode();
+    }
+
+    @Test
+    void testStreamsCumulativeProgressMatchingTheSimulator() {
+        List<SimulationProgress> progress = service.runSimulation(request().build())
+            .collect().asList().await().atMost(Duration.ofSeconds(30));
+
+        assertEquals(5, progress.size());
+        for (int i = 0; i < progress.size(); i++) {
+            assertEquals(10L * (i + 1), progress.get(i).getMatchesCompleted());
+            assertEquals(i == progress.size() - 1, progress.get(i).getDone());
+        }
+
+        SimulationProgress last = progress.get(progress.size() - 1);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            SimulationAggregate expected = MatchSimulator.run(
+                new SimulationSpec("L64X128MixRandom", "Xoshiro256PlusPlus", 50, 100, 7, 1), 0, 50, pool);
+            assertEquals(expected.rounds, last.getRoundsCompleted());
+            assertEquals(expected.playerOneWins, last.getPlayerOneWins());
+            assertEquals(expected.playerTwoWins, last.getPlayerTwoWins());
+            assertEquals(expected.ties, last.getTies());
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(0, service.runningJobs());
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        SimulationServiceImpl disabled = new SimulationServiceImpl();
+        disabled.maxConcurrentJobs = 1;
+        disabled.init();
+        try {
+            assertEquals(Status.Code.UNIMPLEMENTED, failureCode(disabled, request().build()));
+        } finally {
+            disabled.shutdown();
+        }
+    }
+
+    @Test
+    void testRejectsOutOfRangeJobs() {
+        assertEquals(Status.Code.INVALID_ARGUMENT, failureCode(service, request().setParallelism(40_000).build()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, failureCode(service, request().setRoundsPerMatch(1_000_000).build()));
+        assertEquals(Status.Code.INVALID_ARGUMENT, failureCode(service,
+            request().setMatches(SimulationSpec.MAX_MATCHES + 1).build()));
+        // Valid on its own, but over max-rounds-per-job
+        assertEquals(Status.Code.INVALID_ARGUMENT, failureCode(service,
+            request().setMatches(100_000).setRoundsPerMatch(1000).build()));
+    }
+
+    @Test
+    void testLimitsConcurrentJobs() {
+        // Subscribed but requesting nothing: holds its slot without running a chunk
+        AssertSubscriber<SimulationProgress> first = service.runSimulation(request().build())
+            .subscribe().withSubscriber(AssertSubscriber.create(0));
+        assertEquals(1, service.runningJobs());
+
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, failureCode(service, request().build()));
+
+        first.cancel();
+        assertEquals(0, service.runningJobs());
+        assertTrue(service.runSimulation(request().build()).collect().asList()
+            .await().atMost(Duration.ofSeconds(30)).get(4).getDone());
+    }
+}
@@ -0,0 +1,166 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.tourney.stats.v1.ExportChunk;
+import ai.pipestream.tourney.stats.v1.ExportRequest;
+import ai.pipestream.tourney.stats.v1.MatchStatisticsRow;
+import ai.pipestream.tourney.stats.v1.StatisticsService;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class StatisticsServiceImplTest {
+
+    private static final int ROWS = 1000;
+    private static final int CHUNK = 64;
+
+    // Every seeded row has Bravo in one seat; Alpha plays half of them, Charlie the other half
+    private static final String SEED = """
+        INSERT INTO match_statistics (id, match_id, match_type, player_one_name, player_two_name,
+            player_one_rocks, player_one_papers, player_one_scissors, player_one_wins,
+            player_two_rocks, player_two_papers, player_two_scissors, player_two_wins,
+            ties, total_rounds, duration_millis, rounds_per_second, database_iops,
+            player_one_bias, player_two_bias, seed_collision_detected, created_at)
+        SELECT nextval('match_statistics_seq'), g,
+            CASE WHEN g % 3 = 0 THEN 'UNARY' ELSE 'STREAMING' END,
+            CASE g % 4 WHEN 0 THEN $1::varchar WHEN 2 THEN $3::varchar ELSE $2::varchar END,
+            CASE g % 4 WHEN 1 THEN $1::varchar WHEN 3 THEN $3::varchar ELSE $2::varchar END,
+            0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, false,
+            $4::timestamptz + g * interval '1 second'
+        FROM generate_series(1, $5::int) g
+        """;
+
+    @GrpcClient
+    StatisticsService client;
+
+    @Inject
+    Pool pool;
+
+    private String alpha;
+    private String bravo;
+    private Instant base;
+    private List<Seeded> seeded;
+
+    private record Seeded(long id, String matchType, String playerOne, String playerTwo, Instant createdAt) {
+        boolean plays(String player) {
+            return playerOne.equals(player) || playerTwo.equals(player);
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        String suffix = UUID.randomUUID().toString();
+        alpha = "Alpha-" + suffix;
+        bravo = "Bravo-" + suffix;
+        String charlie = "Charlie-" + suffix;
+        base = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        pool.preparedQuery(SEED)
+            .execute(Tuple.of(alpha, bravo, charlie, OffsetDateTime.ofInstant(base, ZoneOffset.UTC), ROWS))
+            .await().atMost(Duration.ofSeconds(10));
+
+        seeded = new ArrayList<>();
+        for (Row row : pool.preparedQuery("SELECT id, match_type, player_one_name, player_two_name, created_at"
+                    + " FROM match_statistics WHERE player_one_name = $1 OR player_two_name = $1 ORDER BY id")
+                .execute(Tuple.of(bravo)).await().atMost(Duration.ofSeconds(10))) {
+            seeded.add(new Seeded(row.getLong("id"), row.getString("match_type"), row.getString("player_one_name"),
+                row.getString("player_two_name"), row.getOffsetDateTime("created_at").toInstant()));
+        }
+        assertEquals(ROWS, seeded.size());
+    }
+
+    @Test
+    void testPlayerFilterPagesThroughEverySeatExactlyOnce() {
+        assertExport(request().setPlayerName(alpha).build(), row -> row.plays(alpha));
+        assertExport(request().setPlayerName(bravo).build(), row -> true);
+    }
+
+    @Test
+    void testMatchTypeFilter() {
+        assertExport(request().setPlayerName(bravo).setMatchType("UNARY").build(),
+            row -> row.matchType().equals("UNARY"));
+        assertExport(request().setPlayerName(alpha).setMatchType("STREAMING").build(),
+            row -> row.plays(alpha) && row.matchType().equals("STREAMING"));
+    }
+
+    @Test
+    void testCreatedAtRangeFilter() {
+        Instant after = base.plusSeconds(100);
+        Instant before = base.plusSeconds(700);
+        assertExport(request().setPlayerName(bravo)
+                .setCreatedAfterEpochMillis(after.toEpochMilli())
+                .setCreatedBeforeEpochMillis(before.toEpochMilli())
+                .build(),
+            row -> !row.createdAt().isBefore(after) && row.createdAt().isBefore(before));
+    }
+
+    @Test
+    void testColumnarChunksAndResumeFromLastId() {
+        List<ExportChunk> chunks = export(request().setPlayerName(bravo).setColumnar(true).build());
+        List<Long> ids = new ArrayList<>();
+        for (ExportChunk chunk : chunks) {
+            ids.addAll(chunk.getColumns().getIdList());
+            assertEquals((long) ids.get(ids.size() - 1), chunk.getLastId());
+        }
+        assertEquals(seededIds(row -> true), ids);
+
+        // An export resumed after the third chunk picks up exactly where it stopped
+        long resumeAfter = chunks.get(2).getLastId();
+        List<Long> resumed = rowIds(export(request().setPlayerName(bravo).setAfterId(resumeAfter).build()));
+        assertEquals(ids.subList(3 * CHUNK, ids.size()), resumed);
+    }
+
+    private void assertExport(ExportRequest request, Predicate<Seeded> filter) {
+        List<ExportChunk> chunks = export(request);
+        List<Long> expected = seededIds(filter);
+        assertTrue(expected.size() > CHUNK, "Needs more than one page, has " + expected.size());
+        assertEquals((expected.size() + CHUNK - 1) / CHUNK, chunks.size());
+        for (ExportChunk chunk : chunks) {
+            List<MatchStatisticsRow> rows = chunk.getRows().getRowsList();
+            assertTrue(rows.size() <= CHUNK);
+            assertEquals(rows.get(rows.size() - 1).getId(), chunk.getLastId());
+        }
+        // Same ids in the same order: nothing repeated across pages, nothing skipped between them
+        assertEquals(expected, rowIds(chunks));
+    }
+
+    private List<ExportChunk> export(ExportRequest request) {
+        return client.exportMatchStatistics(request).collect().asList().await().atMost(Duration.ofSeconds(30));
+    }
+
+    private static ExportRequest.Builder request() {
+        return ExportRequest.newBuilder().setChunkSize(CHUNK);
+    }
+
+    private List<Long> seededIds(Predicate<Seeded> filter) {
+        return seeded.stream().filter(filter).map(Seeded::id).toList();
+    }
+
+    private static List<Long> rowIds(List<ExportChunk> chunks) {
+        List<Long> ids = new ArrayList<>();
+        for (ExportChunk chunk : chunks) {
+            for (MatchStatisticsRow row : chunk.getRows().getRowsList()) {
+                ids.add(row.getId());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,116 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.arena.v1.drain.DrainController;
+import ai.pipestream.arena.v1.matchmaking.LocalMatchmaker;
+import ai.pipestream.arena.v1.spectate.SpectatorHub;
+import ai.pipestream.arena.v1.stats.InMemoryStatisticsSink;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import ai.pipestream.arena.v1.util.VirtualClock;
+import ai.pipestream.tourney.stream.v1.BattleRequest;
+import ai.pipestream.tourney.stream.v1.Handshake;
+import ai.pipestream.tourney.stream.v1.MatchFormat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import io.smallrye.mutiny.subscription.Cancellable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Heap retained per active streaming match, measured on the service itself:
+ * the StreamMatch, both StreamPlayers and StreamConnections, their response
+ * processors, the resume-token and active-match map entries and the table
+ * slot. Matches are opened through {@code battle()} with in-memory request
+ * streams, so only gRPC's own call objects are left out.
+ */
+class StreamingMatchFootprintTest {
+
+    private static final MatchFormat FORMAT = MatchFormat.newBuilder()
+        .setKind(MatchFormat.Kind.FIXED).setTarget(1000).build();
+
+    /**
+     * Run with {@code -Darena.bench=true}, which gives the test JVM an 8 GB
+     * heap ({@code -Darena.bench.heap} to change it);
+     * {@code -Darena.bench.matches} sets the population, default 1,000,000,
+     * the scale the slot table is sized for. The result is published as a
+     * test report entry.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "arena.bench", matches = "true")
+    void benchmarkBytesPerActiveMatch(TestReporter reporter) {
+        int matches = Integer.getInteger("arena.bench.matches", 1_000_000);
+        Logger arenaLog = Logger.getLogger("ai.pipestream.arena");
+        Level level = arenaLog.getLevel();
+        // Every connection and match is logged at INFO
+        arenaLog.setLevel(Level.OFF);
+        try {
+            StreamingArenaServiceImpl service = newService();
+            // The request streams stand in for gRPC's calls, so they are created before measuring
+            List<UnicastProcessor<BattleRequest>> requests = new ArrayList<>(matches * 2);
+            for (int i = 0; i < matches * 2; i++) {
+                requests.add(UnicastProcessor.create());
+            }
+            List<Cancellable> responses = new ArrayList<>(matches * 2);
+
+            long before = usedHeap();
+            for (int i = 0; i < matches * 2; i++) {
+                UnicastProcessor<BattleRequest> request = requests.get(i);
+                // Subscribed like gRPC would be; responses are dropped
+                responses.add(service.battle(request).subscribe().with(response -> { }));
+                request.onNext(BattleRequest.newBuilder()
+                    .setHandshake(Handshake.newBuilder()
+                        .setLanguageName("footprint-" + i)
+                        .setPrngAlgorithm("bench")
+                        .setFormat(FORMAT))
+                    .build());
+            }
+            long bytesPerMatch = (usedHeap() - before) / matches;
+            assertEquals(matches, service.activeMatchCount());
+            assertEquals(matches * 2, responses.size());
+
+            reporter.publishEntry(Map.of(
+                "matches", Integer.toString(matches),
+                "bytes-per-active-match", Long.toString(bytesPerMatch)));
+        } finally {
+            arenaLog.setLevel(level);
+        }
+    }
+
+    private static StreamingArenaServiceImpl newService() {
+        VirtualClock clock = new VirtualClock(1);
+        StreamingArenaServiceImpl service = new StreamingArenaServiceImpl();
+        service.clock = clock;
+        service.graceTimers = clock;
+        service.roundExecutor = clock;
+        service.statisticsSink = new InMemoryStatisticsSink(1);
+        service.registry = new SimpleMeterRegistry();
+        service.spectators = new SpectatorHub();
+        service.matchmaker = new LocalMatchmaker();
+        service.ids = new IdGenerator(0);
+        service.drain = new DrainController();
+        service.resumeGracePeriod = Duration.ofSeconds(10);
+        service.maxSuspendedPlayers = 10_000;
+        service.schedulerSliceSize = 64;
+        service.schedulerDrainers = 1;
+        service.maxRoundsPerSecond = 0;
+        service.init();
+        return service;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,647 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.arena.v1.drain.DrainController;
+import ai.pipestream.arena.v1.matchmaking.BrokeredMatchmaker;
+import ai.pipestream.arena.v1.matchmaking.InMemoryMatchBroker;
+import ai.pipestream.arena.v1.matchmaking.LocalMatchmaker;
+import ai.pipestream.arena.v1.matchmaking.Matchmaker;
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.spectate.SpectatorHub;
+import ai.pipestream.arena.v1.stats.InMemoryStatisticsSink;
+import ai.pipestream.arena.v1.util.GameLogic;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import ai.pipestream.arena.v1.util.VirtualClock;
+import ai.pipestream.arena.v1.wire.BattleMessages;
+import ai.pipestream.tourney.stream.v1.BattleRequest;
+import ai.pipestream.tourney.stream.v1.BattleResponse;
+import ai.pipestream.tourney.stream.v1.Handshake;
+import ai.pipestream.tourney.stream.v1.MatchFormat;
+import ai.pipestream.tourney.stream.v1.Move;
+import ai.pipestream.tourney.stream.v1.RoundResult;
+import ai.pipestream.tourney.stream.v1.Session;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Randomized interleavings of the streaming match engine on a virtual clock.
+ * Bots connect, move, drop their streams and resume at seeded random times
+ * against one node, or two nodes pairing through a shared broker; every run
+ * is then checked for protocol violations, results that disagree between the
+ * two players or with the saved statistics, and state left behind once all
+ * bots are gone. Nothing waits on real time, so grace periods and time-boxed
+ * matches cost nothing and a run takes well under a millisecond.
+ * <p>
+ * A failure names its seed; replay it alone with {@code -Darena.sim.seed=<seed>}.
+ * {@code -Darena.sim.runs} sets the number of seeds per test.
+ */
+class StreamingSimulationTest {
+
+    private static final int RUNS = Integer.getInteger("arena.sim.runs", 500);
+    private static final Long REPLAY_SEED = Long.getLong("arena.sim.seed");
+    private static final long MAX_STEPS = 2_000_000;
+
+    private static final double DISCONNECT_CHANCE = 0.03;
+    private static final double RESUME_CHANCE = 0.7;
+    // After a move, so the drop lands while the round is being resolved and sent
+    private static final double MID_ROUND_DROP_CHANCE = 0.02;
+    private static final double INVALID_MOVE_CHANCE = 0.02;
+    private static final double PLAY_AGAIN_CHANCE = 0.3;
+    private static final long MAX_MOVE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    // Held so the level is not lost with a collected logger
+    private static final Logger ARENA_LOG = Logger.getLogger("ai.pipestream.arena");
+    private static Level arenaLogLevel;
+
+    @BeforeAll
+    static void quiet() {
+        // Every connection, match and disconnect is logged; thousands of runs would flood the output
+        arenaLogLevel = ARENA_LOG.getLevel();
+        ARENA_LOG.setLevel(Level.OFF);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        ARENA_LOG.setLevel(arenaLogLevel);
+    }
+
+    @Test
+    void singleNodeInterleavings() {
+        runSeeds(1, 1_000);
+    }
+
+    @Test
+    void brokeredInterleavings() {
+        runSeeds(2, 2_000);
+    }
+
+    @Test
+    void sameSeedReplaysIdentically() {
+        for (long seed = 1; seed <= 20; seed++) {
+            assertEquals(new Simulation(seed, 2).run(), new Simulation(seed, 2).run(), "Seed " + seed);
+        }
+    }
+
+    private static void runSeeds(int nodes, long firstSeed) {
+        long start = System.nanoTime();
+        int completed = 0;
+        int runs = REPLAY_SEED != null ? 1 : RUNS;
+        for (int i = 0; i < runs; i++) {
+            long seed = REPLAY_SEED != null ? REPLAY_SEED : firstSeed + i;
+            Simulation simulation = new Simulation(seed, nodes);
+            try {
+                simulation.run();
+            } catch (RuntimeException | AssertionError e) {
+                throw new AssertionError("Simulation failed; replay with -Darena.sim.seed=" + seed, e);
+            }
+            completed += simulation.completedMatches();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d streaming simulations on %d node(s): %d matches completed, %.0f runs/s%n",
+            runs, nodes, completed, runs / seconds);
+        assertTrue(completed > 0, "No match ran to completion");
+    }
+
+    private static IdGenerator sequentialIds(int node) {
+        // Sequential per node, so runs are repeatable and IDs never collide in the broker
+        return new IdGenerator(node) {
+            private long next = node * 1_000_000_000L;
+
+            @Override
+            public long nextId() {
+                return ++next;
+            }
+        };
+    }
+
+    private static final class Node {
+        final String address;
+        final StreamingArenaServiceImpl service = new StreamingArenaServiceImpl();
+        final InMemoryStatisticsSink statistics = new InMemoryStatisticsSink(10_000);
+        final Matchmaker matchmaker;
+
+        Node(String address, Matchmaker matchmaker) {
+            this.address = address;
+            this.matchmaker = matchmaker;
+        }
+    }
+
+    private static final class BotMatch {
+        final String opponent;
+        final Map<Integer, Integer> moves = new HashMap<>();
+        final Map<Integer, Integer> opponentMoves = new HashMap<>();
+        String end;
+        boolean interrupted;
+
+        BotMatch(String opponent) {
+            this.opponent = opponent;
+        }
+    }
+
+    private static final class Connection {
+        final Bot bot;
+        final Node node;
+        final boolean resuming;
+        final UnicastProcessor<BattleRequest> requests = UnicastProcessor.create();
+        Cancellable responses;
+        boolean open = true;
+        // Set while a response is being handled; responses must never overlap (Reactive Streams §1.3)
+        boolean delivering;
+        String redirectAddress;
+        String reservation;
+
+        Connection(Bot bot, Node node, boolean resuming) {
+            this.bot = bot;
+            this.node = node;
+            this.resuming = resuming;
+        }
+    }
+
+    private static final class Bot {
+        final String name;
+        final SplittableRandom random;
+        final MatchFormat format;
+        final List<BotMatch> matches = new ArrayList<>();
+        Connection connection;
+        String resumeToken = "";
+        BotMatch match;
+        int expectedRound;
+
+        Bot(String name, SplittableRandom random, MatchFormat format) {
+            this.name = name;
+            this.random = random;
+            this.format = format;
+        }
+
+        boolean inMatch() {
+            return match != null && match.end == null;
+        }
+    }
+
+    private static final class Simulation {
+        final long seed;
+        final VirtualClock clock;
+        final SplittableRandom random;
+        final List<Node> nodes = new ArrayList<>();
+        final List<Bot> bots = new ArrayList<>();
+        final StringBuilder trace = new StringBuilder();
+        final List<String> violations = new ArrayList<>();
+        final InMemoryMatchBroker broker;
+        final Duration gracePeriod;
+        // Set once the bots are told to leave: nobody reconnects after that
+        boolean closing;
+
+        Simulation(long seed, int nodeCount) {
+            this.seed = seed;
+            this.clock = new VirtualClock(seed);
+            this.random = new SplittableRandom(seed * 31 + 7);
+            this.broker = nodeCount > 1 ? new InMemoryMatchBroker(clock) : null;
+            this.gracePeriod = Duration.ofMillis(20 + random.nextInt(200));
+
+            for (int n = 0; n < nodeCount; n++) {
+                String address = "node-" + n + ":9000";
+                Matchmaker matchmaker = broker == null
+                    ? new LocalMatchmaker()
+                    : new BrokeredMatchmaker(broker, "node-" + n, address, Duration.ofMillis(50 + random.nextInt(100)), clock);
+                Node node = new Node(address, matchmaker);
+                StreamingArenaServiceImpl service = node.service;
+                service.clock = clock;
+                service.graceTimers = clock;
+                service.roundExecutor = clock;
+                service.statisticsSink = node.statistics;
+                service.registry = new SimpleMeterRegistry();
+                service.spectators = new SpectatorHub();
+                service.matchmaker = matchmaker;
+                service.ids = sequentialIds(n);
+                service.drain = new DrainController();
+                service.resumeGracePeriod = gracePeriod;
+                // Sometimes too small for every drop, so suspensions are also refused
+                service.maxSuspendedPlayers = random.nextInt(4) == 0 ? 1 : 10_000;
+                service.schedulerSliceSize = 1 + random.nextInt(8);
+                service.schedulerDrainers = 1 + random.nextInt(3);
+                service.maxRoundsPerSecond = random.nextBoolean() ? 0 : 500 + random.nextInt(2000);
+                service.init();
+                nodes.add(node);
+            }
+
+            // Two formats per run, so some bots can only be paired with some others
+            MatchFormat[] formats = { randomFormat(), randomFormat() };
+            int botCount = 2 + random.nextInt(9);
+            for (int i = 0; i < botCount; i++) {
+                Bot bot = new Bot("bot-" + i, random.split(), formats[random.nextInt(formats.length)]);
+                bots.add(bot);
+                Node node = nodes.get(random.nextInt(nodes.size()));
+                clock.schedule(() -> connect(bot, node, "", ""), random.nextLong(MAX_MOVE_DELAY_NANOS * 5), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private MatchFormat randomFormat() {
+            return switch (random.nextInt(3)) {
+                case 0 -> MatchFormat.newBuilder().setKind(MatchFormat.Kind.FIXED).setTarget(1 + random.nextInt(30)).build();
+                case 1 -> MatchFormat.newBuilder().setKind(MatchFormat.Kind.FIRST_TO).setTarget(3).setMaxRounds(9).build();
+                default -> MatchFormat.newBuilder().setKind(MatchFormat.Kind.TIME_BOX).setTarget(5 + random.nextInt(30))
+                    .setMaxRounds(40).build();
+            };
+        }
+
+        /**
+         * Plays until nothing is left to do, makes every bot still connected
+         * leave, plays that out too and checks what is left.
+         *
+         * @return the trace of everything the bots saw, for comparing runs
+         */
+        String run() {
+            clock.runUntilIdle(MAX_STEPS);
+            // Left over: players without an opponent of their format
+            closing = true;
+            for (Bot bot : bots) {
+                if (bot.connection != null) {
+                    disconnect(bot, bot.connection, false);
+                }
+            }
+            clock.runUntilIdle(MAX_STEPS);
+            check();
+            return trace.toString();
+        }
+
+        int completedMatches() {
+            int completed = 0;
+            for (Node node : nodes) {
+                completed += node.statistics.snapshot().size();
+            }
+            return completed;
+        }
+
+        private void log(Bot bot, String event) {
+            trace.append(clock.nanoTime()).append(' ').append(bot.name).append(' ').append(event).append('\n');
+        }
+
+        private void violation(Bot bot, String message) {
+            violations.add(bot.name + " at " + clock.nanoTime() + "ns: " + message);
+            log(bot, "VIOLATION " + message);
+        }
+
+        private Node node(String address) {
+            for (Node node : nodes) {
+                if (node.address.equals(address)) {
+                    return node;
+                }
+            }
+            throw new IllegalStateException("Unknown node " + address);
+        }
+
+        private void later(Bot bot, long maxDelayNanos, Runnable action) {
+            clock.schedule(action, bot.random.nextLong(maxDelayNanos + 1), TimeUnit.NANOSECONDS);
+        }
+
+        private void connect(Bot bot, Node node, String resumeToken, String reservation) {
+            Connection connection = new Connection(bot, node, !resumeToken.isEmpty());
+            bot.connection = connection;
+            log(bot, "connect " + node.address + (connection.resuming ? " resuming" : "")
+                + (reservation.isEmpty() ? "" : " with reservation"));
+            connection.responses = node.service.battle(connection.requests).subscribe().with(
+                response -> onResponse(connection, response),
+                failure -> onServerEnd(connection, failure),
+                () -> onServerEnd(connection, null));
+            connection.requests.onNext(BattleRequest.newBuilder()
+                .setHandshake(Handshake.newBuilder()
+                    .setLanguageName(bot.name)
+                    .setPrngAlgorithm("sim")
+                    .setResumeToken(resumeToken)
+                    .setReservation(reservation)
+                    .setFormat(bot.format))
+                .build());
+        }
+
+        /**
+         * Drops the stream the way a lost connection does: responses stop and
+         * the server sees the request stream end.
+         */
+        private void disconnect(Bot bot, Connection connection, boolean resume) {
+            if (!connection.open) {
+                return;
+            }
+            connection.open = false;
+            bot.connection = null;
+            log(bot, "disconnect" + (resume ? ", will resume" : ""));
+            if (bot.inMatch()) {
+                bot.match.interrupted = true;
+            }
+            connection.responses.cancel();
+            if (bot.random.nextBoolean()) {
+                connection.requests.onComplete();
+            } else {
+                connection.requests.onError(Status.CANCELLED.asRuntimeException());
+            }
+            if (resume && !closing) {
+                long reconnectNanos = gracePeriod.toNanos() * 3 / 2;
+                later(bot, reconnectNanos, () -> connect(bot, connection.node, bot.resumeToken, ""));
+            }
+        }
+
+        // Responses are only recorded here; anything that calls the service again is scheduled
+        private void onResponse(Connection connection, BattleResponse response) {
+            Bot bot = connection.bot;
+            if (connection.delivering) {
+                violation(bot, "response while another was being delivered: " + response.getPayloadCase());
+            }
+            connection.delivering = true;
+            try {
+                dispatch(connection, response);
+            } finally {
+                connection.delivering = false;
+            }
+        }
+
+        private void dispatch(Connection connection, BattleResponse response) {
+            Bot bot = connection.bot;
+            switch (response.getPayloadCase()) {
+                case SESSION -> onSession(connection, response.getSession());
+                case TRIGGER -> onTrigger(connection, response.getTrigger().getRoundId());
+                case RESULT -> onResult(bot, response.getResult());
+                case REDIRECT -> {
+                    log(bot, "redirect to " + response.getRedirect().getAddress());
+                    connection.redirectAddress = response.getRedirect().getAddress();
+                    connection.reservation = response.getRedirect().getReservation();
+                }
+                case STATUS -> onStatus(bot, response.getStatus());
+                default -> violation(bot, "empty response");
+            }
+        }
+
+        private void onSession(Connection connection, Session session) {
+            Bot bot = connection.bot;
+            bot.resumeToken = session.getResumeToken();
+            if (!connection.resuming) {
+                return;
+            }
+            if (session.getResumed()) {
+                log(bot, "resumed at round " + session.getRoundId());
+                if (!bot.inMatch()) {
+                    violation(bot, "resumed into a match it saw end");
+                    return;
+                }
+                if (session.getRoundId() < bot.expectedRound) {
+                    violation(bot, "resumed at round " + session.getRoundId() + " after seeing round " + bot.expectedRound);
+                }
+                bot.expectedRound = session.getRoundId();
+            } else {
+                // The match ended while the bot was away; it is a new player now
+                log(bot, "resume refused");
+                if (bot.inMatch()) {
+                    bot.match.end = "GONE";
+                }
+            }
+        }
+
+        private void onStatus(Bot bot, String status) {
+            log(bot, status);
+            if (status.equals("CONNECTED")) {
+                return;
+            }
+            if (status.equals("OPPONENT_SUSPENDED") || status.equals("OPPONENT_RESUMED")) {
+                if (!bot.inMatch()) {
+                    violation(bot, status + " after the match ended");
+                }
+                return;
+            }
+            if (status.startsWith("OPPONENT_FOUND: ")) {
+                if (bot.inMatch()) {
+                    violation(bot, "paired again while in a match");
+                }
+                bot.match = new BotMatch(status.substring("OPPONENT_FOUND: ".length()));
+                bot.matches.add(bot.match);
+                bot.expectedRound = 1;
+                return;
+            }
+            if (!bot.inMatch()) {
+                violation(bot, status + " outside a match");
+                return;
+            }
+            switch (status) {
+                case "MATCH_COMPLETE" -> bot.match.end = "COMPLETE";
+                case "OPPONENT_DISCONNECTED" -> bot.match.end = "ABORTED";
+                default -> violation(bot, "unexpected status " + status);
+            }
+        }
+
+        private void onTrigger(Connection connection, int round) {
+            Bot bot = connection.bot;
+            if (!bot.inMatch()) {
+                violation(bot, "trigger for round " + round + " outside a match");
+                return;
+            }
+            if (bot.match.moves.containsKey(round)) {
+                violation(bot, "second trigger for round " + round);
+                return;
+            }
+            if (round < bot.expectedRound) {
+                violation(bot, "trigger for round " + round + " after round " + bot.expectedRound);
+            }
+            bot.expectedRound = round;
+
+            if (bot.random.nextDouble() < DISCONNECT_CHANCE) {
+                boolean resume = bot.random.nextDouble() < RESUME_CHANCE;
+                later(bot, MAX_MOVE_DELAY_NANOS, () -> disconnect(bot, connection, resume));
+                if (bot.random.nextBoolean()) {
+                    return; // Drops before moving; otherwise the move may still get in first
+                }
+            }
+            // Often at once, so both moves of a round arrive at the same instant
+            long maxDelay = bot.random.nextInt(3) == 0 ? 0 : MAX_MOVE_DELAY_NANOS;
+            later(bot, maxDelay, () -> sendMove(connection, round));
+        }
+
+        private void sendMove(Connection connection, int round) {
+            Bot bot = connection.bot;
+            if (!connection.open || !bot.inMatch() || bot.match.moves.containsKey(round)) {
+                return;
+            }
+            if (bot.random.nextDouble() < INVALID_MOVE_CHANCE) {
+                // Ignored by the server; the valid move that follows counts
+                connection.requests.onNext(BattleRequest.newBuilder().setMove(Move.newBuilder().setMove(7)).build());
+            }
+            int move = bot.random.nextInt(3);
+            bot.match.moves.put(round, move);
+            log(bot, "move " + round + "=" + move);
+            connection.requests.onNext(BattleMessages.move(move));
+
+            if (bot.random.nextDouble() < MID_ROUND_DROP_CHANCE) {
+                // No delay: races the round drain the move may just have scheduled
+                boolean resume = bot.random.nextDouble() < RESUME_CHANCE;
+                later(bot, 0, () -> disconnect(bot, connection, resume));
+            }
+        }
+
+        private void onResult(Bot bot, RoundResult result) {
+            int round = result.getRoundId();
+            log(bot, "result " + round + " " + result.getOutcome() + " vs " + result.getOpponentMove());
+            if (!bot.inMatch()) {
+                violation(bot, "result for round " + round + " outside a match");
+                return;
+            }
+            Integer move = bot.match.moves.get(round);
+            if (move == null) {
+                violation(bot, "result for round " + round + " without a move");
+                return;
+            }
+            if (bot.match.opponentMoves.put(round, result.getOpponentMove()) != null) {
+                violation(bot, "second result for round " + round);
+            }
+            String expected = GameLogic.outcomeForPlayer(GameLogic.resolve(move, result.getOpponentMove()), true);
+            if (!GameLogic.isValidMove(result.getOpponentMove()) || !expected.equals(result.getOutcome())) {
+                violation(bot, "round " + round + ": " + move + " vs " + result.getOpponentMove() + " is not a " + result.getOutcome());
+            }
+        }
+
+        private void onServerEnd(Connection connection, Throwable failure) {
+            Bot bot = connection.bot;
+            if (!connection.open) {
+                return;
+            }
+            connection.open = false;
+            bot.connection = null;
+            // The client half-closes after the server ends the call, never inside it
+            clock.execute(connection.requests::onComplete);
+
+            if (failure != null) {
+                violation(bot, "stream failed: " + failure);
+            } else if (connection.redirectAddress != null) {
+                if (closing) {
+                    return;
+                }
+                Node target = node(connection.redirectAddress);
+                later(bot, MAX_MOVE_DELAY_NANOS, () -> connect(bot, target, "", connection.reservation));
+            } else if (bot.match != null && bot.match.end != null) {
+                log(bot, "stream ended after " + bot.match.end);
+                if (!closing && bot.random.nextDouble() < PLAY_AGAIN_CHANCE && bot.matches.size() < 3) {
+                    Node node = nodes.get(bot.random.nextInt(nodes.size()));
+                    later(bot, MAX_MOVE_DELAY_NANOS, () -> connect(bot, node, "", ""));
+                }
+            } else {
+                violation(bot, "stream ended by the server without a reason");
+            }
+        }
+
+        private void check() {
+            if (!violations.isEmpty()) {
+                fail(violations.size() + " protocol violation(s), first: " + violations.get(0));
+            }
+            for (Node node : nodes) {
+                StreamingArenaServiceImpl service = node.service;
+                assertEquals(0, service.activeMatchCount(), node.address + " leaked matches");
+                assertEquals(0, service.resumableCount(), node.address + " leaked resume tokens");
+                assertEquals(0, service.suspendedCount(), node.address + " leaked suspensions");
+                assertEquals(0, service.inFlight(), node.address + " leaked table slots or statistics");
+                if (node.matchmaker instanceof LocalMatchmaker local) {
+                    assertEquals(0, local.waitingCount(), node.address + " leaked waiting players");
+                } else {
+                    BrokeredMatchmaker brokered = (BrokeredMatchmaker) node.matchmaker;
+                    assertEquals(0, brokered.parkedCount(), node.address + " leaked parked players");
+                    assertEquals(0, brokered.heldCount(), node.address + " leaked held players");
+                }
+                for (MatchStatistics stats : node.statistics.snapshot()) {
+                    checkStatistics(stats);
+                }
+            }
+            if (broker != null) {
+                assertEquals(0, broker.parkedCount(), "Broker leaked seats");
+            }
+            for (Bot bot : bots) {
+                for (BotMatch match : bot.matches) {
+                    checkAgainstOpponent(bot, match);
+                    if ("COMPLETE".equals(match.end) && !match.interrupted) {
+                        checkCompleteMatch(bot, match);
+                    }
+                }
+            }
+        }
+
+        private void checkStatistics(MatchStatistics stats) {
+            String match = "Match " + stats.matchId;
+            assertEquals(stats.totalRounds, stats.playerOneWins + stats.playerTwoWins + stats.ties, match);
+            assertEquals(stats.totalRounds, stats.playerOneRocks + stats.playerOnePapers + stats.playerOneScissors, match);
+            assertEquals(stats.totalRounds, stats.playerTwoRocks + stats.playerTwoPapers + stats.playerTwoScissors, match);
+            ai.pipestream.arena.v1.match.MatchFormat format = new ai.pipestream.arena.v1.match.MatchFormat(
+                ai.pipestream.arena.v1.match.MatchFormat.Kind.valueOf(stats.format), stats.formatTarget, stats.roundLimit);
+            assertTrue(format.isComplete(stats.totalRounds, stats.playerOneWins, stats.playerTwoWins,
+                TimeUnit.MILLISECONDS.toNanos(stats.durationMillis)), match + " ended early under " + format);
+            if (format.kind() == ai.pipestream.arena.v1.match.MatchFormat.Kind.FIXED) {
+                assertEquals(format.target(), stats.totalRounds, match);
+            }
+        }
+
+        /**
+         * Every result the bot saw names the move its opponent actually made.
+         */
+        private void checkAgainstOpponent(Bot bot, BotMatch match) {
+            BotMatch theirs = null;
+            for (Bot other : bots) {
+                if (!other.name.equals(match.opponent)) {
+                    continue;
+                }
+                for (BotMatch candidate : other.matches) {
+                    if (candidate.opponent.equals(bot.name)) {
+                        if (theirs != null) {
+                            return; // Paired more than once; rounds cannot be told apart
+                        }
+                        theirs = candidate;
+                    }
+                }
+            }
+            if (theirs == null) {
+                fail(bot.name + " played " + match.opponent + ", who never saw the match");
+            }
+            for (Map.Entry<Integer, Integer> seen : match.opponentMoves.entrySet()) {
+                assertEquals(theirs.moves.get(seen.getKey()), seen.getValue(),
+                    bot.name + " round " + seen.getKey() + " against " + match.opponent);
+            }
+        }
+
+        /**
+         * A bot that played a whole match on one stream saw every round, and
+         * the statistics count exactly its moves.
+         */
+        private void checkCompleteMatch(Bot bot, BotMatch match) {
+            int rounds = match.opponentMoves.size();
+            for (int round = 1; round <= rounds; round++) {
+                assertTrue(match.opponentMoves.containsKey(round), bot.name + " missed round " + round);
+            }
+            String self = bot.name + " (sim)";
+            String opponent = match.opponent + " (sim)";
+            int[] counts = new int[3];
+            match.moves.values().forEach(move -> counts[move]++);
+            for (Node node : nodes) {
+                for (MatchStatistics stats : node.statistics.snapshot()) {
+                    boolean playerOne = stats.playerOneName.equals(self) && stats.playerTwoName.equals(opponent);
+                    boolean playerTwo = stats.playerTwoName.equals(self) && stats.playerOneName.equals(opponent);
+                    if ((playerOne || playerTwo) && stats.totalRounds == rounds
+                            && counts[GameLogic.ROCK] == (playerOne ? stats.playerOneRocks : stats.playerTwoRocks)
+                            && counts[GameLogic.PAPER] == (playerOne ? stats.playerOnePapers : stats.playerTwoPapers)
+                            && counts[GameLogic.SCISSORS] == (playerOne ? stats.playerOneScissors : stats.playerTwoScissors)) {
+                        return;
+                    }
+                }
+            }
+            fail(bot.name + " completed " + rounds + " rounds against " + match.opponent + " but no statistics match");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.tourney.unary.v1.*;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+@TestProfile(UnaryGroupCommitTest.GroupCommit.class)
+public class UnaryGroupCommitTest {
+
+    public static class GroupCommit implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "arena.unary.sql-write-path", "true",
+                "arena.unary.group-commit.enabled", "true",
+                // Wide enough that every move of a round lands in a shared batch
+                "arena.unary.group-commit.window", "PT0.05S");
+        }
+    }
+
+    private static final int MATCHES = 8;
+    private static final int ROUNDS = 3;
+
+    @GrpcClient
+    UnaryArenaService client;
+
+    @Test
+    void testConcurrentMovesShareCommits() {
+        String suffix = UUID.randomUUID().toString();
+        MatchFormat format = MatchFormat.newBuilder().setKind(MatchFormat.Kind.FIXED).setTarget(ROUNDS).build();
+        List<String> matchIds = new ArrayList<>();
+        for (int i = 0; i < MATCHES; i++) {
+            client.register(RegisterRequest.newBuilder().setLanguageName("P1-" + i + "-" + suffix).setFormat(format).build())
+                .await().atMost(Duration.ofSeconds(10));
+            RegisterResponse joined = client.register(RegisterRequest.newBuilder()
+                    .setLanguageName("P2-" + i + "-" + suffix).setFormat(format).build())
+                .await().atMost(Duration.ofSeconds(10));
+            assertEquals("P1-" + i + "-" + suffix, joined.getOpponentName());
+            matchIds.add(joined.getMatchId());
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            // Both players of every match at once; each match's second move goes in a later batch
+            List<Uni<SubmitMoveResponse>> moves = new ArrayList<>();
+            for (String matchId : matchIds) {
+                moves.add(submit(matchId, round, 2));
+                moves.add(submit(matchId, round, 2));
+            }
+            List<SubmitMoveResponse> responses = Uni.join().all(moves).andFailFast()
+                .await().atMost(Duration.ofSeconds(10));
+            for (SubmitMoveResponse response : responses) {
+                assertEquals("ACCEPTED", response.getStatus());
+            }
+            for (String matchId : matchIds) {
+                CheckRoundResultResponse result = client.checkRoundResult(CheckRoundResultRequest.newBuilder()
+                        .setMatchId(matchId)
+                        .setRoundNumber(round)
+                        .build()).await().atMost(Duration.ofSeconds(5));
+                assertEquals("COMPLETE", result.getStatus());
+                assertEquals("TIE", result.getOutcome());
+            }
+        }
+
+        for (String matchId : matchIds) {
+            assertEquals("GAME_OVER", submit(matchId, ROUNDS + 1, 0).await().atMost(Duration.ofSeconds(5)).getStatus());
+        }
+    }
+
+    private Uni<SubmitMoveResponse> submit(String matchId, int round, int move) {
+        return client.submitMove(SubmitMoveRequest.newBuilder()
+            .setMatchId(matchId)
+            .setRoundNumber(round)
+            .setMove(move)
+            .build());
+    }
+}
@@ -0,0 +1,155 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.tourney.unary.v1.*;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class UnaryMatchmakingConcurrencyTest {
+
+    private static final int REGISTRANTS = 1000;
+
+    @GrpcClient
+    UnaryArenaService client;
+
+    @Inject
+    Pool pool;
+
+    @Test
+    void testSimultaneousRegistrationsPairEveryPlayerOnce(TestReporter reporter) {
+        // The second wave runs against a table that already holds the first wave's matches
+        for (String wave : List.of("wave1", "wave2")) {
+            String suffix = wave + "-" + UUID.randomUUID();
+            // A format no other test uses, so only this wave's players can pair with each other
+            MatchFormat format = MatchFormat.newBuilder()
+                .setKind(MatchFormat.Kind.FIXED)
+                .setTarget(ThreadLocalRandom.current().nextInt(2, 100_000))
+                .build();
+
+            List<TimedRegistration> registrations = registerConcurrently(suffix, format);
+            int unpaired = assertPairedOnce(registrations);
+            sweep(suffix, format, unpaired);
+
+            // Every player is seated exactly once, so N players fill exactly N/2 matches
+            Map<String, Integer> seats = seats(suffix);
+            assertEquals(REGISTRANTS + unpaired, seats.size());
+            assertTrue(seats.values().stream().allMatch(count -> count == 1), "A player was seated twice: " + seats);
+            assertEquals((REGISTRANTS + unpaired) / 2, countFullMatches(suffix));
+
+            reporter.publishEntry(Map.of(
+                "wave", wave,
+                "unpaired-after-wave", Integer.toString(unpaired),
+                "registration-p99-ms", Long.toString(p99(registrations))));
+        }
+    }
+
+    private List<TimedRegistration> registerConcurrently(String suffix, MatchFormat format) {
+        List<TimedRegistration> results = Multi.createFrom().range(0, REGISTRANTS)
+            .onItem().transformToUni(i -> {
+                long start = System.nanoTime();
+                return client.register(request("Concurrent-" + i + "-" + suffix, format))
+                    .map(response -> new TimedRegistration(response,
+                        Duration.ofNanos(System.nanoTime() - start).toMillis()));
+            }).merge(REGISTRANTS)
+            .collect().asList()
+            .await().atMost(Duration.ofSeconds(120));
+
+        assertEquals(REGISTRANTS, results.size());
+        return results;
+    }
+
+    /**
+     * No match is joined twice or by someone who did not see it created.
+     *
+     * @return matches still waiting: SKIP LOCKED lets two registrants that
+     * both found nothing free create one match each
+     */
+    private int assertPairedOnce(List<TimedRegistration> registrations) {
+        Map<String, List<RegisterResponse>> byMatch = registrations.stream()
+            .map(TimedRegistration::response)
+            .collect(Collectors.groupingBy(RegisterResponse::getMatchId));
+
+        int unpaired = 0;
+        for (Map.Entry<String, List<RegisterResponse>> match : byMatch.entrySet()) {
+            String matchId = match.getKey();
+            List<RegisterResponse> responses = match.getValue();
+            assertFalse(matchId.isEmpty(), "Every registration must be assigned a match");
+            assertTrue(responses.size() <= 2, "Match " + matchId + " has " + responses.size() + " players");
+
+            long created = responses.stream().filter(r -> "WAITING_FOR_OPPONENT".equals(r.getStatus())).count();
+            assertEquals(1, created, "Match " + matchId + " was created " + created + " times");
+            if (responses.size() == 1) {
+                unpaired++;
+            }
+        }
+        assertEquals(REGISTRANTS, byMatch.size() * 2 - unpaired);
+        return unpaired;
+    }
+
+    /**
+     * Registers one late player per leftover match, one at a time; each must
+     * join a leftover rather than open another match.
+     */
+    private void sweep(String suffix, MatchFormat format, int unpaired) {
+        for (int i = 0; i < unpaired; i++) {
+            RegisterResponse response = client.register(request("Late-" + i + "-" + suffix, format))
+                .await().atMost(Duration.ofSeconds(10));
+            assertEquals("READY", response.getStatus(), "A leftover match was not claimable");
+        }
+    }
+
+    private static RegisterRequest request(String name, MatchFormat format) {
+        return RegisterRequest.newBuilder()
+            .setLanguageName(name)
+            .setPrngAlgorithm("PRNG")
+            .setFormat(format)
+            .build();
+    }
+
+    private Map<String, Integer> seats(String suffix) {
+        Map<String, Integer> seats = new HashMap<>();
+        for (Row row : pool.preparedQuery("SELECT player_one_name, player_two_name FROM unary_match"
+                    + " WHERE player_one_name LIKE $1")
+                .execute(Tuple.of("%-" + suffix)).await().atMost(Duration.ofSeconds(10))) {
+            seats.merge(row.getString("player_one_name"), 1, Integer::sum);
+            if (row.getString("player_two_name") != null) {
+                seats.merge(row.getString("player_two_name"), 1, Integer::sum);
+            }
+        }
+        return seats;
+    }
+
+    private long countFullMatches(String suffix) {
+        return pool.preparedQuery("SELECT count(*) FROM unary_match"
+                    + " WHERE player_one_name LIKE $1 AND player_two_name LIKE $1")
+            .execute(Tuple.of("%-" + suffix)).await().atMost(Duration.ofSeconds(10))
+            .iterator().next().getLong(0);
+    }
+
+    private static long p99(List<TimedRegistration> registrations) {
+        long[] latencies = registrations.stream().mapToLong(TimedRegistration::latencyMillis).sorted().toArray();
+        return latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+    }
+
+    private record TimedRegistration(RegisterResponse response, long latencyMillis) {
+    }
+}
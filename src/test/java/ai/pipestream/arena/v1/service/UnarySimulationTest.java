@@ -0,0 +1,351 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.arena.v1.drain.DrainController;
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.model.UnaryMatch;
+import ai.pipestream.arena.v1.model.UnaryRound;
+import ai.pipestream.arena.v1.persistence.InMemoryUnaryStore;
+import ai.pipestream.arena.v1.util.GameLogic;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import ai.pipestream.arena.v1.util.VirtualClock;
+import ai.pipestream.tourney.unary.v1.CheckRoundResultRequest;
+import ai.pipestream.tourney.unary.v1.CheckRoundResultResponse;
+import ai.pipestream.tourney.unary.v1.MatchFormat;
+import ai.pipestream.tourney.unary.v1.RegisterRequest;
+import ai.pipestream.tourney.unary.v1.RegisterResponse;
+import ai.pipestream.tourney.unary.v1.SubmitMoveRequest;
+import ai.pipestream.tourney.unary.v1.SubmitMoveResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Randomized interleavings of the unary service's Hibernate path on a virtual
+ * clock, against an {@link InMemoryUnaryStore} whose calls take seeded random
+ * latencies. Bots register, submit moves and poll for results concurrently;
+ * every run is then checked for failed or refused calls, matches with the
+ * wrong players, rounds that disagree with the moves the bots made, statistics
+ * that disagree with the match, and transactions or row locks left open.
+ * <p>
+ * A failure names its seed; replay it alone with {@code -Darena.sim.seed=<seed>}.
+ * {@code -Darena.sim.runs} sets the number of seeds per test.
+ */
+class UnarySimulationTest {
+
+    private static final int RUNS = Integer.getInteger("arena.sim.runs", 500);
+    private static final Long REPLAY_SEED = Long.getLong("arena.sim.seed");
+    private static final long MAX_STEPS = 2_000_000;
+
+    private static final double PLAY_AGAIN_CHANCE = 0.3;
+    private static final long MAX_MOVE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long MAX_POLL_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // About half a virtual second of polling before a bot gives up on its opponent
+    private static final int MAX_POLLS = 1_000;
+
+    // Held so the level is not lost with a collected logger
+    private static final Logger ARENA_LOG = Logger.getLogger("ai.pipestream.arena");
+    private static Level arenaLogLevel;
+
+    @BeforeAll
+    static void quiet() {
+        arenaLogLevel = ARENA_LOG.getLevel();
+        ARENA_LOG.setLevel(Level.OFF);
+    }
+
+    @AfterAll
+    static void restoreLogging() {
+        ARENA_LOG.setLevel(arenaLogLevel);
+    }
+
+    @Test
+    void ormPathInterleavings() {
+        long start = System.nanoTime();
+        int completed = 0;
+        int runs = REPLAY_SEED != null ? 1 : RUNS;
+        for (int i = 0; i < runs; i++) {
+            long seed = REPLAY_SEED != null ? REPLAY_SEED : 3_000 + i;
+            Simulation simulation = new Simulation(seed);
+            try {
+                simulation.run();
+            } catch (RuntimeException | AssertionError e) {
+                throw new AssertionError("Simulation failed; replay with -Darena.sim.seed=" + seed, e);
+            }
+            completed += simulation.store.statistics().size();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d unary simulations: %d matches completed, %.0f runs/s%n", runs, completed, runs / seconds);
+        assertTrue(completed > 0, "No match ran to completion");
+    }
+
+    @Test
+    void sameSeedReplaysIdentically() {
+        for (long seed = 1; seed <= 20; seed++) {
+            assertEquals(new Simulation(seed).run(), new Simulation(seed).run(), "Seed " + seed);
+        }
+    }
+
+    private static final class BotMatch {
+        final long matchId;
+        final boolean joined; // READY at registration, rather than waiting
+        final Map<Integer, Integer> moves = new HashMap<>();
+        boolean gameOver;
+
+        BotMatch(long matchId, boolean joined) {
+            this.matchId = matchId;
+            this.joined = joined;
+        }
+    }
+
+    private static final class Bot {
+        final String name;
+        final SplittableRandom random;
+        final MatchFormat format;
+        final List<BotMatch> matches = new ArrayList<>();
+
+        Bot(String name, SplittableRandom random, MatchFormat format) {
+            this.name = name;
+            this.random = random;
+            this.format = format;
+        }
+    }
+
+    private static final class Simulation {
+        final VirtualClock clock;
+        final SplittableRandom random;
+        final InMemoryUnaryStore store;
+        final UnaryArenaServiceImpl service = new UnaryArenaServiceImpl();
+        final List<Bot> bots = new ArrayList<>();
+        final StringBuilder trace = new StringBuilder();
+        final List<String> violations = new ArrayList<>();
+
+        Simulation(long seed) {
+            this.clock = new VirtualClock(seed);
+            this.random = new SplittableRandom(seed * 31 + 7);
+            // Sometimes instant, sometimes slower than the bots
+            long maxLatencyNanos = random.nextInt(4) == 0 ? 0 : random.nextLong(TimeUnit.MILLISECONDS.toNanos(3));
+            this.store = new InMemoryUnaryStore(clock, random.nextLong(), maxLatencyNanos);
+
+            service.store = store;
+            service.clock = clock;
+            service.registry = new SimpleMeterRegistry();
+            service.ids = new IdGenerator(0) {
+                private long next;
+
+                @Override
+                public long nextId() {
+                    return ++next; // Repeatable across runs of a seed
+                }
+            };
+            service.drain = new DrainController();
+            service.ormReadPath = true;
+            service.sqlWritePath = false;
+            service.init();
+
+            // Two formats per run, so some bots can only be paired with some others
+            MatchFormat[] formats = { randomFormat(), randomFormat() };
+            int botCount = 2 + random.nextInt(9);
+            for (int i = 0; i < botCount; i++) {
+                Bot bot = new Bot("bot-" + i, random.split(), formats[random.nextInt(formats.length)]);
+                bots.add(bot);
+                later(bot, MAX_MOVE_DELAY_NANOS * 5, () -> register(bot));
+            }
+        }
+
+        private MatchFormat randomFormat() {
+            return switch (random.nextInt(3)) {
+                case 0 -> MatchFormat.newBuilder().setKind(MatchFormat.Kind.FIXED).setTarget(1 + random.nextInt(20)).build();
+                case 1 -> MatchFormat.newBuilder().setKind(MatchFormat.Kind.FIRST_TO).setTarget(3).setMaxRounds(9).build();
+                default -> MatchFormat.newBuilder().setKind(MatchFormat.Kind.TIME_BOX).setTarget(5 + random.nextInt(30))
+                    .setMaxRounds(30).build();
+            };
+        }
+
+        /**
+         * Plays until every bot has finished or given up and checks the result.
+         *
+         * @return the trace of everything the bots saw, for comparing runs
+         */
+        String run() {
+            clock.runUntilIdle(MAX_STEPS);
+            check();
+            return trace.toString();
+        }
+
+        private void log(Bot bot, String event) {
+            trace.append(clock.nanoTime()).append(' ').append(bot.name).append(' ').append(event).append('\n');
+        }
+
+        private void violation(Bot bot, String message) {
+            violations.add(bot.name + " at " + clock.nanoTime() + "ns: " + message);
+            log(bot, "VIOLATION " + message);
+        }
+
+        private void later(Bot bot, long maxDelayNanos, Runnable action) {
+            clock.schedule(action, bot.random.nextLong(maxDelayNanos + 1), TimeUnit.NANOSECONDS);
+        }
+
+        private void register(Bot bot) {
+            log(bot, "register");
+            service.register(RegisterRequest.newBuilder()
+                    .setLanguageName(bot.name)
+                    .setPrngAlgorithm("sim")
+                    .setFormat(bot.format)
+                    .build())
+                .subscribe().with(
+                    response -> onRegistered(bot, response),
+                    failure -> violation(bot, "register failed: " + failure));
+        }
+
+        private void onRegistered(Bot bot, RegisterResponse response) {
+            log(bot, "registered " + response.getMatchId() + " " + response.getStatus());
+            BotMatch match = new BotMatch(IdGenerator.parse(response.getMatchId()), "READY".equals(response.getStatus()));
+            bot.matches.add(match);
+            // A waiting player moves right away; the round completes once someone joins
+            later(bot, MAX_MOVE_DELAY_NANOS, () -> submit(bot, match, 1));
+        }
+
+        private void submit(Bot bot, BotMatch match, int round) {
+            int move = bot.random.nextInt(3);
+            service.submitMove(SubmitMoveRequest.newBuilder()
+                    .setMatchId(IdGenerator.format(match.matchId))
+                    .setRoundNumber(round)
+                    .setMove(move)
+                    .build())
+                .subscribe().with(
+                    response -> onSubmitted(bot, match, round, move, response),
+                    failure -> violation(bot, "move " + round + " failed: " + failure));
+        }
+
+        private void onSubmitted(Bot bot, BotMatch match, int round, int move, SubmitMoveResponse response) {
+            log(bot, "round " + round + " move " + move + " " + response.getStatus());
+            switch (response.getStatus()) {
+                case "ACCEPTED" -> {
+                    match.moves.put(round, move);
+                    later(bot, MAX_POLL_DELAY_NANOS, () -> poll(bot, match, round, 1));
+                }
+                case "GAME_OVER" -> {
+                    match.gameOver = true;
+                    if (bot.random.nextDouble() < PLAY_AGAIN_CHANCE && bot.matches.size() < 3) {
+                        later(bot, MAX_MOVE_DELAY_NANOS, () -> register(bot));
+                    }
+                }
+                // Every round is submitted once, after the previous one completed
+                default -> violation(bot, "round " + round + " refused: " + response.getStatus());
+            }
+        }
+
+        private void poll(Bot bot, BotMatch match, int round, int attempt) {
+            service.checkRoundResult(CheckRoundResultRequest.newBuilder()
+                    .setMatchId(IdGenerator.format(match.matchId))
+                    .setRoundNumber(round)
+                    .build())
+                .subscribe().with(
+                    response -> onPolled(bot, match, round, attempt, response),
+                    failure -> violation(bot, "check " + round + " failed: " + failure));
+        }
+
+        private void onPolled(Bot bot, BotMatch match, int round, int attempt, CheckRoundResultResponse response) {
+            if ("COMPLETE".equals(response.getStatus())) {
+                log(bot, "round " + round + " " + response.getOutcome() + " after " + attempt + " checks");
+                later(bot, MAX_MOVE_DELAY_NANOS, () -> submit(bot, match, round + 1));
+            } else if (attempt < MAX_POLLS) {
+                later(bot, MAX_POLL_DELAY_NANOS, () -> poll(bot, match, round, attempt + 1));
+            } else {
+                log(bot, "round " + round + " gave up waiting");
+            }
+        }
+
+        private void check() {
+            if (!violations.isEmpty()) {
+                fail(violations.size() + " violation(s), first: " + violations.get(0));
+            }
+            assertEquals(0, store.openTransactions(), "Transactions left open");
+            assertEquals(0, store.heldLocks(), "Row locks left held");
+
+            Map<Long, List<BotMatch>> players = new HashMap<>();
+            for (Bot bot : bots) {
+                for (BotMatch match : bot.matches) {
+                    players.computeIfAbsent(match.matchId, id -> new ArrayList<>()).add(match);
+                }
+            }
+            Map<Long, MatchStatistics> statistics = new HashMap<>();
+            for (MatchStatistics stats : store.statistics()) {
+                assertTrue(statistics.put(stats.matchId, stats) == null, "Match " + stats.matchId + " saved twice");
+            }
+
+            for (UnaryMatch match : store.matches()) {
+                String name = "Match " + match.matchId;
+                List<BotMatch> seats = players.get(match.matchId);
+                assertNotNull(seats, name + " has no players");
+                assertTrue(seats.size() <= 2, name + " has " + seats.size() + " players");
+                long creators = seats.stream().filter(seat -> !seat.joined).count();
+                assertEquals(1, creators, name + " was created by " + creators + " players");
+                if (match.status == UnaryMatch.MatchStatus.WAITING_FOR_OPPONENT) {
+                    assertEquals(1, seats.size(), name + " is still waiting");
+                    assertTrue(match.currentRound == 1 && store.round(match.matchId, 2) == null, name + " played alone");
+                    continue;
+                }
+                assertEquals(2, seats.size(), name + " is missing a player");
+                for (int round = 1; round <= match.currentRound; round++) {
+                    checkRound(match, round, seats);
+                }
+                if (match.status == UnaryMatch.MatchStatus.COMPLETED) {
+                    checkCompleted(match, statistics.remove(match.matchId), seats);
+                }
+            }
+            assertTrue(statistics.isEmpty(), "Statistics for matches that never completed: " + statistics.keySet());
+        }
+
+        /**
+         * Rounds do not say which player moved first, so the two moves are
+         * compared with what the two bots submitted in either order.
+         */
+        private void checkRound(UnaryMatch match, int roundNumber, List<BotMatch> seats) {
+            String name = "Match " + match.matchId + " round " + roundNumber;
+            UnaryRound round = store.round(match.matchId, roundNumber);
+            boolean completeRound = roundNumber < match.currentRound || match.status == UnaryMatch.MatchStatus.COMPLETED;
+            if (!completeRound) {
+                if (round != null) {
+                    assertEquals(UnaryRound.RoundStatus.WAITING_PLAYER_TWO, round.status, name);
+                }
+                return;
+            }
+            assertNotNull(round, name + " is missing");
+            assertEquals(UnaryRound.RoundStatus.COMPLETE, round.status, name);
+            Integer first = seats.get(0).moves.get(roundNumber);
+            Integer second = seats.get(1).moves.get(roundNumber);
+            boolean inOrder = round.playerOneMove.equals(first) && round.playerTwoMove.equals(second);
+            boolean swapped = round.playerOneMove.equals(second) && round.playerTwoMove.equals(first);
+            assertTrue(inOrder || swapped, name + " recorded " + round.playerOneMove + "/" + round.playerTwoMove
+                + " for moves " + first + "/" + second);
+            assertEquals(GameLogic.determineWinner(round.playerOneMove, round.playerTwoMove), round.outcome, name);
+        }
+
+        private void checkCompleted(UnaryMatch match, MatchStatistics stats, List<BotMatch> seats) {
+            String name = "Match " + match.matchId;
+            assertNotNull(stats, name + " completed without statistics");
+            assertEquals(match.currentRound, stats.totalRounds, name);
+            assertEquals(stats.totalRounds, stats.playerOneWins + stats.playerTwoWins + stats.ties, name);
+            assertTrue(match.format().isComplete(stats.totalRounds, stats.playerOneWins, stats.playerTwoWins,
+                TimeUnit.MILLISECONDS.toNanos(stats.durationMillis)), name + " ended early under " + match.format());
+            for (BotMatch seat : seats) {
+                assertTrue(seat.gameOver, name + " ended without telling a player");
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.arena.v1.model.UnaryMatch;
+import ai.pipestream.arena.v1.persistence.SubmitMoveStatement;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import ai.pipestream.tourney.unary.v1.*;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+@TestProfile(UnarySqlWritePathTest.SqlWritePath.class)
+public class UnarySqlWritePathTest {
+
+    public static class SqlWritePath implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("arena.unary.sql-write-path", "true");
+        }
+    }
+
+    @GrpcClient
+    UnaryArenaService client;
+
+    @Inject
+    SubmitMoveStatement statement;
+
+    @Inject
+    Pool pool;
+
+    @Test
+    void testSingleStatementMoves() {
+        String suffix = UUID.randomUUID().toString();
+        client.register(RegisterRequest.newBuilder().setLanguageName("P1-" + suffix).build())
+            .await().atMost(Duration.ofSeconds(10));
+        String matchId = client.register(RegisterRequest.newBuilder().setLanguageName("P2-" + suffix).build())
+            .await().atMost(Duration.ofSeconds(10)).getMatchId();
+
+        assertEquals("ACCEPTED", submit(matchId, 1, 0).getStatus());
+        assertEquals("PENDING", check(matchId, 1).getStatus());
+        assertEquals("ACCEPTED", submit(matchId, 1, 1).getStatus());
+
+        CheckRoundResultResponse result = check(matchId, 1);
+        assertEquals("COMPLETE", result.getStatus());
+        assertEquals("PLAYER_TWO_WIN", result.getOutcome());
+
+        // The match has moved on to round 2
+        assertEquals("INVALID_TURN", submit(matchId, 1, 2).getStatus());
+        assertEquals("ACCEPTED", submit(matchId, 2, 2).getStatus());
+    }
+
+    @Test
+    void testFirstToMatchEndsOnceDecided() {
+        String suffix = UUID.randomUUID().toString();
+        MatchFormat firstToTwo = MatchFormat.newBuilder()
+            .setKind(MatchFormat.Kind.FIRST_TO)
+            .setTarget(2)
+            .setMaxRounds(7)
+            .build();
+        client.register(RegisterRequest.newBuilder().setLanguageName("P1-" + suffix).setFormat(firstToTwo).build())
+            .await().atMost(Duration.ofSeconds(10));
+        RegisterResponse joined = client.register(RegisterRequest.newBuilder()
+                .setLanguageName("P2-" + suffix).setFormat(firstToTwo).build())
+            .await().atMost(Duration.ofSeconds(10));
+        assertEquals("P1-" + suffix, joined.getOpponentName());
+        String matchId = joined.getMatchId();
+
+        // Paper beats rock twice: player one has two wins and the match is over
+        for (int round = 1; round <= 2; round++) {
+            assertEquals("ACCEPTED", submit(matchId, round, 1).getStatus());
+            assertEquals("ACCEPTED", submit(matchId, round, 0).getStatus());
+            assertEquals("PLAYER_ONE_WIN", check(matchId, round).getOutcome());
+        }
+        assertEquals("GAME_OVER", submit(matchId, 3, 1).getStatus());
+    }
+
+    @Test
+    void testFailedStatisticsRollBackTheCompletingMove() {
+        String suffix = UUID.randomUUID().toString();
+        // First to one win, with a round limit no other test uses so the two players meet
+        MatchFormat firstToOne = MatchFormat.newBuilder()
+            .setKind(MatchFormat.Kind.FIRST_TO)
+            .setTarget(1)
+            .setMaxRounds(ThreadLocalRandom.current().nextInt(1_000, 100_000))
+            .build();
+        client.register(RegisterRequest.newBuilder().setLanguageName("P1-" + suffix).setFormat(firstToOne).build())
+            .await().atMost(Duration.ofSeconds(10));
+        long matchId = IdGenerator.parse(client.register(RegisterRequest.newBuilder()
+                .setLanguageName("P2-" + suffix).setFormat(firstToOne).build())
+            .await().atMost(Duration.ofSeconds(10)).getMatchId());
+        statement.apply(matchId, 1, 0, 0).await().atMost(Duration.ofSeconds(5));
+
+        // Rejects this match's statistics row only; NOT VALID leaves existing rows unchecked
+        String constraint = "reject_" + suffix.replace('-', '_');
+        execute("ALTER TABLE match_statistics ADD CONSTRAINT " + constraint
+            + " CHECK (match_id <> " + matchId + ") NOT VALID");
+        try {
+            // Paper beats rock and ends the match, but its statistics cannot be written
+            assertThrows(RuntimeException.class,
+                () -> statement.apply(matchId, 1, 1, 0).await().atMost(Duration.ofSeconds(5)));
+        } finally {
+            execute("ALTER TABLE match_statistics DROP CONSTRAINT " + constraint);
+        }
+
+        Row match = pool.preparedQuery("SELECT status, current_round FROM unary_match WHERE match_id = $1")
+            .execute(Tuple.of(matchId)).await().atMost(Duration.ofSeconds(5)).iterator().next();
+        assertNotEquals(UnaryMatch.MatchStatus.COMPLETED.ordinal(), match.getInteger("status"));
+        assertEquals(1, match.getInteger("current_round"));
+        assertNull(pool.preparedQuery("SELECT player_two_move FROM unary_round WHERE match_id = $1 AND round_number = 1")
+            .execute(Tuple.of(matchId)).await().atMost(Duration.ofSeconds(5)).iterator().next().getInteger(0));
+        assertEquals(0, countStatistics(matchId));
+
+        // Retried, the move completes the match and records its statistics once
+        SubmitMoveStatement.MoveResult result = statement.apply(matchId, 1, 1, 0).await().atMost(Duration.ofSeconds(5));
+        assertEquals(UnaryMatch.MatchStatus.COMPLETED, result.completedMatch().status);
+        assertEquals(1, countStatistics(matchId));
+    }
+
+    private void execute(String sql) {
+        pool.query(sql).execute().await().atMost(Duration.ofSeconds(5));
+    }
+
+    private long countStatistics(long matchId) {
+        return pool.preparedQuery("SELECT count(*) FROM match_statistics WHERE match_id = $1")
+            .execute(Tuple.of(matchId)).await().atMost(Duration.ofSeconds(5))
+            .iterator().next().getLong(0);
+    }
+
+    private SubmitMoveResponse submit(String matchId, int round, int move) {
+        return client.submitMove(SubmitMoveRequest.newBuilder()
+                .setMatchId(matchId)
+                .setRoundNumber(round)
+                .setMove(move)
+                .build()).await().atMost(Duration.ofSeconds(5));
+    }
+
+    private CheckRoundResultResponse check(String matchId, int round) {
+        return client.checkRoundResult(CheckRoundResultRequest.newBuilder()
+                .setMatchId(matchId)
+                .setRoundNumber(round)
+                .build()).await().atMost(Duration.ofSeconds(5));
+    }
+}
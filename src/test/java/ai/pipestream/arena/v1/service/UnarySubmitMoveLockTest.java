@@ -0,0 +1,86 @@
+package ai.pipestream.arena.v1.service;
+
+import ai.pipestream.tourney.unary.v1.*;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Both players of a round submitting at once, through the ORM write path and
+ * the Panache store. Without the {@code FOR UPDATE} on the match both
+ * transactions see the round unplayed and insert it; the loser fails on
+ * idx_unary_round_match_round instead of being recorded as player two.
+ */
+@QuarkusTest
+public class UnarySubmitMoveLockTest {
+
+    private static final int MATCHES = 32;
+    private static final int ROUNDS = 3;
+
+    @GrpcClient
+    UnaryArenaService client;
+
+    @Test
+    void testSimultaneousMovesCompleteEveryRound() {
+        String suffix = UUID.randomUUID().toString();
+        // A format no other test uses, so each pair below meets in its own match
+        MatchFormat format = MatchFormat.newBuilder()
+            .setKind(MatchFormat.Kind.FIXED)
+            .setTarget(ThreadLocalRandom.current().nextInt(100_000, 200_000))
+            .build();
+
+        List<String> matchIds = new ArrayList<>();
+        for (int i = 0; i < MATCHES; i++) {
+            register("P1-" + i + "-" + suffix, format);
+            RegisterResponse second = register("P2-" + i + "-" + suffix, format);
+            assertEquals("READY", second.getStatus());
+            matchIds.add(second.getMatchId());
+        }
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            int roundNumber = round;
+            List<String> statuses = Multi.createFrom().iterable(matchIds)
+                .onItem().transformToMultiAndMerge(matchId -> Multi.createFrom().items(0, 1)
+                    .onItem().transformToUniAndMerge(move -> client.submitMove(SubmitMoveRequest.newBuilder()
+                        .setMatchId(matchId)
+                        .setRoundNumber(roundNumber)
+                        .setMove(move)
+                        .build())))
+                .map(SubmitMoveResponse::getStatus)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(30));
+
+            assertEquals(MATCHES * 2, statuses.size());
+            assertEquals(List.of("ACCEPTED"), statuses.stream().distinct().toList(), "Round " + round);
+
+            List<String> results = Multi.createFrom().iterable(matchIds)
+                .onItem().transformToUniAndMerge(matchId -> client.checkRoundResult(CheckRoundResultRequest.newBuilder()
+                    .setMatchId(matchId)
+                    .setRoundNumber(roundNumber)
+                    .build()))
+                .map(CheckRoundResultResponse::getStatus)
+                .collect().asList()
+                .await().atMost(Duration.ofSeconds(30));
+
+            assertEquals(List.of("COMPLETE"), results.stream().distinct().toList(), "Round " + round);
+        }
+    }
+
+    private RegisterResponse register(String name, MatchFormat format) {
+        return client.register(RegisterRequest.newBuilder()
+                .setLanguageName(name)
+                .setPrngAlgorithm("PRNG")
+                .setFormat(format)
+                .build())
+            .await().atMost(Duration.ofSeconds(10));
+    }
+}
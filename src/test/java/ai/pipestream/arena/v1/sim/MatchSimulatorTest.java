@@ -0,0 +1,42 @@
+package ai.pipestream.arena.v1.sim;
+
+import ai.pipestream.arena.v1.util.GameLogic;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MatchSimulatorTest {
+
+    @Test
+    void testResolveAgreesWithDetermineWinner() {
+        String[] names = { "TIE", "PLAYER_ONE_WIN", "PLAYER_TWO_WIN" };
+        for (int p1 = 0; p1 < 3; p1++) {
+            for (int p2 = 0; p2 < 3; p2++) {
+                assertEquals(GameLogic.determineWinner(p1, p2), names[GameLogic.resolve(p1, p2)]);
+            }
+        }
+    }
+
+    @Test
+    void testSeededRunsAreReproducible() {
+        SimulationSpec spec = new SimulationSpec("L64X128MixRandom", "Xoshiro256PlusPlus", 200, 1000, 7, 4);
+        ForkJoinPool pool = new ForkJoinPool(spec.parallelism());
+        try {
+            SimulationAggregate first = MatchSimulator.run(spec, 0, spec.matches(), pool);
+            SimulationAggregate second = MatchSimulator.run(spec, 0, spec.matches(), pool);
+
+            assertEquals(200, first.matches);
+            assertEquals(200_000, first.rounds);
+            assertEquals(first.rounds, first.playerOneWins + first.playerTwoWins + first.ties);
+            assertEquals(first.playerOneWins, second.playerOneWins);
+            assertEquals(first.ties, second.ties);
+            assertArrayEquals(first.playerOneMoves, second.playerOneMoves);
+            assertArrayEquals(first.playerTwoMoves, second.playerTwoMoves);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ai.pipestream.arena.v1.sim;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SimulationAggregateTest {
+
+    @Test
+    void testAddCountsEveryMatch() {
+        SimulationAggregate aggregate = new SimulationAggregate();
+        MatchSimulator.playMatch(new SplittableRandom(1), new SplittableRandom(2), 300, aggregate);
+        MatchSimulator.playMatch(new SplittableRandom(3), new SplittableRandom(4), 100, aggregate);
+
+        assertEquals(2, aggregate.matches);
+        assertEquals(400, aggregate.rounds);
+        assertEquals(400, aggregate.playerOneWins + aggregate.playerTwoWins + aggregate.ties);
+        assertEquals(400, aggregate.playerOneMoves[0] + aggregate.playerOneMoves[1] + aggregate.playerOneMoves[2]);
+        assertEquals(400, aggregate.playerTwoMoves[0] + aggregate.playerTwoMoves[1] + aggregate.playerTwoMoves[2]);
+    }
+
+    @Test
+    void testMeanBiasIsPerMatch() {
+        SimulationAggregate aggregate = new SimulationAggregate();
+        assertEquals(0, aggregate.meanPlayerOneBias());
+
+        // Biases 100% and 50% for player one, 50% and 75% for player two
+        MatchSimulator.playMatch(moves(0, 0, 0, 0), moves(0, 0, 1, 2), 4, aggregate);
+        MatchSimulator.playMatch(moves(0, 1, 2, 0), moves(2, 2, 2, 1), 4, aggregate);
+
+        assertEquals(75, aggregate.meanPlayerOneBias(), 1e-9);
+        assertEquals(62.5, aggregate.meanPlayerTwoBias(), 1e-9);
+    }
+
+    @Test
+    void testMergeInAnyOrderGivesTheSameTotals() {
+        SimulationAggregate[] parts = new SimulationAggregate[3];
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = new SimulationAggregate();
+            MatchSimulator.playMatch(new SplittableRandom(i), new SplittableRandom(i + 10), 50 * (i + 1), parts[i]);
+        }
+
+        SimulationAggregate forward = new SimulationAggregate().merge(parts[0]).merge(parts[1]).merge(parts[2]);
+        SimulationAggregate backward = new SimulationAggregate().merge(parts[2]).merge(parts[1]).merge(parts[0]);
+
+        assertEquals(3, forward.matches);
+        assertEquals(300, forward.rounds);
+        assertEquals(forward.playerOneWins, backward.playerOneWins);
+        assertEquals(forward.ties, backward.ties);
+        assertArrayEquals(forward.playerOneMoves, backward.playerOneMoves);
+        assertArrayEquals(forward.playerTwoMoves, backward.playerTwoMoves);
+        assertEquals(forward.meanPlayerOneBias(), backward.meanPlayerOneBias(), 1e-9);
+    }
+
+    /**
+     * A player that makes the given moves in order.
+     */
+    private static RandomGenerator moves(int... moves) {
+        return new RandomGenerator() {
+            int next;
+
+            @Override
+            public int nextInt(int bound) {
+                return moves[next++];
+            }
+
+            @Override
+            public long nextLong() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package ai.pipestream.arena.v1.spectate;
+
+import ai.pipestream.tourney.stream.v1.RoundSummary;
+import ai.pipestream.tourney.stream.v1.SpectatorEvent;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WatcherTest {
+
+    @Test
+    void testPreEncodedBytesKeepWireFormat() throws Exception {
+        SpectatorEvent event = round(7);
+        InputStream stream = PreEncodedMarshaller.INSTANCE.stream(event.toByteArray());
+
+        ByteArrayOutputStream wire = new ByteArrayOutputStream();
+        ((io.grpc.Drainable) stream).drainTo(wire);
+
+        assertEquals(event, SpectatorEvent.parseFrom(wire.toByteArray()));
+    }
+
+    @Test
+    void testSlowWatcherIsConflatedToLatestRound() throws Exception {
+        FakeObserver observer = new FakeObserver();
+        AtomicInteger conflations = new AtomicInteger();
+        Watcher watcher = new Watcher(observer, 4, true, Runnable::run, w -> { }, conflations::incrementAndGet);
+
+        observer.ready = false;
+        for (int round = 1; round <= 10; round++) {
+            watcher.offer(round(round).toByteArray(), true);
+        }
+        assertTrue(watcher.queued() <= 4);
+        assertTrue(conflations.get() > 0);
+
+        observer.ready = true;
+        watcher.close(SpectatorEvent.newBuilder().setStatus("MATCH_COMPLETE").build().toByteArray());
+
+        List<SpectatorEvent> received = observer.events();
+        SpectatorEvent lastRound = received.get(received.size() - 2);
+        assertEquals(10, lastRound.getRound().getRoundId(), "Newest round survives conflation");
+        assertEquals("MATCH_COMPLETE", received.get(received.size() - 1).getStatus());
+        assertTrue(observer.completed);
+    }
+
+    @Test
+    void testSlowWatcherIsDroppedUnderDropPolicy() {
+        FakeObserver observer = new FakeObserver();
+        AtomicInteger drops = new AtomicInteger();
+        Watcher watcher = new Watcher(observer, 2, false, Runnable::run, w -> drops.incrementAndGet(), () -> { });
+
+        observer.ready = false;
+        for (int round = 1; round <= 3; round++) {
+            watcher.offer(round(round).toByteArray(), true);
+        }
+
+        assertEquals(1, drops.get());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, Status.fromThrowable(observer.error).getCode());
+        assertTrue(observer.messages.isEmpty(), "Nothing is delivered to a dropped watcher");
+    }
+
+    private static SpectatorEvent round(int round) {
+        return SpectatorEvent.newBuilder()
+            .setRound(RoundSummary.newBuilder().setRoundId(round).setOutcome("TIE").setTies(round))
+            .build();
+    }
+
+    private static final class FakeObserver extends ServerCallStreamObserver<byte[]> {
+        final List<byte[]> messages = new ArrayList<>();
+        volatile boolean ready = true;
+        boolean completed;
+        Throwable error;
+
+        List<SpectatorEvent> events() {
+            List<SpectatorEvent> events = new ArrayList<>();
+            for (byte[] message : messages) {
+                try {
+                    events.add(SpectatorEvent.parseFrom(message));
+                } catch (Exception e) {
+                    throw new AssertionError(e);
+                }
+            }
+            return events;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void onNext(byte[] value) {
+            messages.add(value);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onCompleted() {
+            completed = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setOnCancelHandler(Runnable onCancelHandler) {
+        }
+
+        @Override
+        public void setCompression(String compression) {
+        }
+
+        @Override
+        public void setOnReadyHandler(Runnable onReadyHandler) {
+        }
+
+        @Override
+        public void disableAutoInboundFlowControl() {
+        }
+
+        @Override
+        public void request(int count) {
+        }
+
+        @Override
+        public void setMessageCompression(boolean enable) {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package ai.pipestream.arena.v1.stats;
+
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import ai.pipestream.arena.v1.util.IdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileStatisticsSinkTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @TempDir
+    Path dir;
+
+    private static MatchStatistics stats(long matchId, String playerOne) {
+        MatchStatistics stats = new MatchStatistics();
+        stats.matchId = matchId;
+        stats.matchType = "STREAMING";
+        stats.playerOneName = playerOne;
+        stats.playerTwoName = "Bravo";
+        stats.playerOneWins = 3;
+        stats.totalRounds = 5;
+        stats.format = "FIXED";
+        stats.createdAt = Instant.parse("2026-01-01T00:00:00Z");
+        return stats;
+    }
+
+    @Test
+    void testAppendsOneLinePerMatchAndClosesTheFile() throws IOException {
+        Path file = dir.resolve("stats.jsonl");
+        FileStatisticsSink sink = new FileStatisticsSink(file);
+        assertFalse(Files.exists(file), "Opened by the first write, not before");
+
+        sink.save(stats(1, "Alpha")).await().atMost(TIMEOUT);
+        sink.save(stats(2, "Al\"pha\n")).await().atMost(TIMEOUT);
+        sink.close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"matchId\":\"" + IdGenerator.format(1) + "\",\"matchType\":\"STREAMING\""),
+            lines.get(0));
+        assertTrue(lines.get(0).contains("\"playerOneWins\":3"), lines.get(0));
+        assertTrue(lines.get(0).endsWith(",\"createdAt\":\"2026-01-01T00:00:00Z\"}"), lines.get(0));
+        assertTrue(lines.get(1).contains("\"playerOneName\":\"Al\\\"pha\\n\""), lines.get(1));
+    }
+
+    @Test
+    void testAppendsToAnExistingFile() throws IOException {
+        Path file = dir.resolve("stats.jsonl");
+        Files.writeString(file, "{}\n", StandardCharsets.UTF_8);
+        FileStatisticsSink sink = new FileStatisticsSink(file);
+
+        sink.save(stats(1, "Alpha")).await().atMost(TIMEOUT);
+        sink.close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals("{}", lines.get(0));
+    }
+
+    @Test
+    void testSaveAfterCloseFails() {
+        Path file = dir.resolve("stats.jsonl");
+        FileStatisticsSink sink = new FileStatisticsSink(file);
+        sink.save(stats(1, "Alpha")).await().atMost(TIMEOUT);
+        sink.close();
+        sink.close();
+
+        assertThrows(IllegalStateException.class, () -> sink.save(stats(2, "Alpha")).await().atMost(TIMEOUT));
+    }
+
+    @Test
+    void testCloseBeforeAnyWriteCreatesNoFile() {
+        Path file = dir.resolve("stats.jsonl");
+        new FileStatisticsSink(file).close();
+
+        assertFalse(Files.exists(file));
+    }
+}
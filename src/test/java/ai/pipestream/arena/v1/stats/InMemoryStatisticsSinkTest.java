@@ -0,0 +1,49 @@
+package ai.pipestream.arena.v1.stats;
+
+import ai.pipestream.arena.v1.model.MatchStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryStatisticsSinkTest {
+
+    private static MatchStatistics stats(long matchId) {
+        MatchStatistics stats = new MatchStatistics();
+        stats.matchId = matchId;
+        return stats;
+    }
+
+    private static List<Long> matchIds(List<MatchStatistics> snapshot) {
+        return snapshot.stream().map(stats -> stats.matchId).toList();
+    }
+
+    @Test
+    void testKeepsTheMostRecentUpToCapacity() {
+        InMemoryStatisticsSink sink = new InMemoryStatisticsSink(3);
+        assertTrue(sink.snapshot().isEmpty());
+
+        for (long matchId = 1; matchId <= 5; matchId++) {
+            sink.save(stats(matchId)).await().atMost(Duration.ofSeconds(1));
+        }
+
+        assertEquals(List.of(3L, 4L, 5L), matchIds(sink.snapshot()));
+    }
+
+    @Test
+    void testSnapshotIsACopy() {
+        InMemoryStatisticsSink sink = new InMemoryStatisticsSink(2);
+        sink.save(stats(1)).await().atMost(Duration.ofSeconds(1));
+        List<MatchStatistics> snapshot = sink.snapshot();
+
+        sink.save(stats(2)).await().atMost(Duration.ofSeconds(1));
+        sink.save(stats(3)).await().atMost(Duration.ofSeconds(1));
+        sink.close();
+
+        assertEquals(List.of(1L), matchIds(snapshot));
+        assertEquals(List.of(2L, 3L), matchIds(sink.snapshot()));
+    }
+}
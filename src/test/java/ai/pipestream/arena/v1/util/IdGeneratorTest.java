@@ -0,0 +1,80 @@
+package ai.pipestream.arena.v1.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdGeneratorTest {
+
+    @Test
+    void testUniqueAndIncreasingAcrossThreads() throws Exception {
+        IdGenerator ids = new IdGenerator(7);
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    long[] issued = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        issued[i] = ids.nextId();
+                    }
+                    return issued;
+                }));
+            }
+
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> result : results) {
+                long[] issued = result.get();
+                for (int i = 0; i < issued.length; i++) {
+                    assertTrue(issued[i] > 0);
+                    assertTrue(seen.add(issued[i]), "Duplicate ID " + issued[i]);
+                    if (i > 0) {
+                        assertTrue(issued[i] > issued[i - 1], "IDs must increase within a thread");
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testLayout() {
+        long before = System.currentTimeMillis();
+        long id = new IdGenerator(IdGenerator.MAX_NODE).nextId();
+
+        assertEquals(IdGenerator.MAX_NODE, (id >>> IdGenerator.SEQUENCE_BITS) & IdGenerator.MAX_NODE);
+        long issuedAt = IdGenerator.timestampMillis(id);
+        assertTrue(issuedAt >= before && issuedAt <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testWireFormat() {
+        long id = new IdGenerator(3).nextId();
+        assertEquals(id, IdGenerator.parse(IdGenerator.format(id)));
+        assertEquals(Long.MAX_VALUE, IdGenerator.parse(Long.toString(Long.MAX_VALUE)));
+        assertEquals(-1, IdGenerator.parse("0b0e8a8e-6a4c-4f7d-9d8e-3c2b1a0f9e8d"));
+        assertEquals(-1, IdGenerator.parse("9223372036854775808"));
+        assertEquals(-1, IdGenerator.parse("-5"));
+        assertEquals(-1, IdGenerator.parse(""));
+    }
+
+    @Test
+    void testTokensAreDistinct() {
+        String token = IdGenerator.newToken();
+        assertEquals(22, token.length());
+        assertNotEquals(token, IdGenerator.newToken());
+    }
+}
@@ -0,0 +1,271 @@
+package ai.pipestream.arena.v1.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A clock and executor for deterministic simulations. Nothing runs on its own:
+ * the test calls {@link #runNext()} (or {@link #runUntilIdle}), which runs one
+ * due task on the calling thread. Time stands still while tasks run and jumps
+ * to the next timer when nothing is due, so a ten-second grace period costs
+ * nothing. Among tasks due at the same instant the next one is picked with a
+ * seeded random, so each seed is one reproducible interleaving of everything
+ * that could run concurrently on a real executor.
+ */
+public final class VirtualClock extends AbstractExecutorService implements ScheduledExecutorService, ArenaClock {
+
+    private static final Instant EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SplittableRandom random;
+    private final PriorityQueue<Task<?>> timers = new PriorityQueue<>();
+    private final List<Task<?>> due = new ArrayList<>();
+    private long nanos;
+    private long sequence;
+    private long steps;
+
+    public VirtualClock(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos;
+    }
+
+    @Override
+    public Instant now() {
+        return EPOCH.plusNanos(nanos);
+    }
+
+    /**
+     * Tasks run so far.
+     */
+    public long steps() {
+        return steps;
+    }
+
+    /**
+     * Tasks scheduled and not yet run or cancelled.
+     */
+    public int pending() {
+        int pending = 0;
+        for (Task<?> task : due) {
+            pending += task.isDone() ? 0 : 1;
+        }
+        for (Task<?> task : timers) {
+            pending += task.isDone() ? 0 : 1;
+        }
+        return pending;
+    }
+
+    /**
+     * Runs one task, advancing time to it if nothing is due. A task that
+     * throws fails the simulation: the exception propagates from here.
+     *
+     * @return false when there is nothing left to run
+     */
+    public boolean runNext() {
+        while (true) {
+            if (due.isEmpty()) {
+                Task<?> next = timers.peek();
+                if (next == null) {
+                    return false;
+                }
+                nanos = Math.max(nanos, next.dueNanos);
+            }
+            while (!timers.isEmpty() && timers.peek().dueNanos <= nanos) {
+                due.add(timers.poll());
+            }
+            // Swap-remove a random due task
+            int index = random.nextInt(due.size());
+            Task<?> task = due.get(index);
+            due.set(index, due.get(due.size() - 1));
+            due.remove(due.size() - 1);
+            if (task.isDone()) {
+                continue; // Cancelled
+            }
+            steps++;
+            task.run();
+            return true;
+        }
+    }
+
+    /**
+     * Runs tasks until none are left.
+     *
+     * @throws IllegalStateException after {@code maxSteps} tasks, which usually means a livelock
+     */
+    public void runUntilIdle(long maxSteps) {
+        long limit = steps + maxSteps;
+        while (runNext()) {
+            if (steps >= limit) {
+                throw new IllegalStateException("Still busy after " + maxSteps + " tasks at " + Duration.ofNanos(nanos));
+            }
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return enqueue(new Task<>(() -> {
+            command.run();
+            return null;
+        }, nanos + Math.max(0, unit.toNanos(delay)), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return enqueue(new Task<>(callable, nanos + Math.max(0, unit.toNanos(delay)), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return schedulePeriodic(command, initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        // Tasks take no virtual time, so a fixed delay is a fixed rate
+        return schedulePeriodic(command, initialDelay, delay, unit);
+    }
+
+    private ScheduledFuture<?> schedulePeriodic(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        return enqueue(new Task<>(() -> {
+            command.run();
+            return null;
+        }, nanos + Math.max(0, unit.toNanos(initialDelay)), unit.toNanos(period)));
+    }
+
+    private <V> Task<V> enqueue(Task<V> task) {
+        if (task.dueNanos <= nanos) {
+            due.add(task);
+        } else {
+            timers.add(task);
+        }
+        return task;
+    }
+
+    // Never shut down: leftover tasks are simply not run
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return false;
+    }
+
+    private final class Task<V> implements ScheduledFuture<V> {
+
+        private final Callable<V> callable;
+        private final long periodNanos;
+        private final long order = sequence++;
+        private long dueNanos;
+        private boolean cancelled;
+        private boolean done;
+        private V result;
+        private Throwable failure;
+
+        Task(Callable<V> callable, long dueNanos, long periodNanos) {
+            this.callable = callable;
+            this.dueNanos = dueNanos;
+            this.periodNanos = periodNanos;
+        }
+
+        void run() {
+            try {
+                result = callable.call();
+            } catch (Exception e) {
+                failure = e;
+                done = true;
+                throw new IllegalStateException("Task failed at " + Duration.ofNanos(nanos), e);
+            }
+            if (periodNanos > 0 && !cancelled) {
+                dueNanos += periodNanos;
+                enqueue(this);
+            } else {
+                done = true;
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueNanos - nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            Task<?> task = (Task<?>) other;
+            int byTime = Long.compare(dueNanos, task.dueNanos);
+            return byTime != 0 ? byTime : Long.compare(order, task.order);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (done) {
+                return false;
+            }
+            cancelled = true;
+            done = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public V get() {
+            if (!done || cancelled) {
+                throw new IllegalStateException("Waiting on a virtual clock task would never return");
+            }
+            if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+            return result;
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) {
+            return get();
+        }
+    }
+}
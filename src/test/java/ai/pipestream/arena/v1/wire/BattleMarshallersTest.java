@@ -0,0 +1,222 @@
+package ai.pipestream.arena.v1.wire;
+
+import ai.pipestream.tourney.stream.v1.BattleRequest;
+import ai.pipestream.tourney.stream.v1.BattleResponse;
+import ai.pipestream.tourney.stream.v1.Handshake;
+import ai.pipestream.tourney.stream.v1.Move;
+import ai.pipestream.tourney.stream.v1.RequestMove;
+import ai.pipestream.tourney.stream.v1.RoundResult;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BattleMarshallersTest {
+
+    private static final MethodDescriptor.Marshaller<BattleRequest> PROTO_REQUEST =
+        ProtoUtils.marshaller(BattleRequest.getDefaultInstance());
+    private static final MethodDescriptor.Marshaller<BattleResponse> PROTO_RESPONSE =
+        ProtoUtils.marshaller(BattleResponse.getDefaultInstance());
+
+    @Test
+    void responsesEncodeExactlyLikeGeneratedCode() throws IOException {
+        String[] outcomes = { "WIN", "LOSS", "TIE" };
+        int[] rounds = { 1, 2, 500, BattleMessages.CACHED_ROUNDS, BattleMessages.CACHED_ROUNDS + 1, 100_000 };
+        for (int round : rounds) {
+            assertWireCompatible(BattleMessages.trigger(round));
+            for (int move = 0; move < 3; move++) {
+                for (String outcome : outcomes) {
+                    assertWireCompatible(BattleMessages.result(round, move, outcome));
+                }
+            }
+        }
+        assertWireCompatible(BattleResponse.newBuilder().setStatus("CONNECTED").build());
+        assertWireCompatible(BattleResponse.newBuilder()
+            .setTrigger(RequestMove.newBuilder().setRoundId(7).build())
+            .build());
+    }
+
+    @Test
+    void interningOnlyCoversKnownInstances() {
+        assertSame(BattleMessages.trigger(42), BattleMessages.trigger(42));
+        assertSame(BattleMessages.result(42, 1, "WIN"), BattleMessages.result(42, 1, "WIN"));
+        assertNotSame(BattleMessages.trigger(BattleMessages.CACHED_ROUNDS + 1),
+            BattleMessages.trigger(BattleMessages.CACHED_ROUNDS + 1));
+
+        BattleResponse equalButForeign = BattleResponse.newBuilder()
+            .setResult(RoundResult.newBuilder().setRoundId(42).setOpponentMove(1).setOutcome("WIN").build())
+            .build();
+        assertEquals(BattleMessages.result(42, 1, "WIN"), equalButForeign);
+        assertNull(BattleMessages.encoded(equalButForeign));
+    }
+
+    @Test
+    void requestsParseLikeGeneratedCode() throws IOException {
+        BattleRequest[] requests = {
+            BattleMessages.move(0),
+            BattleMessages.move(1),
+            BattleMessages.move(2),
+            BattleMessages.move(3),
+            BattleMessages.move(-1),
+            BattleMessages.move(1_000_000),
+            BattleRequest.newBuilder().setMove(Move.getDefaultInstance()).build(),
+            BattleRequest.getDefaultInstance(),
+            BattleRequest.newBuilder()
+                .setHandshake(Handshake.newBuilder()
+                    .setLanguageName("Java")
+                    .setPrngAlgorithm("L64X128MixRandom")
+                    .setResumeToken("AAAAAAAAAAAAAAAAAAAAAA")
+                    .build())
+                .build(),
+        };
+        for (BattleRequest request : requests) {
+            byte[] bytes = request.toByteArray();
+            assertEquals(request, BattleMarshallers.REQUEST.parse(new KnownLengthStream(bytes)));
+            assertEquals(request, BattleMarshallers.REQUEST.parse(new ByteArrayInputStream(bytes)));
+        }
+
+        // Zero written out explicitly is still move 0
+        byte[] explicitZero = { 0x12, 0x02, 0x08, 0x00 };
+        assertSame(BattleMessages.move(0), BattleMarshallers.REQUEST.parse(new KnownLengthStream(explicitZero)));
+        // An unknown field alongside the move is kept, so it takes the protobuf path
+        byte[] withUnknown = { 0x12, 0x04, 0x08, 0x01, 0x10, 0x05 };
+        assertEquals(BattleRequest.parseFrom(withUnknown),
+            BattleMarshallers.REQUEST.parse(new KnownLengthStream(withUnknown)));
+    }
+
+    @Test
+    void movesParseToSharedInstances() {
+        for (int move = 0; move < 3; move++) {
+            byte[] bytes = BattleMessages.move(move).toByteArray();
+            assertSame(BattleMessages.move(move), BattleMarshallers.REQUEST.parse(new KnownLengthStream(bytes)));
+        }
+    }
+
+    /**
+     * Bytes allocated per round on the server's Battle path: parsing both
+     * players' moves and encoding their next trigger and round result, with
+     * generated builders and protobuf marshallers versus interned messages and
+     * these marshallers. Run with {@code -Darena.bench=true};
+     * {@code -Darena.bench.rounds} sets the number of rounds, default one million.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "arena.bench", matches = "true")
+    void benchmarkBytesAllocatedPerRound() throws IOException {
+        int rounds = Integer.getInteger("arena.bench.rounds", 1_000_000);
+        byte[][] moves = {
+            BattleMessages.move(0).toByteArray(),
+            BattleMessages.move(1).toByteArray(),
+            BattleMessages.move(2).toByteArray(),
+        };
+        KnownLengthStream incoming = new KnownLengthStream(moves[0]);
+
+        // Warm up both paths so class loading and JIT do not count
+        protobufRounds(moves, incoming, 50_000);
+        internedRounds(moves, incoming, 50_000);
+
+        long before = allocatedBytes();
+        long protobufChecksum = protobufRounds(moves, incoming, rounds);
+        long protobufBytes = (allocatedBytes() - before) / rounds;
+
+        before = allocatedBytes();
+        long internedChecksum = internedRounds(moves, incoming, rounds);
+        long internedBytes = (allocatedBytes() - before) / rounds;
+
+        System.out.printf("Bytes allocated per round over %,d rounds: protobuf=%d, interned=%d%n",
+            rounds, protobufBytes, internedBytes);
+        assertEquals(protobufChecksum, internedChecksum);
+        assertTrue(internedBytes < protobufBytes, "Interned messages should allocate less per round");
+    }
+
+    private static long protobufRounds(byte[][] moves, KnownLengthStream incoming, int rounds) throws IOException {
+        long checksum = 0;
+        for (int i = 0; i < rounds; i++) {
+            int round = i % 1000 + 1;
+            for (int player = 0; player < 2; player++) {
+                incoming.reset(moves[(i + player) % 3]);
+                checksum += PROTO_REQUEST.parse(incoming).getMove().getMove();
+                BattleResponse result = BattleResponse.newBuilder()
+                    .setResult(RoundResult.newBuilder()
+                        .setRoundId(round)
+                        .setOpponentMove((i + 1 - player) % 3)
+                        .setOutcome("WIN")
+                        .build())
+                    .build();
+                BattleResponse trigger = BattleResponse.newBuilder()
+                    .setTrigger(RequestMove.newBuilder().setRoundId(round + 1).build())
+                    .build();
+                checksum += drain(PROTO_RESPONSE.stream(result)) + drain(PROTO_RESPONSE.stream(trigger));
+            }
+        }
+        return checksum;
+    }
+
+    private static long internedRounds(byte[][] moves, KnownLengthStream incoming, int rounds) throws IOException {
+        long checksum = 0;
+        for (int i = 0; i < rounds; i++) {
+            int round = i % 1000 + 1;
+            for (int player = 0; player < 2; player++) {
+                incoming.reset(moves[(i + player) % 3]);
+                checksum += BattleMarshallers.REQUEST.parse(incoming).getMove().getMove();
+                BattleResponse result = BattleMessages.result(round, (i + 1 - player) % 3, "WIN");
+                BattleResponse trigger = BattleMessages.trigger(round + 1);
+                checksum += drain(BattleMarshallers.RESPONSE.stream(result))
+                    + drain(BattleMarshallers.RESPONSE.stream(trigger));
+            }
+        }
+        return checksum;
+    }
+
+    // gRPC drains outgoing messages into its frame buffer the same way
+    private static int drain(InputStream stream) throws IOException {
+        return ((Drainable) stream).drainTo(OutputStream.nullOutputStream());
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void assertWireCompatible(BattleResponse response) throws IOException {
+        ByteArrayOutputStream custom = new ByteArrayOutputStream();
+        ((Drainable) BattleMarshallers.RESPONSE.stream(response)).drainTo(custom);
+        ByteArrayOutputStream generated = new ByteArrayOutputStream();
+        ((Drainable) PROTO_RESPONSE.stream(response)).drainTo(generated);
+        assertArrayEquals(response.toByteArray(), custom.toByteArray());
+        assertArrayEquals(generated.toByteArray(), custom.toByteArray());
+        assertEquals(response, PROTO_RESPONSE.parse(new ByteArrayInputStream(custom.toByteArray())));
+    }
+
+    /**
+     * Stands in for gRPC's message stream, which knows its length up front.
+     */
+    private static final class KnownLengthStream extends ByteArrayInputStream implements KnownLength {
+
+        KnownLengthStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        void reset(byte[] bytes) {
+            buf = bytes;
+            pos = 0;
+            count = bytes.length;
+            mark = 0;
+        }
+    }
+}
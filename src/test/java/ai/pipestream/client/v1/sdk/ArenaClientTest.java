@@ -0,0 +1,303 @@
+package ai.pipestream.client.v1.sdk;
+
+import ai.pipestream.tourney.stream.v1.BattleRequest;
+import ai.pipestream.tourney.stream.v1.BattleResponse;
+import ai.pipestream.tourney.stream.v1.Redirect;
+import ai.pipestream.tourney.stream.v1.RequestMove;
+import ai.pipestream.tourney.stream.v1.RoundResult;
+import ai.pipestream.tourney.stream.v1.StreamingArenaServiceGrpc;
+import ai.pipestream.tourney.unary.v1.CheckRoundResultRequest;
+import ai.pipestream.tourney.unary.v1.CheckRoundResultResponse;
+import ai.pipestream.tourney.unary.v1.MatchFormat;
+import ai.pipestream.tourney.unary.v1.RegisterRequest;
+import ai.pipestream.tourney.unary.v1.RegisterResponse;
+import ai.pipestream.tourney.unary.v1.SubmitMoveRequest;
+import ai.pipestream.tourney.unary.v1.SubmitMoveResponse;
+import ai.pipestream.tourney.unary.v1.UnaryArenaServiceGrpc;
+import io.grpc.BindableService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.smallrye.mutiny.subscription.Cancellable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ArenaClient against scripted arena nodes served from this JVM, so every
+ * outcome, redirect and cancellation is known in advance.
+ */
+class ArenaClientTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final String[] OUTCOMES = { "WIN", "LOSS", "TIE" };
+
+    private final List<Server> servers = new ArrayList<>();
+    private final List<ChannelPool> pools = new ArrayList<>();
+
+    /**
+     * A streaming node that redirects every player, plays a fixed number of
+     * rounds, or stays silent after the handshake.
+     */
+    private static final class ScriptedNode extends StreamingArenaServiceGrpc.StreamingArenaServiceImplBase {
+        final int rounds;
+        volatile String redirectTo;
+        final List<String> reservations = new CopyOnWriteArrayList<>();
+        final CountDownLatch handshakes = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+
+        ScriptedNode(int rounds) {
+            this.rounds = rounds;
+        }
+
+        @Override
+        public StreamObserver<BattleRequest> battle(StreamObserver<BattleResponse> responses) {
+            return new StreamObserver<>() {
+                int round;
+                boolean ended;
+
+                @Override
+                public void onNext(BattleRequest request) {
+                    if (request.hasHandshake()) {
+                        reservations.add(request.getHandshake().getReservation());
+                        handshakes.countDown();
+                        if (redirectTo != null) {
+                            responses.onNext(BattleResponse.newBuilder()
+                                .setRedirect(Redirect.newBuilder().setAddress(redirectTo).setReservation("r-" + reservations.size()))
+                                .build());
+                            end();
+                        } else if (rounds > 0) {
+                            trigger(1);
+                        }
+                        return;
+                    }
+                    round++;
+                    responses.onNext(BattleResponse.newBuilder()
+                        .setResult(RoundResult.newBuilder()
+                            .setRoundId(round)
+                            .setOpponentMove(request.getMove().getMove())
+                            .setOutcome(OUTCOMES[(round - 1) % OUTCOMES.length]))
+                        .build());
+                    if (round < rounds) {
+                        trigger(round + 1);
+                    } else {
+                        responses.onNext(BattleResponse.newBuilder().setStatus("MATCH_COMPLETE").build());
+                        end();
+                    }
+                }
+
+                @Override
+                public void onError(Throwable failure) {
+                    if (Status.fromThrowable(failure).getCode() == Status.Code.CANCELLED) {
+                        cancelled.countDown();
+                    }
+                }
+
+                @Override
+                public void onCompleted() {
+                    end();
+                }
+
+                private void trigger(int roundId) {
+                    responses.onNext(BattleResponse.newBuilder()
+                        .setTrigger(RequestMove.newBuilder().setRoundId(roundId))
+                        .build());
+                }
+
+                private void end() {
+                    if (!ended) {
+                        ended = true;
+                        responses.onCompleted();
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * A unary node whose first poll of each round is pending. The match lasts
+     * as many rounds as the registered format asks for, unless the node
+     * rejects a round as out of turn first.
+     */
+    private static final class ScriptedUnaryNode extends UnaryArenaServiceGrpc.UnaryArenaServiceImplBase {
+        final Map<Integer, Integer> polls = new ConcurrentHashMap<>();
+        final List<MatchFormat> formats = new CopyOnWriteArrayList<>();
+        volatile int invalidTurn = Integer.MAX_VALUE;
+        volatile int rounds;
+
+        @Override
+        public void register(RegisterRequest request, StreamObserver<RegisterResponse> responses) {
+            formats.add(request.getFormat());
+            rounds = request.getFormat().getTarget();
+            responses.onNext(RegisterResponse.newBuilder().setMatchId("m-1").setStatus("READY").build());
+            responses.onCompleted();
+        }
+
+        @Override
+        public void submitMove(SubmitMoveRequest request, StreamObserver<SubmitMoveResponse> responses) {
+            int round = request.getRoundNumber();
+            String status = round >= invalidTurn ? "INVALID_TURN" : round > rounds ? "GAME_OVER" : "ACCEPTED";
+            responses.onNext(SubmitMoveResponse.newBuilder().setStatus(status).build());
+            responses.onCompleted();
+        }
+
+        @Override
+        public void checkRoundResult(CheckRoundResultRequest request, StreamObserver<CheckRoundResultResponse> responses) {
+            int round = request.getRoundNumber();
+            boolean pending = polls.merge(round, 1, Integer::sum) == 1;
+            responses.onNext(pending
+                ? CheckRoundResultResponse.newBuilder().setStatus("PENDING").build()
+                : CheckRoundResultResponse.newBuilder()
+                    .setStatus("COMPLETE")
+                    .setOutcome(round == 3 ? "PLAYER_ONE_WIN" : OUTCOMES[(round - 1) % OUTCOMES.length])
+                    .build());
+            responses.onCompleted();
+        }
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        for (ChannelPool pool : pools) {
+            pool.close();
+        }
+        for (Server server : servers) {
+            server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private String serve(BindableService service) throws IOException {
+        Server server = NettyServerBuilder.forAddress(new InetSocketAddress("127.0.0.1", 0))
+            .addService(service)
+            .build()
+            .start();
+        servers.add(server);
+        return "127.0.0.1:" + server.getPort();
+    }
+
+    private ArenaClient client(String address) {
+        ChannelPool pool = new ChannelPool(() -> channel(address), 1);
+        pools.add(pool);
+        return new ArenaClient(pool);
+    }
+
+    private static ManagedChannel channel(String address) {
+        return ManagedChannelBuilder.forTarget(address).usePlaintext().build();
+    }
+
+    @Test
+    void streamingTallyCountsEveryOutcome() throws IOException {
+        ScriptedNode node = new ScriptedNode(5);
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        MatchSummary summary = client(serve(node))
+            .playStreaming("bot", "test", new TimedMoveStrategy(round -> round % 3, histogram))
+            .await().atMost(TIMEOUT);
+
+        assertEquals("MATCH_COMPLETE", summary.finalStatus());
+        assertEquals(5, summary.rounds());
+        assertEquals(2, summary.wins());
+        assertEquals(2, summary.losses());
+        assertEquals(1, summary.ties());
+        assertEquals(5, histogram.count(), "One latency sample per round");
+    }
+
+    @Test
+    void streamingFollowsARedirectWithItsReservation() throws IOException {
+        ScriptedNode holder = new ScriptedNode(3);
+        ScriptedNode redirecting = new ScriptedNode(0);
+        redirecting.redirectTo = serve(holder);
+
+        MatchSummary summary = client(serve(redirecting))
+            .playStreaming("bot", "test", round -> 0)
+            .await().atMost(TIMEOUT);
+
+        assertEquals("MATCH_COMPLETE", summary.finalStatus());
+        assertEquals(3, summary.rounds());
+        assertEquals(List.of(""), redirecting.reservations);
+        assertEquals(List.of("r-1"), holder.reservations);
+    }
+
+    @Test
+    void streamingGivesUpOnEndlessRedirects() throws IOException {
+        ScriptedNode loop = new ScriptedNode(0);
+        loop.redirectTo = serve(loop);
+
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> client(loop.redirectTo)
+            .playStreaming("bot", "test", round -> 0)
+            .await().atMost(TIMEOUT));
+
+        assertInstanceOf(IllegalStateException.class, failure);
+        assertEquals(ArenaClient.MAX_REDIRECTS + 1, loop.reservations.size());
+    }
+
+    @Test
+    void cancellingTheMatchCancelsTheCall() throws IOException, InterruptedException {
+        ScriptedNode silent = new ScriptedNode(0);
+
+        Cancellable match = client(serve(silent))
+            .playStreaming("bot", "test", round -> 0)
+            .subscribe().with(summary -> { }, failure -> { });
+        assertTrue(silent.handshakes.await(10, TimeUnit.SECONDS));
+        match.cancel();
+
+        assertTrue(silent.cancelled.await(10, TimeUnit.SECONDS), "The server should see the call cancelled");
+    }
+
+    @Test
+    void unaryTallyCountsOnlyOutcomesOfItsOwnSide() throws IOException {
+        ScriptedUnaryNode node = new ScriptedUnaryNode();
+
+        MatchSummary summary = client(serve(node))
+            .playUnary("bot", "test", round -> 1, fixed(4))
+            .await().atMost(TIMEOUT);
+
+        assertEquals("m-1", summary.matchId());
+        assertEquals(List.of(fixed(4)), node.formats, "The format goes to the server");
+        assertEquals("GAME_OVER", summary.finalStatus(), "The server's status for the move after the last round");
+        assertEquals(4, summary.rounds());
+        // Rounds 1, 2 and 4 are WIN, LOSS, WIN; round 3 names a seat, not the caller
+        assertEquals(2, summary.wins());
+        assertEquals(1, summary.losses());
+        assertEquals(0, summary.ties());
+        for (int round = 1; round <= 4; round++) {
+            assertEquals(2, node.polls.get(round), "Round " + round + " is polled until complete");
+        }
+    }
+
+    @Test
+    void unaryStopsAtAnInvalidTurn() throws IOException {
+        ScriptedUnaryNode node = new ScriptedUnaryNode();
+        node.invalidTurn = 3;
+
+        MatchSummary summary = client(serve(node))
+            .playUnary("bot", "test", round -> 1, fixed(10))
+            .await().atMost(TIMEOUT);
+
+        assertEquals("INVALID_TURN", summary.finalStatus());
+        assertEquals(2, summary.rounds(), "Only resolved rounds are tallied");
+        assertFalse(node.polls.containsKey(3), "A rejected move is not polled");
+    }
+
+    private static MatchFormat fixed(int rounds) {
+        return MatchFormat.newBuilder().setKind(MatchFormat.Kind.FIXED).setTarget(rounds).build();
+    }
+}
@@ -0,0 +1,67 @@
+package ai.pipestream.client.v1.sdk;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelPoolTest {
+
+    // Channels connect lazily, so nothing needs to listen on these ports
+    private static ManagedChannel channel(String address) {
+        return ManagedChannelBuilder.forTarget(address).usePlaintext().build();
+    }
+
+    @Test
+    void spreadsCallsRoundRobin() throws InterruptedException {
+        List<ManagedChannel> created = new ArrayList<>();
+        try (ChannelPool pool = new ChannelPool(() -> {
+            ManagedChannel channel = channel("localhost:1");
+            created.add(channel);
+            return channel;
+        }, 3)) {
+            assertEquals(3, pool.size());
+            assertEquals(3, created.size());
+            for (int i = 0; i < 7; i++) {
+                assertSame(created.get(i % 3), pool.next());
+            }
+        }
+    }
+
+    @Test
+    void sharesOneChannelPerRedirectAddressAndClosesThemAll() throws InterruptedException {
+        List<ManagedChannel> redirects = new ArrayList<>();
+        ManagedChannel pooled;
+        ChannelPool pool = new ChannelPool(() -> channel("localhost:1"), 1, address -> {
+            ManagedChannel channel = channel(address);
+            redirects.add(channel);
+            return channel;
+        });
+        try (pool) {
+            pooled = pool.next();
+            ManagedChannel nodeB = pool.forAddress("node-b:9000");
+            assertSame(nodeB, pool.forAddress("node-b:9000"));
+            assertNotSame(nodeB, pool.forAddress("node-c:9000"));
+            assertEquals(2, redirects.size());
+        }
+        assertTrue(pooled.isShutdown());
+        for (ManagedChannel channel : redirects) {
+            assertTrue(channel.isShutdown());
+        }
+    }
+
+    @Test
+    void defaultRedirectFactoryParsesHostAndPort() throws InterruptedException {
+        try (ChannelPool pool = new ChannelPool(() -> channel("localhost:1"), 1)) {
+            assertEquals("127.0.0.1:9000", pool.forAddress("127.0.0.1:9000").authority());
+            assertEquals("[::1]:9001", pool.forAddress("[::1]:9001").authority());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ai.pipestream.client.v1.sdk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentileMicros(99));
+    }
+
+    @Test
+    void percentilesReportTheUpperBoundOfTheirBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i * 100L)); // 100µs .. 10ms
+        }
+
+        assertEquals(100, histogram.count());
+        assertEquals(110, histogram.percentileMicros(1));
+        assertEquals(5_010, histogram.percentileMicros(50));
+        assertEquals(9_910, histogram.percentileMicros(99));
+        assertEquals(10_010, histogram.percentileMicros(100));
+    }
+
+    @Test
+    void outOfRangeSamplesAreClamped() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(TimeUnit.SECONDS.toNanos(3));
+
+        assertEquals(2, histogram.count());
+        assertEquals(10, histogram.percentileMicros(50), "Negative samples land in the first bucket");
+        assertEquals(100_010, histogram.percentileMicros(100), "Anything past 100ms lands in the overflow bucket");
+    }
+}